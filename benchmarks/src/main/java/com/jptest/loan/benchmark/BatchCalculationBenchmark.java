@@ -0,0 +1,74 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LoanCalculatorService#calculateMonthlyInstallments} on a batch of loan requests,
+ * sequentially ({@code parallelism=1}) and on every available processor ({@code parallelism=0}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchCalculationBenchmark {
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    @Param({"10000"})
+    private int batchSize;
+
+    private BatchCalculationExecutor batchCalculationExecutor;
+    private LoanCalculatorService loanCalculatorService;
+    private List<LoanRequest> loanRequests;
+
+    @Setup
+    public void setUp() {
+        InterestRateTable interestRateTable = new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        batchCalculationExecutor = new BatchCalculationExecutor(parallelism, 1024);
+        loanCalculatorService = new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+
+        loanRequests = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            loanRequests.add(new LoanRequest(i % 2 == 0 ? VehicleType.CAR : VehicleType.MOTORCYCLE, VehicleCondition.NEW, 2024,
+                    100_000_000 + i, 1 + i % 6, 25_000_000));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchCalculationExecutor.shutdown();
+    }
+
+    @Benchmark
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments() {
+        return loanCalculatorService.calculateMonthlyInstallments(loanRequests);
+    }
+}
@@ -0,0 +1,116 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.processor.BatchFileProcessor;
+import com.jptest.loan.processor.MappedRecordReader;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks reading and parsing a CSV batch file, the input stage of {@link BatchFileProcessor}:
+ * line by line with {@link Files#lines(Path)}, {@link String#trim()} and {@link BatchFileProcessor#parseCsv(String)},
+ * against {@link MappedRecordReader}, which parses the records from the memory-mapped file.
+ * <p>
+ *     The {@code bytes} counter reports the input throughput in bytes per second; divide by 10^6 for MB/s.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInputBenchmark {
+
+    private static final String CSV_HEADER = "vehicle_type,vehicle_condition,vehicle_year,loan_amount,loan_tenor,down_payment";
+
+    @Param({"1000000"})
+    private int records;
+
+    private BatchFileProcessor batchFileProcessor;
+    private Path inputFile;
+    private long fileSize;
+
+    /**
+     * Bytes of input read per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        batchFileProcessor = new BatchFileProcessor(null, new LoanValidationEngine(Clock.systemDefaultZone(), new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"))));
+
+        int currentYear = Year.now().getValue();
+        inputFile = Files.createTempFile("loan-batch-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(inputFile)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (int i = 0; i < records; i++) {
+                writer.write((i % 2 == 0 ? "car,new," : "motorcycle,old,") + (currentYear - i % 5) + ","
+                        + (100_000_000 + i) + "," + (i % 6 + 1) + "," + (25_000_000 + i % 1000) + ".50");
+                writer.newLine();
+            }
+        }
+        fileSize = Files.size(inputFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inputFile);
+    }
+
+    @Benchmark
+    public void filesLines(Throughput throughput, Blackhole blackhole) throws IOException {
+        try (Stream<String> lines = Files.lines(inputFile)) {
+            lines.skip(1)
+                    .map(String::trim)
+                    .filter(record -> !record.isEmpty())
+                    .forEach(record -> blackhole.consume(batchFileProcessor.parseCsv(record)));
+        }
+        throughput.bytes += fileSize;
+    }
+
+    @Benchmark
+    public void memoryMapped(Throughput throughput, Blackhole blackhole) throws IOException {
+        try (MappedRecordReader reader = new MappedRecordReader(inputFile)) {
+            while (reader.next()) {
+                blackhole.consume(reader.parse());
+            }
+        }
+        throughput.bytes += fileSize;
+    }
+}
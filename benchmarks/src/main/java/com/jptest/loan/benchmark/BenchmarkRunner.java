@@ -0,0 +1,45 @@
+package com.jptest.loan.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code BenchmarkRunner} is the entry point of the benchmarks jar.
+ * <p>
+ *     It accepts the regular JMH command line options (e.g. a benchmark name regex, {@code -rf json})
+ *     and always adds the GC profiler, so every run reports the allocation rate ({@code gc.alloc.rate.norm})
+ *     next to throughput and average time.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private static final List<String> INFORMATION_OPTIONS = List.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args JMH command line options.
+     * @throws Exception if the options are invalid or the benchmarks fail to run.
+     */
+    public static void main(String[] args) throws Exception {
+        if (Arrays.stream(args).anyMatch(INFORMATION_OPTIONS::contains)) {
+            Main.main(args); // Listing and help options are handled by the standard JMH launcher
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.processor.FileInputProcessor;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link FileInputProcessor#processFile(String)} end to end on a valid 6-line input file:
+ * reading and parsing the file, validating, calculating and formatting the installments.
+ * Console output is discarded while the benchmark runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileInputProcessorBenchmark {
+
+    private FileInputProcessor fileInputProcessor;
+    private Path inputFile;
+    private String inputPath;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        InterestRateTable interestRateTable = new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        fileInputProcessor = new FileInputProcessor(new LoanCalculatorServiceImpl(interestRateTable, new BatchCalculationExecutor(1, 1024)), 
+                new LoanValidationEngine(Clock.systemDefaultZone(), interestRateTable));
+
+        inputFile = Files.createTempFile("loan-benchmark", ".txt");
+        Files.writeString(inputFile, "car\nnew\n" + Year.now().getValue() + "\n100000000\n6\n25000000\n");
+        inputPath = inputFile.toString();
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(inputFile);
+    }
+
+    @Benchmark
+    public void processFile() {
+        fileInputProcessor.processFile(inputPath);
+    }
+}
@@ -0,0 +1,64 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.FixedPointLoanCalculatorServiceImpl;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LoanCalculatorService#calculateMonthlyInstallment} for every loan tenor,
+ * on both the BigDecimal and the fixed-point calculation engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanCalculatorBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    private int loanTenor;
+
+    @Param({"bigdecimal", "fixed-point"})
+    private String engine;
+
+    private LoanCalculatorService loanCalculatorService;
+    private LoanRequest loanRequest;
+
+    @Setup
+    public void setUp() {
+        InterestRateTable interestRateTable = new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        BatchCalculationExecutor batchCalculationExecutor = new BatchCalculationExecutor(1, 1024);
+        loanCalculatorService = "fixed-point".equals(engine)
+                ? new FixedPointLoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor)
+                : new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+        loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, loanTenor, 25_000_000);
+    }
+
+    @Benchmark
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment() {
+        return loanCalculatorService.calculateMonthlyInstallment(loanRequest);
+    }
+}
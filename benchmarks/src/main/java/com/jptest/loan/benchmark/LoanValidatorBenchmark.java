@@ -0,0 +1,96 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.validator.LoanValidationEngine;
+import com.jptest.loan.validator.LoanValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every {@link LoanValidator} rule with valid input, and the one pass validation
+ * of a whole request by {@link LoanValidationEngine#validate(LoanRequest)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanValidatorBenchmark {
+
+    private final LoanValidator loanValidator = new LoanValidator();
+    private final LoanValidationEngine loanValidationEngine =
+            new LoanValidationEngine(Clock.systemDefaultZone(), new InterestRateTable(
+                    new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25")));
+
+    private int vehicleYear = Year.now().getValue();
+    private String vehicleType = "car";
+    private String vehicleCondition = "new";
+    private double loanAmount = 100_000_000;
+    private double downPayment = 25_000_000;
+    private BigDecimal loanAmountDecimal = new BigDecimal(100_000_000);
+    private BigDecimal minimumDownPaymentRate = new BigDecimal(25);
+    private int loanTenor = 3;
+    private LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, vehicleYear,
+            loanAmount, loanTenor, downPayment);
+
+    @Benchmark
+    public boolean isValidYearFourDigit() {
+        return loanValidator.isValidYearFourDigit(vehicleYear);
+    }
+
+    @Benchmark
+    public boolean isValidYearCompareWithCurrentYear() {
+        return loanValidator.isValidYearCompareWithCurrentYear(vehicleYear);
+    }
+
+    @Benchmark
+    public boolean isValidLoanAmount() {
+        return loanValidator.isValidLoanAmount(loanAmount);
+    }
+
+    @Benchmark
+    public boolean isValidDownPaymentAmount() {
+        return loanValidator.isValidDownPaymentAmount(downPayment, loanAmountDecimal, minimumDownPaymentRate);
+    }
+
+    @Benchmark
+    public boolean isValidVehicleType() {
+        return loanValidator.isValidVehicleType(vehicleType);
+    }
+
+    @Benchmark
+    public boolean isValidVehicleCondition() {
+        return loanValidator.isValidVehicleCondition(vehicleCondition);
+    }
+
+    @Benchmark
+    public boolean isValidVehicleIfNewCondition() {
+        return loanValidator.isValidVehicleIfNewCondition(vehicleCondition, vehicleYear);
+    }
+
+    @Benchmark
+    public boolean isValidLoanTenor() {
+        return loanValidator.isValidLoanTenor(loanTenor);
+    }
+
+    @Benchmark
+    public int validate() {
+        return loanValidationEngine.validate(loanRequest);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.FixedPointLoanCalculatorServiceImpl;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a what-if quote grid of tenors 1-6 against a range of down payments, calculated in one pass with
+ * {@link LoanCalculatorService#calculateQuoteGrid} and cell by cell with
+ * {@link LoanCalculatorService#calculateMonthlyInstallment}, on both calculation engines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteGridBenchmark {
+
+    private static final double LOAN_AMOUNT = 100_000_000;
+    private static final double DOWN_PAYMENT_FROM = 25_000_000;
+
+    @Param({"10", "100"})
+    private int downPaymentSteps;
+
+    @Param({"bigdecimal", "fixed-point"})
+    private String engine;
+
+    private LoanCalculatorService loanCalculatorService;
+    private QuoteGridRequest quoteGridRequest;
+    private double downPaymentStep;
+
+    @Setup
+    public void setUp() {
+        InterestRateTable interestRateTable = new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        BatchCalculationExecutor batchCalculationExecutor = new BatchCalculationExecutor(1, 1024);
+        loanCalculatorService = "fixed-point".equals(engine)
+                ? new FixedPointLoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor)
+                : new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+        downPaymentStep = (LOAN_AMOUNT - DOWN_PAYMENT_FROM) / downPaymentSteps;
+        quoteGridRequest = new QuoteGridRequest(VehicleType.CAR, LOAN_AMOUNT, DOWN_PAYMENT_FROM,
+                DOWN_PAYMENT_FROM + (downPaymentSteps - 1) * downPaymentStep, downPaymentStep, List.of(1, 2, 3, 4, 5, 6));
+    }
+
+    @Benchmark
+    public QuoteGrid calculateQuoteGrid() {
+        return loanCalculatorService.calculateQuoteGrid(quoteGridRequest);
+    }
+
+    @Benchmark
+    public void calculateEveryCell(Blackhole blackhole) {
+        for (int step = 0; step < downPaymentSteps; step++) {
+            for (int loanTenor = 1; loanTenor <= 6; loanTenor++) {
+                List<MonthlyInstallmentRatePair> schedule = loanCalculatorService.calculateMonthlyInstallment(new LoanRequest(
+                        VehicleType.CAR, VehicleCondition.NEW, 2024, LOAN_AMOUNT, loanTenor, DOWN_PAYMENT_FROM + step * downPaymentStep));
+                blackhole.consume(schedule);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.jptest.loan.benchmark;
+
+import com.jptest.loan.constant.ErrorMessages;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the time to first result of a command line quote: from launching the application on {@code input.txt}
+ * until the first installment (or validation error) is printed, which is the latency a batch scheduler sees.
+ * <p>
+ *     Every invocation starts a new JVM, so the benchmark runs in single shot mode; the time to drain the rest of
+ *     the output and close the context is not measured. The {@code launch} parameter selects how the application
+ *     is started from the project directory:
+ * </p>
+ * <ul>
+ *     <li>{@code jar}: the executable jar, {@code java -jar target/<jar> input.txt},</li>
+ *     <li>{@code fast-start}: the extracted jar of the {@code fast-start} Maven profile, with its AOT artifacts
+ *     and AppCDS archive.</li>
+ * </ul>
+ * <p>
+ *     Both need {@code mvn -Pfast-start package} in the project directory, and the benchmark to be run from there.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String JAR = "vehicle-loan-calculator-0.0.1-SNAPSHOT.jar";
+    private static final String RESULT = "Monthly installment";
+    private static final String ERROR = ErrorMessages.ERROR.trim();
+
+    @Param({"jar", "fast-start"})
+    public String launch;
+
+    @Param("input.txt")
+    public String input;
+
+    private List<String> command;
+    private Process process;
+    private BufferedReader output;
+
+    @Setup
+    public void setUp() {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        command = new ArrayList<>(List.of(java));
+        Path jar;
+        if ("fast-start".equals(launch)) {
+            Path directory = Paths.get("target", "fast-start");
+            jar = directory.resolve(JAR);
+            command.add("-XX:SharedArchiveFile=" + directory.resolve("application.jsa"));
+            command.add("-Dspring.aot.enabled=true");
+        } else {
+            jar = Paths.get("target", JAR);
+        }
+        if (!Files.isRegularFile(jar) || !Files.isRegularFile(Paths.get(input))) {
+            throw new IllegalStateException("Run `mvn -Pfast-start package` and the benchmark from the project directory: "
+                    + jar.toAbsolutePath() + ", " + Paths.get(input).toAbsolutePath());
+        }
+        command.addAll(List.of("-jar", jar.toString(), input));
+    }
+
+    @Benchmark
+    public String timeToFirstResult() throws IOException {
+        process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        output = new BufferedReader(new InputStreamReader(process.getInputStream(), Charset.defaultCharset()));
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.contains(RESULT) || line.startsWith(ERROR)) {
+                return line;
+            }
+        }
+        throw new IllegalStateException("No result printed by: " + String.join(" ", command));
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitExit() throws IOException, InterruptedException {
+        if (process == null) {
+            return;
+        }
+        try (BufferedReader remaining = output) {
+            remaining.transferTo(Writer.nullWriter()); // The application blocks once the pipe is full
+        }
+        int exitCode = process.waitFor();
+        process = null;
+        if (exitCode != 0) {
+            throw new IllegalStateException("Exit code " + exitCode + " of: " + String.join(" ", command));
+        }
+    }
+}
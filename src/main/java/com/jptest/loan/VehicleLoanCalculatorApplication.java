@@ -1,15 +1,34 @@
 package com.jptest.loan;
 
+import com.jptest.loan.constant.AppConstant;
+import org.springframework.aot.AotDetector;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class VehicleLoanCalculatorApplication {
 
     public static void main(String[] args) {
-        ConfigurableApplicationContext context = SpringApplication.run(VehicleLoanCalculatorApplication.class, args);
+        SpringApplication application = new SpringApplication(VehicleLoanCalculatorApplication.class);
+        if (Arrays.asList(args).contains(AppConstant.SERVER_OPTION)) {
+            // Server mode keeps the context, and the warm calculation path, alive to serve quotes over HTTP.
+            // The AOT artifacts of the fast-start build are generated for the command line modes, without
+            // the web server and actuator, so they are never used here.
+            System.clearProperty(AotDetector.AOT_ENABLED);
+            application.setWebApplicationType(WebApplicationType.SERVLET);
+            application.run(args);
+            return;
+        }
+        // Command line modes process one input and exit: the cli profile initializes beans lazily and leaves out
+        // the actuator, so that startup does not build what the run never uses
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles(AppConstant.CLI_PROFILE);
+        ConfigurableApplicationContext context = application.run(args);
         context.close();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.jptest.loan.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * {@code CliAutoConfigurationFilter} leaves out the actuator auto-configuration in the command line modes.
+ * <p>
+ *     A command line run processes its input and exits, so nothing scrapes the actuator endpoints or meters,
+ *     yet configuring them is a large share of the startup time. With {@value #ACTUATOR_ENABLED}{@code =false},
+ *     set by the {@link com.jptest.loan.constant.AppConstant#CLI_PROFILE cli} profile, every auto-configuration
+ *     of {@code org.springframework.boot.actuate.autoconfigure} is skipped, and
+ *     {@link com.jptest.loan.metrics.LoanMetrics} records to a registry without any backend. The actuator is kept
+ *     if {@code loan.metrics.export} is set, since the export scrapes its Prometheus registry.
+ * </p>
+ * <p>
+ *     Registered in {@code META-INF/spring.factories}; a filter rather than {@code spring.autoconfigure.exclude},
+ *     which would have to list every actuator auto-configuration class by name.
+ * </p>
+ */
+public class CliAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    /**
+     * Property key enabling the actuator auto-configuration, {@code true} unless set otherwise.
+     */
+    public static final String ACTUATOR_ENABLED = "loan.actuator.enabled";
+
+    private static final String METRICS_EXPORT = "loan.metrics.export";
+    private static final String ACTUATOR_PACKAGE = "org.springframework.boot.actuate.autoconfigure.";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        boolean skipActuator = environment != null
+                && !environment.getProperty(ACTUATOR_ENABLED, Boolean.class, true)
+                && environment.getProperty(METRICS_EXPORT, "").isBlank();
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            String autoConfigurationClass = autoConfigurationClasses[i]; // null if an earlier filter skipped it
+            matches[i] = !skipActuator || autoConfigurationClass == null || !autoConfigurationClass.startsWith(ACTUATOR_PACKAGE);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,22 @@
+package com.jptest.loan.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * {@code ClockConfig} provides the {@link Clock} used to resolve the current date.
+ * <p>
+ *     Components take the clock as a dependency instead of calling {@code LocalDate.now()},
+ *     so that date dependent rules can be tested against a fixed date.
+ * </p>
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -15,5 +15,46 @@ public class AppConstant {
      * Constant for representing an old vehicle condition.
      */
     public static final String OLD_VEHICLE = "old";
+    /**
+     * Maximum loan tenor in years.
+     */
+    public static final int MAX_LOAN_TENOR = 6;
+    /**
+     * Command line option for processing a multi-record batch file.
+     */
+    public static final String BATCH_OPTION = "--batch";
+    /**
+     * Command line option following the batch arguments to resume an interrupted batch from its checkpoint.
+     */
+    public static final String RESUME_OPTION = "--resume";
+    /**
+     * Command line option for running the HTTP quote server instead of processing input.
+     * Not {@code --server}, which Spring would also read as the {@code server} property.
+     */
+    public static final String SERVER_OPTION = "--serve";
+    /**
+     * Command line option for converting a 6-line input file or a CSV batch file to fixed-width binary loan requests.
+     */
+    public static final String CONVERT_OPTION = "--convert";
+    /**
+     * Command line option for processing a continuous stream of CSV or JSON Lines loan records from standard input.
+     */
+    public static final String STREAM_OPTION = "--stream";
+    /**
+     * Command line option for validating a batch file without calculating it, writing the rejected records only.
+     */
+    public static final String VALIDATE_OPTION = "--validate";
+    /**
+     * Command line option for processing the loan input files dropped into a spool directory until the application stops.
+     */
+    public static final String SPOOL_OPTION = "--spool";
+    /**
+     * Spring profile of the command line modes, i.e. every mode but {@link #SERVER_OPTION}.
+     */
+    public static final String CLI_PROFILE = "cli";
+    /**
+     * Qualifier of the configured calculation engine, which a decorator such as the schedule cache delegates to.
+     */
+    public static final String CALCULATOR_ENGINE = "loanCalculatorEngine";
 
 }
@@ -52,9 +52,42 @@ public final class ErrorMessages {
      * Error message for invalid down payment amount (below minimum).
      */
     public static final String INVALID_DOWN_PAYMENT_AMOUNT = ERROR + "Down payment below allowable minimum.";
+    /**
+     * Error message for a dealer programme that is unknown or does not offer the vehicle type and condition.
+     */
+    public static final String INVALID_DEALER_PROGRAMME = ERROR + "Invalid dealer programme. Not offered for this vehicle type and condition.";
     /**
      * Error message for file reading failure.
      */
     public static final String COULD_NOT_READ_FILE = ERROR + "Could not read file: ";
+    /**
+     * Error message for file writing failure.
+     */
+    public static final String COULD_NOT_WRITE_FILE = ERROR + "Could not write file: ";
+    /**
+     * Error message for resuming a batch that writes its results to the console.
+     */
+    public static final String RESUME_WITHOUT_OUTPUT_FILE = ERROR + "A batch can only be resumed when its results are written to a file.";
+    /**
+     * Error message for resuming a batch from the checkpoint of another input file or output format.
+     */
+    public static final String CHECKPOINT_MISMATCH = ERROR + "Checkpoint was written for another input file or output format: ";
+    /**
+     * Error message for a rates file with a value that is not a valid rate.
+     */
+    public static final String INVALID_RATES_FILE = ERROR + "Invalid rates file, keeping the current rates: ";
+    /**
+     * Error message for a metrics export without a Prometheus registry.
+     */
+    public static final String METRICS_EXPORT_UNAVAILABLE = ERROR + "Metrics export requires the Prometheus registry to be enabled.";
 
+    /**
+     * Removes the {@link #ERROR} prefix of an error message, for structured outputs that carry their own status.
+     *
+     * @param error The error message.
+     * @return The error message without its prefix and surrounding whitespace.
+     */
+    public static String withoutPrefix(String error) {
+        return (error.startsWith(ERROR) ? error.substring(ERROR.length()) : error).trim();
+    }
 }
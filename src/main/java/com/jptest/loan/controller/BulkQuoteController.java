@@ -0,0 +1,59 @@
+package com.jptest.loan.controller;
+
+import com.jptest.loan.processor.BatchFileProcessor;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@code BulkQuoteController} class exposes the calculation of many loans in one request as a streaming NDJSON
+ * quote endpoint in server mode, e.g. to reprice a portfolio.
+ * <p>
+ *     The request body holds one loan request per line, with the same fields as a batch JSON Lines record, and the
+ *     response body one result per line, as written by {@code --batch} to a {@code .jsonl} result file:
+ *     {@code {"record":<line>,"status":"OK","rateVersion":...,"installments":[...]}} or
+ *     {@code {"record":<line>,"status":"ERROR","error":"..."}}. An invalid line gets an error result and the
+ *     request carries on.
+ * </p>
+ * <p>
+ *     The body is streamed through {@link BatchFileProcessor#processJsonLines}: the lines are read, validated and
+ *     calculated a chunk at a time, and the results are flushed to the client as soon as the upload pauses, so the
+ *     first results arrive before the upload completes. Reading and writing block, so a client that stops reading
+ *     the results also stops the upload, and memory use stays bounded by the chunk size whatever the size of the body.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/quotes")
+public class BulkQuoteController {
+
+    private final BatchFileProcessor batchFileProcessor;
+
+    /**
+     * Constructor for {@code BulkQuoteController}.
+     *
+     * @param batchFileProcessor Processor validating and calculating the loan requests in chunks.
+     */
+    @Autowired
+    public BulkQuoteController(BatchFileProcessor batchFileProcessor) {
+        this.batchFileProcessor = batchFileProcessor;
+    }
+
+    /**
+     * Calculates the schedule of every loan request of an NDJSON body, streaming one NDJSON result per line.
+     *
+     * @param body     The NDJSON request body.
+     * @param response The response receiving the NDJSON results.
+     * @throws IOException if the body cannot be read or the results cannot be written, e.g. because the client went away.
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void quoteBulk(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        batchFileProcessor.processJsonLines(body, response.getOutputStream());
+    }
+}
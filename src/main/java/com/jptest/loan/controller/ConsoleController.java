@@ -1,53 +1,130 @@
 package com.jptest.loan.controller;
 
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.metrics.LatencyReport;
+import com.jptest.loan.metrics.MetricsExporter;
+import com.jptest.loan.processor.BatchFileProcessor;
+import com.jptest.loan.processor.BinaryRecordConverter;
 import com.jptest.loan.processor.FileInputProcessor;
 import com.jptest.loan.processor.ManualInputProcessor;
+import com.jptest.loan.processor.SpoolDirectoryProcessor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+
 /**
  * {@code ConsoleController} class to handle command line input processing.
  * <p>This class is a Spring component that implements {@code CommandLineRunner}
  * to process command line arguments and initiate either file-based or manual input processing
  * for the vehicle loan calculator application.</p>
+ * <p>A run uses a single mode, so the processors are looked up when the mode is selected: in the lazily
+ * initialized command line modes, only the processor of the selected mode and its dependencies are built.</p>
  */
 @Component
 public class ConsoleController implements CommandLineRunner {
 
-    private final FileInputProcessor fileInputProcessor;
-    private final ManualInputProcessor manualInputProcessor;
+    private final ObjectProvider<FileInputProcessor> fileInputProcessor;
+    private final ObjectProvider<ManualInputProcessor> manualInputProcessor;
+    private final ObjectProvider<BatchFileProcessor> batchFileProcessor;
+    private final ObjectProvider<BinaryRecordConverter> binaryRecordConverter;
+    private final ObjectProvider<SpoolDirectoryProcessor> spoolDirectoryProcessor;
+    private final MetricsExporter metricsExporter;
+    private final LatencyReport latencyReport;
 
     /**
     /**
      * Constructor for {@code ConsoleController}.
-     * <p>It injects {@code FileInputProcessor} and {@code ManualInputProcessor} dependencies
-     * to handle different input processing methods.</p>
+     * <p>It injects {@code FileInputProcessor}, {@code ManualInputProcessor} and {@code BatchFileProcessor}
+     * dependencies to handle different input processing methods, {@code BinaryRecordConverter} to convert
+     * text input to binary loan requests, {@code SpoolDirectoryProcessor} to process the files of a spool directory,
+     * {@code MetricsExporter} to export the metrics of the run and {@code LatencyReport} to report its latency percentiles.</p>
      *
-     * @param fileInputProcessor Processor for handling file inputs for loan data.
-     * @param manualInputProcessor Processor for handling manual inputs from the console.
+     * @param fileInputProcessor Provider of the processor for handling file inputs for loan data.
+     * @param manualInputProcessor Provider of the processor for handling manual inputs from the console.
+     * @param batchFileProcessor Provider of the processor for handling multi-record batch files.
+     * @param binaryRecordConverter Provider of the converter of text input to binary loan request files.
+     * @param spoolDirectoryProcessor Provider of the processor for handling the files dropped into a spool directory.
+     * @param metricsExporter Exporter writing the metrics once processing ends.
+     * @param latencyReport Report of the latency percentiles of every stage, written once processing ends.
      */
     @Autowired
-    public ConsoleController(FileInputProcessor fileInputProcessor, ManualInputProcessor manualInputProcessor) {
+    public ConsoleController(ObjectProvider<FileInputProcessor> fileInputProcessor,
+                             ObjectProvider<ManualInputProcessor> manualInputProcessor,
+                             ObjectProvider<BatchFileProcessor> batchFileProcessor,
+                             ObjectProvider<BinaryRecordConverter> binaryRecordConverter,
+                             ObjectProvider<SpoolDirectoryProcessor> spoolDirectoryProcessor,
+                             MetricsExporter metricsExporter,
+                             LatencyReport latencyReport) {
         this.fileInputProcessor = fileInputProcessor;
         this.manualInputProcessor = manualInputProcessor;
+        this.batchFileProcessor = batchFileProcessor;
+        this.binaryRecordConverter = binaryRecordConverter;
+        this.spoolDirectoryProcessor = spoolDirectoryProcessor;
+        this.metricsExporter = metricsExporter;
+        this.latencyReport = latencyReport;
     }
 
     /**
      * Runs the console application based on the provided command line arguments.
-     * <p>If arguments are provided, it processes the input file specified in the first argument.
-     * Otherwise, it initiates manual input processing from the console.</p>
+     * <p>With {@code --serve}, nothing is processed here: the application keeps running and serves quotes
+     * through {@link QuoteController}.
+     * If the first argument is {@code --batch}, it processes the CSV, JSON Lines or binary batch file given
+     * as the second argument and writes the results to the optional third argument (or the console);
+     * a trailing {@code --resume} resumes an interrupted batch from the checkpoint of its result file.
+     * If the first argument is {@code --stream}, it processes CSV records, or the record format given as the second
+     * argument ({@code csv} or {@code json-lines}), from standard input until its end, writing one result per record.
+     * If the first argument is {@code --validate}, it validates the batch file given as the second argument without
+     * calculating it, writing the rejected records to the optional third argument (or the console).
+     * If the first argument is {@code --spool}, it processes every input file dropped into the directory given as
+     * the second argument until the application stops.
+     * If the first argument is {@code --convert}, it converts the input file given as the second argument
+     * to the binary loan request file given as the third argument.
+     * If other arguments are provided, it processes the input file specified in the first argument.
+     * Otherwise, it initiates manual input processing from the console.
+     * Once processing ends, the metrics of the run are exported (see {@link MetricsExporter}) and the latency
+     * percentiles of its stages are reported (see {@link LatencyReport}).</p>
+     *
+     * <p>Spring property arguments such as {@code --loan.calculator.engine=fixed-point} are ignored here.</p>
      *
-     * @param args Command line arguments. Expects a file path as the first argument if provided.
+     * @param args Command line arguments. Expects a file path as the first argument if provided,
+     *             {@code --batch <input file> [output file] [--resume]} for batch processing,
+     *             {@code --stream [record format]} for stdin streaming,
+     *             {@code --validate <input file> [reject file]} for a validation dry run,
+     *             {@code --spool <directory>} for the spool directory daemon,
+     *             or {@code --convert <input file> <binary file>} for conversion.
      *             If no arguments are provided, the application defaults to manual input mode.
+     *             {@code --serve} runs the HTTP quote server instead.
      */
     @Override
     public void run(String... args){
-        if (args.length > 0) {
+        args = Arrays.stream(args)
+                .filter(arg -> !(arg.startsWith("--") && arg.contains("="))) // Skip Spring property arguments
+                .toArray(String[]::new);
+        if (Arrays.asList(args).contains(AppConstant.SERVER_OPTION)) {
+            return; // Quotes are served by QuoteController until the application is stopped
+        }
+        if (args.length > 2 && AppConstant.CONVERT_OPTION.equals(args[0])) {
+            binaryRecordConverter.getObject().convert(args[1], args[2]);
+        } else if (args.length > 1 && AppConstant.BATCH_OPTION.equals(args[0])) {
+            boolean resume = AppConstant.RESUME_OPTION.equals(args[args.length - 1]);
+            int fileCount = resume ? args.length - 1 : args.length;
+            batchFileProcessor.getObject().processBatch(args[1], fileCount > 2 ? args[2] : null, resume);
+        } else if (args.length > 1 && AppConstant.VALIDATE_OPTION.equals(args[0])) {
+            batchFileProcessor.getObject().validateBatch(args[1], args.length > 2 ? args[2] : null);
+        } else if (args.length > 1 && AppConstant.SPOOL_OPTION.equals(args[0])) {
+            spoolDirectoryProcessor.getObject().watch(args[1]);
+        } else if (args.length > 0 && AppConstant.STREAM_OPTION.equals(args[0])) {
+            batchFileProcessor.getObject().processStream(System.in, args.length > 1 ? args[1] : null);
+        } else if (args.length > 0) {
             String filePath = args[0];
-            fileInputProcessor.processFile(filePath);
+            fileInputProcessor.getObject().processFile(filePath);
         } else {
-            manualInputProcessor.processInput();
+            manualInputProcessor.getObject().processInput();
         }
+        metricsExporter.export();
+        latencyReport.report();
     }
 }
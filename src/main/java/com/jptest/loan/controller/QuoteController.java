@@ -0,0 +1,115 @@
+package com.jptest.loan.controller;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.QuoteErrorResponse;
+import com.jptest.loan.dto.QuoteErrorResponse.QuoteError;
+import com.jptest.loan.dto.QuoteResponse;
+import com.jptest.loan.metrics.LoanMetrics;
+import com.jptest.loan.output.RejectWriter;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.validator.LoanValidationEngine;
+import com.jptest.loan.validator.ValidationRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code QuoteController} class exposes the loan calculation as a JSON quote endpoint in server mode.
+ * <p>
+ *     A quote request has the same fields as a batch JSON Lines record. It is validated with
+ *     {@link LoanValidationEngine} and calculated with {@link LoanCalculatorService}, the same path as the
+ *     console modes, but errors are returned as a {@link QuoteErrorResponse} with status 400 listing every
+ *     violated rule, instead of being printed.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    /**
+     * Error code of a request body that is not a valid loan request.
+     */
+    public static final String INVALID_INPUT_FORMAT = RejectWriter.INVALID_INPUT_FORMAT;
+
+    /**
+     * Error code of a valid request that cannot be calculated.
+     */
+    public static final String CALCULATION_FAILED = RejectWriter.CALCULATION_FAILED;
+
+    private final LoanCalculatorService loanCalculatorService;
+    private final LoanValidationEngine loanValidationEngine;
+    private final LoanMetrics loanMetrics;
+
+    /**
+     * Constructor for {@code QuoteController}.
+     *
+     * @param loanCalculatorService Service for performing loan calculations.
+     * @param loanValidationEngine Engine validating every rule of a quote request in one pass.
+     * @param loanMetrics Metrics of the processing stages.
+     */
+    @Autowired
+    public QuoteController(LoanCalculatorService loanCalculatorService, LoanValidationEngine loanValidationEngine,
+                           LoanMetrics loanMetrics) {
+        this.loanCalculatorService = loanCalculatorService;
+        this.loanValidationEngine = loanValidationEngine;
+        this.loanMetrics = loanMetrics;
+    }
+
+    /**
+     * Calculates the schedule of a loan request.
+     *
+     * @param loanRequest The loan request to quote.
+     * @return The schedule with status 200, or every validation error with status 400.
+     */
+    @PostMapping
+    public ResponseEntity<?> quote(@RequestBody LoanRequest loanRequest) {
+        RateSnapshot rateSnapshot = loanValidationEngine.rates();
+        int violations = loanValidationEngine.validate(loanRequest, rateSnapshot);
+        if (violations != 0) {
+            List<QuoteError> errors = new ArrayList<>(Integer.bitCount(violations));
+            for (ValidationRule rule : ValidationRule.violated(violations)) {
+                errors.add(new QuoteError(rule.name(), ErrorMessages.withoutPrefix(rule.errorMessage())));
+            }
+            return ResponseEntity.badRequest().body(new QuoteErrorResponse(errors));
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            List<MonthlyInstallmentRatePair> monthlyInstallments = loanCalculatorService.calculateMonthlyInstallment(loanRequest, rateSnapshot);
+            success = true;
+            return ResponseEntity.ok(QuoteResponse.of(monthlyInstallments));
+        } catch (IllegalArgumentException e) {
+            // Handle business logic exceptions of requests that passed validation
+            return error(CALCULATION_FAILED, e.getMessage());
+        } finally {
+            loanMetrics.recordCalculation(loanRequest, System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Handles request bodies that cannot be parsed into a loan request, e.g. malformed JSON or non-numeric amounts.
+     *
+     * @param e The parsing exception.
+     * @return The error response with status 400.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<QuoteErrorResponse> handleUnreadableRequest(HttpMessageNotReadableException e) {
+        return error(INVALID_INPUT_FORMAT, ErrorMessages.withoutPrefix(ErrorMessages.INVALID_INPUT_FORMAT));
+    }
+
+    private static ResponseEntity<QuoteErrorResponse> error(String code, String message) {
+        return ResponseEntity.badRequest().body(new QuoteErrorResponse(List.of(new QuoteError(code, message))));
+    }
+}
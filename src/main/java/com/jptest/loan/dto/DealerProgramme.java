@@ -0,0 +1,93 @@
+package com.jptest.loan.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * {@code DealerProgramme} class to describe the dealer programme a loan is financed under.
+ * <p>
+ *     Unlike vehicle types and conditions, programmes are not known at compile time: they come from the product
+ *     configuration (see {@link com.jptest.loan.rate.ProductRates}). A programme is only its name; which programmes
+ *     are offered, and the rates of their products, belong to the {@link com.jptest.loan.rate.RateSnapshot} the
+ *     configuration is compiled into, so a rate reload replaces the programmes together with their rates.
+ * </p>
+ * <p>
+ *     Programmes are parsed once from their name (see {@link #parse(String)}) when a loan request is read. Requests
+ *     without a programme get the shared {@link #STANDARD} instance, which a rate snapshot recognises without
+ *     hashing or comparing strings.
+ * </p>
+ */
+public final class DealerProgramme {
+
+    /**
+     * The programme of loans that are not financed under a dealer programme, i.e. the standard products.
+     */
+    public static final DealerProgramme STANDARD = new DealerProgramme("");
+
+    private static final Pattern NAME = Pattern.compile("[a-z0-9_-]+");
+
+    private final String name;
+
+    private DealerProgramme(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the programme in lower case, empty for {@link #STANDARD}.
+     */
+    @JsonValue
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Parses a programme from its name, case insensitive.
+     *
+     * @param value The name to parse.
+     * @return {@link #STANDARD} if the value is null or blank, otherwise the programme of that name, whether or not
+     *         it is configured.
+     */
+    @JsonCreator
+    public static DealerProgramme parse(String value) {
+        if (value == null || value.isBlank()) {
+            return STANDARD;
+        }
+        return new DealerProgramme(value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Parses the programme of a configured product.
+     *
+     * @param value The name of the programme: letters, digits, {@code _} and {@code -}, case insensitive.
+     * @return The programme of that name.
+     * @throws IllegalStateException if the name is blank or has other characters.
+     */
+    public static DealerProgramme configured(String value) {
+        String name = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalStateException("Invalid dealer programme: " + value);
+        }
+        return new DealerProgramme(name);
+    }
+
+    /**
+     * Programmes are equal if they have the same name.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof DealerProgramme dealerProgramme && name.equals(dealerProgramme.name));
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name.isEmpty() ? "standard" : name;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jptest.loan.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * {@code InstallmentSolution} record to hold the loan found by an affordability solve.
+ * <p>The loan amount and down payment form a valid loan application, and the schedule is the one
+ * {@code calculateMonthlyInstallment} returns for it.</p>
+ *
+ * @param loanAmount         Loan amount.
+ * @param downPayment        Down payment amount.
+ * @param monthlyInstallment Monthly installment and interest rate of every year of the loan tenor.
+ */
+public record InstallmentSolution(BigDecimal loanAmount, BigDecimal downPayment,
+                                  List<MonthlyInstallmentRatePair> monthlyInstallment) {
+
+    /**
+     * @return The financed amount, i.e. the loan amount minus the down payment.
+     */
+    public BigDecimal financedAmount() {
+        return loanAmount.subtract(downPayment);
+    }
+}
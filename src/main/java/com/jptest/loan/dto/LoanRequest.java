@@ -0,0 +1,38 @@
+package com.jptest.loan.dto;
+
+/**
+ * {@code LoanRequest} record to hold the input parameters of a single loan application.
+ * <p>This record groups the loan parameters that are otherwise passed around individually,
+ * so that a loan application can be read, validated and calculated as one unit (e.g. one record of a batch file).
+ * Vehicle type and condition are parsed into enums once, when the request is read; they are null if the
+ * input value is not supported, which validation reports as an invalid vehicle type or condition.
+ * The dealer programme is optional and parsed the same way; a missing programme is {@link DealerProgramme#STANDARD}.</p>
+ *
+ * @param vehicleType Type of vehicle (car/motorcycle).
+ * @param vehicleCondition Condition of vehicle (new/old).
+ * @param vehicleYear Year of vehicle manufacture.
+ * @param loanAmount Total loan amount.
+ * @param loanTenor Loan tenor in years.
+ * @param downPayment Down payment amount.
+ * @param dealerProgramme Dealer programme the loan is financed under.
+ */
+public record LoanRequest(VehicleType vehicleType, VehicleCondition vehicleCondition, int vehicleYear, double loanAmount,
+                          int loanTenor, double downPayment, DealerProgramme dealerProgramme) {
+
+    /**
+     * Constructor for {@code LoanRequest}, replacing a missing dealer programme with {@link DealerProgramme#STANDARD}.
+     */
+    public LoanRequest {
+        if (dealerProgramme == null) {
+            dealerProgramme = DealerProgramme.STANDARD;
+        }
+    }
+
+    /**
+     * Constructor for a {@code LoanRequest} that is not financed under a dealer programme.
+     */
+    public LoanRequest(VehicleType vehicleType, VehicleCondition vehicleCondition, int vehicleYear, double loanAmount,
+                       int loanTenor, double downPayment) {
+        this(vehicleType, vehicleCondition, vehicleYear, loanAmount, loanTenor, downPayment, DealerProgramme.STANDARD);
+    }
+}
@@ -0,0 +1,58 @@
+package com.jptest.loan.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * {@code MonthlyAmortization} record to hold one month of a loan's amortization schedule.
+ * <p>Amounts are kept in minor units, so that consumers rolling up totals do not pay for {@link BigDecimal}
+ * arithmetic; the {@code BigDecimal} accessors convert them on demand. The installment is the interest portion plus
+ * the principal portion, and the remaining balance is the principal still owed after the month.</p>
+ *
+ * @param month                       Month of the loan tenor, starting at 1.
+ * @param rate                        Interest rate (percentage) of the year the month belongs to.
+ * @param installmentMinorUnits       Monthly installment, in minor units.
+ * @param interestMinorUnits          Interest portion of the installment, in minor units.
+ * @param principalMinorUnits         Principal portion of the installment, in minor units.
+ * @param remainingBalanceMinorUnits  Principal remaining after the installment, in minor units.
+ */
+public record MonthlyAmortization(int month, BigDecimal rate, long installmentMinorUnits, long interestMinorUnits,
+                                  long principalMinorUnits, long remainingBalanceMinorUnits) {
+
+    private static final int SCALE = 2;
+    private static final int MONTHS_PER_YEAR = 12;
+
+    /**
+     * @return The year of the loan tenor the month belongs to, starting at 1.
+     */
+    public int year() {
+        return (month - 1) / MONTHS_PER_YEAR + 1;
+    }
+
+    /**
+     * @return The monthly installment amount.
+     */
+    public BigDecimal installment() {
+        return BigDecimal.valueOf(installmentMinorUnits, SCALE);
+    }
+
+    /**
+     * @return The interest portion of the installment.
+     */
+    public BigDecimal interest() {
+        return BigDecimal.valueOf(interestMinorUnits, SCALE);
+    }
+
+    /**
+     * @return The principal portion of the installment.
+     */
+    public BigDecimal principal() {
+        return BigDecimal.valueOf(principalMinorUnits, SCALE);
+    }
+
+    /**
+     * @return The principal remaining after the installment.
+     */
+    public BigDecimal remainingBalance() {
+        return BigDecimal.valueOf(remainingBalanceMinorUnits, SCALE);
+    }
+}
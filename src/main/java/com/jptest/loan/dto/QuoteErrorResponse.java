@@ -0,0 +1,20 @@
+package com.jptest.loan.dto;
+
+import java.util.List;
+
+/**
+ * {@code QuoteErrorResponse} record to hold every reason a quote request was rejected.
+ *
+ * @param errors The errors of the request, in the order validation rules are declared.
+ */
+public record QuoteErrorResponse(List<QuoteError> errors) {
+
+    /**
+     * A single reason a quote request was rejected.
+     *
+     * @param code    Machine readable code, e.g. the name of the violated validation rule.
+     * @param message Human readable error message.
+     */
+    public record QuoteError(String code, String message) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.jptest.loan.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code QuoteGrid} class holds the monthly installments of a what-if quote grid: one schedule per tenor and
+ * down payment of a {@link QuoteGridRequest}.
+ * <p>
+ *     Instead of one list of {@link MonthlyInstallmentRatePair} per cell, the installments of the whole grid are kept
+ *     in one {@code long} array in minor units, row by row (one row per tenor, one cell per down payment, one slot
+ *     per year of the longest tenor), and the interest rate of every year is kept once, since it only depends on
+ *     the year. Cells are addressed by tenor index and down payment index, in request order. Every cell is
+ *     calculated with the same rates, whose version is {@link #rateVersion()}.
+ * </p>
+ * <p>Instances are immutable.</p>
+ */
+public final class QuoteGrid {
+
+    private static final int SCALE = 2;
+
+    private final int[] tenors;
+    private final long[] downPayments;
+    private final BigDecimal[] rates;
+    private final long[] monthlyInstallments;
+    private final int yearStride;
+    private final long rateVersion;
+
+    /**
+     * Constructor for {@code QuoteGrid}.
+     *
+     * @param tenors              Loan tenors in years, one per row.
+     * @param downPayments        Down payments in minor units, one per column.
+     * @param rates               Interest rate (percentage) of every year of the longest tenor.
+     * @param monthlyInstallments Monthly installments in minor units; year {@code y} of the cell of tenor index
+     *                            {@code t} and down payment index {@code d} is at
+     *                            {@code (t * downPayments.length + d) * rates.length + y}.
+     * @param rateVersion         Version of the rates the grid was calculated with.
+     * @throws IllegalArgumentException if the array lengths do not describe the same grid.
+     */
+    public QuoteGrid(int[] tenors, long[] downPayments, BigDecimal[] rates, long[] monthlyInstallments, long rateVersion) {
+        if ((long) tenors.length * downPayments.length * rates.length != monthlyInstallments.length
+                || Arrays.stream(tenors).anyMatch(tenor -> tenor < 1 || tenor > rates.length)) {
+            throw new IllegalArgumentException("Inconsistent quote grid");
+        }
+        this.tenors = tenors.clone();
+        this.downPayments = downPayments.clone();
+        this.rates = rates.clone();
+        this.monthlyInstallments = monthlyInstallments.clone();
+        this.yearStride = rates.length;
+        this.rateVersion = rateVersion;
+    }
+
+    /**
+     * @return The version of the rates the grid was calculated with.
+     */
+    public long rateVersion() {
+        return rateVersion;
+    }
+
+    /**
+     * @return The number of tenors, i.e. rows, of the grid.
+     */
+    public int tenorCount() {
+        return tenors.length;
+    }
+
+    /**
+     * @param tenorIndex Index of the tenor in the request.
+     * @return The loan tenor in years.
+     */
+    public int tenor(int tenorIndex) {
+        return tenors[tenorIndex];
+    }
+
+    /**
+     * @return The number of down payments, i.e. columns, of the grid.
+     */
+    public int downPaymentCount() {
+        return downPayments.length;
+    }
+
+    /**
+     * @param downPaymentIndex Index of the down payment, from the first down payment of the request.
+     * @return The down payment amount.
+     */
+    public BigDecimal downPayment(int downPaymentIndex) {
+        return BigDecimal.valueOf(downPayments[downPaymentIndex], SCALE);
+    }
+
+    /**
+     * @param yearIndex Zero based year index.
+     * @return The interest rate percentage of the year, the same in every cell.
+     */
+    public BigDecimal rate(int yearIndex) {
+        return rates[yearIndex];
+    }
+
+    /**
+     * @param tenorIndex       Index of the tenor in the request.
+     * @param downPaymentIndex Index of the down payment.
+     * @param yearIndex        Zero based year index, less than the tenor.
+     * @return The monthly installment of the year, in minor units.
+     * @throws IndexOutOfBoundsException if an index is outside the grid or the year is past the tenor.
+     */
+    public long monthlyInstallmentMinorUnits(int tenorIndex, int downPaymentIndex, int yearIndex) {
+        if (yearIndex < 0 || yearIndex >= tenors[tenorIndex]) {
+            throw new IndexOutOfBoundsException("Year " + yearIndex + " of tenor " + tenors[tenorIndex]);
+        }
+        return monthlyInstallments[(tenorIndex * downPayments.length + downPaymentIndex) * yearStride + yearIndex];
+    }
+
+    /**
+     * @param tenorIndex       Index of the tenor in the request.
+     * @param downPaymentIndex Index of the down payment.
+     * @param yearIndex        Zero based year index, less than the tenor.
+     * @return The monthly installment of the year.
+     * @throws IndexOutOfBoundsException if an index is outside the grid or the year is past the tenor.
+     */
+    public BigDecimal monthlyInstallment(int tenorIndex, int downPaymentIndex, int yearIndex) {
+        return BigDecimal.valueOf(monthlyInstallmentMinorUnits(tenorIndex, downPaymentIndex, yearIndex), SCALE);
+    }
+
+    /**
+     * Expands one cell into the schedule {@code calculateMonthlyInstallment} returns for the same loan.
+     *
+     * @param tenorIndex       Index of the tenor in the request.
+     * @param downPaymentIndex Index of the down payment.
+     * @return The monthly installment and interest rate of every year of the tenor.
+     */
+    public List<MonthlyInstallmentRatePair> schedule(int tenorIndex, int downPaymentIndex) {
+        List<MonthlyInstallmentRatePair> schedule = new ArrayList<>(tenors[tenorIndex]);
+        for (int i = 0; i < tenors[tenorIndex]; i++) {
+            schedule.add(new MonthlyInstallmentRatePair(monthlyInstallment(tenorIndex, downPaymentIndex, i), rates[i], rateVersion));
+        }
+        return schedule;
+    }
+}
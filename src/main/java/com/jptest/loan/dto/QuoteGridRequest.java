@@ -0,0 +1,50 @@
+package com.jptest.loan.dto;
+
+import java.util.List;
+
+/**
+ * {@code QuoteGridRequest} record to hold the parameters of a what-if quote grid.
+ * <p>The grid quotes one vehicle and loan amount for every combination of the given tenors and of the down payments
+ * from {@code downPaymentFrom} up to {@code downPaymentTo} in steps of {@code downPaymentStep}. Down payments are
+ * stepped in minor units, so that a step such as {@code 0.1} does not accumulate floating point errors.</p>
+ *
+ * @param vehicleType     Type of vehicle (car/motorcycle).
+ * @param loanAmount      Total loan amount.
+ * @param downPaymentFrom First (smallest) down payment of the grid.
+ * @param downPaymentTo   Largest down payment of the grid; included if it is a whole number of steps from the first.
+ * @param downPaymentStep Difference between two consecutive down payments; must be positive.
+ * @param tenors          Loan tenors in years, in the row order of the grid.
+ */
+public record QuoteGridRequest(VehicleType vehicleType, double loanAmount, double downPaymentFrom, double downPaymentTo,
+                               double downPaymentStep, List<Integer> tenors) {
+
+    /**
+     * Maximum number of down payment steps of one grid, bounding the size of a grid.
+     */
+    public static final int MAX_DOWN_PAYMENT_STEPS = 1000;
+
+    /**
+     * Constructor for {@code QuoteGridRequest}, checking that the down payment range and the tenors describe a grid.
+     *
+     * @throws IllegalArgumentException if the step is not positive, the range is empty or has more than
+     *                                  {@link #MAX_DOWN_PAYMENT_STEPS} steps, or no tenor or a duplicate tenor is given.
+     */
+    public QuoteGridRequest {
+        if (!(downPaymentStep > 0)) {
+            throw new IllegalArgumentException("Invalid down payment step");
+        }
+        if (!(downPaymentFrom <= downPaymentTo)) {
+            throw new IllegalArgumentException("Invalid down payment range");
+        }
+        if ((downPaymentTo - downPaymentFrom) / downPaymentStep >= MAX_DOWN_PAYMENT_STEPS) {
+            throw new IllegalArgumentException("Too many down payment steps");
+        }
+        if (tenors == null || tenors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid loan tenor");
+        }
+        tenors = List.copyOf(tenors);
+        if (tenors.stream().distinct().count() != tenors.size()) {
+            throw new IllegalArgumentException("Duplicate loan tenor");
+        }
+    }
+}
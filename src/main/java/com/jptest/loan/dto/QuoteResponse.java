@@ -0,0 +1,44 @@
+package com.jptest.loan.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code QuoteResponse} record to hold the schedule returned by the quote endpoint.
+ * <p>Each installment carries its year number, so the response reads the same as a batch JSON Lines result.</p>
+ *
+ * @param rateVersion  Version of the rates the schedule was calculated with.
+ * @param installments Monthly installment and interest rate of every year of the loan tenor.
+ */
+public record QuoteResponse(long rateVersion, List<Installment> installments) {
+
+    private static final int SCALE = 2;
+
+    /**
+     * Builds the response of a calculated schedule, with every installment rounded HALF_UP to minor units as it is
+     * displayed.
+     *
+     * @param monthlyInstallments The calculated monthly installment and rate of each year, in year order.
+     * @return The quote response.
+     */
+    public static QuoteResponse of(List<MonthlyInstallmentRatePair> monthlyInstallments) {
+        List<Installment> installments = new ArrayList<>(monthlyInstallments.size());
+        int year = 1;
+        for (MonthlyInstallmentRatePair monthlyPair : monthlyInstallments) {
+            installments.add(new Installment(year++, monthlyPair.amount().setScale(SCALE, RoundingMode.HALF_UP), monthlyPair.rate()));
+        }
+        return new QuoteResponse(monthlyInstallments.isEmpty() ? 0 : monthlyInstallments.get(0).rateVersion(), installments);
+    }
+
+    /**
+     * Monthly installment of one year of the loan tenor.
+     *
+     * @param year   Year number, starting at 1.
+     * @param amount Monthly installment amount, rounded to minor units.
+     * @param rate   Interest rate (percentage) of the year.
+     */
+    public record Installment(int year, BigDecimal amount, BigDecimal rate) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.jptest.loan.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.jptest.loan.constant.AppConstant;
+
+/**
+ * {@code VehicleCondition} enum to describe the supported vehicle conditions.
+ * <p>
+ *     Vehicle conditions are parsed once from their input code (see {@link #parse(String)}) when a loan request is read,
+ *     so that validation dispatches on the enum instead of comparing strings.
+ * </p>
+ */
+public enum VehicleCondition {
+    NEW(AppConstant.NEW_VEHICLE),
+    OLD(AppConstant.OLD_VEHICLE);
+
+    private static final VehicleCondition[] VALUES = values();
+
+    private final String code;
+
+    VehicleCondition(String code) {
+        this.code = code;
+    }
+
+    /**
+     * @return The input code of the vehicle condition, e.g. {@code new}.
+     */
+    @JsonValue
+    public String code() {
+        return code;
+    }
+
+    /**
+     * Parses a vehicle condition from its input code, case insensitive.
+     *
+     * @param value The input code to parse.
+     * @return The matching vehicle condition, or null if the value is null or not a supported vehicle condition.
+     */
+    @JsonCreator
+    public static VehicleCondition parse(String value) {
+        if (value != null) {
+            for (VehicleCondition vehicleCondition : VALUES) {
+                if (vehicleCondition.code.equalsIgnoreCase(value)) {
+                    return vehicleCondition;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.jptest.loan.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * {@code VehicleType} enum to describe the supported vehicle types.
+ * <p>
+ *     Vehicle types are parsed once from their input code (see {@link #parse(String)}) when a loan request is read,
+ *     so that validation and calculation dispatch on the enum instead of comparing strings.
+ * </p>
+ */
+public enum VehicleType {
+    CAR("car"),
+    MOTORCYCLE("motorcycle");
+
+    private static final VehicleType[] VALUES = values();
+
+    private final String code;
+
+    VehicleType(String code) {
+        this.code = code;
+    }
+
+    /**
+     * @return The input code of the vehicle type, e.g. {@code car}.
+     */
+    @JsonValue
+    public String code() {
+        return code;
+    }
+
+    /**
+     * Parses a vehicle type from its input code, case insensitive.
+     *
+     * @param value The input code to parse.
+     * @return The matching vehicle type, or null if the value is null or not a supported vehicle type.
+     */
+    @JsonCreator
+    public static VehicleType parse(String value) {
+        if (value != null) {
+            for (VehicleType vehicleType : VALUES) {
+                if (vehicleType.code.equalsIgnoreCase(value)) {
+                    return vehicleType;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.jptest.loan.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code LatencyHistogram} records the distribution of a latency in fixed memory, without locks.
+ * <p>
+ *     Latencies are counted in log-linear buckets, as in HdrHistogram: latencies below 128 ns have a
+ *     bucket of their own, and every further power of two is split into 64 buckets of equal width. Every latency
+ *     thus falls into one of 3,712 buckets (29 KB), covering any {@code long} duration, and a percentile is
+ *     reported within 1/64 (about 1.6%) of the recorded latency.
+ * </p>
+ * <p>
+ *     Recording increments a bucket, a counter and, for a new maximum, compares and sets the maximum: threads
+ *     recording concurrently never wait for each other, and never allocate. Percentiles are read once recording
+ *     ends, e.g. at the end of a run; read while latencies are still recorded, they may miss the latest ones.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder items = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency; negative latencies, e.g. of a clock adjustment, are recorded as zero.
+     * @param items The number of items processed in that time, e.g. the records of a chunk.
+     */
+    public void record(long nanos, int items) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        this.items.add(items);
+        for (long current = max.get(); value > current && !max.compareAndSet(current, value); current = max.get()) {
+            // Retry until the maximum is at least this latency
+        }
+    }
+
+    /**
+     * @return The number of recorded latencies.
+     */
+    public long count() {
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            count += counts.get(bucket);
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of items processed in the recorded latencies.
+     */
+    public long items() {
+        return items.sum();
+    }
+
+    /**
+     * @return The highest recorded latency in nanoseconds, or 0 if none was recorded.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Reads several percentiles in one pass over the buckets.
+     *
+     * @param quantiles The percentiles to read, as ascending fractions, e.g. {@code 0.5, 0.99}.
+     * @return For every percentile, the highest latency in nanoseconds of its bucket, capped at the maximum;
+     *         0 if no latency was recorded.
+     */
+    public long[] percentiles(double... quantiles) {
+        long[] percentiles = new long[quantiles.length];
+        long total = count();
+        if (total == 0) {
+            return percentiles;
+        }
+        long highest = max();
+        long seen = 0;
+        int next = 0;
+        for (int bucket = 0; bucket < BUCKETS && next < quantiles.length; bucket++) {
+            seen += counts.get(bucket);
+            while (next < quantiles.length && seen > 0 && seen >= Math.ceil(quantiles[next] * total)) {
+                percentiles[next++] = Math.min(highestValue(bucket), highest);
+            }
+        }
+        while (next < quantiles.length) {
+            percentiles[next++] = highest; // Recorded after the buckets were read
+        }
+        return percentiles;
+    }
+
+    /**
+     * Index of the bucket of a latency: the latency itself below 128 ns, otherwise its top 7 bits, offset by its power of two.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - SUB_BUCKET_BITS - Long.numberOfLeadingZeros(value);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    }
+
+    /**
+     * @return The highest latency counted in a bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
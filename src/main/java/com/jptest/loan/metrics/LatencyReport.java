@@ -0,0 +1,187 @@
+package com.jptest.loan.metrics;
+
+import com.jptest.loan.constant.ErrorMessages;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code LatencyReport} component reports the latency percentiles and throughput of every processing stage
+ * at the end of a run.
+ * <p>
+ *     The Micrometer timers of {@link LoanMetrics} keep a count, a total and a maximum, which hide the tail
+ *     latencies of a run. When the {@code loan.metrics.latency.report} property is set, {@link LoanMetrics} also
+ *     records every latency into a {@link LatencyHistogram} per {@link Stage}, and the report is written once
+ *     processing ends: {@code stdout} for the console, or the path of a file. It is empty by default, in which case
+ *     no histogram is allocated and recording only checks that the report is disabled.
+ * </p>
+ * <pre>
+ * Latency report of a 2.471 s run, latencies in microseconds
+ * stage                   count        p50        p90        p99      p99.9        max     items/s
+ * parse                  200000        0.3        0.7        2.1        9.7     8100.9     80945.4
+ * calculate.batch           196      573.4     5177.3    13631.5    52936.3    52936.3     69381.5
+ * </pre>
+ * <p>
+ *     Throughput is the number of items of a stage, e.g. the records of the calculated chunks, per second of the
+ *     run, which starts when the metrics are first used. Stages without any latency are left out.
+ * </p>
+ */
+@Component
+public class LatencyReport {
+
+    /**
+     * Value of {@code loan.metrics.latency.report} writing the report to the console.
+     */
+    public static final String STDOUT = "stdout";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * The processing stages of the report, in pipeline order.
+     */
+    public enum Stage {
+        READ("read"),
+        PARSE("parse"),
+        VALIDATE("validate"),
+        CALCULATE("calculate"),
+        CALCULATE_BATCH("calculate.batch"),
+        OUTPUT("output"),
+        OUTPUT_BATCH("output.batch");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return The name of the stage in the report.
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * Report target, injected from application properties.
+     */
+    @Value("${loan.metrics.latency.report:}")
+    private String reportTarget = "";
+
+    private final AtomicBoolean reported = new AtomicBoolean();
+    private volatile LatencyHistogram[] histograms;
+    private volatile long startNanos;
+
+    /**
+     * @return Whether a report target is configured.
+     */
+    public boolean isEnabled() {
+        return reportTarget != null && !reportTarget.isBlank();
+    }
+
+    /**
+     * Allocates the histograms and starts the run, unless already started. Called by {@link LoanMetrics} once
+     * the report is enabled, before any latency is recorded.
+     */
+    public synchronized void start() {
+        if (histograms == null) {
+            LatencyHistogram[] stageHistograms = new LatencyHistogram[Stage.values().length];
+            for (int stage = 0; stage < stageHistograms.length; stage++) {
+                stageHistograms[stage] = new LatencyHistogram();
+            }
+            startNanos = System.nanoTime();
+            histograms = stageHistograms;
+        }
+    }
+
+    /**
+     * Records the latency of a stage; {@link #start()} must have been called.
+     *
+     * @param stage The processing stage.
+     * @param nanos Duration of the stage.
+     * @param items The number of items processed in that time.
+     */
+    public void record(Stage stage, long nanos, int items) {
+        histograms[stage.ordinal()].record(nanos, items);
+    }
+
+    /**
+     * Writes the report to the configured target, once per run. Does nothing if the report is disabled
+     * or no latency was recorded.
+     */
+    public void report() {
+        LatencyHistogram[] stageHistograms = histograms;
+        if (!isEnabled() || stageHistograms == null || !reported.compareAndSet(false, true)) {
+            return;
+        }
+
+        String report = format(stageHistograms, System.nanoTime() - startNanos);
+        String target = reportTarget.trim();
+        if (STDOUT.equalsIgnoreCase(target)) {
+            System.out.print(report);
+            System.out.flush();
+            return;
+        }
+        Path path = Paths.get(target).toAbsolutePath();
+        Path temporary = null;
+        try {
+            // Write next to the target and move it in place, so that a reader never sees a partial report
+            temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, report, StandardCharsets.UTF_8);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Handle report file creation issues
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + target);
+            deleteQuietly(temporary);
+        }
+    }
+
+    /**
+     * Writes the report when the application context closes, for the runs that do not end by themselves,
+     * e.g. in server mode.
+     */
+    @PreDestroy
+    public void close() {
+        report();
+    }
+
+    private static String format(LatencyHistogram[] histograms, long runNanos) {
+        double runSeconds = Math.max(runNanos, 1) / 1e9;
+        StringBuilder report = new StringBuilder()
+                .append(String.format(Locale.ROOT, "Latency report of a %.3f s run, latencies in microseconds%n", runSeconds))
+                .append(String.format(Locale.ROOT, "%-16s %12s %10s %10s %10s %10s %10s %11s%n",
+                        "stage", "count", "p50", "p90", "p99", "p99.9", "max", "items/s"));
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = histograms[stage.ordinal()];
+            long count = histogram.count();
+            if (count == 0) {
+                continue;
+            }
+            long[] percentiles = histogram.percentiles(QUANTILES);
+            report.append(String.format(Locale.ROOT, "%-16s %12d %10.1f %10.1f %10.1f %10.1f %10.1f %11.1f%n",
+                    stage.label(), count, percentiles[0] / 1e3, percentiles[1] / 1e3, percentiles[2] / 1e3,
+                    percentiles[3] / 1e3, histogram.max() / 1e3, histogram.items() / runSeconds));
+        }
+        return report.toString();
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Nothing left to report; the report already failed
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.jptest.loan.metrics;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.validator.ValidationRule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code LoanMetrics} component records the Micrometer meters of every processing stage.
+ * <p>
+ *     Meters are published to the actuator {@link MeterRegistry}, or to a registry without any backend if the
+ *     actuator is left out (see {@link com.jptest.loan.config.CliAutoConfigurationFilter}):
+ * </p>
+ * <ul>
+ *     <li>{@value #CALCULATION}: timer of single loan calculations, tagged {@code vehicle.type}, {@code tenor} and {@code outcome},</li>
+ *     <li>{@value #BATCH_CALCULATION}: timer of batch calculation calls, tagged {@code outcome},</li>
+ *     <li>{@value #VALIDATION}: timer of whole request validations, tagged {@code vehicle.type}, {@code tenor} and {@code outcome},</li>
+ *     <li>{@value #VALIDATION_RULE}: counter of validation rule checks, tagged {@code rule} and {@code outcome},</li>
+ *     <li>{@value #INPUT}: timer of input reading and parsing, tagged {@code stage} and {@code outcome},</li>
+ *     <li>{@value #OUTPUT}: timer of printing a schedule, tagged {@code vehicle.type} and {@code tenor},</li>
+ *     <li>{@value #BATCH_OUTPUT}: timer of writing the results of a batch chunk.</li>
+ * </ul>
+ * <p>
+ *     A rule check takes a few nanoseconds, less than reading the clock, so rules are counted rather than timed.
+ *     Tagged meters are looked up once and kept in arrays indexed by their tag values, so recording does not
+ *     allocate. Components that are built without Spring use {@link #noop()}.
+ * </p>
+ * <p>
+ *     If {@link LatencyReport} is enabled, every latency is also recorded into the histogram of its stage for the
+ *     percentile report at the end of the run; otherwise recording only checks that the report is not set.
+ * </p>
+ */
+@Component
+public class LoanMetrics {
+
+    public static final String CALCULATION = "loan.calculation";
+    public static final String BATCH_CALCULATION = "loan.calculation.batch";
+    public static final String VALIDATION = "loan.validation";
+    public static final String VALIDATION_RULE = "loan.validation.rule";
+    public static final String INPUT = "loan.input";
+    public static final String OUTPUT = "loan.output";
+    public static final String BATCH_OUTPUT = "loan.output.batch";
+
+    public static final String STAGE_READ = "read";
+    public static final String STAGE_PARSE = "parse";
+
+    private static final String INVALID = "invalid";
+    private static final String[] OUTCOMES = {"success", "failure"};
+    private static final String[] VALIDATION_OUTCOMES = {"valid", INVALID};
+    private static final int VEHICLE_TYPES = VehicleType.values().length + 1; // The last index is an invalid vehicle type
+    private static final int TENORS = AppConstant.MAX_LOAN_TENOR + 1; // Index 0 is an invalid tenor
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer[] calculationTimers = new Timer[VEHICLE_TYPES * TENORS * 2];
+    private final Timer[] validationTimers = new Timer[VEHICLE_TYPES * TENORS * 2];
+    private final Timer[] outputTimers = new Timer[VEHICLE_TYPES * TENORS];
+    private final Timer[] batchCalculationTimers = new Timer[2];
+    private final Timer[] batchOutputTimers = new Timer[1];
+    private final Timer[] readTimers = new Timer[2];
+    private final Timer[] parseTimers = new Timer[2];
+    private final Counter[] ruleCounters = new Counter[ValidationRule.values().length * 2];
+
+    private LatencyReport latencyReport; // Null unless the latency report is enabled
+
+    /**
+     * Constructor for {@code LoanMetrics} publishing to the actuator registry, if it is configured.
+     *
+     * @param meterRegistry The actuator registry, unavailable if the actuator is left out.
+     */
+    @Autowired
+    public LoanMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(CompositeMeterRegistry::new));
+    }
+
+    /**
+     * Constructor for {@code LoanMetrics}.
+     *
+     * @param meterRegistry Registry the meters are published to.
+     */
+    public LoanMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (ValidationRule rule : ValidationRule.values()) {
+            for (int outcome = 0; outcome < 2; outcome++) {
+                ruleCounters[rule.ordinal() * 2 + outcome] = Counter.builder(VALIDATION_RULE)
+                        .description("Validation rule checks")
+                        .tag("rule", rule.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", VALIDATION_OUTCOMES[outcome])
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Sets the end-of-run latency report, which also receives every latency if it is enabled.
+     *
+     * @param latencyReport The latency report.
+     */
+    @Autowired
+    public void setLatencyReport(LatencyReport latencyReport) {
+        if (latencyReport.isEnabled()) {
+            latencyReport.start();
+            this.latencyReport = latencyReport;
+        }
+    }
+
+    /**
+     * @return Metrics recording to a registry without any backend, for components built without Spring.
+     */
+    public static LoanMetrics noop() {
+        return new LoanMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Records the calculation of a single loan request.
+     *
+     * @param loanRequest The calculated loan request.
+     * @param nanos       Duration of the calculation.
+     * @param success     Whether a schedule was calculated.
+     */
+    public void recordCalculation(LoanRequest loanRequest, long nanos, boolean success) {
+        int index = requestIndex(loanRequest) * 2 + (success ? 0 : 1);
+        Timer timer = calculationTimers[index];
+        if (timer == null) {
+            timer = calculationTimers[index] = requestTimer(CALCULATION, "Single loan calculations", loanRequest)
+                    .tag("outcome", OUTCOMES[index & 1])
+                    .register(meterRegistry);
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.CALCULATE, nanos, 1);
+    }
+
+    /**
+     * Records a batch calculation call.
+     *
+     * @param nanos        Duration of the batch calculation.
+     * @param loanRequests The number of loan requests of the batch.
+     * @param success      Whether every loan request of the batch was calculated.
+     */
+    public void recordBatchCalculation(long nanos, int loanRequests, boolean success) {
+        stageTimer(batchCalculationTimers, BATCH_CALCULATION, "Batch calculation calls", null, success)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.CALCULATE_BATCH, nanos, loanRequests);
+    }
+
+    /**
+     * Records the validation of a whole loan request, counting every violated rule.
+     *
+     * @param loanRequest The validated loan request.
+     * @param nanos       Duration of the validation.
+     * @param violations  The violation mask of the request, see {@link ValidationRule}.
+     */
+    public void recordValidation(LoanRequest loanRequest, long nanos, int violations) {
+        int index = requestIndex(loanRequest) * 2 + (violations == 0 ? 0 : 1);
+        Timer timer = validationTimers[index];
+        if (timer == null) {
+            timer = validationTimers[index] = requestTimer(VALIDATION, "Loan request validations", loanRequest)
+                    .tag("outcome", VALIDATION_OUTCOMES[index & 1])
+                    .register(meterRegistry);
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.VALIDATE, nanos, 1);
+        for (int remaining = violations; remaining != 0; remaining &= remaining - 1) {
+            ruleCounters[Integer.numberOfTrailingZeros(remaining) * 2 + 1].increment();
+        }
+    }
+
+    /**
+     * Counts the check of a single validation rule.
+     *
+     * @param rule  The checked rule.
+     * @param valid The result of the check.
+     * @return The result of the check, so that it can be returned by the caller.
+     */
+    public boolean recordRule(ValidationRule rule, boolean valid) {
+        ruleCounters[rule.ordinal() * 2 + (valid ? 0 : 1)].increment();
+        return valid;
+    }
+
+    /**
+     * Records reading an input file.
+     *
+     * @param nanos   Duration of the read.
+     * @param success Whether the file could be read.
+     */
+    public void recordRead(long nanos, boolean success) {
+        stageTimer(readTimers, INPUT, "Input reading and parsing", STAGE_READ, success)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.READ, nanos, 1);
+    }
+
+    /**
+     * Records parsing input values into a loan request.
+     *
+     * @param nanos   Duration of the parse.
+     * @param success Whether the values could be parsed.
+     */
+    public void recordParse(long nanos, boolean success) {
+        stageTimer(parseTimers, INPUT, "Input reading and parsing", STAGE_PARSE, success)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.PARSE, nanos, 1);
+    }
+
+    /**
+     * Records printing the schedule of a loan request.
+     *
+     * @param loanRequest The printed loan request.
+     * @param nanos       Duration of the output.
+     */
+    public void recordOutput(LoanRequest loanRequest, long nanos) {
+        int index = requestIndex(loanRequest);
+        Timer timer = outputTimers[index];
+        if (timer == null) {
+            timer = outputTimers[index] = requestTimer(OUTPUT, "Schedule output", loanRequest).register(meterRegistry);
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.OUTPUT, nanos, 1);
+    }
+
+    /**
+     * Records writing the results of a batch chunk.
+     *
+     * @param nanos   Duration of the output.
+     * @param records The number of records of the chunk.
+     */
+    public void recordBatchOutput(long nanos, int records) {
+        Timer timer = batchOutputTimers[0];
+        if (timer == null) {
+            timer = batchOutputTimers[0] = Timer.builder(BATCH_OUTPUT).description("Batch chunk output").register(meterRegistry);
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        recordLatency(LatencyReport.Stage.OUTPUT_BATCH, nanos, records);
+    }
+
+    private void recordLatency(LatencyReport.Stage stage, long nanos, int items) {
+        LatencyReport report = latencyReport;
+        if (report != null) {
+            report.record(stage, nanos, items);
+        }
+    }
+
+    /**
+     * Index of the vehicle type and tenor tags of a request; meters racing to fill the same index are the
+     * same registered meter, so the arrays need no synchronization.
+     */
+    private static int requestIndex(LoanRequest loanRequest) {
+        VehicleType vehicleType = loanRequest.vehicleType();
+        int loanTenor = loanRequest.loanTenor();
+        int vehicleTypeIndex = vehicleType == null ? VEHICLE_TYPES - 1 : vehicleType.ordinal();
+        int tenorIndex = loanTenor >= 1 && loanTenor <= AppConstant.MAX_LOAN_TENOR ? loanTenor : 0;
+        return vehicleTypeIndex * TENORS + tenorIndex;
+    }
+
+    private static Timer.Builder requestTimer(String name, String description, LoanRequest loanRequest) {
+        VehicleType vehicleType = loanRequest.vehicleType();
+        int loanTenor = loanRequest.loanTenor();
+        return Timer.builder(name)
+                .description(description)
+                .tag("vehicle.type", vehicleType == null ? INVALID : vehicleType.code())
+                .tag("tenor", loanTenor >= 1 && loanTenor <= AppConstant.MAX_LOAN_TENOR ? Integer.toString(loanTenor) : INVALID);
+    }
+
+    private Timer stageTimer(Timer[] timers, String name, String description, String stage, boolean success) {
+        int index = success ? 0 : 1;
+        Timer timer = timers[index];
+        if (timer == null) {
+            Timer.Builder builder = Timer.builder(name).description(description).tag("outcome", OUTCOMES[index]);
+            if (stage != null) {
+                builder.tag("stage", stage);
+            }
+            timer = timers[index] = builder.register(meterRegistry);
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,95 @@
+package com.jptest.loan.metrics;
+
+import com.jptest.loan.constant.ErrorMessages;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@code MetricsExporter} component writes the collected metrics in the Prometheus text format at the end of a run.
+ * <p>
+ *     The application exits as soon as its input is processed, so the actuator registry cannot be scraped.
+ *     Instead, the {@code loan.metrics.export} property selects where the scrape is written once processing ends:
+ *     empty (default) to skip the export, {@code stdout} for the console, or the path of a file,
+ *     for example a node exporter textfile collector directory.
+ * </p>
+ */
+@Component
+public class MetricsExporter {
+
+    /**
+     * Value of {@code loan.metrics.export} writing the metrics to the console.
+     */
+    public static final String STDOUT = "stdout";
+
+    private final ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry;
+
+    /**
+     * Export target, injected from application properties.
+     */
+    @Value("${loan.metrics.export:}")
+    private String exportTarget = "";
+
+    /**
+     * Constructor for {@code MetricsExporter}.
+     *
+     * @param prometheusMeterRegistry The Prometheus registry of the actuator, if Prometheus export is enabled.
+     */
+    public MetricsExporter(ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry) {
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+    }
+
+    /**
+     * Writes the metrics to the configured export target, if any.
+     */
+    public void export() {
+        if (exportTarget == null || exportTarget.isBlank()) {
+            return;
+        }
+        PrometheusMeterRegistry registry = prometheusMeterRegistry.getIfAvailable();
+        if (registry == null) {
+            System.out.println(ErrorMessages.METRICS_EXPORT_UNAVAILABLE);
+            return;
+        }
+
+        String target = exportTarget.trim();
+        if (STDOUT.equalsIgnoreCase(target)) {
+            System.out.print(registry.scrape());
+            System.out.flush();
+            return;
+        }
+        Path path = Paths.get(target).toAbsolutePath();
+        Path temporary = null;
+        try {
+            // Write next to the target and move it in place, so that a collector never reads a partial file
+            temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+                registry.scrape(outputStream);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Handle export file creation issues
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + target);
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Nothing left to report; the export already failed
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.rate.InterestRateLadder;
+import com.jptest.loan.service.MinorUnits;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * {@code BinaryResultSink} writes results as compact big-endian records, for consumers that read results
+ * faster than they parse text.
+ * <p>
+ *     The stream starts with the {@link #MAGIC} int and the {@link #VERSION} byte, followed by one record per result:
+ * </p>
+ * <ul>
+ *     <li>{@code long} record number, then {@code byte} status: {@link #STATUS_OK} or {@link #STATUS_ERROR},</li>
+ *     <li>OK: {@code byte} number of years, the {@code long} version of the rates the schedule was calculated with,
+ *     then per year the {@code long} monthly installment in minor units
+ *     (cents) and the {@code int} interest rate percent scaled by 10^{@value InterestRateLadder#RATE_PERCENT_SCALE},</li>
+ *     <li>ERROR: the error message without its prefix, in modified UTF-8 ({@link DataOutputStream#writeUTF(String)}).</li>
+ * </ul>
+ */
+public class BinaryResultSink implements ResultSink {
+
+    /**
+     * First int of every binary result stream, {@code "LNRS"} in ASCII.
+     */
+    public static final int MAGIC = 0x4C4E5253;
+
+    /**
+     * Version of the record layout, written after {@link #MAGIC}.
+     */
+    public static final byte VERSION = 2;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+
+    private final DataOutputStream output;
+
+    /**
+     * Constructor for {@code BinaryResultSink}; writes the stream header.
+     *
+     * @param outputStream The buffered stream receiving the records.
+     * @throws IOException if the header cannot be written.
+     */
+    public BinaryResultSink(OutputStream outputStream) throws IOException {
+        this(outputStream, true);
+    }
+
+    /**
+     * Constructor for {@code BinaryResultSink}.
+     *
+     * @param outputStream The buffered stream receiving the records.
+     * @param writeHeader  Whether to start with the stream header; {@code false} to append records to an existing file.
+     * @throws IOException if the header cannot be written.
+     */
+    public BinaryResultSink(OutputStream outputStream, boolean writeHeader) throws IOException {
+        this.output = new DataOutputStream(outputStream);
+        if (writeHeader) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+        }
+    }
+
+    @Override
+    public void writeResult(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) throws IOException {
+        output.writeLong(recordNumber);
+        output.writeByte(STATUS_OK);
+        output.writeByte(monthlyInstallment.size());
+        output.writeLong(monthlyInstallment.isEmpty() ? 0 : monthlyInstallment.get(0).rateVersion());
+        for (MonthlyInstallmentRatePair monthlyPair : monthlyInstallment) {
+            output.writeLong(MinorUnits.toMinorUnits(monthlyPair.amount()));
+            output.writeInt(monthlyPair.rate().movePointRight(InterestRateLadder.RATE_PERCENT_SCALE).setScale(0, RoundingMode.HALF_UP).intValueExact());
+        }
+    }
+
+    @Override
+    public void writeError(long recordNumber, String error) throws IOException {
+        output.writeLong(recordNumber);
+        output.writeByte(STATUS_ERROR);
+        output.writeUTF(ErrorMessages.withoutPrefix(error));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,48 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * {@code CsvResultSink} writes one comma separated line per result.
+ * <p>
+ *     Result: {@code <record>,OK,<installment year 1>,<rate year 1>,...}<br>
+ *     Error: {@code <record>,ERROR,"<message>"}
+ * </p>
+ */
+public class CsvResultSink extends WriterResultSink {
+
+    /**
+     * Constructor for {@code CsvResultSink}.
+     *
+     * @param writer The buffered writer receiving the lines.
+     */
+    public CsvResultSink(Writer writer) {
+        super(writer);
+    }
+
+    @Override
+    public void writeResult(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) throws IOException {
+        writer.write(Long.toString(recordNumber));
+        writer.write(",OK");
+        for (MonthlyInstallmentRatePair monthlyPair : monthlyInstallment) {
+            writer.write(',');
+            writer.write(formatAmount(monthlyPair.amount()));
+            writer.write(',');
+            writer.write(formatRate(monthlyPair.rate()));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void writeError(long recordNumber, String error) throws IOException {
+        writer.write(Long.toString(recordNumber));
+        writer.write(",ERROR,\"");
+        writer.write(ErrorMessages.withoutPrefix(error).replace("\"", "\"\""));
+        writer.write("\"\n");
+    }
+}
@@ -0,0 +1,56 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.record.BinaryRecordType;
+import com.jptest.loan.record.BinaryRecordWriter;
+import com.jptest.loan.record.ScheduleRecord;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@code FixedWidthResultSink} writes results as a fixed-width schedule record file, see {@link BinaryRecordType#SCHEDULE}.
+ * <p>
+ *     Every result takes the same number of bytes, so downstream jobs read them without parsing and can seek
+ *     to any record. Rejected records keep their violation mask; other errors are written as
+ *     {@link ScheduleRecord.Status#FAILED} without their message.
+ * </p>
+ */
+public class FixedWidthResultSink implements ResultSink {
+
+    private final BinaryRecordWriter<ScheduleRecord> writer;
+
+    /**
+     * Constructor for {@code FixedWidthResultSink}.
+     *
+     * @param writer The writer of the schedule record file.
+     */
+    public FixedWidthResultSink(BinaryRecordWriter<ScheduleRecord> writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeResult(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) throws IOException {
+        writer.write(ScheduleRecord.ok(recordNumber, monthlyInstallment));
+    }
+
+    @Override
+    public void writeInvalid(long recordNumber, int violations) throws IOException {
+        writer.write(ScheduleRecord.invalid(recordNumber, violations));
+    }
+
+    @Override
+    public void writeError(long recordNumber, String error) throws IOException {
+        writer.write(ScheduleRecord.failed(recordNumber));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.jptest.loan.output;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * {@code JsonLinesResultSink} writes one JSON object per result line.
+ * <p>
+ *     Result: {@code {"record":<record>,"status":"OK","rateVersion":<version>,"installments":[{"year":1,"amount":...,"rate":...},...]}}<br>
+ *     Error: {@code {"record":<record>,"status":"ERROR","error":"<message>"}}
+ * </p>
+ */
+public class JsonLinesResultSink extends WriterResultSink {
+
+    /**
+     * Constructor for {@code JsonLinesResultSink}.
+     *
+     * @param writer The buffered writer receiving the lines.
+     */
+    public JsonLinesResultSink(Writer writer) {
+        super(writer);
+    }
+
+    @Override
+    public void writeResult(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) throws IOException {
+        writer.write("{\"record\":");
+        writer.write(Long.toString(recordNumber));
+        writer.write(",\"status\":\"OK\",\"rateVersion\":");
+        writer.write(Long.toString(monthlyInstallment.isEmpty() ? 0 : monthlyInstallment.get(0).rateVersion()));
+        writer.write(",\"installments\":[");
+        int year = 1;
+        for (MonthlyInstallmentRatePair monthlyPair : monthlyInstallment) {
+            if (year > 1) {
+                writer.write(',');
+            }
+            writer.write("{\"year\":");
+            writer.write(Integer.toString(year++));
+            writer.write(",\"amount\":");
+            writer.write(formatAmount(monthlyPair.amount()));
+            writer.write(",\"rate\":");
+            writer.write(formatRate(monthlyPair.rate()));
+            writer.write('}');
+        }
+        writer.write("]}\n");
+    }
+
+    @Override
+    public void writeError(long recordNumber, String error) throws IOException {
+        writer.write("{\"record\":");
+        writer.write(Long.toString(recordNumber));
+        writer.write(",\"status\":\"ERROR\",\"error\":\"");
+        writer.write(JsonStringEncoder.getInstance().quoteAsString(ErrorMessages.withoutPrefix(error)));
+        writer.write("\"}\n");
+    }
+}
@@ -0,0 +1,47 @@
+package com.jptest.loan.output;
+
+import java.util.Locale;
+
+/**
+ * {@code OutputFormat} enum to describe the formats a {@link ResultSink} can write results in.
+ */
+public enum OutputFormat {
+    /**
+     * Human readable text, one line per year of the loan tenor, as printed by the console modes.
+     */
+    TEXT,
+    /**
+     * Comma separated values, one result per line.
+     */
+    CSV,
+    /**
+     * JSON Lines, one JSON object per result.
+     */
+    JSON_LINES,
+    /**
+     * Compact big-endian binary records, see {@link BinaryResultSink}.
+     */
+    BINARY,
+    /**
+     * Fixed-width schedule records, see {@link FixedWidthResultSink}.
+     */
+    FIXED_WIDTH;
+
+    /**
+     * Parses an output format from its name, case insensitive, with {@code -} accepted for {@code _}
+     * (e.g. {@code json-lines}).
+     *
+     * @param value The output format name.
+     * @return The matching output format.
+     * @throws IllegalArgumentException if the value is not a supported output format.
+     */
+    public static OutputFormat parse(String value) {
+        String name = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (OutputFormat outputFormat : values()) {
+            if (outputFormat.name().equals(name)) {
+                return outputFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported output format: " + value);
+    }
+}
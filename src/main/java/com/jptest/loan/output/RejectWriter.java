@@ -0,0 +1,125 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.validator.ValidationRule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * {@code RejectWriter} writes the reasons batch records were rejected, one CSV line per reason.
+ * <p>
+ *     Every line names the line number of the record, the input field at fault (empty if the whole record is at
+ *     fault), a machine readable error code and the error message:
+ * </p>
+ * <pre>
+ * line,field,code,message
+ * 3,loan_tenor,LOAN_TENOR,"Invalid loan tenor. Must be between 1 and 6 years."
+ * 5,loan_amount,INVALID_INPUT_FORMAT,"Invalid input format. ..."
+ * </pre>
+ * <p>
+ *     A record rejected for several reasons gets one line per reason: every violated {@link ValidationRule}, coded
+ *     by its name, or every field that could not be parsed. Lines are buffered like the lines of a
+ *     {@link ResultSink}, and closing a console writer flushes it but leaves the console open.
+ * </p>
+ */
+public class RejectWriter implements Closeable {
+
+    /**
+     * Header line of a reject file.
+     */
+    public static final String HEADER = "line,field,code,message";
+
+    /**
+     * Error code of a record or field that cannot be parsed.
+     */
+    public static final String INVALID_INPUT_FORMAT = "INVALID_INPUT_FORMAT";
+
+    /**
+     * Error code of a valid record that cannot be calculated.
+     */
+    public static final String CALCULATION_FAILED = "CALCULATION_FAILED";
+
+    private final Writer writer;
+
+    /**
+     * Constructor for {@code RejectWriter}.
+     *
+     * @param writer      The buffered writer receiving the lines.
+     * @param writeHeader Whether to start with the {@link #HEADER} line, i.e. unless appending to a reject file.
+     * @throws IOException if the header cannot be written.
+     */
+    public RejectWriter(Writer writer, boolean writeHeader) throws IOException {
+        this.writer = writer;
+        if (writeHeader) {
+            writer.write(HEADER);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Writes one line per violated rule of a record rejected by validation.
+     *
+     * @param lineNumber The line number of the record.
+     * @param violations The violation mask of the record, see {@link ValidationRule}.
+     * @throws IOException if a line cannot be written.
+     */
+    public void rejectInvalid(long lineNumber, int violations) throws IOException {
+        for (ValidationRule rule : ValidationRule.violated(violations)) {
+            reject(lineNumber, rule.field(), rule.name(), rule.errorMessage());
+        }
+    }
+
+    /**
+     * Writes one line per field of a record that could not be parsed.
+     *
+     * @param lineNumber The line number of the record.
+     * @param fields     The fields that could not be parsed; empty if the record as a whole cannot be parsed.
+     * @param message    The error message, with or without the error prefix.
+     * @throws IOException if a line cannot be written.
+     */
+    public void rejectUnparsable(long lineNumber, List<String> fields, String message) throws IOException {
+        if (fields.isEmpty()) {
+            reject(lineNumber, "", INVALID_INPUT_FORMAT, message);
+        }
+        for (String field : fields) {
+            reject(lineNumber, field, INVALID_INPUT_FORMAT, message);
+        }
+    }
+
+    /**
+     * Writes one reject line.
+     *
+     * @param lineNumber The line number of the record.
+     * @param field      The input field at fault, or empty if the whole record is at fault.
+     * @param code       The error code.
+     * @param message    The error message, with or without the error prefix.
+     * @throws IOException if the line cannot be written.
+     */
+    public void reject(long lineNumber, String field, String code, String message) throws IOException {
+        writer.write(Long.toString(lineNumber));
+        writer.write(',');
+        writer.write(field);
+        writer.write(',');
+        writer.write(code);
+        writer.write(",\"");
+        writer.write(ErrorMessages.withoutPrefix(message).replace("\"", "\"\""));
+        writer.write("\"\n");
+    }
+
+    /**
+     * Writes the buffered lines to the underlying file or console.
+     *
+     * @throws IOException if the lines cannot be written.
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
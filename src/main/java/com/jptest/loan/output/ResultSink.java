@@ -0,0 +1,59 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.validator.ValidationRule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@code ResultSink} receives the result of every processed loan record and writes it in one {@link OutputFormat}.
+ * <p>
+ *     Implementations buffer their output: nothing reaches the underlying file or console until the buffer is full,
+ *     {@link #flush()} is called or the sink is closed, so callers flush once per batch rather than once per line.
+ *     Closing a console sink flushes it but leaves the console open. Sinks are not thread safe.
+ * </p>
+ */
+public interface ResultSink extends Closeable {
+
+    /**
+     * Writes the schedule of a calculated record.
+     *
+     * @param recordNumber       The number of the record in its input, e.g. the line number of a batch record,
+     *                           or 0 for the single record of the console modes.
+     * @param monthlyInstallment The monthly installment and interest rate of each year, in year order.
+     * @throws IOException if the result cannot be written.
+     */
+    void writeResult(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) throws IOException;
+
+    /**
+     * Writes the error of a record rejected by validation.
+     * <p>
+     *     By default the record is written as an error listing the message of every violated rule.
+     * </p>
+     *
+     * @param recordNumber The number of the record in its input, or 0 for the single record of the console modes.
+     * @param violations   The violation mask of the record, see {@link ValidationRule}.
+     * @throws IOException if the error cannot be written.
+     */
+    default void writeInvalid(long recordNumber, int violations) throws IOException {
+        writeError(recordNumber, ValidationRule.describe(violations));
+    }
+
+    /**
+     * Writes the error of a rejected record.
+     *
+     * @param recordNumber The number of the record in its input, or 0 for the single record of the console modes.
+     * @param error        The error message, with or without the error prefix.
+     * @throws IOException if the error cannot be written.
+     */
+    void writeError(long recordNumber, String error) throws IOException;
+
+    /**
+     * Writes the buffered results to the underlying file or console.
+     *
+     * @throws IOException if the results cannot be written.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,191 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.record.BinaryRecordType;
+import com.jptest.loan.record.BinaryRecordWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code ResultSinkFactory} component opens buffered {@link ResultSink}s, and the {@link RejectWriter}s of batch runs,
+ * on a file or on the console.
+ * <p>
+ *     Every sink buffers {@code loan.output.buffer.size} bytes (characters for the text formats) before writing
+ *     to its destination. Console sinks write to the current {@link System#out}, and sinks on a stream of the caller
+ *     leave it open when closed.
+ * </p>
+ */
+@Component
+public class ResultSinkFactory {
+
+    /**
+     * Default buffer size of a sink, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final int bufferSize;
+
+    /**
+     * Constructor for {@code ResultSinkFactory} with the {@link #DEFAULT_BUFFER_SIZE}, for components built without Spring.
+     */
+    public ResultSinkFactory() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor for {@code ResultSinkFactory}.
+     *
+     * @param bufferSize The buffer size of every sink, injected from application properties.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    @Autowired
+    public ResultSinkFactory(@Value("${loan.output.buffer.size:65536}") int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Output buffer size must be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Opens a sink writing results in the given format.
+     *
+     * @param format     The output format.
+     * @param outputPath The path to the result file, or {@code null} to write to the console.
+     * @return The opened sink; closing it flushes the results and closes the file.
+     * @throws IOException if the result file cannot be created.
+     */
+    public ResultSink open(OutputFormat format, String outputPath) throws IOException {
+        if (outputPath == null) {
+            return openStream(format, System.out);
+        }
+        return open(format, Files.newOutputStream(Paths.get(outputPath)), true);
+    }
+
+    /**
+     * Opens a sink writing results in the given format to a stream owned by the caller, such as the console
+     * or the body of an HTTP response.
+     *
+     * @param format       The output format.
+     * @param outputStream The stream receiving the results.
+     * @return The opened sink; closing it flushes the results but leaves the stream open.
+     * @throws IOException if the format header cannot be written.
+     */
+    public ResultSink openStream(OutputFormat format, OutputStream outputStream) throws IOException {
+        return open(format, new UnclosedOutputStream(outputStream), true);
+    }
+
+    /**
+     * Reopens a result file to append results after its first bytes, e.g. when resuming an interrupted batch.
+     * <p>
+     *     The file is truncated to {@code length} bytes first, dropping any result written after that point,
+     *     and the format header is not written again.
+     * </p>
+     *
+     * @param format     The output format the file was written in.
+     * @param outputPath The path to the result file.
+     * @param length     The number of bytes of the file to keep.
+     * @return The opened sink; closing it flushes the results and closes the file.
+     * @throws IOException if the result file cannot be opened or is shorter than {@code length}.
+     */
+    public ResultSink append(OutputFormat format, String outputPath, long length) throws IOException {
+        return open(format, truncate(outputPath, length), false);
+    }
+
+    /**
+     * Opens a writer of rejected records.
+     *
+     * @param rejectPath The path to the reject file, or {@code null} to write to the console.
+     * @return The opened writer, which has written the header line; closing it flushes the lines and closes the file.
+     * @throws IOException if the reject file cannot be created.
+     */
+    public RejectWriter openRejects(String rejectPath) throws IOException {
+        OutputStream outputStream = rejectPath == null
+                ? new UnclosedOutputStream(System.out) : Files.newOutputStream(Paths.get(rejectPath));
+        return new RejectWriter(newWriter(outputStream), true);
+    }
+
+    /**
+     * Reopens a reject file to append lines after its first bytes, e.g. when resuming an interrupted batch.
+     *
+     * @param rejectPath The path to the reject file.
+     * @param length     The number of bytes of the file to keep.
+     * @return The opened writer; closing it flushes the lines and closes the file.
+     * @throws IOException if the reject file cannot be opened or is shorter than {@code length}.
+     */
+    public RejectWriter appendRejects(String rejectPath, long length) throws IOException {
+        return new RejectWriter(newWriter(truncate(rejectPath, length)), false);
+    }
+
+    /**
+     * Truncates a file to {@code length} bytes and opens it for appending.
+     */
+    private static OutputStream truncate(String filePath, long length) throws IOException {
+        Path path = Paths.get(filePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            if (channel.size() < length) {
+                throw new IOException("File is shorter than " + length + " bytes: " + filePath);
+            }
+            channel.truncate(length);
+        }
+        return Files.newOutputStream(path, StandardOpenOption.APPEND);
+    }
+
+    private ResultSink open(OutputFormat format, OutputStream outputStream, boolean writeHeader) throws IOException {
+        return switch (format) {
+            case TEXT -> new TextResultSink(newWriter(outputStream));
+            case CSV -> new CsvResultSink(newWriter(outputStream));
+            case JSON_LINES -> new JsonLinesResultSink(newWriter(outputStream));
+            case BINARY -> new BinaryResultSink(new BufferedOutputStream(outputStream, bufferSize), writeHeader);
+            case FIXED_WIDTH -> new FixedWidthResultSink(new BinaryRecordWriter<>(
+                    BinaryRecordType.SCHEDULE, Channels.newChannel(outputStream), bufferSize, writeHeader));
+        };
+    }
+
+    private BufferedWriter newWriter(OutputStream outputStream) {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    /**
+     * Stream that passes whole buffers through and never closes the console or the stream of the caller.
+     */
+    private static final class UnclosedOutputStream extends OutputStream {
+        private final OutputStream outputStream;
+
+        UnclosedOutputStream(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            outputStream.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            outputStream.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush(); // Never close the console or the stream of the caller
+        }
+    }
+}
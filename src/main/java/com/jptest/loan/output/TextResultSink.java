@@ -0,0 +1,92 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Formatter;
+import java.util.List;
+
+/**
+ * {@code TextResultSink} writes results in the human readable form of the console modes.
+ * <p>
+ *     Each year of the loan tenor is written as
+ *     {@code 1st year with Monthly installment: Rp 2,250,000.00, Interest rate: 8.0%}, with amounts grouped by
+ *     the default locale. Results of a batch record ({@code recordNumber > 0}) start with a {@code Record <n>:} line.
+ * </p>
+ */
+public class TextResultSink extends WriterResultSink {
+
+    private final Formatter formatter;
+
+    /**
+     * Constructor for {@code TextResultSink}.
+     *
+     * @param writer The buffered writer receiving the text.
+     */
+    public TextResultSink(Writer writer) {
+        super(writer);
+        this.formatter = new Formatter(writer);
+    }
+
+    @Override
+    public void writeResult(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) throws IOException {
+        writeRecordHeader(recordNumber);
+        int year = 1; // Initialize year counter
+        for (MonthlyInstallmentRatePair monthlyPair : monthlyInstallment) {
+            formatter.format("\n%s year with Monthly installment: Rp %,.2f, Interest rate: %.1f%%%n", getOrdinal(year++), monthlyPair.amount(), monthlyPair.rate());
+        }
+        writer.write('\n'); // Write a newline for better formatting
+        checkFormatter();
+    }
+
+    @Override
+    public void writeError(long recordNumber, String error) throws IOException {
+        writeRecordHeader(recordNumber);
+        writer.write("Error: ");
+        writer.write(error);
+        writer.write(System.lineSeparator());
+    }
+
+    private void writeRecordHeader(long recordNumber) throws IOException {
+        if (recordNumber > 0) {
+            formatter.format("Record %d:%n", recordNumber);
+            checkFormatter();
+        }
+    }
+
+    /**
+     * {@link Formatter} swallows the exceptions of its destination; rethrow them like the other sinks do.
+     */
+    private void checkFormatter() throws IOException {
+        IOException e = formatter.ioException();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method to get the ordinal string representation of a year number.
+     * <p>
+     *     Converts a given integer to its ordinal form (e.g., 1 becomes "1st", 2 becomes "2nd", etc.).
+     *     This is used for displaying user-friendly year numbers in output messages.
+     * </p>
+     *
+     * @param n Year number for which to get the ordinal representation.
+     * @return Ordinal string representation of the year number (e.g., "1st", "2nd", "3rd", "4th").
+     */
+    static String getOrdinal(int n) {
+        // Special case for 11th, 12th, and 13th
+        if (n >= 11 && n <= 13) {
+            return n + "th";
+        }
+
+        // Determine the ordinal suffix based on the last digit
+        return switch (n % 10) {
+            case 1 -> n + "st"; // Suffix for numbers ending in 1 (except 11)
+            case 2 -> n + "nd"; // Suffix for numbers ending in 2 (except 12)
+            case 3 -> n + "rd"; // Suffix for numbers ending in 3 (except 13)
+            default -> n + "th"; // Default suffix for all other numbers
+        };
+    }
+}
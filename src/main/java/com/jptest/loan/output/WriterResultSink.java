@@ -0,0 +1,42 @@
+package com.jptest.loan.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Base class of the character based sinks, writing to a buffered {@link Writer}.
+ */
+abstract class WriterResultSink implements ResultSink {
+
+    protected final Writer writer;
+
+    WriterResultSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * @return The amount with 2 decimal places, e.g. {@code 2250000.00}.
+     */
+    static String formatAmount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * @return The rate with 1 decimal place, e.g. {@code 8.0}.
+     */
+    static String formatRate(BigDecimal rate) {
+        return rate.setScale(1, RoundingMode.HALF_UP).toPlainString();
+    }
+}
@@ -1,11 +1,18 @@
 package com.jptest.loan.processor;
 
+import com.jptest.loan.dto.LoanRequest;
 import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.metrics.LoanMetrics;
+import com.jptest.loan.output.OutputFormat;
+import com.jptest.loan.output.ResultSink;
+import com.jptest.loan.output.ResultSinkFactory;
+import com.jptest.loan.rate.RateSnapshot;
 import com.jptest.loan.service.LoanCalculatorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
-import com.jptest.loan.dto.MonthlyInstallmentRatePair;
-import com.jptest.loan.service.LoanCalculatorService;
-
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.List;
 
 /**
@@ -14,12 +21,19 @@ import java.util.List;
  *     It is designed to be extended by classes that handle specific types of loan input processing
  *     (e.g., manual input, file input). This base class encapsulates common functionalities
  *     related to loan calculation and installment printing, leveraging the {@link LoanCalculatorService}.
+ *     Results are written through a buffered {@link ResultSink} in the {@code loan.output.format} format.
  * </p>
  */
 public class BaseProcessor {
 
     private final LoanCalculatorService loanCalculatorService;
 
+    private LoanMetrics loanMetrics = LoanMetrics.noop();
+
+    private ResultSinkFactory resultSinkFactory = new ResultSinkFactory();
+
+    private OutputFormat outputFormat = OutputFormat.TEXT;
+
     /**
      * Constructor for {@code BaseProcessor}.
      * <p>
@@ -33,6 +47,58 @@ public class BaseProcessor {
         this.loanCalculatorService = loanCalculatorService;
     }
 
+    /**
+     * Sets the metrics recording the calculation and output of this processor.
+     * <p>
+     *     Injected by Spring if a {@link LoanMetrics} bean exists; processors built without it record to
+     *     {@link LoanMetrics#noop()}.
+     * </p>
+     *
+     * @param loanMetrics Metrics of the processing stages.
+     */
+    @Autowired(required = false)
+    public void setLoanMetrics(LoanMetrics loanMetrics) {
+        this.loanMetrics = loanMetrics;
+    }
+
+    /**
+     * @return The metrics of the processing stages.
+     */
+    protected LoanMetrics getLoanMetrics() {
+        return loanMetrics;
+    }
+
+    /**
+     * Sets the factory opening the sinks results are written to.
+     * <p>
+     *     Injected by Spring; processors built without Spring use sinks with the default buffer size.
+     * </p>
+     *
+     * @param resultSinkFactory Factory of buffered result sinks.
+     */
+    @Autowired
+    public void setResultSinkFactory(ResultSinkFactory resultSinkFactory) {
+        this.resultSinkFactory = resultSinkFactory;
+    }
+
+    /**
+     * @return The factory of buffered result sinks.
+     */
+    protected ResultSinkFactory getResultSinkFactory() {
+        return resultSinkFactory;
+    }
+
+    /**
+     * Sets the format of the results printed to the console, injected from application properties.
+     *
+     * @param outputFormat The output format name, e.g. {@code text} or {@code json-lines}.
+     * @throws IllegalArgumentException if the output format is not supported.
+     */
+    @Value("${loan.output.format:text}")
+    public void setOutputFormat(String outputFormat) {
+        this.outputFormat = OutputFormat.parse(outputFormat);
+    }
+
     /**
      * Calculates and prints the monthly installment for each year of the loan tenor.
      * <p>
@@ -41,55 +107,85 @@ public class BaseProcessor {
      *     to the console, formatted with appropriate currency and interest rate display.
      * </p>
      *
-     * @param vehicleType Type of vehicle (e.g., car, motorcycle).
-     * @param vehicleCondition Condition of vehicle (new/old).
-     * @param vehicleYear Year of vehicle manufacture.
-     * @param loanAmount Total loan amount.
-     * @param loanTenor Loan tenor in years.
-     * @param downPayment Down payment amount.
+     * @param loanRequest  Validated loan request (vehicle type, condition, year, loan amount, tenor and down payment).
+     * @param rateSnapshot The rates the loan request was validated with.
      */
-    public void calculateAndPrintInstallment(String vehicleType, String vehicleCondition, int vehicleYear, double loanAmount, int loanTenor, double downPayment) {
-        try {
-            // Calculate monthly installments using LoanCalculatorService
-            List<MonthlyInstallmentRatePair> monthlyInstallment = loanCalculatorService.calculateMonthlyInstallment(
-                    vehicleType, vehicleCondition, vehicleYear, loanAmount, loanTenor, downPayment
-            );
-            int year = 1; // Initialize year counter
-
-            // Iterate through the calculated installments and print each year's installment details
-            for(MonthlyInstallmentRatePair monthlyPair: monthlyInstallment){
-                System.out.printf("\n%s year with Monthly installment: Rp %,.2f, Interest rate: %.1f%%%n", getOrdinal(year++), monthlyPair.amount(), monthlyPair.rate());
-            }
-            System.out.print("\n"); // Print a newline for better formatting
+    public void calculateAndPrintInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        calculateAndPrintInstallment(loanRequest, rateSnapshot, System.out);
+    }
 
-        } catch (IllegalArgumentException e) {
-            // Catch and display any IllegalArgumentExceptions thrown during calculation
-            System.out.println("Error: " + e.getMessage());
+    /**
+     * Calculates the monthly installment for each year of the loan tenor and prints it to the given stream.
+     *
+     * @param loanRequest  Validated loan request.
+     * @param rateSnapshot The rates the loan request was validated with.
+     * @param out          The print stream receiving the installments, or the error message.
+     * @return Whether the installments were calculated, {@code false} if an error was printed instead.
+     */
+    protected boolean calculateAndPrintInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot, PrintStream out) {
+        try (ResultSink resultSink = resultSinkFactory.openStream(outputFormat, out)) {
+            try {
+                // Calculate monthly installments using LoanCalculatorService
+                List<MonthlyInstallmentRatePair> monthlyInstallment = calculateInstallment(loanRequest, rateSnapshot);
+                long outputStart = System.nanoTime();
+                resultSink.writeResult(0, monthlyInstallment);
+                resultSink.flush(); // One flush for the whole schedule
+                loanMetrics.recordOutput(loanRequest, System.nanoTime() - outputStart);
+                return true;
+
+            } catch (IllegalArgumentException e) {
+                // Catch and display any IllegalArgumentExceptions thrown during calculation
+                resultSink.writeError(0, e.getMessage());
+            }
+        } catch (IOException e) {
+            // Print streams do not throw; nothing is left to report the failure to
         }
+        return false;
     }
 
     /**
-     * Helper method to get the ordinal string representation of a year number.
+     * Calculates the monthly installment for each year of the loan tenor without printing it.
      * <p>
-     *     Converts a given integer to its ordinal form (e.g., 1 becomes "1st", 2 becomes "2nd", etc.).
-     *     This is used for displaying user-friendly year numbers in output messages.
+     *     Delegates to {@link LoanCalculatorService} so that implementing classes which write their
+     *     results somewhere other than the console (e.g. batch files) share the same calculation path.
      * </p>
      *
-     * @param n Year number for which to get the ordinal representation.
-     * @return Ordinal string representation of the year number (e.g., "1st", "2nd", "3rd", "4th").
+     * @param loanRequest  Validated loan request.
+     * @param rateSnapshot The rates the loan request was validated with.
+     * @return List of monthly installment and interest rate pairs, one per year of the loan tenor.
      */
-    private static String getOrdinal(int n) {
-        // Special case for 11th, 12th, and 13th
-        if (n >= 11 && n <= 13) {
-            return n + "th";
+    protected List<MonthlyInstallmentRatePair> calculateInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            List<MonthlyInstallmentRatePair> monthlyInstallment = loanCalculatorService.calculateMonthlyInstallment(loanRequest, rateSnapshot);
+            success = true;
+            return monthlyInstallment;
+        } finally {
+            loanMetrics.recordCalculation(loanRequest, System.nanoTime() - start, success);
         }
+    }
 
-        // Determine the ordinal suffix based on the last digit
-        return switch (n % 10) {
-            case 1 -> n + "st"; // Suffix for numbers ending in 1 (except 11)
-            case 2 -> n + "nd"; // Suffix for numbers ending in 2 (except 12)
-            case 3 -> n + "rd"; // Suffix for numbers ending in 3 (except 13)
-            default -> n + "th"; // Default suffix for all other numbers
-        };
+    /**
+     * Calculates the monthly installments of a batch of loan requests without printing them.
+     * <p>
+     *     Delegates to {@link LoanCalculatorService#calculateMonthlyInstallments(List, RateSnapshot)}, which spreads
+     *     large batches across cores and returns the schedules in input order.
+     * </p>
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @param rateSnapshot The rates the loan requests were validated with.
+     * @return List of schedules, one per loan request, in input order.
+     */
+    protected List<List<MonthlyInstallmentRatePair>> calculateInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            List<List<MonthlyInstallmentRatePair>> monthlyInstallments = loanCalculatorService.calculateMonthlyInstallments(loanRequests, rateSnapshot);
+            success = true;
+            return monthlyInstallments;
+        } finally {
+            loanMetrics.recordBatchCalculation(System.nanoTime() - start, loanRequests.size(), success);
+        }
     }
 }
@@ -0,0 +1,132 @@
+package com.jptest.loan.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * {@code BatchCheckpoint} record holds the progress of a batch run, from which an interrupted run is resumed.
+ * <p>
+ *     A checkpoint is only committed once every result before it has been flushed and synced to the result file,
+ *     so the result file always holds at least {@code outputOffset} bytes of complete results, and resuming
+ *     truncates it to that offset before continuing with the record after {@code inputOffset}. It is stored next to
+ *     the result file (see {@link #pathFor(String)}) as a properties file, replaced atomically on every commit.
+ *     The reject file of the run, if any, is flushed, synced and truncated on resume the same way.
+ * </p>
+ *
+ * @param input        The absolute path of the batch input file.
+ * @param inputSize    The size of the input file, in bytes, to detect a changed input.
+ * @param outputFormat The name of the output format of the results.
+ * @param inputOffset  The byte offset of the first unprocessed input record, or -1 if the input was read line by line.
+ * @param lineNumber   The line number of the last processed record; for binary input, the index of the next record.
+ * @param outputOffset The number of bytes of committed results in the result file.
+ * @param processed    The number of records processed so far.
+ * @param failed       The number of records rejected so far.
+ * @param rejectOffset The number of bytes of committed lines in the reject file, or -1 if the run has no reject file.
+ */
+record BatchCheckpoint(String input, long inputSize, String outputFormat, long inputOffset, long lineNumber,
+                       long outputOffset, long processed, long failed, long rejectOffset) {
+
+    /**
+     * Suffix appended to the result file name to name its checkpoint file.
+     */
+    static final String SUFFIX = ".checkpoint";
+
+    private static final String VERSION = "1";
+
+    /**
+     * @param outputPath The path to the result file.
+     * @return The path to the checkpoint file of the result file.
+     */
+    static Path pathFor(String outputPath) {
+        Path path = Paths.get(outputPath).toAbsolutePath();
+        return path.resolveSibling(path.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Reads a checkpoint file.
+     *
+     * @param path The path to the checkpoint file.
+     * @return The checkpoint, or {@code null} if there is no checkpoint file.
+     * @throws IOException if the file cannot be read or is not a checkpoint of this version.
+     */
+    static BatchCheckpoint read(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            properties.load(inputStream);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!VERSION.equals(properties.getProperty("version"))) {
+            throw new IOException("Unsupported checkpoint version: " + properties.getProperty("version"));
+        }
+        try {
+            return new BatchCheckpoint(properties.getProperty("input"), longProperty(properties, "input.size"),
+                    properties.getProperty("output.format"), longProperty(properties, "input.offset"),
+                    longProperty(properties, "line.number"), longProperty(properties, "output.offset"),
+                    longProperty(properties, "processed"), longProperty(properties, "failed"),
+                    Long.parseLong(properties.getProperty("reject.offset", "-1")));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid checkpoint: " + path, e);
+        }
+    }
+
+    /**
+     * Commits the checkpoint: writes and syncs a temporary file next to the checkpoint file, then moves it over
+     * the checkpoint file atomically, so that a crash leaves either the previous or this checkpoint.
+     *
+     * @param path The path to the checkpoint file.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    void write(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("version", VERSION);
+        properties.setProperty("input", input);
+        properties.setProperty("input.size", Long.toString(inputSize));
+        properties.setProperty("output.format", outputFormat);
+        properties.setProperty("input.offset", Long.toString(inputOffset));
+        properties.setProperty("line.number", Long.toString(lineNumber));
+        properties.setProperty("output.offset", Long.toString(outputOffset));
+        properties.setProperty("processed", Long.toString(processed));
+        properties.setProperty("failed", Long.toString(failed));
+        properties.setProperty("reject.offset", Long.toString(rejectOffset));
+
+        Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                OutputStream outputStream = Channels.newOutputStream(channel);
+                properties.store(outputStream, null);
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Checks that the checkpoint was written for an input file and output format.
+     *
+     * @param inputPath The path to the batch input file.
+     * @param format    The name of the output format.
+     * @return {@code true} if the input file and output format are the ones the checkpoint was written for.
+     * @throws IOException if the input file cannot be read.
+     */
+    boolean matches(Path inputPath, String format) throws IOException {
+        return inputPath.toAbsolutePath().toString().equals(input) && Files.size(inputPath) == inputSize
+                && format.equals(outputFormat);
+    }
+
+    private static long longProperty(Properties properties, String name) {
+        return Long.parseLong(properties.getProperty(name, ""));
+    }
+}
@@ -0,0 +1,845 @@
+package com.jptest.loan.processor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.output.OutputFormat;
+import com.jptest.loan.output.RejectWriter;
+import com.jptest.loan.output.ResultSink;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.record.BinaryRecordReader;
+import com.jptest.loan.record.BinaryRecordType;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * {@code BatchFileProcessor} class is responsible for processing many loan applications from one delimited file.
+ * <p>
+ *     It extends {@link BaseProcessor} to inherit common loan calculation functionalities.
+ *     Unlike {@link FileInputProcessor}, which expects exactly one loan spread over 6 lines, this processor
+ *     streams a CSV or JSON Lines file, validates each record with {@link LoanValidationEngine}, calculates the valid
+ *     records in chunks of {@code loan.batch.chunk.size} with the batch API of {@link LoanCalculatorService}
+ *     (which spreads a chunk across cores) and writes exactly one result per input record, in input order, through
+ *     a buffered {@link ResultSink}. Only the current chunk is held in memory, so files of any size are processed
+ *     with constant memory. CSV and JSON Lines files are read with {@link MappedRecordReader}, which parses CSV
+ *     records straight from the memory-mapped file, unless {@code loan.batch.mapped.input} is disabled.
+ * </p>
+ * <p>
+ *     When results are written to a file, the progress of the run is committed to a {@link BatchCheckpoint} next
+ *     to it every {@code loan.batch.checkpoint.interval}, so that an interrupted run can be resumed with
+ *     {@link #processBatch(String, String, boolean)} without duplicating or losing results.
+ * </p>
+ * <p>
+ *     Every rejected record is also written to the {@link RejectWriter} file {@code loan.batch.reject.file}, if set,
+ *     with its line number and a line per field and error code at fault, so that inputs can be fixed by a program.
+ *     {@link #validateBatch(String, String)} only parses and validates a batch file into its rejects, without
+ *     calculating anything, to screen an input before a full run.
+ * </p>
+ * <p>
+ *     {@link #processStream(InputStream, String)} processes the same CSV and JSON Lines records from a stream that
+ *     has no end known in advance, such as standard input fed by a pipe or a FIFO, so that one warm process
+ *     calculates a continuous stream of loan applications.
+ * </p>
+ */
+@Component
+public class BatchFileProcessor extends BaseProcessor {
+
+    /**
+     * Header line that may optionally start a CSV batch file. It is skipped when present.
+     */
+    static final String CSV_HEADER = "vehicle_type,vehicle_condition,vehicle_year,loan_amount,loan_tenor,down_payment";
+    /**
+     * Header line of a CSV batch file with the optional dealer programme column. It is skipped when present.
+     */
+    static final String CSV_HEADER_WITH_PROGRAMME = CSV_HEADER + ",dealer_programme";
+    /**
+     * Name of standard input in error messages of {@link #processStream(InputStream, String)}.
+     */
+    static final String STANDARD_INPUT = "stdin";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int CSV_FIELD_COUNT = 6;
+    private static final int MAX_CSV_FIELD_COUNT = CSV_FIELD_COUNT + 1;
+    private static final ObjectReader LOAN_REQUEST_READER = new ObjectMapper().readerFor(LoanRequest.class);
+    private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("([a-z])([A-Z])");
+
+    private final LoanValidationEngine loanValidationEngine;
+
+    /**
+     * Number of records parsed and validated before they are calculated together in one batch call.
+     * <p>
+     *     Bounds the memory held by the batch, so that files of any size are still processed in constant memory.
+     * </p>
+     */
+    @Value("${loan.batch.chunk.size:1024}")
+    private int chunkSize = 1024;
+
+    /**
+     * Whether CSV and JSON Lines files are read with {@link MappedRecordReader} instead of line by line as strings.
+     */
+    @Value("${loan.batch.mapped.input:true}")
+    private boolean mappedInput = true;
+
+    /**
+     * Format of the results, see {@link OutputFormat#parse(String)}; empty to write results in the input record format.
+     */
+    @Value("${loan.batch.output.format:}")
+    private String outputFormat = "";
+
+    /**
+     * Minimum time between two checkpoints of a batch writing to a result file; checkpoints are only committed
+     * between chunks, so {@code 0} commits one after every chunk.
+     */
+    @Value("${loan.batch.checkpoint.interval:30s}")
+    private Duration checkpointInterval = Duration.ofSeconds(30);
+
+    /**
+     * Path of the file the reasons of every rejected record are written to, see {@link RejectWriter}; empty for none.
+     */
+    @Value("${loan.batch.reject.file:}")
+    private String rejectFile = "";
+
+    /**
+     * Maximum number of stream records whose results are written before they are flushed; results are also flushed
+     * as soon as no further input is available, so a slow producer never waits for a full batch, and {@code 1}
+     * flushes the result of every record.
+     */
+    @Value("${loan.stream.flush.size:1024}")
+    private int streamFlushSize = 1024;
+
+    /**
+     * Constructor for {@code BatchFileProcessor}.
+     * <p>
+     *     Injects {@link LoanCalculatorService} for loan calculations and {@link LoanValidationEngine}
+     *     for validating each record read from the batch file.
+     * </p>
+     *
+     * @param loanCalculatorService Service for performing loan calculations.
+     * @param loanValidationEngine Engine validating every rule of a record in one pass.
+     */
+    @Autowired
+    public BatchFileProcessor(LoanCalculatorService loanCalculatorService, LoanValidationEngine loanValidationEngine) {
+        super(loanCalculatorService);
+        this.loanValidationEngine = loanValidationEngine;
+    }
+
+    /**
+     * Processes every loan record of a batch file and writes one result per record.
+     * <p>
+     *     The record format is derived from the input file extension (see {@link RecordFormat#fromPath(String)}),
+     *     and results are written in the same format unless {@code loan.batch.output.format} selects another one.
+     *     Results are buffered and flushed at checkpoints and at the end of the batch. Invalid records do not stop
+     *     the batch: they produce an {@code ERROR} result line carrying the message of every violated validation
+     *     rule, and processing continues with the next record.
+     * </p>
+     *
+     * @param inputPath  The path to the batch input file.
+     * @param outputPath The path to the result file, or {@code null} to write results to the console.
+     */
+    public void processBatch(String inputPath, String outputPath) {
+        processBatch(inputPath, outputPath, false);
+    }
+
+    /**
+     * Processes the loan records of a batch file, optionally resuming an interrupted run.
+     * <p>
+     *     When resuming, the result file is truncated to the results committed by the last checkpoint and processing
+     *     continues with the first record after it, so every record still has exactly one result. Without a
+     *     checkpoint, e.g. because the previous run completed, the batch is processed from the start.
+     * </p>
+     *
+     * @param inputPath  The path to the batch input file.
+     * @param outputPath The path to the result file, or {@code null} to write results to the console.
+     * @param resume     Whether to resume from the checkpoint of the result file; requires a result file.
+     */
+    public void processBatch(String inputPath, String outputPath, boolean resume) {
+        RecordFormat format;
+        OutputFormat resultFormat;
+        try {
+            format = RecordFormat.fromPath(inputPath);
+            resultFormat = outputFormat == null || outputFormat.isBlank() ? format.outputFormat() : OutputFormat.parse(outputFormat);
+        } catch (IllegalArgumentException e) {
+            System.out.println(ErrorMessages.ERROR + e.getMessage());
+            return;
+        }
+        if (resume && outputPath == null) {
+            System.out.println(ErrorMessages.RESUME_WITHOUT_OUTPUT_FILE);
+            return;
+        }
+
+        Path checkpointPath = outputPath != null ? BatchCheckpoint.pathFor(outputPath) : null;
+        BatchCheckpoint checkpoint = null;
+        if (resume) {
+            try {
+                checkpoint = BatchCheckpoint.read(checkpointPath);
+                if (checkpoint != null && !checkpoint.matches(Paths.get(inputPath), resultFormat.name())) {
+                    System.out.println(ErrorMessages.CHECKPOINT_MISMATCH + checkpointPath);
+                    return;
+                }
+            } catch (IOException e) {
+                // Handle unreadable checkpoints and inputs before touching the result file
+                System.out.println(ErrorMessages.COULD_NOT_READ_FILE + checkpointPath);
+                return;
+            }
+        }
+
+        RejectWriter rejectWriter;
+        try {
+            rejectWriter = openRejects(checkpoint != null ? checkpoint.rejectOffset() : -1);
+        } catch (IOException e) {
+            // Handle reject file creation issues before reading any record
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + rejectFile);
+            return;
+        }
+
+        BatchRun run;
+        try (rejectWriter) {
+            ResultSink resultSink;
+            try {
+                if (checkpoint != null) {
+                    resultSink = getResultSinkFactory().append(resultFormat, outputPath, checkpoint.outputOffset());
+                } else {
+                    if (checkpointPath != null) {
+                        Files.deleteIfExists(checkpointPath); // A stale checkpoint does not describe the new results
+                    }
+                    resultSink = getResultSinkFactory().open(resultFormat, outputPath);
+                }
+            } catch (IOException e) {
+                // Handle result file creation issues before reading any record
+                System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + outputPath);
+                return;
+            }
+
+            run = new BatchRun(resultSink, rejectWriter, inputPath, outputPath, resultFormat, checkpoint);
+            try (resultSink) {
+                BatchRun batchRun = run;
+                readRecords(format, inputPath, checkpoint, () -> batchRun.rateSnapshot, run::add);
+                run.finish();
+            } catch (IOException e) {
+                // Handle file not found or file reading issues
+                System.out.println(ErrorMessages.COULD_NOT_READ_FILE + inputPath);
+                return;
+            }
+        } catch (IOException e) {
+            // Handle reject file writing issues; every result was written
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + rejectFile);
+            return;
+        }
+
+        if (outputPath != null) {
+            try {
+                Files.deleteIfExists(checkpointPath); // Every result is written; there is nothing left to resume
+            } catch (IOException e) {
+                System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + checkpointPath);
+            }
+            System.out.printf("Processed %d records: %d succeeded, %d failed%n", run.processed, run.processed - run.failed, run.failed);
+        }
+    }
+
+    /**
+     * Parses and validates every record of a batch file without calculating it, writing the reasons of every
+     * rejected record to a reject file.
+     * <p>
+     *     A dry run before a full run: only the records are read, parsed and validated, so a file is screened at the
+     *     speed it is read, and the reject file tells which fields of which lines to fix. A summary of the valid and
+     *     rejected records is printed at the end.
+     * </p>
+     *
+     * @param inputPath  The path to the batch input file.
+     * @param rejectPath The path to the reject file; {@code null} for {@code loan.batch.reject.file}, or the console
+     *                   if that is not set either.
+     */
+    public void validateBatch(String inputPath, String rejectPath) {
+        RecordFormat format;
+        try {
+            format = RecordFormat.fromPath(inputPath);
+        } catch (IllegalArgumentException e) {
+            System.out.println(ErrorMessages.ERROR + e.getMessage());
+            return;
+        }
+        String rejects = rejectPath != null ? rejectPath : rejectFile == null || rejectFile.isBlank() ? null : rejectFile.trim();
+
+        DryRun dryRun;
+        try {
+            dryRun = new DryRun(getResultSinkFactory().openRejects(rejects));
+        } catch (IOException e) {
+            // Handle reject file creation issues before reading any record
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + rejects);
+            return;
+        }
+        try (RejectWriter rejectWriter = dryRun.rejectWriter) {
+            readRecords(format, inputPath, null, loanValidationEngine::rates, dryRun);
+        } catch (IOException e) {
+            // Handle file not found or file reading issues
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + inputPath);
+            return;
+        }
+        System.out.printf("Validated %d records: %d valid, %d rejected%n", dryRun.processed, dryRun.processed - dryRun.rejected, dryRun.rejected);
+    }
+
+    /**
+     * Reads, parses and validates the records of a batch file, after the checkpoint if any.
+     *
+     * @param format     The record format of the batch file.
+     * @param inputPath  The path to the batch input file.
+     * @param checkpoint The checkpoint to resume after, or {@code null} to read every record.
+     * @param rates      The rates to validate the next record with.
+     * @param consumer   Receives every parsed record.
+     * @throws IOException if the file cannot be read or the consumer fails.
+     */
+    private void readRecords(RecordFormat format, String inputPath, BatchCheckpoint checkpoint,
+                             Supplier<RateSnapshot> rates, RecordConsumer consumer) throws IOException {
+        if (format == RecordFormat.BINARY) {
+            try (BinaryRecordReader<LoanRequest> reader = BinaryRecordReader.open(BinaryRecordType.LOAN_REQUEST, Paths.get(inputPath))) {
+                if (checkpoint != null) {
+                    reader.seek(checkpoint.lineNumber());
+                }
+                LoanRequest loanRequest;
+                while ((loanRequest = reader.next()) != null) {
+                    LoanRequest decoded = loanRequest;
+                    // Binary records have no lines; results are numbered by record index + 1 instead
+                    consumer.accept(parseRecord(reader.nextIndex(), () -> decoded, rates.get()), reader.nextIndex(), reader.offset());
+                }
+            }
+        } else if (mappedInput) {
+            boolean atOffset = checkpoint != null && checkpoint.inputOffset() >= 0;
+            long skippedLines = checkpoint != null && !atOffset ? checkpoint.lineNumber() : 0;
+            try (MappedRecordReader reader = atOffset
+                    ? new MappedRecordReader(Paths.get(inputPath), checkpoint.inputOffset(), checkpoint.lineNumber())
+                    : new MappedRecordReader(Paths.get(inputPath))) {
+                while (reader.next()) {
+                    if (reader.lineNumber() > skippedLines) {
+                        consumer.accept(parseRecord(format, reader, rates.get()), reader.lineNumber(), reader.offset());
+                    }
+                }
+            }
+        } else {
+            long skippedLines = checkpoint != null ? checkpoint.lineNumber() : 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    Files.newInputStream(Paths.get(inputPath)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    String record = line.trim();
+                    if (lineNumber <= skippedLines || record.isEmpty() || (lineNumber == 1 && isCsvHeader(record))) {
+                        continue; // Skip committed records, blank lines and the optional CSV header
+                    }
+                    consumer.accept(parseRecord(format, record, lineNumber, rates.get()), lineNumber, -1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes loan records from a stream until its end, writing one result per record to the console.
+     * <p>
+     *     Records are read line by line through a buffered reader, validated and calculated in chunks exactly like
+     *     the records of a batch file, and numbered by their line in the stream. The results are flushed after
+     *     {@code loan.stream.flush.size} records, or earlier as soon as the stream has no further input available,
+     *     so a downstream reader receives each result without waiting for the end of the stream. Results are written
+     *     in the input record format unless {@code loan.batch.output.format} selects another one. The stream is not
+     *     closed.
+     * </p>
+     *
+     * @param input       The stream of records, e.g. {@link System#in}.
+     * @param inputFormat The record format name, {@code csv} or {@code json-lines}; null or blank for {@code csv}.
+     */
+    public void processStream(InputStream input, String inputFormat) {
+        OutputFormat resultFormat;
+        RecordFormat format;
+        try {
+            format = inputFormat == null || inputFormat.isBlank() ? RecordFormat.CSV : RecordFormat.parse(inputFormat);
+            if (format == RecordFormat.BINARY) {
+                throw new IllegalArgumentException("Unsupported stream record format: " + inputFormat);
+            }
+            resultFormat = outputFormat == null || outputFormat.isBlank() ? format.outputFormat() : OutputFormat.parse(outputFormat);
+        } catch (IllegalArgumentException e) {
+            System.out.println(ErrorMessages.ERROR + e.getMessage());
+            return;
+        }
+
+        RejectWriter rejectWriter;
+        ResultSink resultSink;
+        try {
+            rejectWriter = openRejects(-1);
+        } catch (IOException e) {
+            // Handle reject file creation issues before reading any record
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + rejectFile);
+            return;
+        }
+        try {
+            resultSink = getResultSinkFactory().open(resultFormat, null);
+        } catch (IOException e) {
+            // The console stream does not throw; nothing is left to report the failure to
+            return;
+        }
+
+        try (resultSink; rejectWriter) {
+            streamRecords(input, format, new BatchRun(resultSink, rejectWriter, STANDARD_INPUT, null, resultFormat, null));
+        } catch (IOException e) {
+            // Handle a broken input stream
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + STANDARD_INPUT);
+        }
+    }
+
+    /**
+     * Processes JSON Lines loan records from a stream until its end, writing one JSON Lines result per record to
+     * another stream, e.g. the body of a bulk quote request and its response.
+     * <p>
+     *     Records are validated, calculated and flushed exactly like those of {@link #processStream(InputStream, String)},
+     *     so the first results are written while the input is still arriving. At most one chunk of records is held
+     *     in memory whatever the length of the input: once the output cannot be written as fast as it is produced,
+     *     writing blocks, and so does reading further input. No reject file is written, and neither stream is closed.
+     * </p>
+     *
+     * @param input  The stream of JSON Lines records.
+     * @param output The stream receiving the JSON Lines results.
+     * @throws IOException if the input cannot be read or a result cannot be written, e.g. because the reader went away.
+     */
+    public void processJsonLines(InputStream input, OutputStream output) throws IOException {
+        try (ResultSink resultSink = getResultSinkFactory().openStream(OutputFormat.JSON_LINES, output)) {
+            streamRecords(input, RecordFormat.JSON_LINES, new BatchRun(resultSink, null, STANDARD_INPUT, null, OutputFormat.JSON_LINES, null));
+        }
+    }
+
+    /**
+     * Reads, validates and calculates the records of a stream until its end, flushing the results after
+     * {@code loan.stream.flush.size} records or as soon as no further input is available.
+     *
+     * @param input  The stream of records, which is not closed.
+     * @param format The record format of the stream.
+     * @param run    The run receiving the records.
+     * @throws IOException if the input cannot be read or a result cannot be written.
+     */
+    private void streamRecords(InputStream input, RecordFormat format, BatchRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String line;
+        long lineNumber = 0;
+        int unflushed = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String record = line.trim();
+            if (!record.isEmpty() && !(lineNumber == 1 && isCsvHeader(record))) {
+                run.add(parseRecord(format, record, lineNumber, run.rateSnapshot), lineNumber, -1);
+                unflushed++;
+            }
+            if (unflushed > 0 && (unflushed >= streamFlushSize || !reader.ready())) {
+                run.flush();
+                unflushed = 0;
+            }
+        }
+        run.flush();
+    }
+
+    /**
+     * Parses and validates a single record.
+     *
+     * @param format     The record format of the batch file.
+     * @param record     The trimmed record line.
+     * @param lineNumber   The line number of the record in the input file, used to correlate results.
+     * @param rateSnapshot The rates the record is validated with, and later calculated with.
+     * @return The record, holding either the valid loan request or the error message it was rejected with.
+     */
+    PendingRecord parseRecord(RecordFormat format, String record, long lineNumber, RateSnapshot rateSnapshot) {
+        return parseRecord(lineNumber, () -> format == RecordFormat.CSV ? parseCsv(record) : parseJson(record), rateSnapshot);
+    }
+
+    /**
+     * Parses and validates the current record of a memory-mapped batch file.
+     *
+     * @param format       The record format of the batch file.
+     * @param reader       The reader positioned on the record.
+     * @param rateSnapshot The rates the record is validated with, and later calculated with.
+     * @return The record, holding either the valid loan request or the error message it was rejected with.
+     */
+    PendingRecord parseRecord(RecordFormat format, MappedRecordReader reader, RateSnapshot rateSnapshot) {
+        return parseRecord(reader.lineNumber(), format == RecordFormat.CSV ? reader::parse : () -> parseJson(reader.record()),
+                rateSnapshot);
+    }
+
+    private PendingRecord parseRecord(long lineNumber, RecordParser parser, RateSnapshot rateSnapshot) {
+        String error;
+        List<String> invalidFields;
+        long parseStart = System.nanoTime();
+        boolean parsed = false;
+        try {
+            LoanRequest loanRequest = parser.parse();
+            parsed = true;
+            getLoanMetrics().recordParse(System.nanoTime() - parseStart, true);
+            int violations = loanValidationEngine.validate(loanRequest, rateSnapshot);
+            return violations == 0 ? new PendingRecord(lineNumber, loanRequest, 0, null, null)
+                    : new PendingRecord(lineNumber, null, violations, null, null);
+        } catch (InvalidRecordException e) {
+            // Handle CSV records whose fields cannot be parsed
+            error = ErrorMessages.INVALID_INPUT_FORMAT;
+            invalidFields = e.fields();
+        } catch (NumberFormatException | JsonProcessingException e) {
+            // Handle other records whose fields cannot be parsed
+            error = ErrorMessages.INVALID_INPUT_FORMAT;
+            invalidFields = e instanceof JsonMappingException jsonMappingException ? jsonFields(jsonMappingException) : List.of();
+        } catch (IllegalArgumentException e) {
+            // Handle validation exceptions or any business logic exceptions
+            error = e.getMessage();
+            invalidFields = List.of();
+        }
+        if (!parsed) {
+            getLoanMetrics().recordParse(System.nanoTime() - parseStart, false);
+        }
+        return new PendingRecord(lineNumber, null, 0, error, invalidFields);
+    }
+
+    /**
+     * @param e The exception of a JSON record that cannot be parsed.
+     * @return The field the exception points at, named like the CSV column (e.g. {@code loan_amount}), if any.
+     */
+    private static List<String> jsonFields(JsonMappingException e) {
+        for (JsonMappingException.Reference reference : e.getPath()) {
+            if (reference.getFieldName() != null) {
+                return List.of(CAMEL_CASE_BOUNDARY.matcher(reference.getFieldName()).replaceAll("$1_$2").toLowerCase(Locale.ROOT));
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Calculates the valid records of a chunk in one batch call and writes the result of every record,
+     * in input order.
+     * <p>
+     *     If the batch call fails, the valid records are calculated one by one so that the failure is
+     *     reported on the offending record only. Writing the results is timed as a whole, as the batch call is.
+     * </p>
+     *
+     * @param chunk        The parsed and validated records.
+     * @param resultSink   The sink receiving the results.
+     * @param rejectWriter The writer receiving the reasons of the rejected records, or {@code null} for none.
+     * @param rateSnapshot The rates the records of the chunk were validated with.
+     * @return The number of rejected records.
+     * @throws IOException if a result or reject cannot be written.
+     */
+    private int processChunk(List<PendingRecord> chunk, ResultSink resultSink, RejectWriter rejectWriter,
+                             RateSnapshot rateSnapshot) throws IOException {
+        List<LoanRequest> loanRequests = new ArrayList<>(chunk.size());
+        for (PendingRecord pendingRecord : chunk) {
+            if (pendingRecord.loanRequest() != null) {
+                loanRequests.add(pendingRecord.loanRequest());
+            }
+        }
+
+        List<List<MonthlyInstallmentRatePair>> monthlyInstallments = null;
+        if (!loanRequests.isEmpty()) {
+            try {
+                monthlyInstallments = calculateInstallments(loanRequests, rateSnapshot);
+            } catch (IllegalArgumentException e) {
+                // Fall back to per-record calculation to isolate the failing record
+            }
+        }
+
+        int failed = 0;
+        int calculated = 0;
+        long outputStart = System.nanoTime();
+        for (PendingRecord pendingRecord : chunk) {
+            String error = pendingRecord.error();
+            if (pendingRecord.loanRequest() != null) {
+                try {
+                    List<MonthlyInstallmentRatePair> monthlyInstallment = monthlyInstallments != null
+                            ? monthlyInstallments.get(calculated++) : calculateInstallment(pendingRecord.loanRequest(), rateSnapshot);
+                    resultSink.writeResult(pendingRecord.lineNumber(), monthlyInstallment);
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    // Handle business logic exceptions of the single record
+                    error = e.getMessage();
+                }
+            }
+            if (pendingRecord.violations() != 0) {
+                resultSink.writeInvalid(pendingRecord.lineNumber(), pendingRecord.violations());
+            } else {
+                resultSink.writeError(pendingRecord.lineNumber(), error);
+            }
+            if (rejectWriter != null) {
+                reject(rejectWriter, pendingRecord, error);
+            }
+            failed++;
+        }
+        if (!chunk.isEmpty()) {
+            getLoanMetrics().recordBatchOutput(System.nanoTime() - outputStart, chunk.size());
+        }
+        return failed;
+    }
+
+    /**
+     * Writes the reasons a record was rejected.
+     *
+     * @param rejectWriter  The writer receiving the reasons.
+     * @param pendingRecord The rejected record.
+     * @param error         The error message of a record that is not rejected by validation.
+     * @throws IOException if a reject cannot be written.
+     */
+    private static void reject(RejectWriter rejectWriter, PendingRecord pendingRecord, String error) throws IOException {
+        if (pendingRecord.violations() != 0) {
+            rejectWriter.rejectInvalid(pendingRecord.lineNumber(), pendingRecord.violations());
+        } else if (pendingRecord.invalidFields() != null) {
+            rejectWriter.rejectUnparsable(pendingRecord.lineNumber(), pendingRecord.invalidFields(), error);
+        } else {
+            rejectWriter.reject(pendingRecord.lineNumber(), "", RejectWriter.CALCULATION_FAILED, error);
+        }
+    }
+
+    /**
+     * Opens the reject file {@code loan.batch.reject.file}, if set.
+     *
+     * @param rejectOffset The number of bytes of the reject file to keep when resuming, or -1 to create it.
+     * @return The opened writer, or {@code null} if no reject file is set.
+     * @throws IOException if the reject file cannot be opened.
+     */
+    private RejectWriter openRejects(long rejectOffset) throws IOException {
+        if (rejectFile == null || rejectFile.isBlank()) {
+            return null;
+        }
+        return rejectOffset >= 0 ? getResultSinkFactory().appendRejects(rejectFile.trim(), rejectOffset)
+                : getResultSinkFactory().openRejects(rejectFile.trim());
+    }
+
+    /**
+     * Parses a CSV record in the same field order as the 6-line input file, optionally followed by a dealer programme.
+     *
+     * @param record The CSV record line.
+     * @return The parsed loan request, with a null vehicle type or condition if the value is not supported.
+     * @throws InvalidRecordException if the record does not have 6 or 7 fields or a numeric field cannot be parsed.
+     */
+    public LoanRequest parseCsv(String record) {
+        String[] fields = new String[MAX_CSV_FIELD_COUNT];
+        int fieldCount = 0;
+        int start = 0;
+        while (true) {
+            if (fieldCount == MAX_CSV_FIELD_COUNT) {
+                throw new InvalidRecordException("Expected at most " + MAX_CSV_FIELD_COUNT + " fields", List.of());
+            }
+            int end = record.indexOf(',', start);
+            fields[fieldCount++] = record.substring(start, end < 0 ? record.length() : end).trim();
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        if (fieldCount < CSV_FIELD_COUNT) {
+            throw new InvalidRecordException("Expected " + CSV_FIELD_COUNT + " fields", List.of());
+        }
+        try {
+            return new LoanRequest(VehicleType.parse(fields[0]), VehicleCondition.parse(fields[1]), Integer.parseInt(fields[2]), Double.parseDouble(fields[3]),
+                    Integer.parseInt(fields[4]), Double.parseDouble(fields[5]), DealerProgramme.parse(fields[6]));
+        } catch (NumberFormatException e) {
+            throw InvalidRecordException.ofFields(fields);
+        }
+    }
+
+    /**
+     * @param record The trimmed first line of a CSV batch file.
+     * @return Whether the line is a CSV header, with or without the dealer programme column.
+     */
+    static boolean isCsvHeader(String record) {
+        return CSV_HEADER.equalsIgnoreCase(record) || CSV_HEADER_WITH_PROGRAMME.equalsIgnoreCase(record);
+    }
+
+    /**
+     * Parses a JSON Lines record, e.g. {@code {"vehicleType":"car","vehicleCondition":"new",...}}.
+     *
+     * @param record The JSON record line.
+     * @return The parsed loan request.
+     * @throws JsonProcessingException if the record is not a valid loan JSON object.
+     */
+    LoanRequest parseJson(String record) throws JsonProcessingException {
+        return LOAN_REQUEST_READER.readValue(record);
+    }
+
+    /**
+     * Parses one record into a loan request.
+     */
+    @FunctionalInterface
+    private interface RecordParser {
+        LoanRequest parse() throws JsonProcessingException;
+    }
+
+    /**
+     * Receives every parsed record of a batch file, with its line number and the input offset after it.
+     */
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(PendingRecord pendingRecord, long lineNumber, long inputOffset) throws IOException;
+    }
+
+    /**
+     * The state of one {@link #validateBatch(String, String) dry run}: the reject writer and the record counters.
+     */
+    private static final class DryRun implements RecordConsumer {
+
+        private final RejectWriter rejectWriter;
+        private long processed;
+        private long rejected;
+
+        private DryRun(RejectWriter rejectWriter) {
+            this.rejectWriter = rejectWriter;
+        }
+
+        @Override
+        public void accept(PendingRecord pendingRecord, long lineNumber, long inputOffset) throws IOException {
+            processed++;
+            if (pendingRecord.loanRequest() == null) {
+                rejected++;
+                reject(rejectWriter, pendingRecord, pendingRecord.error());
+            }
+        }
+    }
+
+    /**
+     * The state of one batch run: the chunk being filled, the rates of the chunk, the record counters and the
+     * checkpoints of the run.
+     * <p>
+     *     Every record of a chunk is validated and calculated with the same {@link RateSnapshot}; a newer snapshot
+     *     is picked up between chunks, so a rate reload takes effect without restarting the run.
+     * </p>
+     */
+    private final class BatchRun {
+
+        private final ResultSink resultSink;
+        private final RejectWriter rejectWriter;
+        private final List<PendingRecord> chunk = new ArrayList<>(chunkSize);
+        private final String inputPath;
+        private final Path outputPath;
+        private final Path checkpointPath;
+        private final String resultFormat;
+        private long processed;
+        private long failed;
+        private long lastCheckpoint = System.nanoTime();
+        private RateSnapshot rateSnapshot = loanValidationEngine.rates();
+
+        private BatchRun(ResultSink resultSink, RejectWriter rejectWriter, String inputPath, String outputPath,
+                         OutputFormat resultFormat, BatchCheckpoint checkpoint) {
+            this.resultSink = resultSink;
+            this.rejectWriter = rejectWriter;
+            this.inputPath = inputPath;
+            this.outputPath = outputPath != null ? Paths.get(outputPath) : null;
+            this.checkpointPath = outputPath != null ? BatchCheckpoint.pathFor(outputPath) : null;
+            this.resultFormat = resultFormat.name();
+            if (checkpoint != null) {
+                processed = checkpoint.processed();
+                failed = checkpoint.failed();
+            }
+        }
+
+        /**
+         * Adds a record to the chunk, and processes the chunk once it holds {@code loan.batch.chunk.size} records,
+         * committing a checkpoint after it when {@code loan.batch.checkpoint.interval} has elapsed.
+         *
+         * @param pendingRecord The parsed record.
+         * @param lineNumber    The line number of the record, or its record index + 1 for binary input.
+         * @param inputOffset   The byte offset of the input after the record, or -1 if it is not known.
+         * @throws IOException if a result cannot be written.
+         */
+        void add(PendingRecord pendingRecord, long lineNumber, long inputOffset) throws IOException {
+            processed++;
+            chunk.add(pendingRecord);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            failed += processChunk(chunk, resultSink, rejectWriter, rateSnapshot);
+            chunk.clear();
+            rateSnapshot = loanValidationEngine.rates();
+            if (checkpointPath != null && System.nanoTime() - lastCheckpoint >= checkpointInterval.toNanos()) {
+                checkpoint(lineNumber, inputOffset);
+            }
+        }
+
+        /**
+         * Processes the last, partial chunk.
+         *
+         * @throws IOException if a result cannot be written.
+         */
+        void finish() throws IOException {
+            failed += processChunk(chunk, resultSink, rejectWriter, rateSnapshot);
+            chunk.clear();
+        }
+
+        /**
+         * Processes the partial chunk and flushes every result written so far, then picks up the current rates
+         * for the next chunk.
+         *
+         * @throws IOException if a result cannot be written.
+         */
+        void flush() throws IOException {
+            finish();
+            resultSink.flush();
+            if (rejectWriter != null) {
+                rejectWriter.flush();
+            }
+            rateSnapshot = loanValidationEngine.rates();
+        }
+
+        /**
+         * Flushes and syncs every result and reject written so far, then commits a checkpoint after them. A checkpoint
+         * that cannot be written is reported and the batch continues; the previous checkpoint remains valid.
+         */
+        private void checkpoint(long lineNumber, long inputOffset) throws IOException {
+            resultSink.flush();
+            if (rejectWriter != null) {
+                rejectWriter.flush();
+            }
+            try {
+                long outputOffset = sync(outputPath);
+                long rejectOffset = rejectWriter != null ? sync(Paths.get(rejectFile.trim())) : -1;
+                new BatchCheckpoint(Paths.get(inputPath).toAbsolutePath().toString(), Files.size(Paths.get(inputPath)),
+                        resultFormat, inputOffset, lineNumber, outputOffset, processed, failed, rejectOffset).write(checkpointPath);
+            } catch (IOException e) {
+                System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + checkpointPath);
+            }
+            lastCheckpoint = System.nanoTime();
+        }
+
+        /**
+         * Syncs a file written by the run.
+         *
+         * @return The size of the file.
+         */
+        private static long sync(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.force(false);
+                return channel.size();
+            }
+        }
+    }
+
+    /**
+     * A parsed record waiting for its chunk to be calculated: either a valid loan request, the violation mask
+     * it was rejected with, or the error message and the fields at fault of a record that could not be parsed.
+     */
+    record PendingRecord(long lineNumber, LoanRequest loanRequest, int violations, String error, List<String> invalidFields) {
+    }
+}
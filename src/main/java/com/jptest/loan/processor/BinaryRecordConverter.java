@@ -0,0 +1,91 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.record.BinaryRecordType;
+import com.jptest.loan.record.BinaryRecordWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code BinaryRecordConverter} class converts text loan input to a fixed-width binary loan request file
+ * (see {@link BinaryRecordType#LOAN_REQUEST}), so that later batch runs read the requests without parsing them.
+ * <p>
+ *     A {@code .csv} batch file is converted record by record with {@link MappedRecordReader}; any other file is
+ *     read as a 6-line input file holding a single loan. Requests are converted as they are, without validation,
+ *     so the batch run that reads them reports the same errors as for the text input. Records that cannot be
+ *     parsed have no binary form: they are reported with their line number and skipped.
+ * </p>
+ */
+@Component
+public class BinaryRecordConverter {
+
+    /**
+     * Converts a text input file to a binary loan request file.
+     *
+     * @param inputPath  The path to the 6-line input file or CSV batch file.
+     * @param outputPath The path to the binary loan request file, usually with the {@value RecordFormat#BINARY_EXTENSION} extension.
+     */
+    public void convert(String inputPath, String outputPath) {
+        BinaryRecordWriter<LoanRequest> writer;
+        try {
+            writer = BinaryRecordWriter.open(BinaryRecordType.LOAN_REQUEST, Paths.get(outputPath));
+        } catch (IOException e) {
+            // Handle binary file creation issues before reading any record
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + outputPath);
+            return;
+        }
+
+        long skipped;
+        try (writer) {
+            skipped = inputPath.toLowerCase(Locale.ROOT).endsWith(".csv")
+                    ? convertCsv(Paths.get(inputPath), writer) : convertInputFile(Paths.get(inputPath), writer);
+        } catch (IOException e) {
+            // Handle file not found or file reading issues
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + inputPath);
+            return;
+        }
+        System.out.printf("Converted %d records: %d skipped%n", writer.count(), skipped);
+    }
+
+    private static long convertCsv(Path inputPath, BinaryRecordWriter<LoanRequest> writer) throws IOException {
+        long skipped = 0;
+        try (MappedRecordReader reader = new MappedRecordReader(inputPath)) {
+            while (reader.next()) {
+                try {
+                    writer.write(reader.parse());
+                } catch (IllegalArgumentException e) {
+                    // Handle records whose fields cannot be parsed, or do not fit the binary layout
+                    System.out.println(ErrorMessages.INVALID_INPUT_FORMAT + " Line: " + reader.lineNumber());
+                    skipped++;
+                }
+            }
+        }
+        return skipped;
+    }
+
+    private static long convertInputFile(Path inputPath, BinaryRecordWriter<LoanRequest> writer) throws IOException {
+        List<String> lines;
+        try (var streamLines = Files.lines(inputPath)) {
+            lines = streamLines.map(String::trim).filter(line -> !line.isEmpty()).toList();
+        }
+        if (lines.size() != 6) {
+            System.out.println(ErrorMessages.INVALID_FILE_FORMAT_SIX_LINES);
+            return 1;
+        }
+        try {
+            writer.write(FileInputProcessor.parseLines(lines));
+            return 0;
+        } catch (NumberFormatException e) {
+            // Handle exceptions when parsing numbers from the file lines
+            System.out.println(ErrorMessages.INVALID_INPUT_FORMAT);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jptest.loan.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code InvalidRecordException} is thrown when a CSV batch record cannot be parsed, naming every field at fault.
+ * <p>
+ *     It is a {@link NumberFormatException}, so callers that only report an invalid input format keep doing so.
+ *     The fields are only looked for once parsing failed, so records that parse pay nothing for them.
+ * </p>
+ */
+public class InvalidRecordException extends NumberFormatException {
+
+    /**
+     * The CSV columns of a loan record, in field order.
+     */
+    static final List<String> CSV_FIELDS = List.of(BatchFileProcessor.CSV_HEADER_WITH_PROGRAMME.split(","));
+
+    private final transient List<String> fields;
+
+    /**
+     * Constructor for {@code InvalidRecordException}.
+     *
+     * @param message The detail message.
+     * @param fields  The fields that cannot be parsed; empty if the record as a whole cannot be parsed,
+     *                e.g. because it has a wrong number of fields.
+     */
+    public InvalidRecordException(String message, List<String> fields) {
+        super(message);
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * @return The fields that cannot be parsed; empty if the record as a whole cannot be parsed.
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Finds the numeric fields of a CSV record that cannot be parsed.
+     *
+     * @param values The trimmed values of the record, in field order; at least the 6 loan fields.
+     * @return The exception naming every numeric field that cannot be parsed.
+     */
+    static InvalidRecordException ofFields(String[] values) {
+        List<String> fields = new ArrayList<>(4);
+        for (int field = 2; field < 6; field++) {
+            try {
+                if (field == 2 || field == 4) {
+                    Integer.parseInt(values[field]);
+                } else {
+                    Double.parseDouble(values[field]);
+                }
+            } catch (NumberFormatException e) {
+                fields.add(CSV_FIELDS.get(field));
+            }
+        }
+        return new InvalidRecordException("Invalid fields: " + fields, fields);
+    }
+}
@@ -1,10 +1,15 @@
 package com.jptest.loan.processor;
 
 import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
 import com.jptest.loan.service.LoanCalculatorService;
 import com.jptest.loan.validator.LoanValidator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -20,31 +25,32 @@ import java.util.Scanner;
  */
 @Component
 public class ManualInputProcessor extends BaseProcessor {
-    /**
-     * Minimum Down payment rate (percentage), injected from application properties.
-     * <p>
-     *     This rate is used as a threshold when validating the down payment amount provided by the user.
-     * </p>
-     */
-    @Value("${loan.minimum.downpayment}")
-    private BigDecimal minimumDownPaymentRate;
 
     private final LoanValidator loanValidator;
 
+    /**
+     * Table publishing the current rate snapshot, whose standard product of the entered vehicle type and condition
+     * gives the threshold of the down payment amount provided by the user.
+     */
+    private final InterestRateTable interestRateTable;
+
     /**
      * Constructor for {@code ManualInputProcessor}.
      * <p>
-     *     Injects {@link LoanCalculatorService} for loan calculations and {@link LoanValidator}
-     *     for input validation.
+     *     Injects {@link LoanCalculatorService} for loan calculations, {@link LoanValidator}
+     *     for input validation and {@link InterestRateTable} for the current rates.
      * </p>
      *
      * @param loanCalculatorService Service for performing loan calculations.
      * @param loanValidator Validator for validating loan input parameters.
+     * @param interestRateTable Table publishing the current rate snapshot.
      */
     @Autowired
-    public ManualInputProcessor(LoanCalculatorService loanCalculatorService, LoanValidator loanValidator) {
+    public ManualInputProcessor(LoanCalculatorService loanCalculatorService, LoanValidator loanValidator,
+                                InterestRateTable interestRateTable) {
         super(loanCalculatorService);
         this.loanValidator = loanValidator;
+        this.interestRateTable = interestRateTable;
     }
 
     /**
@@ -53,19 +59,21 @@ public class ManualInputProcessor extends BaseProcessor {
      *     This method guides the user through entering vehicle and loan details step-by-step via the console.
      *     It validates each input to ensure correctness and provides feedback to the user.
      *     Upon successful input of all required parameters, it proceeds to calculate and display the monthly loan installment.
+     *     The down payment is validated and the installment calculated with the rates current when input started.
      * </p>
      */
     public void processInput() {
+        RateSnapshot rateSnapshot = interestRateTable.snapshot();
         // Use try-with-resources to ensure the Scanner is closed after use
         try (Scanner scanner = new Scanner(System.in)) {
             // Prompt for and validate vehicle type
             System.out.print("Enter vehicle type (car/motorcycle): ");
-            String vehicleType = getVehicleType(scanner);
+            VehicleType vehicleType = getVehicleType(scanner);
             if (vehicleType == null) return; // Exit if vehicle type is invalid
 
             // Prompt for and validate vehicle condition
             System.out.print("Enter vehicle condition (new/old): ");
-            String vehicleCondition = getVehicleCondition(scanner);
+            VehicleCondition vehicleCondition = getVehicleCondition(scanner);
             if (vehicleCondition == null) return; // Exit if vehicle condition is invalid
 
             // Prompt for and validate vehicle year
@@ -85,11 +93,13 @@ public class ManualInputProcessor extends BaseProcessor {
 
             // Prompt for and validate down payment amount
             System.out.print("Enter down payment amount: ");
-            double downPayment = getDownPaymentAmount(scanner, new BigDecimal(loanAmount));
+            int product = rateSnapshot.product(vehicleType, vehicleCondition, DealerProgramme.STANDARD);
+            double downPayment = getDownPaymentAmount(scanner, new BigDecimal(loanAmount), rateSnapshot.minimumDownPaymentRate(product));
             if (downPayment == -1) return; // Exit if down payment is invalid
 
             // If all inputs are valid, calculate and print the monthly installment
-            calculateAndPrintInstallment(vehicleType, vehicleCondition, vehicleYear, loanAmount, loanTenor, downPayment);
+            calculateAndPrintInstallment(new LoanRequest(vehicleType, vehicleCondition, vehicleYear, loanAmount, loanTenor, downPayment),
+                    rateSnapshot);
 
         } catch (NumberFormatException e) {
             // Handle exceptions for invalid number formats in user input
@@ -101,17 +111,17 @@ public class ManualInputProcessor extends BaseProcessor {
     }
 
     /**
-     * Retrieves and validates vehicle type from user input via console.
+     * Retrieves and parses vehicle type from user input via console.
      * <p>
-     *     Uses {@link LoanValidator#isValidVehicleType(String)} to validate the input.
+     *     Uses {@link VehicleType#parse(String)} to validate the input.
      * </p>
      *
      * @param scanner Scanner object to read user input from console.
-     * @return Validated vehicle type string, or null if the input is invalid.
+     * @return Parsed vehicle type, or null if the input is invalid.
      */
-    String getVehicleType(Scanner scanner) {
-        String vehicleType = scanner.nextLine().trim();
-        if (!loanValidator.isValidVehicleType(vehicleType)) {
+    VehicleType getVehicleType(Scanner scanner) {
+        VehicleType vehicleType = VehicleType.parse(scanner.nextLine().trim());
+        if (vehicleType == null) {
             System.out.println(ErrorMessages.INVALID_VEHICLE_TYPE);
             return null;
         }
@@ -119,17 +129,17 @@ public class ManualInputProcessor extends BaseProcessor {
     }
 
     /**
-     * Retrieves and validates vehicle condition from user input via console.
+     * Retrieves and parses vehicle condition from user input via console.
      * <p>
-     *     Uses {@link LoanValidator#isValidVehicleCondition(String)} to validate the input.
+     *     Uses {@link VehicleCondition#parse(String)} to validate the input.
      * </p>
      *
      * @param scanner Scanner object to read user input from console.
-     * @return Validated vehicle condition string, or null if the input is invalid.
+     * @return Parsed vehicle condition, or null if the input is invalid.
      */
-    String getVehicleCondition(Scanner scanner) {
-        String vehicleCondition = scanner.nextLine().trim();
-        if (!loanValidator.isValidVehicleCondition(vehicleCondition)) {
+    VehicleCondition getVehicleCondition(Scanner scanner) {
+        VehicleCondition vehicleCondition = VehicleCondition.parse(scanner.nextLine().trim());
+        if (vehicleCondition == null) {
             System.out.println(ErrorMessages.INVALID_VEHICLE_CONDITION);
             return null;
         }
@@ -144,10 +154,10 @@ public class ManualInputProcessor extends BaseProcessor {
      * </p>
      *
      * @param scanner Scanner object to read user input from console.
-     * @param vehicleCondition Vehicle condition string to provide context for year validation.
+     * @param vehicleCondition Parsed vehicle condition to provide context for year validation.
      * @return Validated vehicle year integer, or -1 if the input is invalid.
      */
-    int getVehicleYear(Scanner scanner, String vehicleCondition) {
+    int getVehicleYear(Scanner scanner, VehicleCondition vehicleCondition) {
         int vehicleYear = Integer.parseInt(scanner.nextLine().trim());
         if (!loanValidator.isValidYearFourDigit(vehicleYear)) {
             System.out.println(ErrorMessages.INVALID_YEAR_4_DIGIT);
@@ -209,9 +219,10 @@ public class ManualInputProcessor extends BaseProcessor {
      *
      * @param scanner Scanner object to read user input from console.
      * @param loanAmount BigDecimal representing the loan amount for down payment validation context.
+     * @param minimumDownPaymentRate The minimum down payment rate (percentage) of the vehicle's product.
      * @return Validated down payment double, or -1 if the input is invalid.
      */
-    double getDownPaymentAmount(Scanner scanner, BigDecimal loanAmount) {
+    double getDownPaymentAmount(Scanner scanner, BigDecimal loanAmount, BigDecimal minimumDownPaymentRate) {
         double downPayment = Double.parseDouble(scanner.nextLine().trim()); // Read and trim down payment input
         if (!loanValidator.isValidDownPaymentAmount(downPayment, loanAmount, minimumDownPaymentRate)) {
             System.out.println(ErrorMessages.INVALID_DOWN_PAYMENT_AMOUNT);
@@ -0,0 +1,383 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@code MappedRecordReader} class reads the records of a CSV or JSON Lines batch file from a memory-mapped view
+ * of the file.
+ * <p>
+ *     The file is mapped with {@link FileChannel#map} in windows of at most {@code windowSize} bytes. The six
+ *     loan fields of a CSV record are parsed directly from the mapped bytes into a {@link LoanRequest} with {@link #parse()},
+ *     without decoding the line into a {@link String}; a JSON Lines record is decoded with {@link #record()}. Only values outside the common {@code [+-]digits[.digits]} form (e.g. exponents,
+ *     or more digits than a {@code long} holds) are decoded and parsed with {@link Integer#parseInt(String)} /
+ *     {@link Double#parseDouble(String)}, so every record parses to exactly the same values as
+ *     {@link BatchFileProcessor#parseCsv(String)}.
+ * </p>
+ * <p>
+ *     Lines end with {@code \n} or {@code \r\n}, and records are trimmed of leading and trailing control characters
+ *     and spaces, like {@link String#trim()}. Blank lines and a {@link BatchFileProcessor#CSV_HEADER}
+ *     first line, with or without the dealer programme column, are skipped. {@link #offset()} is the byte offset of the next line, from which a later reader
+ *     can resume. The reader is not thread safe.
+ * </p>
+ */
+public final class MappedRecordReader implements Closeable {
+
+    /**
+     * Default size of a mapped window, in bytes.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private static final int FIELD_COUNT = 6;
+    private static final int MAX_FIELD_COUNT = FIELD_COUNT + 1;
+    private static final byte[] HEADER = BatchFileProcessor.CSV_HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER_WITH_PROGRAMME = BatchFileProcessor.CSV_HEADER_WITH_PROGRAMME.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CAR = VehicleType.CAR.code().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MOTORCYCLE = VehicleType.MOTORCYCLE.code().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEW = VehicleCondition.NEW.code().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OLD = VehicleCondition.OLD.code().getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Largest mantissa a {@code double} holds exactly; a mantissa divided by an exact power of ten is then
+     * correctly rounded, like {@link Double#parseDouble(String)}.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+
+    private int position; // Start of the next line, relative to the window
+    private long lineNumber;
+    private int recordStart;
+    private int recordEnd;
+    private final int[] fieldStarts = new int[MAX_FIELD_COUNT];
+    private final int[] fieldEnds = new int[MAX_FIELD_COUNT];
+
+    /**
+     * Constructor for {@code MappedRecordReader} mapping windows of {@link #DEFAULT_WINDOW_SIZE} bytes.
+     *
+     * @param path The batch file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public MappedRecordReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor for {@code MappedRecordReader} resuming at a line of the file.
+     *
+     * @param path       The batch file.
+     * @param offset     The byte offset of the line, as returned by {@link #offset()}.
+     * @param lineNumber The number of lines before the offset, as returned by {@link #lineNumber()}.
+     * @throws IOException if the file cannot be opened.
+     * @throws IllegalArgumentException if the offset is not within the file.
+     */
+    public MappedRecordReader(Path path, long offset, long lineNumber) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+        if (offset < 0 || offset > fileSize) {
+            channel.close();
+            throw new IllegalArgumentException("Offset " + offset + " is not within the file of " + fileSize + " bytes");
+        }
+        this.windowStart = offset;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Constructor for {@code MappedRecordReader}.
+     *
+     * @param path       The batch file.
+     * @param windowSize The maximum number of bytes mapped at once; a longer record is mapped in a larger window.
+     * @throws IOException if the file cannot be opened.
+     */
+    MappedRecordReader(Path path, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Advances to the next record, skipping blank lines and the optional CSV header.
+     *
+     * @return {@code true} if a record was read, {@code false} at the end of the file.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            int lineEnd = findLineEnd();
+            if (lineEnd < 0) {
+                return false;
+            }
+            lineNumber++;
+            int start = position;
+            int end = lineEnd;
+            position = lineEnd + 1;
+            while (start < end && isWhitespace(window.get(start))) {
+                start++;
+            }
+            while (end > start && isWhitespace(window.get(end - 1))) {
+                end--;
+            }
+            if (start == end || (lineNumber == 1 && (equalsIgnoreCase(start, end, HEADER)
+                    || equalsIgnoreCase(start, end, HEADER_WITH_PROGRAMME)))) {
+                continue; // Skip blank lines and the optional CSV header
+            }
+            recordStart = start;
+            recordEnd = end;
+            return true;
+        }
+    }
+
+    /**
+     * @return The line number of the current record in the file.
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return The byte offset of the line after the current record.
+     */
+    public long offset() {
+        return Math.min(windowStart + position, fileSize); // A last line without a line feed ends at the end of the file
+    }
+
+    /**
+     * @return The current record decoded as a string.
+     */
+    public String record() {
+        return decode(recordStart, recordEnd);
+    }
+
+    /**
+     * Parses the current record in the same field order as the 6-line input file, optionally followed by a dealer
+     * programme, which is the only field decoded into a {@link String}.
+     *
+     * @return The parsed loan request, with a null vehicle type or condition if the value is not supported.
+     * @throws InvalidRecordException if the record does not have 6 or 7 fields or a numeric field cannot be parsed.
+     */
+    public LoanRequest parse() {
+        int fieldCount = 0;
+        int start = recordStart;
+        while (true) {
+            if (fieldCount == MAX_FIELD_COUNT) {
+                throw new InvalidRecordException("Expected at most " + MAX_FIELD_COUNT + " fields", List.of());
+            }
+            int end = indexOfComma(start, recordEnd);
+            int fieldEnd = end < 0 ? recordEnd : end;
+            int fieldStart = start;
+            while (fieldStart < fieldEnd && isWhitespace(window.get(fieldStart))) {
+                fieldStart++;
+            }
+            while (fieldEnd > fieldStart && isWhitespace(window.get(fieldEnd - 1))) {
+                fieldEnd--;
+            }
+            fieldStarts[fieldCount] = fieldStart;
+            fieldEnds[fieldCount] = fieldEnd;
+            fieldCount++;
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        if (fieldCount < FIELD_COUNT) {
+            throw new InvalidRecordException("Expected " + FIELD_COUNT + " fields", List.of());
+        }
+        try {
+            return new LoanRequest(parseVehicleType(), parseVehicleCondition(), parseInt(2), parseDouble(3),
+                    parseInt(4), parseDouble(5), fieldCount > FIELD_COUNT ? DealerProgramme.parse(decode(fieldStarts[6], fieldEnds[6]))
+                            : DealerProgramme.STANDARD);
+        } catch (NumberFormatException e) {
+            String[] values = new String[FIELD_COUNT];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                values[field] = decode(fieldStarts[field], fieldEnds[field]);
+            }
+            throw InvalidRecordException.ofFields(values);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Finds the end of the line starting at {@link #position}, remapping the window from the start of the line
+     * when the line is not complete in the current window.
+     *
+     * @return The index of the {@code \n} ending the line, or the window limit for a last line without one;
+     *         -1 at the end of the file.
+     */
+    private int findLineEnd() throws IOException {
+        while (true) {
+            if (window != null) {
+                for (int i = position; i < windowLimit; i++) {
+                    if (window.get(i) == '\n') {
+                        return i;
+                    }
+                }
+            }
+            long lineStart = windowStart + position;
+            boolean atEndOfFile = window != null && windowStart + windowLimit == fileSize;
+            if (atEndOfFile) {
+                return position < windowLimit ? windowLimit : -1;
+            }
+            if (lineStart >= fileSize) {
+                return -1;
+            }
+            // The line continues past the window: map the next window from the start of the line, doubling it
+            // when the line alone fills a whole window
+            int size = window != null && position == 0 ? grow(windowLimit) : windowSize;
+            map(lineStart, (int) Math.min(size, fileSize - lineStart));
+        }
+    }
+
+    private void map(long start, int size) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+        windowLimit = size;
+        position = 0;
+    }
+
+    private static int grow(int size) throws IOException {
+        if (size >= Integer.MAX_VALUE / 2) {
+            throw new IOException("Record longer than " + size + " bytes");
+        }
+        return size * 2;
+    }
+
+    private int indexOfComma(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (window.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private VehicleType parseVehicleType() {
+        if (equalsIgnoreCase(fieldStarts[0], fieldEnds[0], CAR)) {
+            return VehicleType.CAR;
+        }
+        return equalsIgnoreCase(fieldStarts[0], fieldEnds[0], MOTORCYCLE) ? VehicleType.MOTORCYCLE : null;
+    }
+
+    private VehicleCondition parseVehicleCondition() {
+        if (equalsIgnoreCase(fieldStarts[1], fieldEnds[1], NEW)) {
+            return VehicleCondition.NEW;
+        }
+        return equalsIgnoreCase(fieldStarts[1], fieldEnds[1], OLD) ? VehicleCondition.OLD : null;
+    }
+
+    /**
+     * Parses an {@code int} field of up to 9 digits from bytes; other values are parsed with {@link Integer#parseInt(String)}.
+     */
+    private int parseInt(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        int i = start;
+        boolean negative = false;
+        if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i++) == '-';
+        }
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(decode(start, end));
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(decode(start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a {@code [+-]digits[.digits]} field whose digits fit in an exact {@code double} mantissa from bytes;
+     * other values are parsed with {@link Double#parseDouble(String)}.
+     */
+    private double parseDouble(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        int i = start;
+        boolean negative = false;
+        if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i++) == '-';
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            byte b = window.get(i);
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || digits == 18) {
+                return Double.parseDouble(decode(start, end));
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0 || (fractionDigits > 0 && (mantissa >= MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length))) {
+            return Double.parseDouble(decode(start, end));
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    private boolean equalsIgnoreCase(int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            byte b = window.get(start + i);
+            byte e = expected[i];
+            if (b != e && (e < 'a' || e > 'z' || (b | 0x20) != e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Same characters as {@link String#trim()} removes, for single-byte characters.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+}
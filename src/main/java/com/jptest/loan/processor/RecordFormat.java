@@ -0,0 +1,90 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.output.OutputFormat;
+import com.jptest.loan.record.BinaryRecordType;
+
+import java.util.Locale;
+
+/**
+ * {@code RecordFormat} enum to describe the supported delimited batch record formats.
+ * <p>
+ *     The format of a batch file is derived from its file extension: {@code .csv} files hold one
+ *     comma separated loan record per line, {@code .jsonl}/{@code .ndjson} files hold one JSON object per line
+ *     and {@code .lrq} files hold fixed-width binary loan requests.
+ *     Results are written back in the same format as the input, unless another {@link OutputFormat} is configured.
+ * </p>
+ */
+public enum RecordFormat {
+    /**
+     * Comma separated values, one loan record per line, in the same field order as the 6-line input file.
+     */
+    CSV,
+    /**
+     * JSON Lines, one flat JSON loan object per line.
+     */
+    JSON_LINES,
+    /**
+     * Fixed-width binary loan requests, see {@link BinaryRecordType#LOAN_REQUEST}. Results are written as
+     * fixed-width schedule records by default.
+     */
+    BINARY;
+
+    /**
+     * File extension of fixed-width binary loan request files.
+     */
+    public static final String BINARY_EXTENSION = ".lrq";
+
+    /**
+     * @return The output format writing results in this record format.
+     */
+    public OutputFormat outputFormat() {
+        return switch (this) {
+            case CSV -> OutputFormat.CSV;
+            case JSON_LINES -> OutputFormat.JSON_LINES;
+            case BINARY -> OutputFormat.FIXED_WIDTH;
+        };
+    }
+
+    /**
+     * Parses a record format from its name, case insensitive, with {@code -} accepted for {@code _}
+     * (e.g. {@code json-lines}), or from its file extension without the dot (e.g. {@code jsonl}).
+     *
+     * @param value The record format name or extension.
+     * @return The matching record format.
+     * @throws IllegalArgumentException if the value is not a supported record format.
+     */
+    public static RecordFormat parse(String value) {
+        String name = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (RecordFormat recordFormat : values()) {
+            if (recordFormat.name().equals(name)) {
+                return recordFormat;
+            }
+        }
+        try {
+            return fromPath("." + value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported record format: " + value);
+        }
+    }
+
+    /**
+     * Resolves the record format from the extension of the given file path.
+     *
+     * @param path The batch file path.
+     * @return The record format matching the file extension.
+     * @throws IllegalArgumentException if the file extension is not a supported batch format.
+     */
+    public static RecordFormat fromPath(String path) {
+        String lowerCasePath = path.toLowerCase(Locale.ROOT);
+        if (lowerCasePath.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lowerCasePath.endsWith(".jsonl") || lowerCasePath.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        if (lowerCasePath.endsWith(BINARY_EXTENSION)) {
+            return BINARY;
+        }
+        throw new IllegalArgumentException("Unsupported batch file format: " + path);
+    }
+}
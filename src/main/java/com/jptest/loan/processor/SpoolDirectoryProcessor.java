@@ -0,0 +1,316 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.constant.ErrorMessages;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code SpoolDirectoryProcessor} class processes the loan input files dropped into a spool directory,
+ * for as long as the application runs.
+ * <p>
+ *     The spool directory is watched with a {@link WatchService}; every regular file that arrives, and every file
+ *     already there at startup, is processed by {@link FileInputProcessor} on its own worker thread, a virtual thread
+ *     when {@code spring.threads.virtual.enabled} is set and the application runs on Java 21 or later. At most
+ *     {@code loan.spool.max.concurrent.files} files are processed at once; further files wait in the spool directory
+ *     until a worker finishes.
+ * </p>
+ * <p>
+ *     The installments or error messages of a file are written to {@code <file name>.out}, then the file is moved
+ *     to the done directory ({@code loan.spool.done.dir}, default {@code <spool>/done}) if its installments were
+ *     calculated, or to the failed directory ({@code loan.spool.failed.dir}, default {@code <spool>/failed})
+ *     otherwise. Both moves are atomic, so the input file only appears next to its complete result, and a file of
+ *     the same name is replaced. If the input file cannot be moved, its published result is deleted again, so the
+ *     file stays in the spool directory without a result and is processed again by the next run. Upstream systems should likewise write a file elsewhere on the same file system and
+ *     move it into the spool directory, since a file is processed as soon as it appears; hidden files (starting with
+ *     {@code .}) are ignored, so they can also be written in place and renamed once complete.
+ * </p>
+ */
+@Component
+public class SpoolDirectoryProcessor {
+
+    /**
+     * Suffix appended to the name of an input file to name its result file.
+     */
+    public static final String RESULT_SUFFIX = ".out";
+
+    private final FileInputProcessor fileInputProcessor;
+
+    /**
+     * The done directory, or empty for {@code <spool>/done}, injected from application properties.
+     */
+    @Value("${loan.spool.done.dir:}")
+    private String doneDir = "";
+
+    /**
+     * The failed directory, or empty for {@code <spool>/failed}, injected from application properties.
+     */
+    @Value("${loan.spool.failed.dir:}")
+    private String failedDir = "";
+
+    /**
+     * The maximum number of files processed at once, injected from application properties.
+     */
+    @Value("${loan.spool.max.concurrent.files:64}")
+    private int maxConcurrentFiles = 64;
+
+    /**
+     * How long stopping waits for the files being processed, injected from application properties.
+     */
+    @Value("${loan.spool.shutdown.timeout:30s}")
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Whether workers run on virtual threads when the JVM supports them, injected from application properties.
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong done = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile WatchService watchService;
+    private volatile boolean stopping;
+    private Semaphore permits;
+    private ThreadFactory threadFactory;
+    private Path doneDirectory;
+    private Path failedDirectory;
+
+    /**
+     * Constructor for {@code SpoolDirectoryProcessor}.
+     *
+     * @param fileInputProcessor Processor of a single loan input file.
+     */
+    @Autowired
+    public SpoolDirectoryProcessor(FileInputProcessor fileInputProcessor) {
+        this.fileInputProcessor = fileInputProcessor;
+    }
+
+    /**
+     * Watches a spool directory and processes every file arriving in it, until the application stops or
+     * the directory is deleted.
+     * <p>
+     *     Blocks the calling thread. Once watching ends, the files being processed are completed and the number of
+     *     done and failed files is printed.
+     * </p>
+     *
+     * @param spoolPath The path to the spool directory.
+     */
+    public void watch(String spoolPath) {
+        Path spool = Paths.get(spoolPath).toAbsolutePath();
+        if (!Files.isDirectory(spool)) {
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + spoolPath);
+            return;
+        }
+        doneDirectory = directory(doneDir, spool.resolve("done"));
+        failedDirectory = directory(failedDir, spool.resolve("failed"));
+        try {
+            Files.createDirectories(doneDirectory);
+            Files.createDirectories(failedDirectory);
+        } catch (IOException e) {
+            // Handle directory creation issues before claiming any file
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + (Files.isDirectory(doneDirectory) ? failedDirectory : doneDirectory));
+            return;
+        }
+        permits = new Semaphore(Math.max(1, maxConcurrentFiles));
+        threadFactory = workerThreadFactory();
+
+        try (WatchService service = spool.getFileSystem().newWatchService()) {
+            watchService = service;
+            spool.register(service, StandardWatchEventKinds.ENTRY_CREATE);
+            System.out.println("Watching spool directory " + spool);
+            submitAll(spool); // Registered first, so that no file arriving meanwhile is missed
+            while (!stopping) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        submitAll(spool); // Events were lost; look for the files they announced
+                    } else {
+                        submit(spool.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    break; // The spool directory was deleted
+                }
+            }
+        } catch (IOException e) {
+            // Handle unwatchable directories
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + spoolPath);
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The application is shutting down
+        } finally {
+            awaitWorkers();
+        }
+        System.out.printf("Spooled %d files: %d done, %d failed%n", done.get() + failed.get(), done.get(), failed.get());
+    }
+
+    /**
+     * Stops watching the spool directory when the application context closes, and waits up to
+     * {@code loan.spool.shutdown.timeout} for the files being processed.
+     */
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        WatchService service = watchService;
+        if (service == null) {
+            return;
+        }
+        try {
+            service.close(); // Wakes up the watching thread, which then stops claiming files
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+        awaitWorkers();
+    }
+
+    /**
+     * Submits every file currently in the spool directory.
+     */
+    private void submitAll(Path spool) throws IOException, InterruptedException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spool)) {
+            for (Path file : files) {
+                submit(file);
+            }
+        }
+    }
+
+    /**
+     * Starts a worker processing a file, unless it is hidden, not a regular file or already being processed.
+     * Blocks while {@code loan.spool.max.concurrent.files} files are being processed.
+     */
+    private void submit(Path file) throws InterruptedException {
+        if (file.getFileName().toString().startsWith(".") || !Files.isRegularFile(file) || !inFlight.add(file)) {
+            return;
+        }
+        boolean started = false;
+        try {
+            permits.acquire();
+            if (stopping) {
+                permits.release();
+                return; // The file stays in the spool directory for the next run
+            }
+            threadFactory.newThread(() -> {
+                try {
+                    process(file);
+                } finally {
+                    inFlight.remove(file);
+                    permits.release();
+                }
+            }).start();
+            started = true;
+        } finally {
+            if (!started) {
+                inFlight.remove(file);
+            }
+        }
+    }
+
+    /**
+     * Processes a file, writes its result file and moves it to the done or failed directory.
+     */
+    private void process(Path file) {
+        if (!Files.exists(file)) {
+            return; // Moved away after it was claimed, e.g. by a worker of a previous event
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        boolean succeeded = false;
+        try (PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+            try {
+                succeeded = fileInputProcessor.processFile(file.toString(), out);
+            } catch (RuntimeException e) {
+                // Handle unexpected failures of a single file; the other files carry on
+                out.println(ErrorMessages.ERROR + e);
+            }
+        }
+
+        Path target = succeeded ? doneDirectory : failedDirectory;
+        String fileName = file.getFileName().toString();
+        Path result = null;
+        Path published = null;
+        try {
+            result = Files.write(target.resolve("." + fileName + RESULT_SUFFIX), output.toByteArray());
+            published = Files.move(result, target.resolve(fileName + RESULT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            Files.move(file, target.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Handle unwritable directories; the file stays in the spool directory for the next run, without the
+            // result published for it
+            System.out.println(ErrorMessages.COULD_NOT_WRITE_FILE + target.resolve(fileName));
+            deleteQuietly(published != null ? published : result);
+            failed.incrementAndGet();
+            return;
+        }
+        (succeeded ? done : failed).incrementAndGet();
+    }
+
+    /**
+     * Waits until no file is being processed, or for {@code loan.spool.shutdown.timeout} at most.
+     */
+    private void awaitWorkers() {
+        Semaphore workers = permits;
+        if (workers == null) {
+            return;
+        }
+        int all = Math.max(1, maxConcurrentFiles);
+        try {
+            if (workers.tryAcquire(all, shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.release(all);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The factory of worker threads: virtual threads if enabled and supported, daemon threads otherwise.
+     */
+    private ThreadFactory workerThreadFactory() {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return new VirtualThreadTaskExecutor("loan-spool-").getVirtualThreadFactory();
+        }
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("loan-spool-");
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private static Path directory(String configured, Path defaultDirectory) {
+        return configured == null || configured.isBlank() ? defaultDirectory : Paths.get(configured.trim()).toAbsolutePath();
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // A leftover in the done or failed directory; nothing else to do
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.jptest.loan.rate;
+
+import java.math.BigDecimal;
+
+/**
+ * {@code InterestRateLadder} holds the precomputed interest rate of every year of a loan for one vehicle type.
+ * <p>
+ *     The rate of a year depends only on the base rate and the year index: the first year uses the base rate,
+ *     then every even year adds the first year increment and every odd year adds the second year increment
+ *     to the rate of the previous year. The ladder is computed once, up to the maximum tenor, and keeps each
+ *     rate in the three forms used by the calculation engines:
+ * </p>
+ * <ul>
+ *     <li>the printable percentage (e.g. {@code 8.1}),</li>
+ *     <li>the fraction used by {@code BigDecimal} arithmetic (e.g. {@code 0.081}),</li>
+ *     <li>the fraction scaled by {@value #RATE_FRACTION_FACTOR} used by fixed-point arithmetic (e.g. {@code 81000}).</li>
+ * </ul>
+ * <p>Instances are immutable; year indexes are zero based (index 0 is the first year).</p>
+ */
+public final class InterestRateLadder {
+
+    /**
+     * Number of decimal places kept for a percentage interest rate in fixed-point form (e.g. 8.1234%).
+     */
+    public static final int RATE_PERCENT_SCALE = 4;
+
+    /**
+     * Scale factor of a fixed-point interest rate fraction: a percentage with {@link #RATE_PERCENT_SCALE}
+     * decimal places divided by 100 has 6 decimal places.
+     */
+    public static final long RATE_FRACTION_FACTOR = 1_000_000;
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final BigDecimal[] rates;
+    private final BigDecimal[] rateFractions;
+    private final long[] scaledRateFractions;
+
+    private InterestRateLadder(BigDecimal[] rates, BigDecimal[] rateFractions, long[] scaledRateFractions) {
+        this.rates = rates;
+        this.rateFractions = rateFractions;
+        this.scaledRateFractions = scaledRateFractions;
+    }
+
+    /**
+     * Builds the interest rate ladder of a vehicle type.
+     *
+     * @param baseInterestRate    Interest rate (percentage) of the first year.
+     * @param incrementFirstYear  Interest rate (percentage) increment applied in even years.
+     * @param incrementSecondYear Interest rate (percentage) increment applied in odd years after the first.
+     * @param maxTenor            Number of years to precompute.
+     * @return The immutable interest rate ladder.
+     */
+    public static InterestRateLadder of(BigDecimal baseInterestRate, BigDecimal incrementFirstYear,
+                                        BigDecimal incrementSecondYear, int maxTenor) {
+        BigDecimal[] rates = new BigDecimal[maxTenor];
+        BigDecimal[] rateFractions = new BigDecimal[maxTenor];
+        long[] scaledRateFractions = new long[maxTenor];
+        boolean fixedPoint = true;
+
+        BigDecimal interestRate = baseInterestRate;
+        for (int i = 1; i <= maxTenor; i++) {
+            if (i > 1) {
+                interestRate = interestRate.add(i % 2 == 0 ? incrementFirstYear : incrementSecondYear);
+            }
+            rates[i - 1] = interestRate;
+            rateFractions[i - 1] = interestRate.divide(ONE_HUNDRED);
+            try {
+                scaledRateFractions[i - 1] = interestRate.movePointRight(RATE_PERCENT_SCALE).longValueExact();
+            } catch (ArithmeticException e) {
+                fixedPoint = false; // Too many decimal places for the fixed-point form
+            }
+        }
+        return new InterestRateLadder(rates, rateFractions, fixedPoint ? scaledRateFractions : null);
+    }
+
+    /**
+     * @return The number of years in the ladder, i.e. the maximum supported loan tenor.
+     */
+    public int maxTenor() {
+        return rates.length;
+    }
+
+    /**
+     * @param yearIndex Zero based year index.
+     * @return The printable interest rate percentage of the year.
+     */
+    public BigDecimal rate(int yearIndex) {
+        return rates[yearIndex];
+    }
+
+    /**
+     * @param yearIndex Zero based year index.
+     * @return The interest rate of the year as a fraction (percentage divided by 100).
+     */
+    public BigDecimal rateFraction(int yearIndex) {
+        return rateFractions[yearIndex];
+    }
+
+    /**
+     * @param yearIndex Zero based year index.
+     * @return The interest rate fraction of the year scaled by {@link #RATE_FRACTION_FACTOR}.
+     * @throws IllegalStateException if the rates cannot be represented in fixed-point form.
+     */
+    public long scaledRateFraction(int yearIndex) {
+        requireFixedPoint();
+        return scaledRateFractions[yearIndex];
+    }
+
+    /**
+     * Ensures every rate of the ladder can be represented in fixed-point form.
+     *
+     * @throws IllegalStateException if a rate has more than {@value #RATE_PERCENT_SCALE} decimal places.
+     */
+    public void requireFixedPoint() {
+        if (scaledRateFractions == null) {
+            throw new IllegalStateException("Interest rates must not have more than "
+                    + RATE_PERCENT_SCALE + " decimal places for fixed-point calculation");
+        }
+    }
+}
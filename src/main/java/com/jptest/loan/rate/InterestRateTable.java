@@ -0,0 +1,147 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.VehicleType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code InterestRateTable} component publishes the current {@link RateSnapshot}: the {@link InterestRateLadder} and
+ * minimum down payment rule of every loan product.
+ * <p>
+ *     The first snapshot is built at startup from the interest rate properties and the {@link ProductRates} listed
+ *     in {@code loan.products}, with ladders up to
+ *     {@link AppConstant#MAX_LOAN_TENOR} years, so the calculation engines only index into them
+ *     instead of doing rate arithmetic on every calculation. Newer snapshots, e.g. reloaded by {@link RateReloader},
+ *     replace it through a single atomic reference: readers never lock, and a reader that keeps the snapshot it
+ *     read sees one consistent set of rates for as long as it uses it.
+ * </p>
+ */
+@Component
+public class InterestRateTable {
+
+    private final AtomicReference<RateSnapshot> snapshot;
+
+    private volatile boolean fixedPoint;
+
+    /**
+     * Constructor for {@code InterestRateTable}, loading the products of the application properties.
+     *
+     * @param carInterestRate                 Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate          Interest rate (percentage) for motorcycle loans.
+     * @param incrementInterestRateFirstYear  Interest rate (percentage) increment for the next 1 year.
+     * @param incrementInterestRateSecondYear Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate          Minimum down payment rate (percentage) of the loan amount.
+     * @param environment                     The properties listing and configuring the products.
+     * @throws IllegalStateException if a minimum down payment rate is negative or has more than 6 decimal places,
+     *                               or a product is invalid.
+     */
+    @Autowired
+    public InterestRateTable(@Value("${loan.interest.rate.car}") BigDecimal carInterestRate,
+                             @Value("${loan.interest.rate.motorcycle}") BigDecimal motorcycleInterestRate,
+                             @Value("${loan.interest.rate.increment.first.year}") BigDecimal incrementInterestRateFirstYear,
+                             @Value("${loan.interest.rate.increment.second.year}") BigDecimal incrementInterestRateSecondYear,
+                             @Value("${loan.minimum.downpayment}") BigDecimal minimumDownPaymentRate,
+                             Environment environment) {
+        this(carInterestRate, motorcycleInterestRate, incrementInterestRateFirstYear, incrementInterestRateSecondYear,
+                minimumDownPaymentRate, ProductRates.load(environment::getProperty));
+    }
+
+    /**
+     * Constructor for {@code InterestRateTable} without any configured product.
+     *
+     * @param carInterestRate                 Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate          Interest rate (percentage) for motorcycle loans.
+     * @param incrementInterestRateFirstYear  Interest rate (percentage) increment for the next 1 year.
+     * @param incrementInterestRateSecondYear Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate          Minimum down payment rate (percentage) of the loan amount.
+     * @throws IllegalStateException if the minimum down payment rate is negative or has more than 6 decimal places.
+     */
+    public InterestRateTable(BigDecimal carInterestRate, BigDecimal motorcycleInterestRate,
+                             BigDecimal incrementInterestRateFirstYear, BigDecimal incrementInterestRateSecondYear,
+                             BigDecimal minimumDownPaymentRate) {
+        this(carInterestRate, motorcycleInterestRate, incrementInterestRateFirstYear, incrementInterestRateSecondYear,
+                minimumDownPaymentRate, List.of());
+    }
+
+    /**
+     * Constructor for {@code InterestRateTable}.
+     *
+     * @param carInterestRate                 Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate          Interest rate (percentage) for motorcycle loans.
+     * @param incrementInterestRateFirstYear  Interest rate (percentage) increment for the next 1 year.
+     * @param incrementInterestRateSecondYear Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate          Minimum down payment rate (percentage) of the loan amount.
+     * @param products                        The configured products, overriding the rates above.
+     * @throws IllegalStateException if a minimum down payment rate is negative or has more than 6 decimal places,
+     *                               or two products have the same name.
+     */
+    public InterestRateTable(BigDecimal carInterestRate, BigDecimal motorcycleInterestRate,
+                             BigDecimal incrementInterestRateFirstYear, BigDecimal incrementInterestRateSecondYear,
+                             BigDecimal minimumDownPaymentRate, List<ProductRates> products) {
+        this.snapshot = new AtomicReference<>(new RateSnapshot(RateSnapshot.INITIAL_VERSION, carInterestRate,
+                motorcycleInterestRate, incrementInterestRateFirstYear, incrementInterestRateSecondYear,
+                minimumDownPaymentRate, products));
+    }
+
+    /**
+     * Returns the current rate snapshot.
+     * <p>
+     *     Callers that validate and calculate the same request, or calculate several requests together, read the
+     *     snapshot once and pass it along, so that every step uses the same version.
+     * </p>
+     *
+     * @return The current rate snapshot.
+     */
+    public RateSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Returns the interest rate ladder of the standard product of a vehicle type in the current snapshot.
+     *
+     * @param vehicleType The type of vehicle (car or motorcycle).
+     * @return The interest rate ladder of the vehicle type.
+     * @throws IllegalArgumentException if vehicle type is null.
+     */
+    public InterestRateLadder ladderFor(VehicleType vehicleType) {
+        return snapshot.get().ladderFor(vehicleType);
+    }
+
+    /**
+     * Replaces the current snapshot with the next version.
+     * <p>
+     *     The snapshot is only published if it is the direct successor of the current one, so two concurrent
+     *     reloads cannot publish the same version twice or go back to an older one.
+     * </p>
+     *
+     * @param next The snapshot to publish, with the version following the current one.
+     * @return Whether the snapshot was published; {@code false} if another snapshot was published first.
+     * @throws IllegalStateException if the fixed-point engine is in use and a rate of the snapshot has too many
+     *                               decimal places for it.
+     */
+    public boolean publish(RateSnapshot next) {
+        if (fixedPoint) {
+            next.requireFixedPoint();
+        }
+        RateSnapshot current = snapshot.get();
+        return next.version() == current.version() + 1 && snapshot.compareAndSet(current, next);
+    }
+
+    /**
+     * Ensures the rates of every product can be used by the fixed-point engine, now and in every snapshot
+     * published later.
+     *
+     * @throws IllegalStateException if a rate has too many decimal places for fixed-point calculation.
+     */
+    public void requireFixedPoint() {
+        fixedPoint = true;
+        snapshot.get().requireFixedPoint();
+    }
+}
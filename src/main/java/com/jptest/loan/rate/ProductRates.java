@@ -0,0 +1,167 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@code ProductRates} record holds the configured rates of one loan product.
+ * <p>
+ *     A product is named {@code <vehicle type>[.<vehicle condition or any>[.<dealer programme>]]}, e.g. {@code car},
+ *     {@code car.new}, {@code car.any.summer-promo} or {@code motorcycle.old.dealer-x}, and sets any of the rates
+ *     below; a rate it does not set is inherited from the next less specific product, and finally from the
+ *     {@code loan.interest.rate.*} and {@code loan.minimum.downpayment} properties. Products are listed in
+ *     {@value #PRODUCTS}, and their rates are read from {@code loan.product.<name>.*} keys:
+ * </p>
+ * <pre>
+ * loan.products=car.new, car.any.summer-promo
+ * loan.product.car.new.interest.rate=7.5
+ * loan.product.car.any.summer-promo.interest.rate=5.9
+ * loan.product.car.any.summer-promo.minimum.downpayment=20
+ * </pre>
+ * <p>
+ *     Adding a product, or a dealer programme, is therefore a configuration change only. {@link RateSnapshot}
+ *     compiles the products into dense arrays, so none of this is looked up while calculating or validating.
+ * </p>
+ *
+ * @param vehicleType            Type of vehicle of the product.
+ * @param vehicleCondition       Condition of vehicle of the product, or null for any condition.
+ * @param dealerProgramme        Dealer programme of the product, {@link DealerProgramme#STANDARD} for none.
+ * @param interestRate           Interest rate (percentage) of the first year, or null to inherit it.
+ * @param incrementFirstYear     Interest rate (percentage) increment for the next 1 year, or null to inherit it.
+ * @param incrementSecondYear    Interest rate (percentage) increment for the next 2 year, or null to inherit it.
+ * @param minimumDownPaymentRate Minimum down payment rate (percentage) of the loan amount, or null to inherit it.
+ */
+public record ProductRates(VehicleType vehicleType, VehicleCondition vehicleCondition, DealerProgramme dealerProgramme,
+                           BigDecimal interestRate, BigDecimal incrementFirstYear, BigDecimal incrementSecondYear,
+                           BigDecimal minimumDownPaymentRate) {
+
+    /**
+     * Property key of the comma separated product names.
+     */
+    public static final String PRODUCTS = "loan.products";
+    /**
+     * Prefix of the property keys of a product, followed by the product name and one of the suffixes below.
+     */
+    public static final String PRODUCT_PREFIX = "loan.product.";
+    /**
+     * Suffixes of the property keys of a product's rates, with the same meaning as the properties they override.
+     */
+    public static final String INTEREST_RATE = ".interest.rate";
+    public static final String INCREMENT_FIRST_YEAR = ".increment.first.year";
+    public static final String INCREMENT_SECOND_YEAR = ".increment.second.year";
+    public static final String MINIMUM_DOWN_PAYMENT = ".minimum.downpayment";
+
+    /**
+     * Vehicle condition segment of a product name matching every condition.
+     */
+    public static final String ANY_CONDITION = "any";
+
+    /**
+     * Constructor for {@code ProductRates}.
+     *
+     * @throws IllegalStateException if vehicle type is null.
+     */
+    public ProductRates {
+        if (vehicleType == null) {
+            throw new IllegalStateException("Invalid product: missing vehicle type");
+        }
+        if (dealerProgramme == null) {
+            dealerProgramme = DealerProgramme.STANDARD;
+        }
+    }
+
+    /**
+     * Loads the products listed in {@value #PRODUCTS}.
+     *
+     * @param properties Looks up a property by key, returning null if it is not set.
+     * @return The products, in the listed order; empty if none are listed.
+     * @throws IllegalStateException if a product name is invalid or listed twice.
+     * @throws NumberFormatException if a rate is not a number.
+     */
+    public static List<ProductRates> load(Function<String, String> properties) {
+        String products = properties.apply(PRODUCTS);
+        List<ProductRates> productRates = new ArrayList<>();
+        if (products == null) {
+            return productRates;
+        }
+        Set<String> names = new HashSet<>();
+        for (String product : products.split(",")) {
+            if (product.isBlank()) {
+                continue;
+            }
+            ProductRates rates = parse(product.trim(), properties);
+            if (!names.add(rates.name())) {
+                throw new IllegalStateException("Duplicate product: " + product.trim());
+            }
+            productRates.add(rates);
+        }
+        return productRates;
+    }
+
+    /**
+     * Parses a product name and reads its rates.
+     *
+     * @param product    The product name, e.g. {@code car.any.summer-promo}.
+     * @param properties Looks up a property by key, returning null if it is not set.
+     * @return The product.
+     * @throws IllegalStateException if the product name is invalid.
+     * @throws NumberFormatException if a rate is not a number.
+     */
+    public static ProductRates parse(String product, Function<String, String> properties) {
+        String[] segments = product.split("\\.", -1);
+        VehicleType vehicleType = VehicleType.parse(segments[0]);
+        VehicleCondition vehicleCondition = segments.length > 1 && !ANY_CONDITION.equalsIgnoreCase(segments[1])
+                ? VehicleCondition.parse(segments[1]) : null;
+        if (segments.length > 3 || vehicleType == null
+                || (segments.length > 1 && vehicleCondition == null && !ANY_CONDITION.equalsIgnoreCase(segments[1]))) {
+            throw new IllegalStateException("Invalid product: " + product);
+        }
+        DealerProgramme dealerProgramme = segments.length > 2 ? DealerProgramme.configured(segments[2]) : DealerProgramme.STANDARD;
+        String prefix = PRODUCT_PREFIX + product;
+        return new ProductRates(vehicleType, vehicleCondition, dealerProgramme,
+                rate(properties, prefix + INTEREST_RATE),
+                rate(properties, prefix + INCREMENT_FIRST_YEAR),
+                rate(properties, prefix + INCREMENT_SECOND_YEAR),
+                rate(properties, prefix + MINIMUM_DOWN_PAYMENT));
+    }
+
+    /**
+     * @return The canonical name of the product, e.g. {@code car.any.summer-promo}.
+     */
+    public String name() {
+        String name = vehicleType.code() + "." + (vehicleCondition == null ? ANY_CONDITION : vehicleCondition.code());
+        return dealerProgramme.equals(DealerProgramme.STANDARD) ? name : name + "." + dealerProgramme.name();
+    }
+
+    /**
+     * Compares the configured rates of two products.
+     *
+     * @param other The product to compare with.
+     * @return Whether both products have the same name and numerically equal rates, or both leave a rate unset.
+     */
+    public boolean hasSameRates(ProductRates other) {
+        return vehicleType == other.vehicleType && vehicleCondition == other.vehicleCondition
+                && dealerProgramme.equals(other.dealerProgramme)
+                && sameRate(interestRate, other.interestRate)
+                && sameRate(incrementFirstYear, other.incrementFirstYear)
+                && sameRate(incrementSecondYear, other.incrementSecondYear)
+                && sameRate(minimumDownPaymentRate, other.minimumDownPaymentRate);
+    }
+
+    private static boolean sameRate(BigDecimal rate, BigDecimal other) {
+        return rate == null ? other == null : other != null && rate.compareTo(other) == 0;
+    }
+
+    private static BigDecimal rate(Function<String, String> properties, String key) {
+        String value = properties.apply(key);
+        return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+    }
+}
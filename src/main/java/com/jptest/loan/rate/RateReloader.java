@@ -0,0 +1,189 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.VehicleType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Properties;
+
+/**
+ * {@code RateReloader} component reloads the rate configuration from a watched properties file.
+ * <p>
+ *     The {@code loan.rates.file} property selects the file: empty (default) to keep the rates of the application
+ *     properties for the lifetime of the process, or the path of a properties file with any of the
+ *     {@code loan.interest.rate.*} and {@code loan.minimum.downpayment} keys. The file is loaded at startup and again
+ *     whenever it is created or modified; keys it does not set keep their current value. A file with a
+ *     {@code loan.products} key replaces all products with the {@link ProductRates} it lists, read from the
+ *     {@code loan.product.*} keys of the file; an empty list removes them. Every change publishes the
+ *     next {@link RateSnapshot} version on the {@link InterestRateTable}, so rates change without restarting the
+ *     workers, while calculations in flight finish with the snapshot they started with.
+ * </p>
+ * <p>
+ *     A file that cannot be read or holds an invalid rate is reported and ignored: the current snapshot stays in
+ *     place until the file is fixed.
+ * </p>
+ * <p>
+ *     Nothing depends on the reloader, so it is never lazily initialized: the rates file is loaded before
+ *     any input is processed, also in the lazily initialized command line modes.
+ * </p>
+ */
+@Component
+@Lazy(false)
+public class RateReloader {
+
+    /**
+     * Property key of the car interest rate (percentage).
+     */
+    public static final String CAR_INTEREST_RATE = "loan.interest.rate.car";
+    /**
+     * Property key of the motorcycle interest rate (percentage).
+     */
+    public static final String MOTORCYCLE_INTEREST_RATE = "loan.interest.rate.motorcycle";
+    /**
+     * Property key of the interest rate increment (percentage) applied in even years.
+     */
+    public static final String INCREMENT_FIRST_YEAR = "loan.interest.rate.increment.first.year";
+    /**
+     * Property key of the interest rate increment (percentage) applied in odd years after the first.
+     */
+    public static final String INCREMENT_SECOND_YEAR = "loan.interest.rate.increment.second.year";
+    /**
+     * Property key of the minimum down payment rate (percentage).
+     */
+    public static final String MINIMUM_DOWN_PAYMENT = "loan.minimum.downpayment";
+
+    private final InterestRateTable interestRateTable;
+    private final Path ratesFile;
+
+    private WatchService watchService;
+
+    /**
+     * Constructor for {@code RateReloader}.
+     *
+     * @param interestRateTable The table publishing the reloaded snapshots.
+     * @param ratesFile         The path of the rates properties file, or empty to disable reloading.
+     */
+    public RateReloader(InterestRateTable interestRateTable, @Value("${loan.rates.file:}") String ratesFile) {
+        this.interestRateTable = interestRateTable;
+        this.ratesFile = ratesFile == null || ratesFile.isBlank() ? null : Paths.get(ratesFile.trim()).toAbsolutePath();
+    }
+
+    /**
+     * Loads the rates file, if any, and starts watching it for changes on a daemon thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (ratesFile == null) {
+            return;
+        }
+        reload();
+        try {
+            watchService = ratesFile.getFileSystem().newWatchService();
+            ratesFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            // Handle unwatchable directories; the rates loaded at startup stay in place
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + ratesFile.getParent());
+            return;
+        }
+        Thread watcher = new Thread(this::watch, "loan-rate-reloader");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the rates file when the application context closes.
+     */
+    @PreDestroy
+    public void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close(); // Wakes up the watcher thread, which then exits
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * Reads the rates file and publishes its rates as the next snapshot if they differ from the current ones.
+     *
+     * @return Whether a new snapshot was published.
+     */
+    public boolean reload() {
+        if (ratesFile == null) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(ratesFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            // Handle missing or unreadable files; a file being replaced is read again on its next event
+            System.out.println(ErrorMessages.COULD_NOT_READ_FILE + ratesFile);
+            return false;
+        }
+
+        try {
+            while (true) {
+                RateSnapshot current = interestRateTable.snapshot();
+                RateSnapshot next = current.next(
+                        rate(properties, CAR_INTEREST_RATE, current.baseInterestRate(VehicleType.CAR)),
+                        rate(properties, MOTORCYCLE_INTEREST_RATE, current.baseInterestRate(VehicleType.MOTORCYCLE)),
+                        rate(properties, INCREMENT_FIRST_YEAR, current.incrementFirstYear()),
+                        rate(properties, INCREMENT_SECOND_YEAR, current.incrementSecondYear()),
+                        rate(properties, MINIMUM_DOWN_PAYMENT, current.minimumDownPaymentRate()),
+                        properties.containsKey(ProductRates.PRODUCTS) ? ProductRates.load(properties::getProperty) : current.products());
+                if (next.hasSameRates(current)) {
+                    return false; // Touched without a change; keep the version
+                }
+                if (interestRateTable.publish(next)) {
+                    return true;
+                }
+                // Another snapshot was published meanwhile; apply the file on top of it
+            }
+        } catch (IllegalStateException | NumberFormatException e) {
+            // Handle invalid rates; the current snapshot stays in place
+            System.out.println(ErrorMessages.INVALID_RATES_FILE + ratesFile + " (" + e.getMessage() + ")");
+            return false;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= ratesFile.getFileName().equals(event.context());
+                }
+                if (changed) {
+                    reload();
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The application is shutting down
+        }
+    }
+
+    private static BigDecimal rate(Properties properties, String key, BigDecimal current) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? current : new BigDecimal(value.trim());
+    }
+}
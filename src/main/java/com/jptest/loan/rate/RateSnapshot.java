@@ -0,0 +1,485 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.service.MinorUnits;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code RateSnapshot} holds one version of the rate configuration: the {@link InterestRateLadder} and minimum down
+ * payment rule of every loan product.
+ * <p>
+ *     A snapshot is immutable. {@link InterestRateTable} publishes the current snapshot through a single atomic
+ *     reference, so a calculation or validation that reads the snapshot once keeps using the same rates even if a
+ *     newer version is published meanwhile, without taking any lock. Versions increase by one with every published
+ *     change, starting at {@link #INITIAL_VERSION} for the rates of the application properties.
+ * </p>
+ * <p>
+ *     A product is a vehicle type, vehicle condition and {@link DealerProgramme}. The configured
+ *     {@link ProductRates} are compiled once into dense arrays indexed by
+ *     {@code (programme id * condition slots + condition ordinal) * vehicle types + vehicle type ordinal}, with one
+ *     extra condition slot for requests without a condition, and every rate already inherited from the less specific
+ *     products. Programme ids belong to the snapshot: {@link DealerProgramme#STANDARD} is 0, and the programmes its
+ *     products name follow in configuration order, so a reloaded snapshot brings its own programmes along with their
+ *     rates. {@link #product(VehicleType, VehicleCondition, DealerProgramme)} is therefore plain arithmetic after at
+ *     most one lookup of the programme, and a product that is not offered (e.g. a programme that only covers cars,
+ *     or one that is not configured) has a null ladder. Products with identical rates share their ladder and rule.
+ * </p>
+ * <p>
+ *     The minimum down payment rate of every product is compiled once into an integer ratio applied to minor units,
+ *     so checking the rule does no {@link BigDecimal} arithmetic.
+ * </p>
+ */
+public final class RateSnapshot {
+
+    /**
+     * Version of the snapshot built from the application properties at startup.
+     */
+    public static final long INITIAL_VERSION = 1;
+
+    /**
+     * Product index of a request whose product is not offered.
+     */
+    public static final int NO_PRODUCT = -1;
+
+    private static final int MAX_RATE_SCALE = 6;
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final VehicleCondition[] VEHICLE_CONDITIONS = VehicleCondition.values();
+
+    /**
+     * Condition slot of a request without a vehicle condition, holding the rates of the {@code any} products.
+     */
+    private static final int ANY_CONDITION = VEHICLE_CONDITIONS.length;
+    private static final int CONDITION_SLOTS = VEHICLE_CONDITIONS.length + 1;
+
+    private final long version;
+
+    /**
+     * Interest rates of the first year indexed by {@link VehicleType#ordinal()}.
+     */
+    private final BigDecimal[] baseInterestRates = new BigDecimal[VEHICLE_TYPES.length];
+    private final BigDecimal incrementFirstYear;
+    private final BigDecimal incrementSecondYear;
+    private final DownPaymentRule minimumDownPayment;
+    private final List<ProductRates> products;
+
+    /**
+     * Ids of the dealer programmes the products name, indexing the arrays below; {@link DealerProgramme#STANDARD}
+     * is not included and always has id 0.
+     */
+    private final Map<DealerProgramme, Integer> programmeIds;
+
+    /**
+     * Interest rate ladders indexed by product, null if the product is not offered.
+     */
+    private final InterestRateLadder[] ladders;
+
+    /**
+     * Minimum down payment rules indexed by product.
+     */
+    private final DownPaymentRule[] minimumDownPayments;
+
+    /**
+     * Constructor for {@code RateSnapshot} without any configured product: every vehicle type and condition uses the
+     * rates of its vehicle type, and no dealer programme is offered.
+     *
+     * @param version                Version of the snapshot.
+     * @param carInterestRate        Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate Interest rate (percentage) for motorcycle loans.
+     * @param incrementFirstYear     Interest rate (percentage) increment for the next 1 year.
+     * @param incrementSecondYear    Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate Minimum down payment rate (percentage) of the loan amount.
+     * @throws IllegalStateException if the minimum down payment rate is negative or has more than 6 decimal places.
+     */
+    public RateSnapshot(long version, BigDecimal carInterestRate, BigDecimal motorcycleInterestRate,
+                        BigDecimal incrementFirstYear, BigDecimal incrementSecondYear, BigDecimal minimumDownPaymentRate) {
+        this(version, carInterestRate, motorcycleInterestRate, incrementFirstYear, incrementSecondYear,
+                minimumDownPaymentRate, List.of());
+    }
+
+    /**
+     * Constructor for {@code RateSnapshot}, compiling the products.
+     *
+     * @param version                Version of the snapshot.
+     * @param carInterestRate        Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate Interest rate (percentage) for motorcycle loans.
+     * @param incrementFirstYear     Interest rate (percentage) increment for the next 1 year.
+     * @param incrementSecondYear    Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate Minimum down payment rate (percentage) of the loan amount.
+     * @param products               The configured products, overriding the rates above.
+     * @throws IllegalStateException if a minimum down payment rate is negative or has more than 6 decimal places,
+     *                               or two products have the same name.
+     */
+    public RateSnapshot(long version, BigDecimal carInterestRate, BigDecimal motorcycleInterestRate,
+                        BigDecimal incrementFirstYear, BigDecimal incrementSecondYear, BigDecimal minimumDownPaymentRate,
+                        List<ProductRates> products) {
+        this.version = version;
+        this.incrementFirstYear = incrementFirstYear;
+        this.incrementSecondYear = incrementSecondYear;
+        this.minimumDownPayment = DownPaymentRule.of(minimumDownPaymentRate);
+        this.products = List.copyOf(products);
+        for (VehicleType vehicleType : VEHICLE_TYPES) {
+            baseInterestRates[vehicleType.ordinal()] = switch (vehicleType) {
+                case CAR -> carInterestRate;
+                case MOTORCYCLE -> motorcycleInterestRate;
+            };
+        }
+
+        Map<DealerProgramme, Integer> programmes = new HashMap<>();
+        for (ProductRates productRates : this.products) {
+            if (!productRates.dealerProgramme().equals(DealerProgramme.STANDARD)) {
+                programmes.putIfAbsent(productRates.dealerProgramme(), programmes.size() + 1);
+            }
+        }
+        this.programmeIds = Map.copyOf(programmes);
+        int programmeCount = programmes.size() + 1;
+        int productCount = programmeCount * CONDITION_SLOTS * VEHICLE_TYPES.length;
+        ProductRates[] configured = new ProductRates[productCount];
+        for (ProductRates productRates : this.products) {
+            int product = index(programmeId(productRates.dealerProgramme()),
+                    productRates.vehicleCondition() == null ? ANY_CONDITION : productRates.vehicleCondition().ordinal(),
+                    productRates.vehicleType().ordinal());
+            if (configured[product] != null) {
+                throw new IllegalStateException("Duplicate product: " + productRates.name());
+            }
+            configured[product] = productRates;
+        }
+
+        this.ladders = new InterestRateLadder[productCount];
+        this.minimumDownPayments = new DownPaymentRule[productCount];
+        Map<List<BigDecimal>, InterestRateLadder> compiledLadders = new HashMap<>();
+        Map<BigDecimal, DownPaymentRule> compiledRules = new HashMap<>();
+        compiledRules.put(minimumDownPaymentRate, minimumDownPayment);
+        ProductRates[] inherited = new ProductRates[4];
+        for (int programme = 0; programme < programmeCount; programme++) {
+            for (int condition = 0; condition < CONDITION_SLOTS; condition++) {
+                for (VehicleType vehicleType : VEHICLE_TYPES) {
+                    // Most specific product first: programme and condition, programme, condition, vehicle type
+                    int type = vehicleType.ordinal();
+                    boolean anyCondition = condition == ANY_CONDITION;
+                    inherited[0] = programme == 0 || anyCondition ? null : configured[index(programme, condition, type)];
+                    inherited[1] = programme == 0 ? null : configured[index(programme, ANY_CONDITION, type)];
+                    inherited[2] = anyCondition ? null : configured[index(0, condition, type)];
+                    inherited[3] = configured[index(0, ANY_CONDITION, type)];
+                    if (programme != 0 && inherited[0] == null && inherited[1] == null) {
+                        continue; // The programme does not offer this vehicle type and condition
+                    }
+
+                    BigDecimal interestRate = baseInterestRates[type];
+                    BigDecimal firstYear = incrementFirstYear;
+                    BigDecimal secondYear = incrementSecondYear;
+                    BigDecimal downPayment = minimumDownPaymentRate;
+                    for (int i = inherited.length - 1; i >= 0; i--) {
+                        ProductRates productRates = inherited[i];
+                        if (productRates != null) {
+                            interestRate = productRates.interestRate() != null ? productRates.interestRate() : interestRate;
+                            firstYear = productRates.incrementFirstYear() != null ? productRates.incrementFirstYear() : firstYear;
+                            secondYear = productRates.incrementSecondYear() != null ? productRates.incrementSecondYear() : secondYear;
+                            downPayment = productRates.minimumDownPaymentRate() != null ? productRates.minimumDownPaymentRate() : downPayment;
+                        }
+                    }
+                    int product = index(programme, condition, type);
+                    ladders[product] = compiledLadders.computeIfAbsent(List.of(interestRate, firstYear, secondYear),
+                            rates -> InterestRateLadder.of(rates.get(0), rates.get(1), rates.get(2), AppConstant.MAX_LOAN_TENOR));
+                    minimumDownPayments[product] = compiledRules.computeIfAbsent(downPayment, DownPaymentRule::of);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The id of a dealer programme in this snapshot, or -1 if no product names it.
+     */
+    private int programmeId(DealerProgramme dealerProgramme) {
+        if (dealerProgramme == DealerProgramme.STANDARD) {
+            return 0;
+        }
+        return dealerProgramme.name().isEmpty() ? 0 : programmeIds.getOrDefault(dealerProgramme, -1);
+    }
+
+    private static int index(int programme, int condition, int vehicleType) {
+        return (programme * CONDITION_SLOTS + condition) * VEHICLE_TYPES.length + vehicleType;
+    }
+
+    /**
+     * @return The version of the snapshot.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Builds the next version of this snapshot with other rates and the same products.
+     *
+     * @param carInterestRate        Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate Interest rate (percentage) for motorcycle loans.
+     * @param incrementFirstYear     Interest rate (percentage) increment for the next 1 year.
+     * @param incrementSecondYear    Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate Minimum down payment rate (percentage) of the loan amount.
+     * @return The snapshot with the next version.
+     * @throws IllegalStateException if a minimum down payment rate is negative or has more than 6 decimal places.
+     */
+    public RateSnapshot next(BigDecimal carInterestRate, BigDecimal motorcycleInterestRate, BigDecimal incrementFirstYear,
+                             BigDecimal incrementSecondYear, BigDecimal minimumDownPaymentRate) {
+        return next(carInterestRate, motorcycleInterestRate, incrementFirstYear, incrementSecondYear,
+                minimumDownPaymentRate, products);
+    }
+
+    /**
+     * Builds the next version of this snapshot with other rates and products.
+     *
+     * @param carInterestRate        Interest rate (percentage) for car loans.
+     * @param motorcycleInterestRate Interest rate (percentage) for motorcycle loans.
+     * @param incrementFirstYear     Interest rate (percentage) increment for the next 1 year.
+     * @param incrementSecondYear    Interest rate (percentage) increment for the next 2 year.
+     * @param minimumDownPaymentRate Minimum down payment rate (percentage) of the loan amount.
+     * @param products               The configured products, overriding the rates above.
+     * @return The snapshot with the next version.
+     * @throws IllegalStateException if a minimum down payment rate is negative or has more than 6 decimal places,
+     *                               or two products have the same name.
+     */
+    public RateSnapshot next(BigDecimal carInterestRate, BigDecimal motorcycleInterestRate, BigDecimal incrementFirstYear,
+                             BigDecimal incrementSecondYear, BigDecimal minimumDownPaymentRate, List<ProductRates> products) {
+        return new RateSnapshot(version + 1, carInterestRate, motorcycleInterestRate, incrementFirstYear,
+                incrementSecondYear, minimumDownPaymentRate, products);
+    }
+
+    /**
+     * @param vehicleType The type of vehicle (car or motorcycle).
+     * @return The interest rate (percentage) of the first year for the vehicle type, before product overrides.
+     */
+    public BigDecimal baseInterestRate(VehicleType vehicleType) {
+        return baseInterestRates[vehicleType.ordinal()];
+    }
+
+    /**
+     * @return The interest rate (percentage) increment applied in even years, before product overrides.
+     */
+    public BigDecimal incrementFirstYear() {
+        return incrementFirstYear;
+    }
+
+    /**
+     * @return The interest rate (percentage) increment applied in odd years after the first, before product overrides.
+     */
+    public BigDecimal incrementSecondYear() {
+        return incrementSecondYear;
+    }
+
+    /**
+     * @return The minimum down payment rate (percentage) of the loan amount before product overrides, without
+     *         trailing zeros.
+     */
+    public BigDecimal minimumDownPaymentRate() {
+        return minimumDownPayment.rate();
+    }
+
+    /**
+     * @return The configured products, in configuration order.
+     */
+    public List<ProductRates> products() {
+        return products;
+    }
+
+    /**
+     * Looks up the product of a vehicle type, vehicle condition and dealer programme.
+     *
+     * @param vehicleType      The type of vehicle, or null.
+     * @param vehicleCondition The condition of vehicle, or null to use the products for any condition.
+     * @param dealerProgramme  The dealer programme.
+     * @return The index of the product, or {@link #NO_PRODUCT} if vehicle type is null or the programme does not
+     *         offer this vehicle type and condition.
+     */
+    public int product(VehicleType vehicleType, VehicleCondition vehicleCondition, DealerProgramme dealerProgramme) {
+        int programme = programmeId(dealerProgramme);
+        if (vehicleType == null || programme < 0) {
+            return NO_PRODUCT;
+        }
+        int product = index(programme, vehicleCondition == null ? ANY_CONDITION : vehicleCondition.ordinal(), vehicleType.ordinal());
+        return ladders[product] != null ? product : NO_PRODUCT;
+    }
+
+    /**
+     * Looks up the product of a loan request.
+     *
+     * @param loanRequest The loan request.
+     * @return The index of the product, or {@link #NO_PRODUCT} if it is not offered.
+     */
+    public int product(LoanRequest loanRequest) {
+        return product(loanRequest.vehicleType(), loanRequest.vehicleCondition(), loanRequest.dealerProgramme());
+    }
+
+    /**
+     * Returns the interest rate ladder of a product.
+     *
+     * @param product The index of the product, as returned by {@link #product(LoanRequest)}.
+     * @return The interest rate ladder of the product.
+     * @throws IllegalArgumentException if the product is {@link #NO_PRODUCT}.
+     */
+    public InterestRateLadder ladder(int product) {
+        if (product == NO_PRODUCT) {
+            throw new IllegalArgumentException("Invalid dealer programme");
+        }
+        return ladders[product];
+    }
+
+    /**
+     * Returns the interest rate ladder of the product of a loan request.
+     *
+     * @param loanRequest The loan request.
+     * @return The interest rate ladder of its product.
+     * @throws IllegalArgumentException if vehicle type is null or the product is not offered.
+     */
+    public InterestRateLadder ladderFor(LoanRequest loanRequest) {
+        return ladder(product(ladderVehicleType(loanRequest.vehicleType()), loanRequest.vehicleCondition(),
+                loanRequest.dealerProgramme()));
+    }
+
+    /**
+     * Returns the interest rate ladder of the standard product of a vehicle type, for any condition.
+     *
+     * @param vehicleType The type of vehicle (car or motorcycle).
+     * @return The interest rate ladder of the vehicle type.
+     * @throws IllegalArgumentException if vehicle type is null.
+     */
+    public InterestRateLadder ladderFor(VehicleType vehicleType) {
+        return ladders[index(0, ANY_CONDITION, ladderVehicleType(vehicleType).ordinal())];
+    }
+
+    private static VehicleType ladderVehicleType(VehicleType vehicleType) {
+        if (vehicleType == null) {
+            throw new IllegalArgumentException("Invalid vehicle type");
+        }
+        return vehicleType;
+    }
+
+    /**
+     * Ensures the rates of every product can be used by the fixed-point engine.
+     *
+     * @throws IllegalStateException if a rate has too many decimal places for fixed-point calculation.
+     */
+    public void requireFixedPoint() {
+        for (InterestRateLadder ladder : ladders) {
+            if (ladder != null) {
+                ladder.requireFixedPoint();
+            }
+        }
+    }
+
+    /**
+     * Returns the minimum down payment rate of a product.
+     *
+     * @param product The index of the product, or {@link #NO_PRODUCT} for the rate before product overrides.
+     * @return The minimum down payment rate (percentage) of the loan amount, without trailing zeros.
+     */
+    public BigDecimal minimumDownPaymentRate(int product) {
+        return rule(product).rate();
+    }
+
+    /**
+     * Checks the minimum down payment rule of a product.
+     *
+     * @param product               The index of the product, or {@link #NO_PRODUCT} for the rule before product
+     *                              overrides.
+     * @param downPaymentMinorUnits The down payment in minor units.
+     * @param loanAmountMinorUnits  The loan amount in minor units.
+     * @return Whether the down payment is at least the minimum down payment rate of the loan amount.
+     */
+    public boolean isMinimumDownPayment(int product, long downPaymentMinorUnits, long loanAmountMinorUnits) {
+        return rule(product).accepts(downPaymentMinorUnits, loanAmountMinorUnits);
+    }
+
+    /**
+     * Calculates the smallest down payment the minimum down payment rule of a product accepts for a loan amount.
+     *
+     * @param product              The index of the product, or {@link #NO_PRODUCT} for the rule before product
+     *                             overrides.
+     * @param loanAmountMinorUnits The loan amount in minor units.
+     * @return The minimum down payment in minor units, i.e. {@code loanAmount * rate / 100} rounded up to a minor unit.
+     */
+    public long minimumDownPaymentMinorUnits(int product, long loanAmountMinorUnits) {
+        return rule(product).minimum(loanAmountMinorUnits);
+    }
+
+    private DownPaymentRule rule(int product) {
+        return product == NO_PRODUCT ? minimumDownPayment : minimumDownPayments[product];
+    }
+
+    /**
+     * Compares the configured values of two snapshots, ignoring their versions.
+     *
+     * @param other The snapshot to compare with.
+     * @return Whether both snapshots have numerically equal rates and minimum down payment rates, and the same
+     *         products in the same order.
+     */
+    public boolean hasSameRates(RateSnapshot other) {
+        for (VehicleType vehicleType : VEHICLE_TYPES) {
+            if (baseInterestRate(vehicleType).compareTo(other.baseInterestRate(vehicleType)) != 0) {
+                return false;
+            }
+        }
+        if (products.size() != other.products.size()) {
+            return false;
+        }
+        for (int i = 0; i < products.size(); i++) {
+            if (!products.get(i).hasSameRates(other.products.get(i))) {
+                return false;
+            }
+        }
+        return incrementFirstYear.compareTo(other.incrementFirstYear) == 0
+                && incrementSecondYear.compareTo(other.incrementSecondYear) == 0
+                && minimumDownPaymentRate().compareTo(other.minimumDownPaymentRate()) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RateSnapshot[version=" + version + ", car=" + baseInterestRate(VehicleType.CAR)
+                + ", motorcycle=" + baseInterestRate(VehicleType.MOTORCYCLE) + ", incrementFirstYear=" + incrementFirstYear
+                + ", incrementSecondYear=" + incrementSecondYear + ", minimumDownPayment=" + minimumDownPaymentRate()
+                + ", products=" + products.size() + "]";
+    }
+
+    /**
+     * The minimum down payment rule {@code downPayment >= loanAmount * rate / 100}, compiled to
+     * {@code downPayment * downPaymentFactor >= loanAmount * loanAmountFactor} on minor units.
+     */
+    private record DownPaymentRule(BigDecimal rate, long downPaymentFactor, long loanAmountFactor) {
+
+        static DownPaymentRule of(BigDecimal minimumDownPaymentRate) {
+            BigDecimal rate = minimumDownPaymentRate.stripTrailingZeros();
+            if (rate.scale() < 0) {
+                rate = rate.setScale(0);
+            }
+            if (rate.signum() < 0 || rate.scale() > MAX_RATE_SCALE) {
+                throw new IllegalStateException("Invalid minimum down payment rate: " + minimumDownPaymentRate);
+            }
+            return new DownPaymentRule(rate, BigDecimal.valueOf(100).scaleByPowerOfTen(rate.scale()).longValueExact(),
+                    rate.unscaledValue().longValueExact());
+        }
+
+        boolean accepts(long downPaymentMinorUnits, long loanAmountMinorUnits) {
+            try {
+                return Math.multiplyExact(downPaymentMinorUnits, downPaymentFactor)
+                        >= Math.multiplyExact(loanAmountMinorUnits, loanAmountFactor);
+            } catch (ArithmeticException e) {
+                // Only reachable with extreme down payments or rates; compare exactly instead
+                return MinorUnits.toBigDecimal(downPaymentMinorUnits).movePointRight(2)
+                        .compareTo(MinorUnits.toBigDecimal(loanAmountMinorUnits).multiply(rate)) >= 0;
+            }
+        }
+
+        long minimum(long loanAmountMinorUnits) {
+            return MinorUnits.toBigDecimal(loanAmountMinorUnits).multiply(rate).movePointLeft(2)
+                    .setScale(MinorUnits.SCALE, RoundingMode.CEILING).unscaledValue().longValueExact();
+        }
+    }
+}
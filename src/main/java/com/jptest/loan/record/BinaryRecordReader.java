@@ -0,0 +1,166 @@
+package com.jptest.loan.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code BinaryRecordReader} class reads a fixed-width binary record file, sequentially or by record index.
+ * <p>
+ *     Sequential reads fill a {@link ByteBuffer} with many records per read call; {@link #get(long)} reads a single
+ *     record at its offset, without reading the records before it. The reader is not thread safe.
+ * </p>
+ *
+ * @param <T> The type of the records.
+ */
+public class BinaryRecordReader<T> implements Closeable {
+
+    private final BinaryRecordType<T> type;
+    private final FileChannel channel;
+    private final long size;
+    private final ByteBuffer buffer;
+    private final ByteBuffer recordBuffer;
+    private long nextIndex;
+
+    /**
+     * Constructor for {@code BinaryRecordReader}; reads and checks the file header.
+     *
+     * @param type       The expected type of the records.
+     * @param channel    The channel of the record file.
+     * @param bufferSize The size of the sequential read buffer, rounded to a whole number of records.
+     * @throws IOException if the header cannot be read, does not match the record type or version,
+     *                     or the file does not hold a whole number of records.
+     */
+    public BinaryRecordReader(BinaryRecordType<T> type, FileChannel channel, int bufferSize) throws IOException {
+        this.type = type;
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(BinaryRecordType.HEADER_SIZE);
+        readFully(header, 0);
+        if (header.getInt(0) != type.magic() || header.getShort(4) != BinaryRecordType.VERSION
+                || header.getShort(6) != type.recordSize()) {
+            throw new IOException("Not a version " + BinaryRecordType.VERSION + " record file of the expected type");
+        }
+        long recordBytes = channel.size() - BinaryRecordType.HEADER_SIZE;
+        if (recordBytes % type.recordSize() != 0) {
+            throw new IOException("Truncated record file");
+        }
+        this.size = recordBytes / type.recordSize();
+        this.buffer = ByteBuffer.allocate(Math.max(1, bufferSize / type.recordSize()) * type.recordSize()).limit(0);
+        this.recordBuffer = ByteBuffer.allocate(type.recordSize());
+    }
+
+    /**
+     * Opens a record file.
+     *
+     * @param type The expected type of the records.
+     * @param path The path to the record file.
+     * @param <T>  The type of the records.
+     * @return The reader of the file.
+     * @throws IOException if the file cannot be opened or is not a record file of the expected type.
+     */
+    public static <T> BinaryRecordReader<T> open(BinaryRecordType<T> type, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BinaryRecordReader<>(type, channel, BinaryRecordWriter.DEFAULT_BUFFER_SIZE);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of records in the file.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads the record at an index, without moving the sequential position.
+     *
+     * @param index The index of the record, from 0.
+     * @return The record.
+     * @throws IOException if the record cannot be read.
+     * @throws IndexOutOfBoundsException if the index is not in {@code [0, size())}.
+     */
+    public T get(long index) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+        }
+        recordBuffer.clear();
+        readFully(recordBuffer, offset(index));
+        return type.read(recordBuffer, 0);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The next record, or {@code null} after the last record.
+     * @throws IOException if the records cannot be read.
+     */
+    public T next() throws IOException {
+        if (nextIndex == size) {
+            return null;
+        }
+        if (!buffer.hasRemaining()) {
+            long records = Math.min(buffer.capacity() / type.recordSize(), size - nextIndex);
+            buffer.clear().limit((int) records * type.recordSize());
+            readFully(buffer, offset(nextIndex));
+            buffer.flip();
+        }
+        int position = buffer.position();
+        buffer.position(position + type.recordSize());
+        nextIndex++;
+        return type.read(buffer, position);
+    }
+
+    /**
+     * Moves the sequential position, so that {@link #next()} returns the record at an index.
+     *
+     * @param index The index of the next record, from 0 to {@link #size()}.
+     * @throws IndexOutOfBoundsException if the index is not in {@code [0, size()]}.
+     */
+    public void seek(long index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+        }
+        nextIndex = index;
+        buffer.clear().limit(0);
+    }
+
+    /**
+     * @return The byte offset of the record {@link #next()} returns.
+     */
+    public long offset() {
+        return offset(nextIndex);
+    }
+
+    /**
+     * @return The index of the record {@link #next()} returns.
+     */
+    public long nextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long offset(long index) {
+        return BinaryRecordType.HEADER_SIZE + index * type.recordSize();
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of record file");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jptest.loan.record;
+
+import com.jptest.loan.dto.LoanRequest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@code BinaryRecordType} interface describes one kind of fixed-width binary record file.
+ * <p>
+ *     A record file starts with a {@value #HEADER_SIZE}-byte header: the {@code int} {@link #magic()} of the record
+ *     type, the {@code short} format {@link #VERSION}, the {@code short} {@link #recordSize()} and 8 reserved bytes.
+ *     It is followed by records of exactly {@link #recordSize()} bytes, so record {@code i} starts at byte
+ *     {@code HEADER_SIZE + i * recordSize()} and can be read without reading the records before it.
+ *     All values are big-endian.
+ * </p>
+ *
+ * @param <T> The type of the records.
+ */
+public interface BinaryRecordType<T> {
+
+    /**
+     * Version of the record layouts, written in every header.
+     */
+    short VERSION = 3;
+
+    /**
+     * Size of the header of a record file, in bytes.
+     */
+    int HEADER_SIZE = 16;
+
+    /**
+     * Loan requests, see {@link LoanRequestRecordType}.
+     */
+    BinaryRecordType<LoanRequest> LOAN_REQUEST = new LoanRequestRecordType();
+
+    /**
+     * Calculated schedules and rejected records, see {@link ScheduleRecordType}.
+     */
+    BinaryRecordType<ScheduleRecord> SCHEDULE = new ScheduleRecordType();
+
+    /**
+     * @return The first int of every file of this record type.
+     */
+    int magic();
+
+    /**
+     * @return The size of every record, in bytes.
+     */
+    int recordSize();
+
+    /**
+     * Encodes a record at an absolute offset of a buffer, without moving its position.
+     *
+     * @param buffer The buffer, with at least {@link #recordSize()} bytes from the offset.
+     * @param offset The offset of the record in the buffer.
+     * @param record The record to encode.
+     * @throws IllegalArgumentException if the record cannot be represented in the fixed-width layout.
+     */
+    void write(ByteBuffer buffer, int offset, T record);
+
+    /**
+     * Decodes the record at an absolute offset of a buffer, without moving its position.
+     *
+     * @param buffer The buffer, with at least {@link #recordSize()} bytes from the offset.
+     * @param offset The offset of the record in the buffer.
+     * @return The decoded record.
+     */
+    T read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,121 @@
+package com.jptest.loan.record;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code BinaryRecordWriter} class writes a fixed-width binary record file through a {@link ByteBuffer}.
+ * <p>
+ *     Records are encoded straight into the buffer and the buffer is written to the channel only when it is full,
+ *     flushed or closed. The writer is not thread safe.
+ * </p>
+ *
+ * @param <T> The type of the records.
+ */
+public class BinaryRecordWriter<T> implements Closeable, Flushable {
+
+    /**
+     * Default size of the buffer, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final BinaryRecordType<T> type;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long count;
+
+    /**
+     * Constructor for {@code BinaryRecordWriter}; writes the file header into the buffer.
+     *
+     * @param type       The type of the records.
+     * @param channel    The channel receiving the file.
+     * @param bufferSize The size of the buffer, rounded up to hold at least the header and one record.
+     */
+    public BinaryRecordWriter(BinaryRecordType<T> type, WritableByteChannel channel, int bufferSize) {
+        this(type, channel, bufferSize, true);
+    }
+
+    /**
+     * Constructor for {@code BinaryRecordWriter}.
+     *
+     * @param type        The type of the records.
+     * @param channel     The channel receiving the file.
+     * @param bufferSize  The size of the buffer, rounded up to hold at least the header and one record.
+     * @param writeHeader Whether to start with the file header; {@code false} to append records to an existing file.
+     */
+    public BinaryRecordWriter(BinaryRecordType<T> type, WritableByteChannel channel, int bufferSize, boolean writeHeader) {
+        this.type = type;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, BinaryRecordType.HEADER_SIZE + type.recordSize()));
+        if (writeHeader) {
+            buffer.putInt(type.magic())
+                    .putShort(BinaryRecordType.VERSION)
+                    .putShort((short) type.recordSize())
+                    .putLong(0);
+        }
+    }
+
+    /**
+     * Creates or truncates a record file.
+     *
+     * @param type The type of the records.
+     * @param path The path to the record file.
+     * @param <T>  The type of the records.
+     * @return The writer of the file.
+     * @throws IOException if the file cannot be created.
+     */
+    public static <T> BinaryRecordWriter<T> open(BinaryRecordType<T> type, Path path) throws IOException {
+        return new BinaryRecordWriter<>(type, FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record The record to write.
+     * @throws IOException if the buffer cannot be written to the channel.
+     * @throws IllegalArgumentException if the record cannot be represented in the fixed-width layout.
+     */
+    public void write(T record) throws IOException {
+        if (buffer.remaining() < type.recordSize()) {
+            drain();
+        }
+        int position = buffer.position();
+        type.write(buffer, position, record);
+        buffer.position(position + type.recordSize());
+        count++;
+    }
+
+    /**
+     * @return The number of records written.
+     */
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
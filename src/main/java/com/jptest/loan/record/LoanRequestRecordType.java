@@ -0,0 +1,113 @@
+package com.jptest.loan.record;
+
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.service.MinorUnits;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code LoanRequestRecordType} class encodes a {@link LoanRequest} in {@value #RECORD_SIZE} bytes:
+ * <pre>
+ *  0  byte   vehicle type ordinal, -1 if unsupported
+ *  1  byte   vehicle condition ordinal, -1 if unsupported
+ *  2  short  length of the dealer programme name in bytes, 0 for none
+ *  4  int    vehicle year
+ *  8  int    loan tenor
+ * 12  int    reserved
+ * 16  long   loan amount in minor units (sen)
+ * 24  long   down payment in minor units (sen)
+ * 32  byte[] dealer programme name in UTF-8, zero padded to {@value #PROGRAMME_NAME_SIZE} bytes
+ * </pre>
+ * Amounts are rounded to {@value MinorUnits#SCALE} decimal places, the precision of every calculation.
+ * The dealer programme is stored by name rather than by any id of a rate snapshot, so a file is read back with the
+ * same programmes whatever the product configuration is when it is read.
+ */
+final class LoanRequestRecordType implements BinaryRecordType<LoanRequest> {
+
+    /**
+     * {@code "LNRQ"} in ASCII.
+     */
+    static final int MAGIC = 0x4C4E5251;
+
+    static final int RECORD_SIZE = 64;
+
+    /**
+     * Maximum length of a dealer programme name, in bytes.
+     */
+    static final int PROGRAMME_NAME_SIZE = 32;
+
+    private static final int PROGRAMME_NAME_OFFSET = 32;
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final VehicleCondition[] VEHICLE_CONDITIONS = VehicleCondition.values();
+
+    @Override
+    public int magic() {
+        return MAGIC;
+    }
+
+    @Override
+    public int recordSize() {
+        return RECORD_SIZE;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, LoanRequest loanRequest) {
+        byte[] programmeName = loanRequest.dealerProgramme().name().getBytes(StandardCharsets.UTF_8);
+        if (programmeName.length > PROGRAMME_NAME_SIZE) {
+            throw new IllegalArgumentException("Dealer programme name longer than " + PROGRAMME_NAME_SIZE + " bytes: "
+                    + loanRequest.dealerProgramme());
+        }
+        buffer.put(offset, (byte) (loanRequest.vehicleType() == null ? -1 : loanRequest.vehicleType().ordinal()));
+        buffer.put(offset + 1, (byte) (loanRequest.vehicleCondition() == null ? -1 : loanRequest.vehicleCondition().ordinal()));
+        buffer.putShort(offset + 2, (short) programmeName.length);
+        buffer.putInt(offset + 4, loanRequest.vehicleYear());
+        buffer.putInt(offset + 8, loanRequest.loanTenor());
+        buffer.putInt(offset + 12, 0);
+        buffer.putLong(offset + 16, MinorUnits.toMinorUnits(loanRequest.loanAmount()));
+        buffer.putLong(offset + 24, MinorUnits.toMinorUnits(loanRequest.downPayment()));
+        buffer.put(offset + PROGRAMME_NAME_OFFSET, programmeName);
+        for (int i = programmeName.length; i < PROGRAMME_NAME_SIZE; i++) {
+            buffer.put(offset + PROGRAMME_NAME_OFFSET + i, (byte) 0);
+        }
+    }
+
+    @Override
+    public LoanRequest read(ByteBuffer buffer, int offset) {
+        byte vehicleType = buffer.get(offset);
+        byte vehicleCondition = buffer.get(offset + 1);
+        return new LoanRequest(
+                vehicleType >= 0 && vehicleType < VEHICLE_TYPES.length ? VEHICLE_TYPES[vehicleType] : null,
+                vehicleCondition >= 0 && vehicleCondition < VEHICLE_CONDITIONS.length ? VEHICLE_CONDITIONS[vehicleCondition] : null,
+                buffer.getInt(offset + 4),
+                toMajorUnits(buffer.getLong(offset + 16)),
+                buffer.getInt(offset + 8),
+                toMajorUnits(buffer.getLong(offset + 24)),
+                readProgramme(buffer, offset));
+    }
+
+    /**
+     * Only records with a dealer programme decode a name; the others share {@link DealerProgramme#STANDARD}.
+     */
+    private static DealerProgramme readProgramme(ByteBuffer buffer, int offset) {
+        int length = Math.min(buffer.getShort(offset + 2), PROGRAMME_NAME_SIZE);
+        if (length <= 0) {
+            return DealerProgramme.STANDARD;
+        }
+        byte[] programmeName = new byte[length];
+        buffer.get(offset + PROGRAMME_NAME_OFFSET, programmeName);
+        return DealerProgramme.parse(new String(programmeName, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Both operands are exact doubles for any realistic amount, so the division is the double nearest to the
+     * decimal amount, i.e. the value {@link Double#parseDouble(String)} returns for it.
+     */
+    private static double toMajorUnits(long minorUnits) {
+        return minorUnits / (double) MinorUnits.PER_MAJOR_UNIT;
+    }
+}
@@ -0,0 +1,57 @@
+package com.jptest.loan.record;
+
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.validator.ValidationRule;
+
+import java.util.List;
+
+/**
+ * {@code ScheduleRecord} record holds the result of one loan record in a fixed-width schedule file.
+ *
+ * @param recordNumber       The number of the record in its input, e.g. a batch line number or a record index + 1.
+ * @param status             Whether the record was calculated, rejected by validation or could not be processed.
+ * @param violations         The violation mask of a {@link Status#INVALID} record, see {@link ValidationRule}; 0 otherwise.
+ * @param monthlyInstallment The monthly installment and interest rate of each year of a {@link Status#OK} record;
+ *                           empty otherwise.
+ */
+public record ScheduleRecord(long recordNumber, Status status, int violations, List<MonthlyInstallmentRatePair> monthlyInstallment) {
+
+    /**
+     * Outcome of a record.
+     */
+    public enum Status {
+        /**
+         * The schedule was calculated.
+         */
+        OK,
+        /**
+         * The record violated the validation rules of its violation mask.
+         */
+        INVALID,
+        /**
+         * The record could not be parsed or calculated.
+         */
+        FAILED
+    }
+
+    /**
+     * @return The record of a calculated schedule.
+     */
+    public static ScheduleRecord ok(long recordNumber, List<MonthlyInstallmentRatePair> monthlyInstallment) {
+        return new ScheduleRecord(recordNumber, Status.OK, 0, monthlyInstallment);
+    }
+
+    /**
+     * @return The record of a request rejected by validation.
+     */
+    public static ScheduleRecord invalid(long recordNumber, int violations) {
+        return new ScheduleRecord(recordNumber, Status.INVALID, violations, List.of());
+    }
+
+    /**
+     * @return The record of a request that could not be parsed or calculated.
+     */
+    public static ScheduleRecord failed(long recordNumber) {
+        return new ScheduleRecord(recordNumber, Status.FAILED, 0, List.of());
+    }
+}
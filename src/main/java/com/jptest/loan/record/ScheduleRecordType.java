@@ -0,0 +1,93 @@
+package com.jptest.loan.record;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.rate.InterestRateLadder;
+import com.jptest.loan.service.MinorUnits;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ScheduleRecordType} class encodes a {@link ScheduleRecord} in {@value #RECORD_SIZE} bytes:
+ * <pre>
+ *  0  long   record number
+ *  8  byte   status ordinal
+ *  9  byte   number of years, 0 unless the status is OK
+ * 10  short  reserved
+ * 12  int    violation mask, 0 unless the status is INVALID
+ * 16  long   version of the rates the schedule was calculated with, 0 unless the status is OK
+ * 24  6 x    one slot per year, unused slots are zero:
+ *      long  monthly installment in minor units (sen)
+ *      int   interest rate percent scaled by 10^4
+ * </pre>
+ */
+final class ScheduleRecordType implements BinaryRecordType<ScheduleRecord> {
+
+    /**
+     * {@code "LNSC"} in ASCII.
+     */
+    static final int MAGIC = 0x4C4E5343;
+
+    private static final int YEAR_SLOT_SIZE = 12;
+    private static final int RATE_VERSION_OFFSET = 16;
+    private static final int YEARS_OFFSET = 24;
+
+    static final int RECORD_SIZE = YEARS_OFFSET + AppConstant.MAX_LOAN_TENOR * YEAR_SLOT_SIZE;
+
+    private static final ScheduleRecord.Status[] STATUSES = ScheduleRecord.Status.values();
+
+    @Override
+    public int magic() {
+        return MAGIC;
+    }
+
+    @Override
+    public int recordSize() {
+        return RECORD_SIZE;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, ScheduleRecord scheduleRecord) {
+        List<MonthlyInstallmentRatePair> monthlyInstallment = scheduleRecord.monthlyInstallment();
+        int years = monthlyInstallment.size();
+        if (years > AppConstant.MAX_LOAN_TENOR) {
+            throw new IllegalArgumentException("Schedule longer than " + AppConstant.MAX_LOAN_TENOR + " years: " + years);
+        }
+        buffer.putLong(offset, scheduleRecord.recordNumber());
+        buffer.put(offset + 8, (byte) scheduleRecord.status().ordinal());
+        buffer.put(offset + 9, (byte) years);
+        buffer.putShort(offset + 10, (short) 0);
+        buffer.putInt(offset + 12, scheduleRecord.violations());
+        buffer.putLong(offset + RATE_VERSION_OFFSET, years > 0 ? monthlyInstallment.get(0).rateVersion() : 0);
+        for (int year = 0; year < AppConstant.MAX_LOAN_TENOR; year++) {
+            int slot = offset + YEARS_OFFSET + year * YEAR_SLOT_SIZE;
+            if (year < years) {
+                MonthlyInstallmentRatePair monthlyPair = monthlyInstallment.get(year);
+                buffer.putLong(slot, MinorUnits.toMinorUnits(monthlyPair.amount()));
+                buffer.putInt(slot + 8, monthlyPair.rate().movePointRight(InterestRateLadder.RATE_PERCENT_SCALE)
+                        .setScale(0, RoundingMode.HALF_UP).intValueExact());
+            } else {
+                buffer.putLong(slot, 0);
+                buffer.putInt(slot + 8, 0);
+            }
+        }
+    }
+
+    @Override
+    public ScheduleRecord read(ByteBuffer buffer, int offset) {
+        int years = buffer.get(offset + 9);
+        long rateVersion = buffer.getLong(offset + RATE_VERSION_OFFSET);
+        List<MonthlyInstallmentRatePair> monthlyInstallment = new ArrayList<>(years);
+        for (int year = 0; year < years; year++) {
+            int slot = offset + YEARS_OFFSET + year * YEAR_SLOT_SIZE;
+            monthlyInstallment.add(new MonthlyInstallmentRatePair(MinorUnits.toBigDecimal(buffer.getLong(slot)),
+                    BigDecimal.valueOf(buffer.getInt(slot + 8), InterestRateLadder.RATE_PERCENT_SCALE), rateVersion));
+        }
+        return new ScheduleRecord(buffer.getLong(offset), STATUSES[buffer.get(offset + 8)], buffer.getInt(offset + 12),
+                List.copyOf(monthlyInstallment));
+    }
+}
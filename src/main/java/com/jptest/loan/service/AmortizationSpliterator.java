@@ -0,0 +1,112 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.MonthlyAmortization;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Month;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@code AmortizationSpliterator} class expands a yearly schedule into its monthly amortization rows on demand.
+ * <p>
+ *     Only the state of the current year is kept: the unrounded principal the engines carry into the year, the
+ *     interest the year adds and the balance so far. When a month starts a new year, the finance price of that year
+ *     is recomputed from the principal and the rate of the year exactly like the engines do, and rounded HALF_UP to
+ *     minor units (see {@link MinorUnits}), so the rows of year {@code n} are never computed before the consumer
+ *     reaches them.
+ * </p>
+ * <p>
+ *     Every month pays the displayed installment of its year, i.e. the installment rounded to minor units. The
+ *     interest of a year, the rounded finance price less the balance at the start of the year, is spread evenly over
+ *     its twelve installments, the first months taking the remaining minor units, and the rest of each installment
+ *     repays principal. The balance at the end of every year is therefore within the rounding of one year's
+ *     displayed installments of the principal the engines carry into the next year; after the last month it is the
+ *     rounding residual of the schedule, a few minor units at most.
+ * </p>
+ */
+final class AmortizationSpliterator implements Spliterator<MonthlyAmortization> {
+
+    private static final int MONTHS_PER_YEAR = Month.values().length;
+    private static final BigDecimal MONTHS_PER_YEAR_DECIMAL = BigDecimal.valueOf(MONTHS_PER_YEAR);
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final List<MonthlyInstallmentRatePair> yearlySchedule;
+    private final int months;
+
+    private int month;
+    private BigDecimal principal;
+    private long balance;
+    private long monthlyInstallment;
+    private long monthlyInterest;
+    private int monthsWithExtraInterest;
+
+    /**
+     * Constructor for {@code AmortizationSpliterator}.
+     *
+     * @param financedAmount The financed amount (loan amount minus down payment), in minor units.
+     * @param principal      The exact financed amount the engines calculate with.
+     * @param yearlySchedule The schedule {@code calculateMonthlyInstallment} returns for the loan.
+     */
+    AmortizationSpliterator(long financedAmount, BigDecimal principal, List<MonthlyInstallmentRatePair> yearlySchedule) {
+        this.yearlySchedule = yearlySchedule;
+        this.months = yearlySchedule.size() * MONTHS_PER_YEAR;
+        this.principal = principal;
+        this.balance = financedAmount;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super MonthlyAmortization> action) {
+        if (month == months) {
+            return false;
+        }
+        int yearIndex = month / MONTHS_PER_YEAR;
+        int monthOfYear = month % MONTHS_PER_YEAR;
+        if (monthOfYear == 0) {
+            startYear(yearIndex);
+        }
+        long interest = monthlyInterest + (monthOfYear < monthsWithExtraInterest ? 1 : 0);
+        long principal = monthlyInstallment - interest;
+        balance -= principal;
+        month++;
+        action.accept(new MonthlyAmortization(month, yearlySchedule.get(yearIndex).rate(), monthlyInstallment, interest,
+                principal, balance));
+        return true;
+    }
+
+    /**
+     * Recomputes the finance price of a year from the principal at its start and splits its interest over the months.
+     */
+    private void startYear(int yearIndex) {
+        MonthlyInstallmentRatePair year = yearlySchedule.get(yearIndex);
+        // The unrounded finance price and installment of the engines, see LoanCalculatorServiceImpl#calculateMonthlyAmounts
+        BigDecimal financePrice = principal.add(principal.multiply(year.rate().divide(ONE_HUNDRED)));
+        BigDecimal unroundedInstallment = financePrice.divide(BigDecimal.valueOf(months - month), RoundingMode.HALF_UP);
+        principal = financePrice.subtract(unroundedInstallment.multiply(MONTHS_PER_YEAR_DECIMAL));
+        long yearlyInterest = MinorUnits.toMinorUnits(financePrice) - balance;
+        monthlyInstallment = MinorUnits.toMinorUnits(year.amount());
+        monthlyInterest = Math.floorDiv(yearlyInterest, MONTHS_PER_YEAR);
+        monthsWithExtraInterest = (int) Math.floorMod(yearlyInterest, MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Never splits: every month depends on the balance left by the previous one.
+     */
+    @Override
+    public Spliterator<MonthlyAmortization> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return months - month;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | NONNULL | IMMUTABLE;
+    }
+}
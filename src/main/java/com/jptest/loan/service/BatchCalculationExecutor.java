@@ -0,0 +1,127 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.LoanRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * {@code BatchCalculationExecutor} component spreads the calculation of a batch of loan requests across cores.
+ * <p>
+ *     Batches smaller than {@code loan.batch.sequential.threshold} are calculated sequentially on the calling
+ *     thread, where the fork/join overhead would outweigh the gain. Larger batches are split into ranges and
+ *     calculated on a dedicated {@link ForkJoinPool} of {@code loan.batch.parallelism} threads
+ *     (0 means one thread per available processor). Results are always returned in input order.
+ * </p>
+ */
+@Component
+public class BatchCalculationExecutor {
+
+    /**
+     * Number of leaf tasks created per pool thread, so that uneven ranges can be balanced by work stealing.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ForkJoinPool forkJoinPool;
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor for {@code BatchCalculationExecutor}.
+     *
+     * @param parallelism         Number of threads of the calculation pool, 0 for the number of available processors.
+     * @param sequentialThreshold Batch size below which a batch is calculated sequentially.
+     */
+    public BatchCalculationExecutor(@Value("${loan.batch.parallelism:0}") int parallelism,
+                                    @Value("${loan.batch.sequential.threshold:1024}") int sequentialThreshold) {
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.sequentialThreshold = Math.max(1, sequentialThreshold);
+    }
+
+    /**
+     * Applies a calculation to every loan request of a batch.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @param calculation  The calculation of a single loan request.
+     * @param <R>          The result type of the calculation.
+     * @return The results, in the same order as the loan requests.
+     * @throws RuntimeException the first exception thrown by the calculation, which fails the whole batch.
+     */
+    public <R> List<R> map(List<LoanRequest> loanRequests, Function<LoanRequest, R> calculation) {
+        int size = loanRequests.size();
+        if (size < sequentialThreshold || forkJoinPool.getParallelism() == 1) {
+            List<R> results = new ArrayList<>(size);
+            for (LoanRequest loanRequest : loanRequests) {
+                results.add(calculation.apply(loanRequest));
+            }
+            return results;
+        }
+
+        List<LoanRequest> indexedRequests = loanRequests instanceof RandomAccess ? loanRequests : new ArrayList<>(loanRequests);
+        Object[] results = new Object[size];
+        int leafSize = Math.max(1, Math.min(sequentialThreshold,
+                size / (forkJoinPool.getParallelism() * TASKS_PER_THREAD)));
+        forkJoinPool.invoke(new CalculationTask<>(indexedRequests, calculation, results, 0, size, leafSize));
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) Arrays.asList(results);
+        return Collections.unmodifiableList(resultList);
+    }
+
+    /**
+     * @return The number of threads of the calculation pool.
+     */
+    public int getParallelism() {
+        return forkJoinPool.getParallelism();
+    }
+
+    /**
+     * Shuts down the calculation pool when the application context closes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdown();
+    }
+
+    /**
+     * Calculates the range {@code [from, to)} of a batch, splitting it in halves down to {@code leafSize}.
+     */
+    private static final class CalculationTask<R> extends RecursiveAction {
+        private final List<LoanRequest> loanRequests;
+        private final Function<LoanRequest, R> calculation;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        CalculationTask(List<LoanRequest> loanRequests, Function<LoanRequest, R> calculation, Object[] results,
+                        int from, int to, int leafSize) {
+            this.loanRequests = loanRequests;
+            this.calculation = calculation;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = calculation.apply(loanRequests.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CalculationTask<>(loanRequests, calculation, results, from, middle, leafSize),
+                    new CalculationTask<>(loanRequests, calculation, results, middle, to, leafSize));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+import com.jptest.loan.rate.InterestRateLadder;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caching decorator of the configured calculation engine.
+ * <p>
+ *     A schedule only depends on the interest rate ladder of the vehicle type, the loan tenor and the financed
+ *     principal (the exact {@code loanAmount - downPayment} the engines calculate with, including its scale), so
+ *     requests sharing those fields share one cached schedule. Because the key holds the {@link InterestRateLadder} itself rather than the vehicle type,
+ *     schedules computed with previous rates never match once a newer {@link RateSnapshot} is published.
+ * </p>
+ * <p>
+ *     The cache holds at most {@code loan.cache.max.size} schedules, evicting the least recently used one,
+ *     and an entry expires {@code loan.cache.ttl} after it was calculated. Hit, miss and eviction counts are
+ *     published by {@link ScheduleCacheMetrics}. Enabled with {@code loan.cache.enabled=true}.
+ * </p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "loan.cache.enabled", havingValue = "true")
+public class CachingLoanCalculatorService implements LoanCalculatorService {
+
+    private final LoanCalculatorService delegate;
+    private final InterestRateTable interestRateTable;
+    private final BatchCalculationExecutor batchCalculationExecutor;
+    private final Clock clock;
+    private final long ttlMillis;
+
+    /**
+     * Cached schedules in access order, guarded by its own monitor; the eldest entry is the least recently used.
+     */
+    private final LinkedHashMap<ScheduleKey, CachedSchedule> schedules;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Constructor for {@code CachingLoanCalculatorService}.
+     *
+     * @param delegate                 The calculation engine whose schedules are cached.
+     * @param interestRateTable        Precomputed interest rate ladder of every vehicle type.
+     * @param batchCalculationExecutor Executor spreading batch calculations across cores.
+     * @param clock                    Clock measuring the age of cached schedules.
+     * @param maxSize                  Maximum number of cached schedules.
+     * @param ttl                      Time after which a cached schedule is calculated again.
+     * @throws IllegalArgumentException if the maximum size is not positive or the TTL is negative.
+     */
+    @Autowired
+    public CachingLoanCalculatorService(@Qualifier(AppConstant.CALCULATOR_ENGINE) LoanCalculatorService delegate,
+                                        InterestRateTable interestRateTable,
+                                        BatchCalculationExecutor batchCalculationExecutor,
+                                        Clock clock,
+                                        @Value("${loan.cache.max.size:10000}") int maxSize,
+                                        @Value("${loan.cache.ttl:10m}") Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+        }
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Invalid cache TTL: " + ttl);
+        }
+        this.delegate = delegate;
+        this.interestRateTable = interestRateTable;
+        this.batchCalculationExecutor = batchCalculationExecutor;
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+        this.schedules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScheduleKey, CachedSchedule> eldest) {
+                if (size() > maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached schedule of a loan request with the current rate snapshot.
+     *
+     * @param loanRequest The loan request.
+     * @return The calculated monthly installment amount and interest rate for each year; the list is unmodifiable.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    @Override
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest) {
+        return calculateMonthlyInstallment(loanRequest, interestRateTable.snapshot());
+    }
+
+    /**
+     * Returns the cached schedule of a loan request, calculating it with the delegate on a miss.
+     * <p>
+     *     The calculation runs outside the cache lock, so concurrent misses of the same key may both calculate it.
+     *     Invalid requests are never cached: the delegate throws before a schedule is stored.
+     * </p>
+     *
+     * @param loanRequest  The loan request.
+     * @param rateSnapshot The rates to calculate with.
+     * @return The calculated monthly installment amount and interest rate for each year; the list is unmodifiable.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    @Override
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        ScheduleKey key = new ScheduleKey(rateSnapshot.ladderFor(loanRequest), loanRequest.loanTenor(),
+                new BigDecimal(loanRequest.loanAmount()).subtract(new BigDecimal(loanRequest.downPayment())));
+        long now = clock.millis();
+        synchronized (schedules) {
+            CachedSchedule cached = schedules.get(key);
+            if (cached != null) {
+                if (now < cached.expiresAtMillis()) {
+                    hitCount.increment();
+                    return cached.schedule();
+                }
+                schedules.remove(key);
+                evictionCount.increment(); // Expired entries count as evictions
+            }
+        }
+        missCount.increment();
+
+        List<MonthlyInstallmentRatePair> schedule = List.copyOf(delegate.calculateMonthlyInstallment(loanRequest, rateSnapshot));
+        synchronized (schedules) {
+            schedules.put(key, new CachedSchedule(schedule, now + ttlMillis));
+        }
+        putCount.increment();
+        return schedule;
+    }
+
+    /**
+     * Calculates the monthly installments of a batch of loan requests on the {@link BatchCalculationExecutor}
+     * with the current rate snapshot, looking up every loan request in the cache.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request has an invalid vehicle type or loan tenor.
+     */
+    @Override
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests) {
+        return calculateMonthlyInstallments(loanRequests, interestRateTable.snapshot());
+    }
+
+    /**
+     * Calculates the monthly installments of a batch of loan requests on the {@link BatchCalculationExecutor},
+     * looking up every loan request in the cache.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @param rateSnapshot The rates to calculate every loan request with.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request has an invalid vehicle type or loan tenor.
+     */
+    @Override
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot) {
+        return batchCalculationExecutor.map(loanRequests, loanRequest -> calculateMonthlyInstallment(loanRequest, rateSnapshot));
+    }
+
+    /**
+     * Calculates a what-if quote grid with the delegate, which computes the whole grid in one pass; grid cells are
+     * neither looked up in nor added to the cache.
+     *
+     * @param quoteGridRequest The vehicle, loan amount, down payment range and tenors of the grid.
+     * @return The monthly installments of every cell.
+     * @throws IllegalArgumentException if vehicle type, a loan tenor or the down payment range is invalid.
+     */
+    @Override
+    public QuoteGrid calculateQuoteGrid(QuoteGridRequest quoteGridRequest) {
+        return delegate.calculateQuoteGrid(quoteGridRequest);
+    }
+
+    /**
+     * Removes every cached schedule.
+     */
+    public void invalidateAll() {
+        synchronized (schedules) {
+            schedules.clear();
+        }
+    }
+
+    /**
+     * @return The number of cached schedules, including expired ones not yet removed.
+     */
+    public long size() {
+        synchronized (schedules) {
+            return schedules.size();
+        }
+    }
+
+    /**
+     * @return The number of requests answered from the cache.
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return The number of requests calculated by the delegate.
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return The number of schedules stored in the cache.
+     */
+    public long putCount() {
+        return putCount.sum();
+    }
+
+    /**
+     * @return The number of schedules removed because the cache was full or the schedule expired.
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * The fields a schedule depends on; the ladder is compared by identity, and the principal by value and scale,
+     * since the scale sets the precision the engines round the installments at.
+     */
+    private record ScheduleKey(InterestRateLadder interestRateLadder, int loanTenor, BigDecimal principal) {
+    }
+
+    private record CachedSchedule(List<MonthlyInstallmentRatePair> schedule, long expiresAtMillis) {
+    }
+}
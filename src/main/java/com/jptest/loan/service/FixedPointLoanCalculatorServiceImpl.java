@@ -0,0 +1,312 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateLadder;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-point service implementation for calculating loan installments.
+ * <p>
+ *     Computes the same year-by-year schedule as {@link LoanCalculatorServiceImpl}, but on {@code long} values
+ *     instead of {@link BigDecimal}, using the scaled rate fractions of the precomputed {@link InterestRateLadder}.
+ *     Like the BigDecimal engine, no amount is rounded before it is displayed: every finance price is kept exact
+ *     at the scale the BigDecimal arithmetic would give it, as a 128-bit integer in two {@code long} values
+ *     (see {@link Int128}), and every monthly installment is rounded HALF_UP at that scale. Only the returned
+ *     installment is rounded to minor units, exactly like the BigDecimal engine's installments are when displayed,
+ *     so both engines display the same results. The calculation itself allocates nothing;
+ *     see {@link #calculateMonthlyInstallmentMinorUnits(VehicleType, double, int, double, long[])}.
+ * </p>
+ * <p>
+ *     Input amounts must be whole quarters of a major unit below {@value #MAX_EXACT_AMOUNT}, so that they have at
+ *     most two decimal places, and the unrounded amounts must fit in 127 bits; otherwise the schedule is calculated
+ *     by the BigDecimal engine.
+ * </p>
+ * <p>
+ *     Enabled with {@code loan.calculator.engine=fixed-point}.
+ * </p>
+ */
+@Service
+@Qualifier(AppConstant.CALCULATOR_ENGINE)
+@ConditionalOnProperty(name = "loan.calculator.engine", havingValue = "fixed-point")
+public class FixedPointLoanCalculatorServiceImpl implements LoanCalculatorService {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    /**
+     * Largest input amount calculated in fixed point; its minor units are still exact in a {@code double}.
+     */
+    static final double MAX_EXACT_AMOUNT = 1e13;
+
+    /**
+     * Number of decimal places of a rate fraction scaled by {@link InterestRateLadder#RATE_FRACTION_FACTOR}.
+     */
+    private static final int RATE_FRACTION_SCALE = InterestRateLadder.RATE_PERCENT_SCALE + 2;
+
+    /**
+     * Number of decimal places {@link Int128} divides by at once; {@code 10^9} is below {@code 2^32}.
+     */
+    private static final int MAX_DIVISOR_DIGITS = 9;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L};
+
+    private final InterestRateTable interestRateTable;
+    private final BatchCalculationExecutor batchCalculationExecutor;
+
+    /**
+     * Constructor for {@code FixedPointLoanCalculatorServiceImpl}.
+     *
+     * @param interestRateTable Precomputed interest rate ladder of every vehicle type.
+     * @param batchCalculationExecutor Executor spreading batch calculations across cores.
+     * @throws IllegalStateException if a rate has too many decimal places for fixed-point calculation; rates
+     *                               reloaded later are checked when they are published.
+     */
+    public FixedPointLoanCalculatorServiceImpl(InterestRateTable interestRateTable, BatchCalculationExecutor batchCalculationExecutor) {
+        interestRateTable.requireFixedPoint();
+        this.interestRateTable = interestRateTable;
+        this.batchCalculationExecutor = batchCalculationExecutor;
+    }
+
+    /**
+     * Calculates the monthly installment for a vehicle loan with the current rate snapshot.
+     *
+     * @param loanRequest The loan request, with the vehicle type, loan amount, loan tenor and down payment to calculate.
+     * @return            The calculated monthly installment amount and interest rate for each year.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    @Override
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest) {
+        return calculateMonthlyInstallment(loanRequest, interestRateTable.snapshot());
+    }
+
+    /**
+     * Calculates the monthly installment for a vehicle loan.
+     *
+     * @param loanRequest  The loan request, with the vehicle type, loan amount, loan tenor and down payment to calculate.
+     * @param rateSnapshot The rates to calculate with.
+     * @return             The calculated monthly installment amount and interest rate for each year.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    @Override
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        InterestRateLadder interestRateLadder = rateSnapshot.ladderFor(loanRequest);
+        long[] monthlyInstallments = new long[interestRateLadder.maxTenor()];
+        int loanTenor = calculateMonthlyInstallmentMinorUnits(interestRateLadder, loanRequest.loanAmount(),
+                loanRequest.loanTenor(), loanRequest.downPayment(), monthlyInstallments);
+
+        List<MonthlyInstallmentRatePair> monthlyCalc = new ArrayList<>(loanTenor);
+        for (int i = 0; i < loanTenor; i++) {
+            monthlyCalc.add(new MonthlyInstallmentRatePair(MinorUnits.toBigDecimal(monthlyInstallments[i]), interestRateLadder.rate(i),
+                    rateSnapshot.version()));
+        }
+        return monthlyCalc;
+    }
+
+    /**
+     * Calculates the monthly installments of a batch of loan requests on the {@link BatchCalculationExecutor},
+     * with the current rate snapshot.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request has an invalid vehicle type or loan tenor.
+     */
+    @Override
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests) {
+        return calculateMonthlyInstallments(loanRequests, interestRateTable.snapshot());
+    }
+
+    /**
+     * Calculates the monthly installments of a batch of loan requests on the {@link BatchCalculationExecutor}.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @param rateSnapshot The rates to calculate every loan request with.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request has an invalid vehicle type or loan tenor.
+     */
+    @Override
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot) {
+        return batchCalculationExecutor.map(loanRequests, loanRequest -> calculateMonthlyInstallment(loanRequest, rateSnapshot));
+    }
+
+    /**
+     * Calculates a what-if quote grid in one pass.
+     * <p>
+     *     Every cell is calculated with {@link #calculateMonthlyInstallmentMinorUnits(VehicleType, double, int, double, long[])}
+     *     into one reused array, so the grid allocates nothing per cell.
+     * </p>
+     *
+     * @param quoteGridRequest The vehicle, loan amount, down payment range and tenors of the grid.
+     * @return The monthly installments of every cell.
+     * @throws IllegalArgumentException if vehicle type, a loan tenor or the down payment range is invalid.
+     */
+    @Override
+    public QuoteGrid calculateQuoteGrid(QuoteGridRequest quoteGridRequest) {
+        RateSnapshot rateSnapshot = interestRateTable.snapshot();
+        InterestRateLadder interestRateLadder = rateSnapshot.ladderFor(quoteGridRequest.vehicleType());
+        QuoteGridBuilder grid = new QuoteGridBuilder(quoteGridRequest, interestRateLadder.maxTenor());
+        grid.rateVersion(rateSnapshot.version());
+        for (int i = 0; i < grid.longestTenor(); i++) {
+            grid.rate(i, interestRateLadder.rate(i));
+        }
+
+        long[] monthlyInstallments = new long[grid.longestTenor()];
+        for (int d = 0; d < grid.downPaymentCount(); d++) {
+            // The down payment goes through a double like the one of a single loan request
+            double downPayment = MinorUnits.toBigDecimal(grid.downPayment(d)).doubleValue();
+            for (int t = 0; t < grid.tenorCount(); t++) {
+                int loanTenor = calculateMonthlyInstallmentMinorUnits(interestRateLadder, quoteGridRequest.loanAmount(),
+                        grid.tenor(t), downPayment, monthlyInstallments);
+                for (int i = 0; i < loanTenor; i++) {
+                    grid.monthlyInstallment(t, d, i, monthlyInstallments[i]);
+                }
+            }
+        }
+        return grid.build();
+    }
+
+    /**
+     * Calculates the monthly installment of every year of the loan tenor in minor units with the current rate
+     * snapshot, without allocating.
+     *
+     * @param vehicleType         The type of vehicle (car or motorcycle).
+     * @param loanAmount          The total loan amount.
+     * @param loanTenor           The loan tenor in years.
+     * @param downPayment         The down payment amount.
+     * @param monthlyInstallments Receives the monthly installment of year {@code i + 1} at index {@code i}, rounded
+     *                            HALF_UP to minor units; must hold at least {@code loanTenor} elements.
+     * @return The number of years written, i.e. the loan tenor.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid.
+     */
+    public int calculateMonthlyInstallmentMinorUnits(VehicleType vehicleType, double loanAmount, int loanTenor, double downPayment, long[] monthlyInstallments) {
+        return calculateMonthlyInstallmentMinorUnits(interestRateTable.ladderFor(vehicleType), loanAmount, loanTenor,
+                downPayment, monthlyInstallments);
+    }
+
+    private static int calculateMonthlyInstallmentMinorUnits(InterestRateLadder interestRateLadder, double loanAmount, int loanTenor,
+                                                             double downPayment, long[] monthlyInstallments) {
+        if (loanTenor < 1 || loanTenor > interestRateLadder.maxTenor()) {
+            throw new IllegalArgumentException("Invalid loan tenor");
+        }
+        if (!calculateExactly(interestRateLadder, loanAmount, loanTenor, downPayment, monthlyInstallments)) {
+            // Amounts beyond the fixed-point range are calculated, and rounded for display, by the BigDecimal engine
+            BigDecimal[] monthlyAmounts = new BigDecimal[loanTenor];
+            LoanCalculatorServiceImpl.calculateMonthlyAmounts(interestRateLadder, loanAmount, loanTenor, downPayment, monthlyAmounts);
+            for (int i = 0; i < loanTenor; i++) {
+                monthlyInstallments[i] = MinorUnits.toMinorUnits(monthlyAmounts[i]);
+            }
+        }
+        return loanTenor;
+    }
+
+    /**
+     * Calculates the schedule of {@link LoanCalculatorServiceImpl#calculateMonthlyAmounts} on unscaled 128-bit
+     * values, tracking the scale every BigDecimal amount would have.
+     *
+     * @return Whether the schedule was calculated; {@code false} if an amount is outside the fixed-point range.
+     */
+    private static boolean calculateExactly(InterestRateLadder interestRateLadder, double loanAmount, int loanTenor,
+                                            double downPayment, long[] monthlyInstallments) {
+        int loanAmountScale = decimalScale(loanAmount);
+        int downPaymentScale = decimalScale(downPayment);
+        if (loanAmountScale < 0 || downPaymentScale < 0) {
+            return false;
+        }
+        int scale = Math.max(loanAmountScale, downPaymentScale);
+        long principalHigh = 0;
+        long principalLow = (long) (loanAmount * POWERS_OF_TEN[scale]) - (long) (downPayment * POWERS_OF_TEN[scale]);
+        if (principalLow < 0) {
+            return false;
+        }
+        long remainingMonths = (long) loanTenor * MONTHS_PER_YEAR;
+        try {
+            for (int i = 0; i < loanTenor; i++) {
+                int rateScale = interestRateLadder.rateFraction(i).scale();
+                if (principalHigh < 0 || rateScale < 0 || rateScale > RATE_FRACTION_SCALE) {
+                    return false;
+                }
+                // principal * (1 + rate) is exact at the scale of the principal plus the scale of the rate fraction
+                long growthFactor = (InterestRateLadder.RATE_FRACTION_FACTOR + interestRateLadder.scaledRateFraction(i))
+                        / POWERS_OF_TEN[RATE_FRACTION_SCALE - rateScale];
+                long financeHigh = Int128.multiplyHigh(principalHigh, principalLow, growthFactor);
+                long financeLow = Int128.multiplyLow(principalHigh, principalLow, growthFactor);
+                scale += rateScale;
+
+                long monthlyHigh = Int128.divideHigh(financeHigh, financeLow, remainingMonths);
+                long monthlyLow = Int128.divideLow(financeHigh, financeLow, remainingMonths);
+                if (Int128.remainder(financeHigh, financeLow, remainingMonths) * 2 >= remainingMonths) {
+                    monthlyHigh += monthlyLow == -1 ? 1 : 0;
+                    monthlyLow++;
+                }
+                monthlyInstallments[i] = toMinorUnits(monthlyHigh, monthlyLow, scale);
+
+                long yearlyHigh = Int128.multiplyHigh(monthlyHigh, monthlyLow, MONTHS_PER_YEAR);
+                long yearlyLow = Int128.multiplyLow(monthlyHigh, monthlyLow, MONTHS_PER_YEAR);
+                principalHigh = Int128.subtractHigh(financeHigh, financeLow, yearlyHigh, yearlyLow);
+                principalLow = Int128.subtractLow(financeHigh, financeLow, yearlyHigh, yearlyLow);
+                remainingMonths -= MONTHS_PER_YEAR;
+            }
+        } catch (ArithmeticException e) {
+            // An unrounded amount does not fit in 127 bits
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the scale of {@code new BigDecimal(amount)} if it is at most two decimal places.
+     *
+     * @param amount The input amount.
+     * @return 0, 1 or 2; or -1 if the amount is negative, too large, or not a whole number of quarters.
+     */
+    private static int decimalScale(double amount) {
+        if (!(amount >= 0 && amount <= MAX_EXACT_AMOUNT)) {
+            return -1;
+        }
+        for (int scale = 0, factor = 1; scale <= MinorUnits.SCALE; scale++, factor *= 2) {
+            // Multiplying by a power of two is exact, and only fractions of 1/2 and 1/4 have one or two decimal places
+            double scaled = amount * factor;
+            if (scaled == Math.rint(scaled)) {
+                return scale;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rounds a non-negative unscaled 128-bit amount HALF_UP to minor units.
+     *
+     * @throws ArithmeticException if the result does not fit in a {@code long}.
+     */
+    private static long toMinorUnits(long high, long low, int scale) {
+        if (scale <= MinorUnits.SCALE) {
+            if (high != 0 || low < 0) {
+                throw new ArithmeticException("Amount out of range");
+            }
+            return Math.multiplyExact(low, POWERS_OF_TEN[MinorUnits.SCALE - scale]);
+        }
+        // Truncate to one decimal place more than minor units, then round that last digit
+        for (int digits = scale - MinorUnits.SCALE - 1; digits > 0; digits -= MAX_DIVISOR_DIGITS) {
+            long divisor = POWERS_OF_TEN[Math.min(digits, MAX_DIVISOR_DIGITS)];
+            long quotientHigh = Int128.divideHigh(high, low, divisor);
+            low = Int128.divideLow(high, low, divisor);
+            high = quotientHigh;
+        }
+        if (high != 0 || low < 0) {
+            throw new ArithmeticException("Amount out of range");
+        }
+        return (low + 5) / 10;
+    }
+}
@@ -0,0 +1,228 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.InstallmentSolution;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@code InstallmentSolver} service answers "what can I afford at a given monthly installment?".
+ * <p>
+ *     For a vehicle type and tenor, it finds the largest financed amount whose monthly installment stays at or below
+ *     a target, either in the first year or in every year of the tenor, and turns it into a valid loan: either the
+ *     maximum loan amount at the minimum down payment, or the minimum down payment of a given loan amount. Both
+ *     respect the loan amount limit and the minimum down payment rule of {@link LoanValidationEngine}, with the rates
+ *     of the standard product of the vehicle type for any condition.
+ *     Every solve reads the current {@link RateSnapshot} once and evaluates all its schedules with it.
+ * </p>
+ * <p>
+ *     The installments of a schedule grow in proportion to the financed amount, up to the rounding to minor units.
+ *     The solver therefore evaluates the largest allowed financed amount once, estimates the answer from it, and
+ *     brackets and bisects only the few minor units of rounding around the estimate, so a solve takes a handful of
+ *     schedule evaluations instead of a search over the whole amount range. As the rounding can make a slightly
+ *     larger amount fit again, the {@link #LINEAR_CHECK_MINOR_UNITS} minor units past the bisection result are then
+ *     checked one by one. The schedules are calculated by the
+ *     configured calculation engine directly, so solving does not fill the schedule cache.
+ * </p>
+ */
+@Service
+public class InstallmentSolver {
+
+    /**
+     * The installments a solve keeps at or below the target.
+     */
+    public enum Target {
+        /**
+         * Only the monthly installment of the first year.
+         */
+        FIRST_YEAR,
+        /**
+         * The monthly installment of every year of the tenor.
+         */
+        EVERY_YEAR
+    }
+
+    private static final long MAX_LOAN_AMOUNT = MinorUnits.toMinorUnits(LoanValidationEngine.MAX_LOAN_AMOUNT);
+
+    /**
+     * Minor units past the largest fitting financed amount that are checked one by one after the bisection.
+     */
+    static final long LINEAR_CHECK_MINOR_UNITS = 8;
+
+    private final LoanCalculatorService loanCalculatorService;
+    private final LoanValidationEngine loanValidationEngine;
+
+    /**
+     * Constructor for {@code InstallmentSolver}.
+     *
+     * @param loanCalculatorService The calculation engine evaluating schedules.
+     * @param loanValidationEngine  Engine providing the minimum down payment rule.
+     */
+    public InstallmentSolver(@Qualifier(AppConstant.CALCULATOR_ENGINE) LoanCalculatorService loanCalculatorService,
+                             LoanValidationEngine loanValidationEngine) {
+        this.loanCalculatorService = loanCalculatorService;
+        this.loanValidationEngine = loanValidationEngine;
+    }
+
+    /**
+     * Finds the maximum financed amount for a target installment, financed with the smallest valid loan amount at
+     * the minimum down payment.
+     *
+     * @param vehicleType        The type of vehicle (car or motorcycle).
+     * @param loanTenor          The loan tenor in years.
+     * @param targetInstallment  The highest acceptable monthly installment.
+     * @param target             The installments kept at or below the target.
+     * @return The loan with the maximum financed amount.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the target is less than one minor unit.
+     */
+    public InstallmentSolution solveMaximumLoan(VehicleType vehicleType, int loanTenor, double targetInstallment, Target target) {
+        RateSnapshot rateSnapshot = loanValidationEngine.rates();
+        int product = rateSnapshot.product(vehicleType, null, DealerProgramme.STANDARD);
+        long maxFinancedAmount = MAX_LOAN_AMOUNT - rateSnapshot.minimumDownPaymentMinorUnits(product, MAX_LOAN_AMOUNT);
+        Solve solve = solve(rateSnapshot, vehicleType, loanTenor, targetInstallment, target, maxFinancedAmount);
+        // Smallest loan amount leaving the financed amount after its minimum down payment; the amount left grows
+        // with the loan amount, so it is bisected between the financed amount and the loan amount limit
+        long low = solve.financedAmount();
+        long high = MAX_LOAN_AMOUNT;
+        while (low < high) {
+            long middle = low + (high - low) / 2;
+            if (middle - rateSnapshot.minimumDownPaymentMinorUnits(product, middle) >= solve.financedAmount()) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return solution(low, low - solve.financedAmount(), solve.schedule());
+    }
+
+    /**
+     * Finds the minimum down payment of a loan amount for a target installment.
+     *
+     * @param vehicleType        The type of vehicle (car or motorcycle).
+     * @param loanTenor          The loan tenor in years.
+     * @param loanAmount         The loan amount, from one minor unit up to {@link LoanValidationEngine#MAX_LOAN_AMOUNT}.
+     * @param targetInstallment  The highest acceptable monthly installment.
+     * @param target             The installments kept at or below the target.
+     * @return The loan with the minimum down payment, never below the minimum down payment rule.
+     * @throws IllegalArgumentException if vehicle type, loan tenor or loan amount is invalid, or the target is less
+     *                                  than one minor unit.
+     */
+    public InstallmentSolution solveMinimumDownPayment(VehicleType vehicleType, int loanTenor, double loanAmount,
+                                                       double targetInstallment, Target target) {
+        if (!(loanAmount > 0 && loanAmount <= LoanValidationEngine.MAX_LOAN_AMOUNT)) {
+            throw new IllegalArgumentException("Invalid loan amount");
+        }
+        long loanAmountMinorUnits = MinorUnits.toMinorUnits(loanAmount);
+        RateSnapshot rateSnapshot = loanValidationEngine.rates();
+        int product = rateSnapshot.product(vehicleType, null, DealerProgramme.STANDARD);
+        long maxFinancedAmount = loanAmountMinorUnits - rateSnapshot.minimumDownPaymentMinorUnits(product, loanAmountMinorUnits);
+        Solve solve = solve(rateSnapshot, vehicleType, loanTenor, targetInstallment, target, maxFinancedAmount);
+        return solution(loanAmountMinorUnits, loanAmountMinorUnits - solve.financedAmount(), solve.schedule());
+    }
+
+    /**
+     * Finds the largest financed amount up to {@code maxFinancedAmount} whose installments fit the target.
+     */
+    private Solve solve(RateSnapshot rateSnapshot, VehicleType vehicleType, int loanTenor, double targetInstallment, Target target, long maxFinancedAmount) {
+        long targetMinorUnits = Double.isFinite(targetInstallment) ? MinorUnits.toMinorUnits(targetInstallment) : 0;
+        if (targetMinorUnits < 1) {
+            throw new IllegalArgumentException("Invalid target installment");
+        }
+        Evaluation atMaximum = evaluate(rateSnapshot, vehicleType, loanTenor, maxFinancedAmount, target);
+        if (atMaximum.installment() <= targetMinorUnits) {
+            return new Solve(maxFinancedAmount, atMaximum.schedule());
+        }
+
+        // Installments are proportional to the financed amount up to rounding, so the estimate is off by a few
+        // minor units at most; bracket it with growing steps, then bisect the bracket
+        long estimate = (long) ((double) targetMinorUnits * maxFinancedAmount / atMaximum.installment());
+        estimate = Math.max(0, Math.min(estimate, maxFinancedAmount - 1));
+        long fits;
+        long exceeds;
+        Evaluation fitting;
+        Evaluation atEstimate = evaluate(rateSnapshot, vehicleType, loanTenor, estimate, target);
+        if (atEstimate.installment() <= targetMinorUnits) {
+            fits = estimate;
+            fitting = atEstimate;
+            exceeds = maxFinancedAmount;
+            for (long step = 1; fits + step < maxFinancedAmount; step *= 2) {
+                Evaluation next = evaluate(rateSnapshot, vehicleType, loanTenor, fits + step, target);
+                if (next.installment() > targetMinorUnits) {
+                    exceeds = fits + step;
+                    break;
+                }
+                fits += step;
+                fitting = next;
+            }
+        } else {
+            exceeds = estimate;
+            fits = 0;
+            fitting = null;
+            for (long step = 1; exceeds - step > 0; step *= 2) {
+                Evaluation next = evaluate(rateSnapshot, vehicleType, loanTenor, exceeds - step, target);
+                if (next.installment() <= targetMinorUnits) {
+                    fits = exceeds - step;
+                    fitting = next;
+                    break;
+                }
+                exceeds -= step;
+            }
+        }
+        while (exceeds - fits > 1) {
+            long middle = fits + (exceeds - fits) / 2;
+            Evaluation next = evaluate(rateSnapshot, vehicleType, loanTenor, middle, target);
+            if (next.installment() <= targetMinorUnits) {
+                fits = middle;
+                fitting = next;
+            } else {
+                exceeds = middle;
+            }
+        }
+        // Rounding makes the installment not quite monotone in the financed amount, so a few minor units past the
+        // bisection result may fit again; check them one by one, from every fitting amount found
+        for (long next = fits + 1; next <= maxFinancedAmount && next - fits <= LINEAR_CHECK_MINOR_UNITS; next++) {
+            Evaluation atNext = evaluate(rateSnapshot, vehicleType, loanTenor, next, target);
+            if (atNext.installment() <= targetMinorUnits) {
+                fits = next;
+                fitting = atNext;
+            }
+        }
+        return new Solve(fits, fitting != null ? fitting.schedule() : evaluate(rateSnapshot, vehicleType, loanTenor, 0, target).schedule());
+    }
+
+    private Evaluation evaluate(RateSnapshot rateSnapshot, VehicleType vehicleType, int loanTenor, long financedAmount, Target target) {
+        List<MonthlyInstallmentRatePair> schedule = loanCalculatorService.calculateMonthlyInstallment(new LoanRequest(vehicleType,
+                null, 0, MinorUnits.toBigDecimal(financedAmount).doubleValue(), loanTenor, 0), rateSnapshot);
+        long installment = MinorUnits.toMinorUnits(schedule.get(0).amount());
+        if (target == Target.EVERY_YEAR) {
+            for (MonthlyInstallmentRatePair monthlyPair : schedule) {
+                installment = Math.max(installment, MinorUnits.toMinorUnits(monthlyPair.amount()));
+            }
+        }
+        return new Evaluation(installment, schedule);
+    }
+
+    private static InstallmentSolution solution(long loanAmount, long downPayment, List<MonthlyInstallmentRatePair> schedule) {
+        return new InstallmentSolution(MinorUnits.toBigDecimal(loanAmount), MinorUnits.toBigDecimal(downPayment), schedule);
+    }
+
+    /**
+     * The highest installment of a schedule the target applies to, in minor units.
+     */
+    private record Evaluation(long installment, List<MonthlyInstallmentRatePair> schedule) {
+    }
+
+    /**
+     * The largest fitting financed amount, in minor units, and its schedule.
+     */
+    private record Solve(long financedAmount, List<MonthlyInstallmentRatePair> schedule) {
+    }
+}
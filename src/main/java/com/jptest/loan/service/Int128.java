@@ -0,0 +1,98 @@
+package com.jptest.loan.service;
+
+/**
+ * {@code Int128} holds the arithmetic of non-negative 128-bit integers kept in two {@code long} values.
+ * <p>
+ *     A value is {@code high * 2^64 + low}, where {@code high} is non-negative and {@code low} is read as unsigned.
+ *     Every operation returns one half of its result, so that a calculation can keep its values in local variables
+ *     and allocate nothing; {@link FixedPointLoanCalculatorServiceImpl} uses them to carry the unrounded amounts of
+ *     a schedule, whose scale grows with every year.
+ * </p>
+ */
+final class Int128 {
+
+    private static final long LOW_32_BITS = 0xFFFF_FFFFL;
+
+    private Int128() {
+    }
+
+    /**
+     * @param high   The high half of the value.
+     * @param low    The low half of the value.
+     * @param factor The factor, must not be negative.
+     * @return The high half of {@code value * factor}.
+     * @throws ArithmeticException if the product does not fit in 127 bits.
+     */
+    static long multiplyHigh(long high, long low, long factor) {
+        // Unsigned high half of low * factor: the signed one is off by factor when the top bit of low is set
+        long carry = Math.multiplyHigh(low, factor) + ((low >> 63) & factor);
+        return Math.addExact(Math.multiplyExact(high, factor), carry);
+    }
+
+    /**
+     * @param high   The high half of the value.
+     * @param low    The low half of the value.
+     * @param factor The factor.
+     * @return The low half of {@code value * factor}.
+     */
+    static long multiplyLow(long high, long low, long factor) {
+        return low * factor;
+    }
+
+    /**
+     * @param high    The high half of the value.
+     * @param low     The low half of the value.
+     * @param divisor The divisor, positive and less than {@code 2^32}.
+     * @return The high half of {@code value / divisor}, rounded down.
+     */
+    static long divideHigh(long high, long low, long divisor) {
+        return high / divisor;
+    }
+
+    /**
+     * @param high    The high half of the value.
+     * @param low     The low half of the value.
+     * @param divisor The divisor, positive and less than {@code 2^32}.
+     * @return The low half of {@code value / divisor}, rounded down.
+     */
+    static long divideLow(long high, long low, long divisor) {
+        // Long division in 32-bit digits: every partial dividend is below divisor * 2^32 and fits in 64 bits
+        long upper = ((high % divisor) << 32) | (low >>> 32);
+        long lower = (Long.remainderUnsigned(upper, divisor) << 32) | (low & LOW_32_BITS);
+        return (Long.divideUnsigned(upper, divisor) << 32) | Long.divideUnsigned(lower, divisor);
+    }
+
+    /**
+     * @param high    The high half of the value.
+     * @param low     The low half of the value.
+     * @param divisor The divisor, positive and less than {@code 2^32}.
+     * @return {@code value % divisor}.
+     */
+    static long remainder(long high, long low, long divisor) {
+        long upper = ((high % divisor) << 32) | (low >>> 32);
+        long lower = (Long.remainderUnsigned(upper, divisor) << 32) | (low & LOW_32_BITS);
+        return Long.remainderUnsigned(lower, divisor);
+    }
+
+    /**
+     * @param high           The high half of the minuend.
+     * @param low            The low half of the minuend.
+     * @param subtrahendHigh The high half of the subtrahend.
+     * @param subtrahendLow  The low half of the subtrahend.
+     * @return The high half of the difference; negative if the subtrahend is greater than the minuend.
+     */
+    static long subtractHigh(long high, long low, long subtrahendHigh, long subtrahendLow) {
+        return high - subtrahendHigh - (Long.compareUnsigned(low, subtrahendLow) < 0 ? 1 : 0);
+    }
+
+    /**
+     * @param high           The high half of the minuend.
+     * @param low            The low half of the minuend.
+     * @param subtrahendHigh The high half of the subtrahend.
+     * @param subtrahendLow  The low half of the subtrahend.
+     * @return The low half of the difference.
+     */
+    static long subtractLow(long high, long low, long subtrahendHigh, long subtrahendLow) {
+        return low - subtrahendLow;
+    }
+}
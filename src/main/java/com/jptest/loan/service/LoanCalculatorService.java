@@ -1,9 +1,131 @@
 package com.jptest.loan.service;
 
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyAmortization;
 import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.RateSnapshot;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface LoanCalculatorService {
-    List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(String vehicleType, String vehicleCondition, int vehicleYear, double loanAmount, int loanTenor, double downPayment);
+    /**
+     * Calculates the monthly installment of a single loan request with the current rate snapshot.
+     *
+     * @param loanRequest The loan request.
+     * @return The calculated monthly installment amount and interest rate for each year.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest);
+
+    /**
+     * Calculates the monthly installment of a single loan request with the rates of a given snapshot.
+     * <p>
+     *     Callers that validated the request pass the snapshot they validated it with, so that a rate reload
+     *     between validation and calculation cannot mix two rate versions in one result.
+     * </p>
+     *
+     * @param loanRequest  The loan request.
+     * @param rateSnapshot The rates to calculate with.
+     * @return The calculated monthly installment amount and interest rate for each year.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot);
+
+    /**
+     * Calculates the monthly installment of a loan given as raw input values.
+     * <p>
+     *     Parses the vehicle type and condition and delegates to {@link #calculateMonthlyInstallment(LoanRequest)};
+     *     callers on a hot path should parse once into a {@link LoanRequest} instead.
+     * </p>
+     *
+     * @param vehicleType        The type of vehicle (car or motorcycle).
+     * @param vehicleCondition   The condition of the vehicle (new or old).
+     * @param vehicleYear        The year the vehicle was manufactured.
+     * @param loanAmount         The total loan amount.
+     * @param loanTenor          The loan tenor in years.
+     * @param downPayment        The down payment amount.
+     * @return The calculated monthly installment amount and interest rate for each year.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid.
+     */
+    default List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(String vehicleType, String vehicleCondition, int vehicleYear, double loanAmount, int loanTenor, double downPayment) {
+        return calculateMonthlyInstallment(new LoanRequest(VehicleType.parse(vehicleType), VehicleCondition.parse(vehicleCondition),
+                vehicleYear, loanAmount, loanTenor, downPayment));
+    }
+
+    /**
+     * Calculates the monthly installments of a batch of loan requests, in parallel for large batches.
+     * Every loan request is calculated with the rate snapshot current when the batch starts.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request cannot be calculated.
+     */
+    List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests);
+
+    /**
+     * Calculates the monthly installments of a batch of loan requests with the rates of a given snapshot.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @param rateSnapshot The rates to calculate every loan request with.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request cannot be calculated.
+     */
+    List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot);
+
+    /**
+     * Calculates a what-if quote grid: the schedule of every combination of the requested tenors and down payments.
+     * <p>
+     *     This default calculates every cell with {@link #calculateMonthlyInstallment(LoanRequest)}; the calculation
+     *     engines compute the whole grid in one pass instead, sharing the rate ladder and the intermediate values
+     *     that do not depend on the cell.
+     * </p>
+     *
+     * @param quoteGridRequest The vehicle, loan amount, down payment range and tenors of the grid.
+     * @return The monthly installments of every cell.
+     * @throws IllegalArgumentException if vehicle type, a loan tenor or the down payment range is invalid.
+     */
+    default QuoteGrid calculateQuoteGrid(QuoteGridRequest quoteGridRequest) {
+        QuoteGridBuilder grid = new QuoteGridBuilder(quoteGridRequest, AppConstant.MAX_LOAN_TENOR);
+        for (int d = 0; d < grid.downPaymentCount(); d++) {
+            double downPayment = MinorUnits.toBigDecimal(grid.downPayment(d)).doubleValue();
+            for (int t = 0; t < grid.tenorCount(); t++) {
+                List<MonthlyInstallmentRatePair> schedule = calculateMonthlyInstallment(new LoanRequest(quoteGridRequest.vehicleType(),
+                        null, 0, quoteGridRequest.loanAmount(), grid.tenor(t), downPayment));
+                for (int i = 0; i < grid.tenor(t); i++) {
+                    grid.rate(i, schedule.get(i).rate());
+                    grid.rateVersion(schedule.get(i).rateVersion());
+                    grid.monthlyInstallment(t, d, i, MinorUnits.toMinorUnits(schedule.get(i).amount()));
+                }
+            }
+        }
+        return grid.build();
+    }
+
+    /**
+     * Streams the month-by-month amortization schedule of a loan: the installment, interest portion, principal
+     * portion and remaining balance of every month of the tenor.
+     * <p>
+     *     Only the yearly schedule is calculated up front, with {@link #calculateMonthlyInstallment(LoanRequest)}
+     *     (so it is served from the schedule cache when enabled); the monthly rows are computed lazily, one year at a
+     *     time, as the stream is consumed. A consumer taking the first few months or summing a column never builds
+     *     the other rows. The stream is sequential and ordered by month; its spliterator reports the exact size.
+     * </p>
+     *
+     * @param loanRequest The loan request.
+     * @return The monthly amortization rows, from month 1 to the last month of the tenor.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
+     */
+    default Stream<MonthlyAmortization> streamMonthlyAmortization(LoanRequest loanRequest) {
+        long financedAmount = MinorUnits.toMinorUnits(loanRequest.loanAmount()) - MinorUnits.toMinorUnits(loanRequest.downPayment());
+        BigDecimal principal = new BigDecimal(loanRequest.loanAmount()).subtract(new BigDecimal(loanRequest.downPayment()));
+        return StreamSupport.stream(new AmortizationSpliterator(financedAmount, principal, calculateMonthlyInstallment(loanRequest)), false);
+    }
 }
@@ -1,7 +1,15 @@
 package com.jptest.loan.service;
 
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.LoanRequest;
 import com.jptest.loan.dto.MonthlyInstallmentRatePair;
-import org.springframework.beans.factory.annotation.Value;
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+import com.jptest.loan.rate.InterestRateLadder;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -13,98 +21,172 @@ import java.util.List;
 /**
  * Service implementation for calculating loan installments.
  * This class provides the logic to calculate monthly installments based on vehicle type, condition, year, loan amount, tenor, and down payment.
+ * It is the default calculation engine ({@code loan.calculator.engine=bigdecimal}); amounts are kept at the scale the
+ * arithmetic produces and only rounded to minor units when they are displayed, see {@link MinorUnits}.
  */
 @Service
+@Qualifier(AppConstant.CALCULATOR_ENGINE)
+@ConditionalOnProperty(name = "loan.calculator.engine", havingValue = "bigdecimal", matchIfMissing = true)
 public class LoanCalculatorServiceImpl implements LoanCalculatorService {
 
+    private static final BigDecimal MONTHS_PER_YEAR = BigDecimal.valueOf(Month.values().length);
+
+    private final InterestRateTable interestRateTable;
+    private final BatchCalculationExecutor batchCalculationExecutor;
+
     /**
-     * Interest rate (percentage) for car loans, injected from application properties.
+     * Constructor for {@code LoanCalculatorServiceImpl}.
+     *
+     * @param interestRateTable Precomputed interest rate ladder of every vehicle type.
+     * @param batchCalculationExecutor Executor spreading batch calculations across cores.
      */
-    @Value("${loan.interest.rate.car}")
-    private BigDecimal carInterestRate;
+    public LoanCalculatorServiceImpl(InterestRateTable interestRateTable, BatchCalculationExecutor batchCalculationExecutor) {
+        this.interestRateTable = interestRateTable;
+        this.batchCalculationExecutor = batchCalculationExecutor;
+    }
 
     /**
-     * Interest rate (percentage) for motorcycle loans, injected from application properties.
+     * Calculates the monthly installment for a vehicle loan with the current rate snapshot.
+     *
+     * @param loanRequest The loan request, with the vehicle type, loan amount, loan tenor and down payment to calculate.
+     * @return            The calculated monthly installment amount.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
      */
-    @Value("${loan.interest.rate.motorcycle}")
-    private BigDecimal motorcycleInterestRate;
+    @Override
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest) {
+        return calculateMonthlyInstallment(loanRequest, interestRateTable.snapshot());
+    }
 
     /**
-     * Interest rate  (percentage) increment for the next 1 year, injected from application properties.
+     * Calculates the monthly installment for a vehicle loan.
+     *
+     * @param loanRequest  The loan request, with the vehicle type, loan amount, loan tenor and down payment to calculate.
+     * @param rateSnapshot The rates to calculate with.
+     * @return             The calculated monthly installment amount.
+     * @throws IllegalArgumentException if vehicle type or loan tenor is invalid, or the product is not offered.
      */
-    @Value("${loan.interest.rate.increment.first.year}")
-    private BigDecimal incrementInterestRateFirstYear;
+    @Override
+    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        // Interest rates of every year are precomputed per vehicle type
+        InterestRateLadder interestRateLadder = rateSnapshot.ladderFor(loanRequest);
+        int loanTenor = loanRequest.loanTenor();
+        BigDecimal[] monthlyAmounts = new BigDecimal[interestRateLadder.maxTenor()];
+        calculateMonthlyAmounts(interestRateLadder, loanRequest.loanAmount(), loanTenor, loanRequest.downPayment(), monthlyAmounts);
+
+        List<MonthlyInstallmentRatePair> monthlyCalc = new ArrayList<>(loanTenor);
+        for (int i = 0; i < loanTenor; i++) {
+            monthlyCalc.add(new MonthlyInstallmentRatePair(monthlyAmounts[i], interestRateLadder.rate(i), rateSnapshot.version()));
+        }
+        return monthlyCalc;
+    }
 
     /**
-     * Interest rate  (percentage) increment for the next 2 year, injected from application properties.
+     * Calculates the monthly installment of every year of the loan tenor.
+     * <p>
+     *     The financed amount is the exact difference of the input amounts, and the finance price of every year is
+     *     kept unrounded; each monthly installment is rounded HALF_UP at the scale of its finance price.
+     * </p>
+     *
+     * @param interestRateLadder The interest rates of the vehicle type.
+     * @param loanAmount         The total loan amount.
+     * @param loanTenor          The loan tenor in years.
+     * @param downPayment        The down payment amount.
+     * @param monthlyAmounts     Receives the monthly installment of year {@code i + 1} at index {@code i};
+     *                           must hold at least {@code loanTenor} elements.
+     * @throws IllegalArgumentException if loan tenor is invalid.
      */
-    @Value("${loan.interest.rate.increment.second.year}")
-    private BigDecimal incrementInterestRateSecondYear;
+    static void calculateMonthlyAmounts(InterestRateLadder interestRateLadder, double loanAmount, int loanTenor, double downPayment,
+                                        BigDecimal[] monthlyAmounts) {
+        if (loanTenor < 1 || loanTenor > interestRateLadder.maxTenor()) {
+            throw new IllegalArgumentException("Invalid loan tenor");
+        }
+        BigDecimal loanTenorMonthly = BigDecimal.valueOf(loanTenor).multiply(MONTHS_PER_YEAR);
+        BigDecimal principalCalc = new BigDecimal(loanAmount).subtract(new BigDecimal(downPayment));
+        BigDecimal financePrice;
+        BigDecimal monthlyAmountCalc;
+
+        for(int i = 0; i < loanTenor; i++){
+            financePrice = principalCalc.add(principalCalc.multiply(interestRateLadder.rateFraction(i)));
+            monthlyAmountCalc = financePrice.divide(loanTenorMonthly, RoundingMode.HALF_UP);
+            principalCalc = financePrice.subtract(monthlyAmountCalc.multiply(MONTHS_PER_YEAR));
+            loanTenorMonthly = loanTenorMonthly.subtract(MONTHS_PER_YEAR);
+            monthlyAmounts[i] = monthlyAmountCalc;
+        }
+    }
 
     /**
-     * Minimum Down payment (percentage), injected from application properties.
+     * Calculates the monthly installments of a batch of loan requests on the {@link BatchCalculationExecutor},
+     * with the current rate snapshot.
+     *
+     * @param loanRequests The loan requests to calculate.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request has an invalid vehicle type or loan tenor.
      */
-    @Value("${loan.minimum.downpayment}")
-    private BigDecimal minimumDownPayment;
+    @Override
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests) {
+        return calculateMonthlyInstallments(loanRequests, interestRateTable.snapshot());
+    }
 
     /**
-     * Calculates the monthly installment for a vehicle loan.
+     * Calculates the monthly installments of a batch of loan requests on the {@link BatchCalculationExecutor}.
      *
-     * @param vehicleType        The type of vehicle (car or motorcycle).
-     * @param vehicleCondition   The condition of the vehicle (new or used).
-     * @param vehicleYear        The year the vehicle was manufactured.
-     * @param loanAmount         The total loan amount.
-     * @param loanTenor          The loan tenor in years.
-     * @param downPayment        The down payment amount.
-     * @return                   The calculated monthly installment amount.
-     * @throws IllegalArgumentException if vehicle type is invalid, vehicle year for new car is too old, or down payment is less than 35% of loan amount.
+     * @param loanRequests The loan requests to calculate.
+     * @param rateSnapshot The rates to calculate every loan request with.
+     * @return The calculated schedules, in the same order as the loan requests.
+     * @throws IllegalArgumentException if any loan request has an invalid vehicle type or loan tenor.
      */
     @Override
-    public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(String vehicleType, String vehicleCondition, int vehicleYear, double loanAmount, int loanTenor, double downPayment) {
-        List<MonthlyInstallmentRatePair> monthlyCalc = new ArrayList<>();
-        BigDecimal monthlyAmountCalc;
-        BigDecimal yearlyAmountCalc;
-        BigDecimal loanAmountCalc = new BigDecimal(loanAmount);
-        BigDecimal downPaymentCalc = new BigDecimal(downPayment);
-        BigDecimal minimumDownPaymentRate;
-        BigDecimal loanTenorYearly;
-        BigDecimal loanTenorMonthly;
+    public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot) {
+        return batchCalculationExecutor.map(loanRequests, loanRequest -> calculateMonthlyInstallment(loanRequest, rateSnapshot));
+    }
 
-        // Interest Rate Calculation
-        BigDecimal baseInterestRate;
-        if ("car".equalsIgnoreCase(vehicleType)) {
-            baseInterestRate = carInterestRate; // Use car interest rate from properties
-        } else if ("motorcycle".equalsIgnoreCase(vehicleType)) {
-            baseInterestRate = motorcycleInterestRate; // Use motorcycle interest rate from properties
-        } else {
-            throw new IllegalArgumentException("Invalid vehicle type");
+    /**
+     * Calculates a what-if quote grid in one pass.
+     * <p>
+     *     The growth factor {@code 1 + rate} of every year and the remaining months of every tenor are computed once
+     *     for the whole grid, and the first year finance price, which only depends on the down payment, once per
+     *     column. Every cell is then calculated exactly like {@link #calculateMonthlyInstallment(LoanRequest)} and
+     *     stored as its displayed amount in minor units.
+     * </p>
+     *
+     * @param quoteGridRequest The vehicle, loan amount, down payment range and tenors of the grid.
+     * @return The monthly installments of every cell.
+     * @throws IllegalArgumentException if vehicle type, a loan tenor or the down payment range is invalid.
+     */
+    @Override
+    public QuoteGrid calculateQuoteGrid(QuoteGridRequest quoteGridRequest) {
+        RateSnapshot rateSnapshot = interestRateTable.snapshot();
+        InterestRateLadder interestRateLadder = rateSnapshot.ladderFor(quoteGridRequest.vehicleType());
+        QuoteGridBuilder grid = new QuoteGridBuilder(quoteGridRequest, interestRateLadder.maxTenor());
+        grid.rateVersion(rateSnapshot.version());
+        BigDecimal[] growthFactors = new BigDecimal[grid.longestTenor()];
+        BigDecimal[] remainingMonths = new BigDecimal[grid.longestTenor() + 1];
+        for (int i = 0; i < grid.longestTenor(); i++) {
+            growthFactors[i] = BigDecimal.ONE.add(interestRateLadder.rateFraction(i));
+            grid.rate(i, interestRateLadder.rate(i));
+        }
+        for (int years = 1; years <= grid.longestTenor(); years++) {
+            remainingMonths[years] = BigDecimal.valueOf(years).multiply(MONTHS_PER_YEAR);
         }
-        loanTenorYearly = new BigDecimal(loanTenor);
-        loanTenorMonthly = loanTenorYearly.multiply(new BigDecimal(Month.values().length));
-        BigDecimal interestRate;
-        BigDecimal interestRateForPrintOut;
-        BigDecimal principalCalc = loanAmountCalc.subtract(downPaymentCalc);
-        BigDecimal financePrice;
 
-        for(int i = 1; i <= loanTenorYearly.intValue(); i++){
-            if(i == 1){
-                interestRate = baseInterestRate;
-            } else if(i % 2 == 0){
-                interestRate = baseInterestRate.add(incrementInterestRateFirstYear);
-            } else {
-                interestRate = baseInterestRate.add(incrementInterestRateSecondYear);
+        BigDecimal loanAmount = new BigDecimal(quoteGridRequest.loanAmount());
+        for (int d = 0; d < grid.downPaymentCount(); d++) {
+            // The down payment goes through a double like the one of a single loan request
+            BigDecimal downPayment = new BigDecimal(MinorUnits.toBigDecimal(grid.downPayment(d)).doubleValue());
+            BigDecimal firstFinancePrice = loanAmount.subtract(downPayment).multiply(growthFactors[0]);
+            for (int t = 0; t < grid.tenorCount(); t++) {
+                int loanTenor = grid.tenor(t);
+                BigDecimal financePrice = firstFinancePrice;
+                for (int i = 0; i < loanTenor; i++) {
+                    BigDecimal monthlyAmount = financePrice.divide(remainingMonths[loanTenor - i], RoundingMode.HALF_UP);
+                    grid.monthlyInstallment(t, d, i, MinorUnits.toMinorUnits(monthlyAmount));
+                    if (i + 1 < loanTenor) {
+                        BigDecimal principal = financePrice.subtract(monthlyAmount.multiply(MONTHS_PER_YEAR));
+                        financePrice = principal.multiply(growthFactors[i + 1]);
+                    }
+                }
             }
-            interestRateForPrintOut = interestRate;
-            baseInterestRate = interestRate;
-            interestRate = interestRate.divide(new BigDecimal(100));
-            financePrice = principalCalc.add(principalCalc.multiply(interestRate));
-            monthlyAmountCalc = financePrice.divide(loanTenorMonthly, RoundingMode.HALF_UP);
-            yearlyAmountCalc = monthlyAmountCalc.multiply(new BigDecimal(Month.values().length));
-            principalCalc = financePrice.subtract(yearlyAmountCalc);
-            loanTenorMonthly = loanTenorMonthly.subtract(new BigDecimal(Month.values().length));
-
-            monthlyCalc.add(new MonthlyInstallmentRatePair(monthlyAmountCalc, interestRateForPrintOut));
         }
-        return monthlyCalc;
+        return grid.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.jptest.loan.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * {@code MinorUnits} holds the money rounding convention of the loan calculation engines.
+ * <p>
+ *     No amount of an installment schedule is rounded before it is displayed: {@link LoanCalculatorServiceImpl}
+ *     keeps every amount at the scale its arithmetic produces, and {@link FixedPointLoanCalculatorServiceImpl}
+ *     calculates the same unrounded amounts. A displayed amount is rounded to minor units (sen/cents, two decimal
+ *     places) with HALF_UP, like {@link #toMinorUnits(BigDecimal)} does, so both engines display identical results.
+ * </p>
+ */
+public final class MinorUnits {
+
+    /**
+     * Number of decimal places of a minor unit amount.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Number of minor units in one major unit.
+     */
+    public static final long PER_MAJOR_UNIT = 100;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Converts an input amount to minor units, rounding half away from zero.
+     *
+     * @param amount The amount in major units.
+     * @return The amount in minor units.
+     */
+    public static long toMinorUnits(double amount) {
+        return amount < 0 ? -Math.round(-amount * PER_MAJOR_UNIT) : Math.round(amount * PER_MAJOR_UNIT);
+    }
+
+    /**
+     * Converts a calculated amount to minor units, rounding HALF_UP.
+     *
+     * @param amount The amount in major units.
+     * @return The amount in minor units.
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of minor units.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Converts a minor unit amount to a {@link BigDecimal} with {@link #SCALE} decimal places.
+     *
+     * @param minorUnits The amount in minor units.
+     * @return The amount in major units.
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Steps through a range of input amounts in minor units, so that the steps do not accumulate floating point
+     * errors.
+     *
+     * @param from The first amount, in major units.
+     * @param to   The largest amount, in major units; included if it is a whole number of steps from {@code from}.
+     * @param step The difference between two consecutive amounts, in major units.
+     * @return The amounts of the range in minor units, in increasing order.
+     * @throws IllegalArgumentException if the step is less than one minor unit or {@code to} is less than {@code from}.
+     */
+    public static long[] range(double from, double to, double step) {
+        long first = toMinorUnits(from);
+        long last = toMinorUnits(to);
+        long stepMinorUnits = toMinorUnits(step);
+        if (stepMinorUnits < 1 || last < first) {
+            throw new IllegalArgumentException("Invalid range: " + from + " to " + to + " by " + step);
+        }
+        long[] amounts = new long[Math.toIntExact((last - first) / stepMinorUnits + 1)];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = first + i * stepMinorUnits;
+        }
+        return amounts;
+    }
+
+    /**
+     * Divides two integers rounding HALF_UP, i.e. half away from zero, like {@link RoundingMode#HALF_UP}.
+     *
+     * @param dividend The dividend.
+     * @param divisor  The divisor, must be positive.
+     * @return The rounded quotient.
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
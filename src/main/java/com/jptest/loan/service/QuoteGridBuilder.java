@@ -0,0 +1,120 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+
+import java.math.BigDecimal;
+
+/**
+ * {@code QuoteGridBuilder} class collects the cells of a {@link QuoteGrid} as a calculation engine fills them.
+ * <p>
+ *     It resolves the rows and columns of a {@link QuoteGridRequest} once: the tenors, checked against the maximum
+ *     supported tenor, and the down payments, stepped in minor units with {@link MinorUnits#range(double, double, double)}.
+ * </p>
+ */
+final class QuoteGridBuilder {
+
+    private final int[] tenors;
+    private final long[] downPayments;
+    private final BigDecimal[] rates;
+    private final long[] monthlyInstallments;
+    private long rateVersion;
+
+    /**
+     * Constructor for {@code QuoteGridBuilder}.
+     *
+     * @param request  The grid request.
+     * @param maxTenor The maximum loan tenor supported for the vehicle type.
+     * @throws IllegalArgumentException if a tenor is not between 1 and {@code maxTenor}, or the down payment range is invalid.
+     */
+    QuoteGridBuilder(QuoteGridRequest request, int maxTenor) {
+        tenors = new int[request.tenors().size()];
+        int longestTenor = 0;
+        for (int t = 0; t < tenors.length; t++) {
+            int tenor = request.tenors().get(t);
+            if (tenor < 1 || tenor > maxTenor) {
+                throw new IllegalArgumentException("Invalid loan tenor");
+            }
+            tenors[t] = tenor;
+            longestTenor = Math.max(longestTenor, tenor);
+        }
+        downPayments = MinorUnits.range(request.downPaymentFrom(), request.downPaymentTo(), request.downPaymentStep());
+        rates = new BigDecimal[longestTenor];
+        monthlyInstallments = new long[tenors.length * downPayments.length * longestTenor];
+    }
+
+    /**
+     * @return The number of tenors of the grid.
+     */
+    int tenorCount() {
+        return tenors.length;
+    }
+
+    /**
+     * @param tenorIndex Index of the tenor in the request.
+     * @return The loan tenor in years.
+     */
+    int tenor(int tenorIndex) {
+        return tenors[tenorIndex];
+    }
+
+    /**
+     * @return The longest tenor of the grid.
+     */
+    int longestTenor() {
+        return rates.length;
+    }
+
+    /**
+     * @return The number of down payments of the grid.
+     */
+    int downPaymentCount() {
+        return downPayments.length;
+    }
+
+    /**
+     * @param downPaymentIndex Index of the down payment.
+     * @return The down payment in minor units.
+     */
+    long downPayment(int downPaymentIndex) {
+        return downPayments[downPaymentIndex];
+    }
+
+    /**
+     * Sets the interest rate of a year, shared by every cell.
+     *
+     * @param yearIndex Zero based year index.
+     * @param rate      The interest rate percentage.
+     */
+    void rate(int yearIndex, BigDecimal rate) {
+        rates[yearIndex] = rate;
+    }
+
+    /**
+     * Sets the version of the rates the grid is calculated with.
+     *
+     * @param rateVersion The rate snapshot version.
+     */
+    void rateVersion(long rateVersion) {
+        this.rateVersion = rateVersion;
+    }
+
+    /**
+     * Sets the monthly installment of one year of a cell.
+     *
+     * @param tenorIndex         Index of the tenor in the request.
+     * @param downPaymentIndex   Index of the down payment.
+     * @param yearIndex          Zero based year index.
+     * @param monthlyInstallment The monthly installment in minor units.
+     */
+    void monthlyInstallment(int tenorIndex, int downPaymentIndex, int yearIndex, long monthlyInstallment) {
+        monthlyInstallments[(tenorIndex * downPayments.length + downPaymentIndex) * rates.length + yearIndex] = monthlyInstallment;
+    }
+
+    /**
+     * @return The grid of every installment set so far.
+     */
+    QuoteGrid build() {
+        return new QuoteGrid(tenors, downPayments, rates, monthlyInstallments, rateVersion);
+    }
+}
@@ -0,0 +1,66 @@
+package com.jptest.loan.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code ScheduleCacheMetrics} publishes the counters of {@link CachingLoanCalculatorService} to the actuator
+ * meter registry, as the standard Micrometer cache meters tagged {@code cache=loan.schedules}
+ * ({@code cache.gets} with {@code result=hit|miss}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size}).
+ */
+@Component
+@ConditionalOnProperty(name = "loan.cache.enabled", havingValue = "true")
+public class ScheduleCacheMetrics extends CacheMeterBinder<CachingLoanCalculatorService> {
+
+    /**
+     * Name of the schedule cache in the {@code cache} tag of its meters.
+     */
+    public static final String CACHE_NAME = "loan.schedules";
+
+    /**
+     * Constructor for {@code ScheduleCacheMetrics}.
+     *
+     * @param cache The schedule cache to publish.
+     */
+    public ScheduleCacheMetrics(CachingLoanCalculatorService cache) {
+        super(cache, CACHE_NAME, Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        CachingLoanCalculatorService cache = getCache();
+        return cache == null ? null : cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        CachingLoanCalculatorService cache = getCache();
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        CachingLoanCalculatorService cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        CachingLoanCalculatorService cache = getCache();
+        return cache == null ? null : cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        CachingLoanCalculatorService cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        // The standard cache meters cover every counter of the schedule cache
+    }
+}
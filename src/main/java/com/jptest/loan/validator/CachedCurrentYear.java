@@ -0,0 +1,50 @@
+package com.jptest.loan.validator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZonedDateTime;
+
+/**
+ * {@code CachedCurrentYear} holds the current year of a {@link Clock}, recomputed only when the clock leaves
+ * the cached year.
+ * <p>
+ *     Reading the year is a single {@link Clock#millis()} call and a range check, instead of building a
+ *     date in the clock time zone on every validation.
+ * </p>
+ */
+final class CachedCurrentYear {
+
+    private final Clock clock;
+    private volatile CachedYear cachedYear;
+
+    CachedCurrentYear(Clock clock) {
+        this.clock = clock;
+        this.cachedYear = load(clock.millis());
+    }
+
+    /**
+     * @return The current year of the clock.
+     */
+    int get() {
+        long now = clock.millis();
+        CachedYear year = cachedYear;
+        if (now < year.startMillis() || now >= year.endMillis()) {
+            year = load(now);
+            cachedYear = year;
+        }
+        return year.value();
+    }
+
+    private CachedYear load(long now) {
+        int year = Instant.ofEpochMilli(now).atZone(clock.getZone()).getYear();
+        ZonedDateTime start = Year.of(year).atDay(1).atStartOfDay(clock.getZone());
+        return new CachedYear(year, start.toInstant().toEpochMilli(), start.plusYears(1).toInstant().toEpochMilli());
+    }
+
+    /**
+     * A year and the epoch millisecond range {@code [startMillis, endMillis)} it covers.
+     */
+    private record CachedYear(int value, long startMillis, long endMillis) {
+    }
+}
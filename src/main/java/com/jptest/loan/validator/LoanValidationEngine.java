@@ -0,0 +1,188 @@
+package com.jptest.loan.validator;
+
+import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.metrics.LoanMetrics;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.service.MinorUnits;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * {@code LoanValidationEngine} component checks every rule of a loan request in one pass.
+ * <p>
+ *     Unlike {@link LoanValidator}, which validates one parameter at a time for interactive input, the engine
+ *     validates a whole parsed {@link LoanRequest} and returns a violation mask with one bit per
+ *     {@link ValidationRule}, so that every violation of a rejected request is reported at once.
+ *     The product of the request and its minimum down payment rule come from a {@link RateSnapshot}, which compiles
+ *     every product into arrays indexed by vehicle type, condition and dealer programme, and every minimum down
+ *     payment rate into an integer ratio applied to minor units, and the current year is read from an injectable {@link Clock} and cached until
+ *     the year changes. Validating a request therefore does no allocation, parsing or date arithmetic.
+ * </p>
+ * <p>
+ *     A rule that depends on another parameter is skipped when that parameter is itself invalid:
+ *     the year is not checked against an unknown vehicle condition, nor the down payment against an invalid loan amount,
+ *     nor the dealer programme against an unknown vehicle type or condition. The down payment of a request whose
+ *     product is not offered is checked against the minimum down payment rate before product overrides.
+ * </p>
+ */
+@Component
+public class LoanValidationEngine {
+
+    /**
+     * Largest valid loan amount.
+     */
+    public static final double MAX_LOAN_AMOUNT = 1_000_000_000;
+
+    private static final int MIN_FOUR_DIGIT_YEAR = 1000;
+    private static final int MAX_FOUR_DIGIT_YEAR = 9999;
+
+    private final CachedCurrentYear currentYear;
+    private final InterestRateTable interestRateTable;
+
+    private LoanMetrics loanMetrics = LoanMetrics.noop();
+
+    /**
+     * Constructor for {@code LoanValidationEngine}.
+     *
+     * @param clock             Clock resolving the current year.
+     * @param interestRateTable Table publishing the current rate snapshot, with the minimum down payment rule.
+     */
+    @Autowired
+    public LoanValidationEngine(Clock clock, InterestRateTable interestRateTable) {
+        this.currentYear = new CachedCurrentYear(clock);
+        this.interestRateTable = interestRateTable;
+    }
+
+    /**
+     * Sets the metrics timing every validation and counting every violated rule.
+     * <p>
+     *     Optional; without a {@link LoanMetrics} bean, validations are recorded by {@link LoanMetrics#noop()}.
+     * </p>
+     *
+     * @param loanMetrics Metrics of the processing stages.
+     */
+    @Autowired(required = false)
+    public void setLoanMetrics(LoanMetrics loanMetrics) {
+        this.loanMetrics = loanMetrics;
+    }
+
+    /**
+     * Returns the current rate snapshot.
+     * <p>
+     *     Callers that validate a request and then calculate it read the snapshot once and pass it to both steps,
+     *     so a request is never accepted under one version and calculated under another.
+     * </p>
+     *
+     * @return The current rate snapshot.
+     */
+    public RateSnapshot rates() {
+        return interestRateTable.snapshot();
+    }
+
+    /**
+     * Validates every rule of a loan request with the current rate snapshot.
+     *
+     * @param loanRequest The parsed loan request.
+     * @return The violation mask, 0 if the request is valid; see {@link ValidationRule#violated(int)}
+     *         and {@link ValidationRule#errorMessages(int)} to expand it.
+     */
+    public int validate(LoanRequest loanRequest) {
+        return validate(loanRequest, interestRateTable.snapshot());
+    }
+
+    /**
+     * Validates every rule of a loan request and records the validation in {@link LoanMetrics}.
+     *
+     * @param loanRequest  The parsed loan request.
+     * @param rateSnapshot The rates with the products and minimum down payment rules to check.
+     * @return The violation mask, 0 if the request is valid; see {@link ValidationRule#violated(int)}
+     *         and {@link ValidationRule#errorMessages(int)} to expand it.
+     */
+    public int validate(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        long start = System.nanoTime();
+        int violations = checkRules(loanRequest, rateSnapshot);
+        loanMetrics.recordValidation(loanRequest, System.nanoTime() - start, violations);
+        return violations;
+    }
+
+    private int checkRules(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+        int violations = 0;
+        if (loanRequest.vehicleType() == null) {
+            violations |= ValidationRule.VEHICLE_TYPE.bit();
+        }
+
+        VehicleCondition vehicleCondition = loanRequest.vehicleCondition();
+        if (vehicleCondition == null) {
+            violations |= ValidationRule.VEHICLE_CONDITION.bit();
+        }
+
+        int vehicleYear = loanRequest.vehicleYear();
+        int year = currentYear.get();
+        if (vehicleYear < MIN_FOUR_DIGIT_YEAR || vehicleYear > MAX_FOUR_DIGIT_YEAR) {
+            violations |= ValidationRule.YEAR_FOUR_DIGIT.bit();
+        }
+        if (vehicleYear > year) {
+            violations |= ValidationRule.YEAR_NOT_IN_FUTURE.bit();
+        } else if (vehicleCondition == VehicleCondition.NEW && vehicleYear < year - 1) {
+            violations |= ValidationRule.YEAR_FOR_CONDITION.bit();
+        }
+
+        int product = rateSnapshot.product(loanRequest);
+        if (product == RateSnapshot.NO_PRODUCT && loanRequest.vehicleType() != null && vehicleCondition != null) {
+            violations |= ValidationRule.DEALER_PROGRAMME.bit();
+        }
+
+        double loanAmount = loanRequest.loanAmount();
+        if (loanAmount > 0 && loanAmount <= MAX_LOAN_AMOUNT) {
+            if (!isMinimumDownPayment(loanRequest.downPayment(), loanAmount, rateSnapshot, product)) {
+                violations |= ValidationRule.DOWN_PAYMENT.bit();
+            }
+        } else {
+            violations |= ValidationRule.LOAN_AMOUNT.bit(); // Also rejects NaN
+        }
+
+        int loanTenor = loanRequest.loanTenor();
+        if (loanTenor < 1 || loanTenor > AppConstant.MAX_LOAN_TENOR) {
+            violations |= ValidationRule.LOAN_TENOR.bit();
+        }
+        return violations;
+    }
+
+    /**
+     * @return The current year of the validation clock.
+     */
+    public int currentYear() {
+        return currentYear.get();
+    }
+
+    /**
+     * Calculates the smallest down payment the minimum down payment rule of a product accepts for a loan amount,
+     * with the current rate snapshot.
+     *
+     * @param vehicleType          The type of vehicle (car or motorcycle).
+     * @param vehicleCondition     The condition of vehicle, or null for the product of any condition.
+     * @param dealerProgramme      The dealer programme.
+     * @param loanAmountMinorUnits The loan amount in minor units.
+     * @return The minimum down payment in minor units, i.e. {@code loanAmount * rate / 100} rounded up to a minor unit.
+     */
+    public long minimumDownPaymentMinorUnits(VehicleType vehicleType, VehicleCondition vehicleCondition,
+                                             DealerProgramme dealerProgramme, long loanAmountMinorUnits) {
+        RateSnapshot rateSnapshot = interestRateTable.snapshot();
+        return rateSnapshot.minimumDownPaymentMinorUnits(rateSnapshot.product(vehicleType, vehicleCondition, dealerProgramme),
+                loanAmountMinorUnits);
+    }
+
+    private static boolean isMinimumDownPayment(double downPayment, double loanAmount, RateSnapshot rateSnapshot, int product) {
+        if (!Double.isFinite(downPayment)) {
+            return false;
+        }
+        return rateSnapshot.isMinimumDownPayment(product, MinorUnits.toMinorUnits(downPayment), MinorUnits.toMinorUnits(loanAmount));
+    }
+}
@@ -1,20 +1,60 @@
 package com.jptest.loan.validator;
 
-import com.jptest.loan.constant.AppConstant;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.metrics.LoanMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.Year;
-import java.util.Arrays;
+import java.time.Clock;
 
 /**
  * Component for validating loan input parameters.
  * This class provides methods to validate year format, year comparison with current year,
  * loan amount, vehicle type, vehicle condition, and loan tenor.
+ * It validates one parameter at a time, for interactive input; whole requests are validated
+ * in one pass by {@link LoanValidationEngine}. The result of every rule check is counted in {@link LoanMetrics}.
  */
 @Component
 public class  LoanValidator {
+
+    private static final BigDecimal MAX_LOAN_AMOUNT = new BigDecimal(1_000_000_000);
+
+    private final CachedCurrentYear currentYear;
+
+    private LoanMetrics loanMetrics = LoanMetrics.noop();
+
+    /**
+     * Constructor for {@code LoanValidator} resolving the current year from the system clock.
+     */
+    public LoanValidator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for {@code LoanValidator}.
+     *
+     * @param clock Clock resolving the current year.
+     */
+    @Autowired
+    public LoanValidator(Clock clock) {
+        this.currentYear = new CachedCurrentYear(clock);
+    }
+
+    /**
+     * Sets the metrics counting the result of every rule check.
+     * <p>
+     *     Optional; without a {@link LoanMetrics} bean, rule checks are counted by {@link LoanMetrics#noop()}.
+     * </p>
+     *
+     * @param loanMetrics Metrics of the processing stages.
+     */
+    @Autowired(required = false)
+    public void setLoanMetrics(LoanMetrics loanMetrics) {
+        this.loanMetrics = loanMetrics;
+    }
+
     /**
      * Validates if the input year is a four-digit year.
      *
@@ -22,7 +62,7 @@ public class  LoanValidator {
      * @return true if the year is a four-digit year, false otherwise.
      */
     public boolean isValidYearFourDigit(int year) {
-        return String.valueOf(year).matches("\\d{4}");
+        return loanMetrics.recordRule(ValidationRule.YEAR_FOUR_DIGIT, year >= 1000 && year <= 9999);
     }
 
     /**
@@ -32,7 +72,7 @@ public class  LoanValidator {
      * @return true if the input year is not in the future, false otherwise.
      */
     public boolean isValidYearCompareWithCurrentYear(int vehicleYear) {
-        return vehicleYear <= LocalDate.now().getYear();
+        return loanMetrics.recordRule(ValidationRule.YEAR_NOT_IN_FUTURE, vehicleYear <= currentYear.get());
     }
 
     /**
@@ -44,9 +84,9 @@ public class  LoanValidator {
     public boolean isValidLoanAmount(double loanAmount) {
         try {
             BigDecimal amount = new BigDecimal(loanAmount);
-            return amount.compareTo(BigDecimal.ZERO) > 0 && amount.compareTo(new BigDecimal(1_000_000_000)) <= 0;
+            return loanMetrics.recordRule(ValidationRule.LOAN_AMOUNT, amount.signum() > 0 && amount.compareTo(MAX_LOAN_AMOUNT) <= 0);
         } catch (NumberFormatException e) {
-            return false; // Consider invalid if parsing fails
+            return loanMetrics.recordRule(ValidationRule.LOAN_AMOUNT, false); // Consider invalid if parsing fails
         }
     }
 
@@ -58,12 +98,12 @@ public class  LoanValidator {
      */
     public boolean isValidDownPaymentAmount(double downPayment, BigDecimal loanAmount, BigDecimal minimumDownPaymentRate) {
         try {
-            minimumDownPaymentRate = minimumDownPaymentRate.divide(new BigDecimal(100));
-            BigDecimal amount = new BigDecimal(downPayment);
+            // downPayment >= loanAmount * rate / 100, without dividing the rate on every call
+            BigDecimal amount = new BigDecimal(downPayment).movePointRight(2);
 
-            return amount.compareTo(loanAmount.multiply(minimumDownPaymentRate)) >= 0;
+            return loanMetrics.recordRule(ValidationRule.DOWN_PAYMENT, amount.compareTo(loanAmount.multiply(minimumDownPaymentRate)) >= 0);
         } catch (NumberFormatException e) {
-            return false; // Consider invalid if parsing fails
+            return loanMetrics.recordRule(ValidationRule.DOWN_PAYMENT, false); // Consider invalid if parsing fails
         }
     }
 
@@ -74,7 +114,7 @@ public class  LoanValidator {
      * @return true if the vehicle type is valid, false otherwise.
      */
     public boolean isValidVehicleType(String vehicleType) {
-        return Arrays.asList("car", "motorcycle").contains(vehicleType.toLowerCase());
+        return loanMetrics.recordRule(ValidationRule.VEHICLE_TYPE, VehicleType.parse(vehicleType) != null);
     }
 
     /**
@@ -84,7 +124,7 @@ public class  LoanValidator {
      * @return true if the vehicle condition is valid, false otherwise.
      */
     public boolean isValidVehicleCondition(String vehicleCondition) {
-        return Arrays.asList(AppConstant.NEW_VEHICLE, AppConstant.OLD_VEHICLE).contains(vehicleCondition.toLowerCase());
+        return loanMetrics.recordRule(ValidationRule.VEHICLE_CONDITION, VehicleCondition.parse(vehicleCondition) != null);
     }
 
     /**
@@ -94,9 +134,23 @@ public class  LoanValidator {
      * @return true if the vehicle condition is valid, false otherwise.
      */
     public boolean isValidVehicleIfNewCondition(String vehicleCondition, int vehicleYear) {
-        int currentYear = Year.now().getValue();
-        return AppConstant.NEW_VEHICLE.equalsIgnoreCase(vehicleCondition) && (vehicleYear == (currentYear - 1)
-                || (vehicleYear == currentYear));
+        return isValidVehicleIfNewCondition(VehicleCondition.parse(vehicleCondition), vehicleYear);
+    }
+
+    /**
+     * Validates the vehicle year against an already parsed vehicle condition.
+     * A new vehicle must be from the current or the previous year; any year is accepted for an old vehicle.
+     *
+     * @param vehicleCondition The parsed vehicle condition.
+     * @param vehicleYear The year to validate.
+     * @return true if the vehicle year is consistent with the vehicle condition, false otherwise.
+     */
+    public boolean isValidVehicleIfNewCondition(VehicleCondition vehicleCondition, int vehicleYear) {
+        if (vehicleCondition != VehicleCondition.NEW) {
+            return loanMetrics.recordRule(ValidationRule.YEAR_FOR_CONDITION, vehicleCondition == VehicleCondition.OLD);
+        }
+        int year = currentYear.get();
+        return loanMetrics.recordRule(ValidationRule.YEAR_FOR_CONDITION, vehicleYear == (year - 1) || (vehicleYear == year));
     }
 
 
@@ -107,6 +161,6 @@ public class  LoanValidator {
      * @return true if the loan tenor is valid (1 until 6), false otherwise.
      */
     public boolean isValidLoanTenor(int loanTenor) {
-        return loanTenor > 0 && loanTenor < 7;
+        return loanMetrics.recordRule(ValidationRule.LOAN_TENOR, loanTenor > 0 && loanTenor < 7);
     }
 }
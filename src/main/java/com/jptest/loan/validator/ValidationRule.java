@@ -0,0 +1,119 @@
+package com.jptest.loan.validator;
+
+import com.jptest.loan.constant.ErrorMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * {@code ValidationRule} enum to describe every rule checked by {@link LoanValidationEngine}.
+ * <p>
+ *     Each rule owns one bit of a violation mask, so the result of validating a request is a single {@code int}
+ *     that is only expanded into rules or error messages when a rejected request is reported.
+ *     Rules are declared in the order their error messages are reported. Each rule names the input field it checks,
+ *     as the column of a CSV batch file, so that rejected records can be reported per field.
+ * </p>
+ */
+public enum ValidationRule {
+    VEHICLE_TYPE("vehicle_type", ErrorMessages.INVALID_VEHICLE_TYPE),
+    VEHICLE_CONDITION("vehicle_condition", ErrorMessages.INVALID_VEHICLE_CONDITION),
+    YEAR_FOUR_DIGIT("vehicle_year", ErrorMessages.INVALID_YEAR_4_DIGIT),
+    YEAR_NOT_IN_FUTURE("vehicle_year", ErrorMessages.INVALID_YEAR_COMPARE_CURRENT_YEAR),
+    YEAR_FOR_CONDITION("vehicle_year", ErrorMessages.INVALID_VEHICLE_CONDITION_WITH_YEAR),
+    LOAN_AMOUNT("loan_amount", ErrorMessages.INVALID_LOAN_AMOUNT),
+    LOAN_TENOR("loan_tenor", ErrorMessages.INVALID_TENOR),
+    DOWN_PAYMENT("down_payment", ErrorMessages.INVALID_DOWN_PAYMENT_AMOUNT),
+    DEALER_PROGRAMME("dealer_programme", ErrorMessages.INVALID_DEALER_PROGRAMME);
+
+    private static final ValidationRule[] VALUES = values();
+
+    private final int bit;
+    private final String field;
+    private final String errorMessage;
+
+    ValidationRule(String field, String errorMessage) {
+        this.bit = 1 << ordinal();
+        this.field = field;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return The input field checked by this rule, e.g. {@code vehicle_year}.
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * @return The bit of this rule in a violation mask.
+     */
+    public int bit() {
+        return bit;
+    }
+
+    /**
+     * @return The error message reported when this rule is violated.
+     */
+    public String errorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Checks whether this rule is violated in a violation mask.
+     *
+     * @param violations The violation mask.
+     * @return true if the bit of this rule is set.
+     */
+    public boolean isViolated(int violations) {
+        return (violations & bit) != 0;
+    }
+
+    /**
+     * Expands a violation mask into its rules.
+     *
+     * @param violations The violation mask.
+     * @return The violated rules, in declaration order.
+     */
+    public static List<ValidationRule> violated(int violations) {
+        List<ValidationRule> rules = new ArrayList<>(Integer.bitCount(violations));
+        for (ValidationRule rule : VALUES) {
+            if (rule.isViolated(violations)) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Expands a violation mask into the error messages of its rules.
+     *
+     * @param violations The violation mask.
+     * @return The error messages of the violated rules, in declaration order.
+     */
+    public static List<String> errorMessages(int violations) {
+        List<String> errorMessages = new ArrayList<>(Integer.bitCount(violations));
+        for (ValidationRule rule : VALUES) {
+            if (rule.isViolated(violations)) {
+                errorMessages.add(rule.errorMessage);
+            }
+        }
+        return errorMessages;
+    }
+
+    /**
+     * Describes a violation mask on one line, for structured outputs that report every violated rule of a record.
+     *
+     * @param violations The violation mask.
+     * @return The error messages of the violated rules without their prefix, joined with {@code "; "}.
+     */
+    public static String describe(int violations) {
+        StringJoiner description = new StringJoiner("; ");
+        for (ValidationRule rule : VALUES) {
+            if (rule.isViolated(violations)) {
+                description.add(ErrorMessages.withoutPrefix(rule.errorMessage));
+            }
+        }
+        return description.toString();
+    }
+}
@@ -5,12 +5,13 @@ import org.junit.platform.suite.api.SelectPackages;
 import org.junit.platform.suite.api.Suite;
 
 @Suite
-@IncludeTags({"service", "validation", "processor"})
+@IncludeTags({"service", "validation", "processor", "metrics", "controller", "output", "record"})
 @SelectPackages({"com.jptest.loan"})
 /**
  * {@code AppTest} is a JUnit Platform Suite that aggregates and executes
  * tests from different parts of the application.
- * It is configured to include tests tagged with "service", "validation", and "processor",
+ * It is configured to include tests tagged with "service", "validation", "processor", "metrics", "controller",
+ * "output" and "record",
  * and it selects packages under "com.jptest.loan" for test discovery.
  *
  * This class serves as an entry point for running integration or suite tests,
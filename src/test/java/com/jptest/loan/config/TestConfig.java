@@ -1,10 +1,13 @@
 package com.jptest.loan.config;
 
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
 import com.jptest.loan.service.LoanCalculatorService;
 import com.jptest.loan.service.LoanCalculatorServiceImpl;
 import com.jptest.loan.validator.LoanValidator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 /**
  * {@code TestConfig} is a configuration class specifically for unit tests.
@@ -16,10 +19,11 @@ import org.springframework.context.annotation.Configuration;
  * unit testing without the overhead of a full application context.
  */
 @Configuration
+@Import({InterestRateTable.class, BatchCalculationExecutor.class})
 public class TestConfig {
     @Bean
-    public LoanCalculatorService loanCalculatorService() {
-        return new LoanCalculatorServiceImpl();
+    public LoanCalculatorService loanCalculatorService(InterestRateTable interestRateTable, BatchCalculationExecutor batchCalculationExecutor) {
+        return new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
     }
 
     @Bean
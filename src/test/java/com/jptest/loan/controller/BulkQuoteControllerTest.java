@@ -0,0 +1,77 @@
+package com.jptest.loan.controller;
+
+import com.jptest.loan.processor.BatchFileProcessor;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the {@link BulkQuoteController} class.
+ * This class verifies that every line of an NDJSON body gets one NDJSON result line, in order,
+ * and that invalid lines get an error result without failing the request.
+ */
+@Tag("controller")
+class BulkQuoteControllerTest {
+
+    private static final String VALID_REQUEST = "{\"vehicleType\":\"car\",\"vehicleCondition\":\"new\",\"vehicleYear\":2025,"
+            + "\"loanAmount\":100000000,\"loanTenor\":1,\"downPayment\":25000000}";
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        InterestRateTable interestRateTable = new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+        BatchFileProcessor batchFileProcessor = new BatchFileProcessor(
+                new LoanCalculatorServiceImpl(interestRateTable, new BatchCalculationExecutor(1, 1024)),
+                new LoanValidationEngine(clock, interestRateTable));
+        mockMvc = MockMvcBuilders.standaloneSetup(new BulkQuoteController(batchFileProcessor)).build();
+    }
+
+    @Test
+    void quoteBulk_OneResultPerLine() throws Exception {
+        mockMvc.perform(post("/api/quotes/bulk").contentType(MediaType.APPLICATION_NDJSON)
+                        .content(VALID_REQUEST + "\n"
+                                + "\n"
+                                + "{\"vehicleType\":\"car\",\"loanAmount\":\"a lot\"}\n"
+                                + VALID_REQUEST.replace("\"loanTenor\":1", "\"loanTenor\":9") + "\n"
+                                + VALID_REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"record\":1,\"status\":\"OK\",\"rateVersion\":1,\"installments\":[{\"year\":1,\"amount\":6750000.00,\"rate\":8.0}]}\n"
+                                + "{\"record\":3,\"status\":\"ERROR\",\"error\":\"Invalid input format. Please enter numbers for year, loan amount, tenor, and down payment.\"}\n"
+                                + "{\"record\":4,\"status\":\"ERROR\",\"error\":\"Invalid loan tenor. Must be between 1 and 6 years.\"}\n"
+                                + "{\"record\":5,\"status\":\"OK\",\"rateVersion\":1,\"installments\":[{\"year\":1,\"amount\":6750000.00,\"rate\":8.0}]}\n"));
+    }
+
+    @Test
+    void quoteBulk_EmptyBody() throws Exception {
+        mockMvc.perform(post("/api/quotes/bulk").contentType(MediaType.APPLICATION_NDJSON).content(""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void quoteBulk_UnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/quotes/bulk").contentType(MediaType.APPLICATION_JSON).content(VALID_REQUEST))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
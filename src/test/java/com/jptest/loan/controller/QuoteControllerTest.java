@@ -0,0 +1,77 @@
+package com.jptest.loan.controller;
+
+import com.jptest.loan.metrics.LoanMetrics;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the {@link QuoteController} class.
+ * This class verifies that valid quote requests return the calculated schedule and that
+ * invalid or malformed requests return every error as a structured response.
+ */
+@Tag("controller")
+class QuoteControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        InterestRateTable interestRateTable = new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+        QuoteController quoteController = new QuoteController(
+                new LoanCalculatorServiceImpl(interestRateTable, new BatchCalculationExecutor(1, 1024)),
+                new LoanValidationEngine(clock, interestRateTable), LoanMetrics.noop());
+        mockMvc = MockMvcBuilders.standaloneSetup(quoteController).build();
+    }
+
+    @Test
+    void quote_Valid() throws Exception {
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vehicleType\":\"car\",\"vehicleCondition\":\"new\",\"vehicleYear\":2025,"
+                                + "\"loanAmount\":100000000,\"loanTenor\":3,\"downPayment\":25000000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rateVersion").value(1))
+                .andExpect(jsonPath("$.installments.length()").value(3))
+                .andExpect(jsonPath("$.installments[0].year").value(1))
+                .andExpect(jsonPath("$.installments[0].amount").value(2250000.00))
+                .andExpect(jsonPath("$.installments[0].rate").value(8.0));
+    }
+
+    @Test
+    void quote_Invalid_ReportsEveryViolation() throws Exception {
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vehicleType\":\"truck\",\"vehicleCondition\":\"new\",\"vehicleYear\":2025,"
+                                + "\"loanAmount\":100000000,\"loanTenor\":9,\"downPayment\":25000000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].code").value("VEHICLE_TYPE"))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid vehicle type. Must be 'car' or 'motorcycle'."))
+                .andExpect(jsonPath("$.errors[1].code").value("LOAN_TENOR"));
+    }
+
+    @Test
+    void quote_MalformedBody() throws Exception {
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vehicleType\":\"car\",\"loanAmount\":\"a lot\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].code").value(QuoteController.INVALID_INPUT_FORMAT));
+    }
+}
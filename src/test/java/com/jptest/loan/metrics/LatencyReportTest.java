@@ -0,0 +1,137 @@
+package com.jptest.loan.metrics;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link LatencyReport} and {@link LatencyHistogram}.
+ * This class verifies that the percentiles of every stage are recorded within the bucket precision,
+ * and that the report is only written when enabled.
+ */
+@Tag("metrics")
+class LatencyReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void percentiles_WithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos * 1_000, 1);
+        }
+
+        long[] percentiles = histogram.percentiles(0.5, 0.9, 0.99, 0.999);
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000, histogram.max());
+        long[] expected = {50_000_000, 90_000_000, 99_000_000, 99_900_000};
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(percentiles[i] >= expected[i] && percentiles[i] <= expected[i] * 65 / 64,
+                    "p" + i + ": " + percentiles[i]);
+        }
+    }
+
+    @Test
+    void percentiles_ExactBelow128Nanoseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5, 1);
+        histogram.record(7, 1);
+        histogram.record(-3, 1);
+
+        assertArrayEquals(new long[] {0, 5, 7}, histogram.percentiles(0.3, 0.6, 1));
+        assertArrayEquals(new long[] {0}, new LatencyHistogram().percentiles(0.5));
+    }
+
+    @Test
+    void bucket_CoversEveryLong() {
+        for (long value : new long[] {127, 128, 255, 256, 1L << 40, Long.MAX_VALUE}) {
+            long highest = LatencyHistogram.highestValue(LatencyHistogram.bucket(value));
+            assertTrue(highest >= value && highest - value <= value / 64, value + " -> " + highest);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void record_ConcurrentThreadsLoseNoLatency() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            long offset = thread;
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i * 4 + offset, 2);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, histogram.count());
+        assertEquals(80_000, histogram.items());
+        assertEquals(39_999, histogram.max());
+    }
+
+    @Test
+    void report_WritesEveryRecordedStage() throws IOException {
+        Path output = tempDir.resolve("latency.txt");
+        LatencyReport latencyReport = new LatencyReport();
+        ReflectionTestUtils.setField(latencyReport, "reportTarget", output.toString());
+        LoanMetrics loanMetrics = new LoanMetrics(new SimpleMeterRegistry());
+        loanMetrics.setLatencyReport(latencyReport);
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2025, 100_000_000, 3, 25_000_000);
+
+        loanMetrics.recordParse(2_000, true);
+        loanMetrics.recordCalculation(loanRequest, 5_000, true);
+        loanMetrics.recordBatchCalculation(40_000, 8, true);
+        latencyReport.report();
+        latencyReport.close();
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(0).startsWith("Latency report of a "));
+        assertTrue(lines.get(2).matches("parse +1 +2\\.0 +2\\.0 +2\\.0 +2\\.0 +2\\.0 +[0-9.]+"), lines.get(2));
+        assertTrue(lines.get(3).startsWith("calculate "), lines.get(3));
+        assertTrue(lines.get(4).matches("calculate\\.batch +1 +(40\\.[0-9] +){5}[0-9.]+"), lines.get(4));
+        // Assert that the temporary file was moved in place
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void report_DisabledByDefault() throws IOException {
+        LatencyReport latencyReport = new LatencyReport();
+        LoanMetrics loanMetrics = new LoanMetrics(new SimpleMeterRegistry());
+        loanMetrics.setLatencyReport(latencyReport);
+
+        loanMetrics.recordParse(2_000, true);
+        latencyReport.report();
+
+        assertFalse(latencyReport.isEnabled());
+        assertNull(ReflectionTestUtils.getField(latencyReport, "histograms"));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
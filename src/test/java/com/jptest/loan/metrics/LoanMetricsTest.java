@@ -0,0 +1,92 @@
+package com.jptest.loan.metrics;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.validator.LoanValidationEngine;
+import com.jptest.loan.validator.LoanValidator;
+import com.jptest.loan.validator.ValidationRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link LoanMetrics}.
+ * This class verifies that every processing stage is recorded under its meter name
+ * with the vehicle type, tenor and outcome tags.
+ */
+@Tag("metrics")
+class LoanMetricsTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LoanMetrics loanMetrics = new LoanMetrics(meterRegistry);
+
+    @Test
+    void recordCalculation_TaggedByVehicleTypeTenorAndOutcome() {
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2025, 100_000_000, 3, 25_000_000);
+
+        loanMetrics.recordCalculation(loanRequest, 1_000, true);
+        loanMetrics.recordCalculation(loanRequest, 3_000, true);
+        loanMetrics.recordCalculation(new LoanRequest(null, VehicleCondition.NEW, 2025, 100_000_000, 9, 25_000_000), 500, false);
+
+        assertEquals(2, meterRegistry.get(LoanMetrics.CALCULATION)
+                .tags("vehicle.type", "car", "tenor", "3", "outcome", "success").timer().count());
+        assertEquals(4_000, meterRegistry.get(LoanMetrics.CALCULATION)
+                .tags("vehicle.type", "car", "tenor", "3", "outcome", "success").timer().totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(1, meterRegistry.get(LoanMetrics.CALCULATION)
+                .tags("vehicle.type", "invalid", "tenor", "invalid", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    void recordValidation_CountsEveryViolatedRule() {
+        LoanValidationEngine loanValidationEngine = new LoanValidationEngine(CLOCK, new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25")));
+        loanValidationEngine.setLoanMetrics(loanMetrics);
+
+        loanValidationEngine.validate(new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.OLD, 2020, 100_000_000, 7, 1_000));
+
+        assertEquals(1, meterRegistry.get(LoanMetrics.VALIDATION)
+                .tags("vehicle.type", "motorcycle", "tenor", "invalid", "outcome", "invalid").timer().count());
+        assertEquals(1, meterRegistry.get(LoanMetrics.VALIDATION_RULE).tags("rule", "loan_tenor", "outcome", "invalid").counter().count());
+        assertEquals(1, meterRegistry.get(LoanMetrics.VALIDATION_RULE).tags("rule", "down_payment", "outcome", "invalid").counter().count());
+        assertEquals(0, meterRegistry.get(LoanMetrics.VALIDATION_RULE).tags("rule", "loan_amount", "outcome", "invalid").counter().count());
+    }
+
+    @Test
+    void recordRule_CountsLoanValidatorChecks() {
+        LoanValidator loanValidator = new LoanValidator(CLOCK);
+        loanValidator.setLoanMetrics(loanMetrics);
+
+        loanValidator.isValidLoanTenor(3);
+        loanValidator.isValidLoanTenor(0);
+        loanValidator.isValidVehicleType("truck");
+
+        assertEquals(1, meterRegistry.get(LoanMetrics.VALIDATION_RULE).tags("rule", "loan_tenor", "outcome", "valid").counter().count());
+        assertEquals(1, meterRegistry.get(LoanMetrics.VALIDATION_RULE).tags("rule", "loan_tenor", "outcome", "invalid").counter().count());
+        assertEquals(1, meterRegistry.get(LoanMetrics.VALIDATION_RULE)
+                .tags("rule", ValidationRule.VEHICLE_TYPE.name().toLowerCase(), "outcome", "invalid").counter().count());
+    }
+
+    @Test
+    void recordInputStages_TaggedByStageAndOutcome() {
+        loanMetrics.recordRead(2_000, true);
+        loanMetrics.recordParse(100, false);
+
+        assertEquals(1, meterRegistry.get(LoanMetrics.INPUT).tags("stage", "read", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(LoanMetrics.INPUT).tags("stage", "parse", "outcome", "failure").timer().count());
+        assertNull(meterRegistry.find(LoanMetrics.INPUT).tags("stage", "parse", "outcome", "success").timer());
+    }
+}
@@ -0,0 +1,59 @@
+package com.jptest.loan.metrics;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link MetricsExporter}.
+ * This class verifies that the metrics of a run are written in the Prometheus text format
+ * to the configured file.
+ */
+@Tag("metrics")
+class MetricsExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void export_WritesPrometheusTextFile() throws IOException {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new LoanMetrics(registry).recordRead(1_000, true);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("prometheusMeterRegistry", registry);
+        MetricsExporter metricsExporter = new MetricsExporter(beanFactory.getBeanProvider(PrometheusMeterRegistry.class));
+        Path output = tempDir.resolve("loan.prom");
+        ReflectionTestUtils.setField(metricsExporter, "exportTarget", output.toString());
+
+        metricsExporter.export();
+
+        String metrics = Files.readString(output);
+        assertTrue(metrics.contains("loan_input_seconds_count{outcome=\"success\",stage=\"read\"} 1"));
+        // Assert that the temporary file was moved in place
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void export_DisabledByDefault() throws IOException {
+        MetricsExporter metricsExporter = new MetricsExporter(new StaticListableBeanFactory().getBeanProvider(PrometheusMeterRegistry.class));
+
+        metricsExporter.export();
+
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
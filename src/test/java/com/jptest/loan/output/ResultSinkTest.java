@@ -0,0 +1,156 @@
+package com.jptest.loan.output;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link ResultSink} implementations opened by {@link ResultSinkFactory}.
+ * This class verifies the text, CSV, JSON Lines and binary layouts, and that results are buffered
+ * until the sink is flushed or closed.
+ */
+@Tag("output")
+class ResultSinkTest {
+
+    private static final List<MonthlyInstallmentRatePair> SCHEDULE = List.of(
+            new MonthlyInstallmentRatePair(new BigDecimal("2250000.00"), new BigDecimal("8.0"), 3),
+            new MonthlyInstallmentRatePair(new BigDecimal("2298765.43"), new BigDecimal("8.1"), 3));
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream console = System.out;
+    private final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+        Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(console);
+        Locale.setDefault(Locale.Category.FORMAT, locale);
+    }
+
+    @Test
+    void text_WritesOneLinePerYear() throws IOException {
+        try (ResultSink resultSink = new ResultSinkFactory().open(OutputFormat.TEXT, null)) {
+            resultSink.writeResult(0, SCHEDULE);
+        }
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("1st year with Monthly installment: Rp 2,250,000.00, Interest rate: 8.0%"));
+        assertTrue(output.contains("2nd year with Monthly installment: Rp 2,298,765.43, Interest rate: 8.1%"));
+    }
+
+    @Test
+    void text_WritesErrorWithRecordNumber() throws IOException {
+        try (ResultSink resultSink = new ResultSinkFactory().open(OutputFormat.TEXT, null)) {
+            resultSink.writeError(7, ErrorMessages.INVALID_TENOR);
+        }
+
+        String output = outputStream.toString();
+        assertTrue(output.startsWith("Record 7:"));
+        assertTrue(output.contains("Error: " + ErrorMessages.INVALID_TENOR));
+    }
+
+    @Test
+    void csv_EscapesQuotesInErrors() throws IOException {
+        try (ResultSink resultSink = new ResultSinkFactory().open(OutputFormat.CSV, null)) {
+            resultSink.writeResult(1, SCHEDULE);
+            resultSink.writeError(2, ErrorMessages.ERROR + "Say \"no\"");
+        }
+
+        assertEquals("1,OK,2250000.00,8.0,2298765.43,8.1\n2,ERROR,\"Say \"\"no\"\"\"\n", outputStream.toString());
+    }
+
+    @Test
+    void jsonLines_WritesRateVersion() throws IOException {
+        try (ResultSink resultSink = new ResultSinkFactory().open(OutputFormat.JSON_LINES, null)) {
+            resultSink.writeResult(1, SCHEDULE);
+        }
+
+        assertEquals("{\"record\":1,\"status\":\"OK\",\"rateVersion\":3,\"installments\":["
+                + "{\"year\":1,\"amount\":2250000.00,\"rate\":8.0},{\"year\":2,\"amount\":2298765.43,\"rate\":8.1}]}\n",
+                outputStream.toString());
+    }
+
+    @Test
+    void jsonLines_EscapesErrors() throws IOException {
+        try (ResultSink resultSink = new ResultSinkFactory().open(OutputFormat.JSON_LINES, null)) {
+            resultSink.writeError(3, "Say \"no\"");
+        }
+
+        assertEquals("{\"record\":3,\"status\":\"ERROR\",\"error\":\"Say \\\"no\\\"\"}\n", outputStream.toString());
+    }
+
+    @Test
+    void binary_WritesCompactRecords() throws IOException {
+        Path output = tempDir.resolve("results.bin");
+        try (ResultSink resultSink = new ResultSinkFactory().open(OutputFormat.BINARY, output.toString())) {
+            resultSink.writeResult(1, SCHEDULE);
+            resultSink.writeError(2, ErrorMessages.INVALID_TENOR);
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(output)))) {
+            assertEquals(BinaryResultSink.MAGIC, input.readInt());
+            assertEquals(BinaryResultSink.VERSION, input.readByte());
+            assertEquals(1, input.readLong());
+            assertEquals(BinaryResultSink.STATUS_OK, input.readByte());
+            assertEquals(2, input.readByte());
+            assertEquals(3, input.readLong());
+            assertEquals(225_000_000L, input.readLong());
+            assertEquals(80_000, input.readInt());
+            assertEquals(229_876_543L, input.readLong());
+            assertEquals(81_000, input.readInt());
+            assertEquals(2, input.readLong());
+            assertEquals(BinaryResultSink.STATUS_ERROR, input.readByte());
+            assertEquals(ErrorMessages.withoutPrefix(ErrorMessages.INVALID_TENOR), input.readUTF());
+            assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    void results_AreBufferedUntilFlush() throws IOException {
+        ResultSink resultSink = new ResultSinkFactory(1024).open(OutputFormat.CSV, null);
+        resultSink.writeResult(1, SCHEDULE);
+        assertEquals(0, outputStream.size());
+
+        resultSink.flush();
+        assertEquals("1,OK,2250000.00,8.0,2298765.43,8.1\n", outputStream.toString());
+    }
+
+    @Test
+    void factory_InvalidBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ResultSinkFactory(0));
+    }
+
+    @Test
+    void outputFormat_ParsesLeniently() {
+        assertEquals(OutputFormat.JSON_LINES, OutputFormat.parse(" json-lines "));
+        assertEquals(OutputFormat.BINARY, OutputFormat.parse("Binary"));
+        assertThrows(IllegalArgumentException.class, () -> OutputFormat.parse("xml"));
+    }
+}
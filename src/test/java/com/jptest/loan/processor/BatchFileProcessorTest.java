@@ -0,0 +1,533 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.output.RejectWriter;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.record.BinaryRecordReader;
+import com.jptest.loan.record.BinaryRecordType;
+import com.jptest.loan.record.BinaryRecordWriter;
+import com.jptest.loan.record.ScheduleRecord;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.validator.LoanValidationEngine;
+import com.jptest.loan.validator.ValidationRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link BatchFileProcessor} class.
+ * This class contains tests to verify that multi-record CSV and JSON Lines batch files
+ * are streamed in chunks, producing exactly one result line per input record,
+ * and that invalid records are reported without stopping the batch.
+ */
+@Tag("processor")
+@ExtendWith(MockitoExtension.class)
+public class BatchFileProcessorTest {
+
+    private static final int CURRENT_YEAR = Year.now().getValue();
+
+    @Mock
+    private LoanCalculatorService loanCalculatorService;
+
+    private BatchFileProcessor batchFileProcessor;
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        batchFileProcessor = new BatchFileProcessor(loanCalculatorService,
+                new LoanValidationEngine(Clock.systemDefaultZone(), interestRateTable));
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @Test
+    void testProcessBatch_CsvWritesOneResultPerRecord() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, BatchFileProcessor.CSV_HEADER + "\n"
+                + "car,new," + CURRENT_YEAR + ",100000000,1,25000000\n"
+                + "plane,new," + CURRENT_YEAR + ",100000000,1,25000000\n"
+                + "\n"
+                + "motorcycle,new," + CURRENT_YEAR + ",not-a-number,1,25000000\n"
+                + "car,new," + CURRENT_YEAR + ",100000000,1,25000000\n");
+        Path output = tempDir.resolve("results.csv");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        List<String> results = Files.readAllLines(output);
+        // Assert that every non-blank record produced exactly one result line, in input order
+        assertEquals(4, results.size());
+        assertEquals("2,OK,2250000.00,8.0", results.get(0));
+        assertTrue(results.get(1).startsWith("3,ERROR,"));
+        assertTrue(results.get(2).startsWith("5,ERROR,"));
+        assertEquals("6,OK,2250000.00,8.0", results.get(3));
+        // Assert that the summary is printed when results go to a file
+        assertTrue(outputStream.toString().contains("Processed 4 records: 2 succeeded, 2 failed"));
+
+        // Verify that only the valid records reached the loanCalculatorService, in a single batch call
+        verify(loanCalculatorService, times(1)).calculateMonthlyInstallments(argThat(loanRequests -> loanRequests.size() == 2), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testProcessBatch_JsonLinesToConsole() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        Path input = tempDir.resolve("loans.jsonl");
+        Files.writeString(input,
+                "{\"vehicleType\":\"car\",\"vehicleCondition\":\"new\",\"vehicleYear\":" + CURRENT_YEAR
+                        + ",\"loanAmount\":100000000,\"loanTenor\":1,\"downPayment\":1000}\n"
+                        + "{\"vehicleType\":\"car\",\"vehicleCondition\":\"new\",\"vehicleYear\":" + CURRENT_YEAR
+                        + ",\"loanAmount\":100000000,\"loanTenor\":1,\"downPayment\":25000000}\n");
+
+        batchFileProcessor.processBatch(input.toString(), null);
+
+        String[] results = outputStream.toString().split("\n");
+        // Assert that the rejected and the calculated record are both reported on the console
+        assertEquals(2, results.length);
+        assertTrue(results[0].contains("\"status\":\"ERROR\"") && results[0].contains("Down payment below allowable minimum."));
+        assertEquals("{\"record\":2,\"status\":\"OK\",\"rateVersion\":1,\"installments\":[{\"year\":1,\"amount\":2250000.00,\"rate\":8.0}]}", results[1]);
+    }
+
+    @Test
+    void testProcessBatch_ConfiguredOutputFormat() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        ReflectionTestUtils.setField(batchFileProcessor, "outputFormat", "json-lines");
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, "car,new," + CURRENT_YEAR + ",100000000,1,25000000\n");
+        Path output = tempDir.resolve("results.jsonl");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        // Assert that the CSV records are written back as JSON Lines
+        assertEquals(List.of("{\"record\":1,\"status\":\"OK\",\"rateVersion\":1,\"installments\":[{\"year\":1,\"amount\":2250000.00,\"rate\":8.0}]}"),
+                Files.readAllLines(output));
+    }
+
+    @Test
+    void testProcessBatch_LineByLineCsv() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        ReflectionTestUtils.setField(batchFileProcessor, "mappedInput", false);
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, BatchFileProcessor.CSV_HEADER + "\n"
+                + "car,new," + CURRENT_YEAR + ",100000000,1,25000000\n"
+                + "car,new," + CURRENT_YEAR + ",100000000,9,25000000\n");
+        Path output = tempDir.resolve("results.csv");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        List<String> results = Files.readAllLines(output);
+        // Assert that the line by line reader produces the same results as the memory-mapped one
+        assertEquals(2, results.size());
+        assertEquals("2,OK,2250000.00,8.0", results.get(0));
+        assertTrue(results.get(1).startsWith("3,ERROR,"));
+    }
+
+    @Test
+    void testProcessBatch_BinaryRequestsToFixedWidthSchedules() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        Path input = tempDir.resolve("loans.lrq");
+        try (BinaryRecordWriter<LoanRequest> writer = BinaryRecordWriter.open(BinaryRecordType.LOAN_REQUEST, input)) {
+            writer.write(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, CURRENT_YEAR, 100000000, 1, 25000000));
+            writer.write(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, CURRENT_YEAR, 100000000, 9, 25000000));
+        }
+        Path output = tempDir.resolve("results.lsc");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        // Assert that binary requests produce fixed-width schedules, keeping the violation mask of rejected records
+        try (BinaryRecordReader<ScheduleRecord> reader = BinaryRecordReader.open(BinaryRecordType.SCHEDULE, output)) {
+            assertEquals(2, reader.size());
+            ScheduleRecord calculated = reader.next();
+            assertEquals(ScheduleRecord.Status.OK, calculated.status());
+            assertEquals(new BigDecimal("2250000.00"), calculated.monthlyInstallment().get(0).amount());
+            assertEquals(ScheduleRecord.invalid(2, ValidationRule.LOAN_TENOR.bit()), reader.next());
+        }
+    }
+
+    @Test
+    void testProcessBatch_CalculatesInChunks() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        ReflectionTestUtils.setField(batchFileProcessor, "chunkSize", 2);
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, ("car,new," + CURRENT_YEAR + ",100000000,1,25000000\n").repeat(5));
+        Path output = tempDir.resolve("results.csv");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        List<String> results = Files.readAllLines(output);
+        // Assert that the chunks are written back in input order
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals((i + 1) + ",OK,2250000.00,8.0", results.get(i));
+        }
+        // Verify that the records were calculated in 3 chunks of at most 2 records
+        verify(loanCalculatorService, times(3)).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testProcessBatch_PicksUpReloadedRatesBetweenChunks() throws IOException {
+        List<Long> rateVersions = new ArrayList<>();
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> {
+            RateSnapshot rateSnapshot = invocation.getArgument(1);
+            rateVersions.add(rateSnapshot.version());
+            // Reload the rates with a higher minimum down payment while the first chunk is calculated
+            interestRateTable.publish(rateSnapshot.next(new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"),
+                    new BigDecimal("0.5"), new BigDecimal("30")));
+            return stubSchedules(invocation.getArgument(0));
+        });
+        ReflectionTestUtils.setField(batchFileProcessor, "chunkSize", 2);
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, ("car,new," + CURRENT_YEAR + ",100000000,1,25000000\n").repeat(4));
+        Path output = tempDir.resolve("results.csv");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        List<String> results = Files.readAllLines(output);
+        // Assert that the first chunk is validated and calculated with the rates it started with, and the second
+        // chunk is validated with the reloaded rates, which reject its down payments
+        assertEquals("1,OK,2250000.00,8.0", results.get(0));
+        assertEquals("2,OK,2250000.00,8.0", results.get(1));
+        assertTrue(results.get(2).startsWith("3,ERROR,"));
+        assertTrue(results.get(3).startsWith("4,ERROR,"));
+        assertEquals(List.of(RateSnapshot.INITIAL_VERSION), rateVersions);
+    }
+
+    @Test
+    void testProcessBatch_FallsBackToSingleRecordOnBatchFailure() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenThrow(new IllegalArgumentException("Invalid loan tenor"));
+        when(loanCalculatorService.calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class)))
+                .thenReturn(List.of(new MonthlyInstallmentRatePair(new BigDecimal("2250000.00"), new BigDecimal(8), 1)))
+                .thenThrow(new IllegalArgumentException("Invalid loan tenor"));
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, ("car,new," + CURRENT_YEAR + ",100000000,1,25000000\n").repeat(2));
+        Path output = tempDir.resolve("results.csv");
+
+        batchFileProcessor.processBatch(input.toString(), output.toString());
+
+        List<String> results = Files.readAllLines(output);
+        // Assert that only the failing record is reported as an error
+        assertEquals(List.of("1,OK,2250000.00,8.0", "2,ERROR,\"Invalid loan tenor\""), results);
+    }
+
+    @Test
+    void testProcessBatch_ResumesFromCheckpoint() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class)))
+                .thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)))
+                .thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("Interrupted"));
+        ReflectionTestUtils.setField(batchFileProcessor, "chunkSize", 2);
+        ReflectionTestUtils.setField(batchFileProcessor, "checkpointInterval", Duration.ZERO);
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, ("car,new," + CURRENT_YEAR + ",100000000,1,25000000\n").repeat(5));
+        Path output = tempDir.resolve("results.csv");
+        Path checkpoint = tempDir.resolve("results.csv" + BatchCheckpoint.SUFFIX);
+
+        // Interrupt the batch while it calculates the last chunk, leaving a partially written result behind
+        assertThrows(IllegalStateException.class, () -> batchFileProcessor.processBatch(input.toString(), output.toString()));
+        assertTrue(Files.exists(checkpoint));
+        Files.writeString(output, "5,OK,22", StandardOpenOption.APPEND);
+
+        // Assert that the checkpoint of another output format is rejected
+        ReflectionTestUtils.setField(batchFileProcessor, "outputFormat", "json-lines");
+        batchFileProcessor.processBatch(input.toString(), output.toString(), true);
+        assertTrue(outputStream.toString().contains(ErrorMessages.CHECKPOINT_MISMATCH));
+
+        ReflectionTestUtils.setField(batchFileProcessor, "outputFormat", "");
+        doAnswer(invocation -> stubSchedules(invocation.getArgument(0))).when(loanCalculatorService).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+        batchFileProcessor.processBatch(input.toString(), output.toString(), true);
+
+        List<String> results = Files.readAllLines(output);
+        // Assert that every record has exactly one result once resumed, and the checkpoint is removed
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals((i + 1) + ",OK,2250000.00,8.0", results.get(i));
+        }
+        assertTrue(outputStream.toString().contains("Processed 5 records: 5 succeeded, 0 failed"));
+        assertFalse(Files.exists(checkpoint));
+        // Verify that the resumed run only calculated the record after the checkpoint: 2 committed chunks,
+        // the interrupted chunk and the resumed one
+        verify(loanCalculatorService, times(4)).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testProcessBatch_ResumeWithoutOutputFile() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, "car,new," + CURRENT_YEAR + ",100000000,1,25000000\n");
+
+        batchFileProcessor.processBatch(input.toString(), null, true);
+
+        // Assert that a console batch cannot be resumed and nothing is calculated
+        assertTrue(outputStream.toString().contains(ErrorMessages.RESUME_WITHOUT_OUTPUT_FILE));
+        verify(loanCalculatorService, never()).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testProcessBatch_UnsupportedFormat() {
+        batchFileProcessor.processBatch("loans.txt", null);
+
+        // Assert that the unsupported extension is reported and nothing is calculated
+        assertTrue(outputStream.toString().contains("Unsupported batch file format"));
+        verify(loanCalculatorService, never())
+                .calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testProcessBatch_FileNotFound() {
+        String invalidFilePath = tempDir.resolve("missing.csv").toString();
+
+        batchFileProcessor.processBatch(invalidFilePath, null);
+
+        // Assert that the output stream contains the error message for file not found
+        assertTrue(outputStream.toString().contains(ErrorMessages.COULD_NOT_READ_FILE + invalidFilePath));
+    }
+
+    @Test
+    void testProcessBatch_WritesRejectFile() throws IOException {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        Path input = writeRejectedRecords();
+        Path rejects = tempDir.resolve("rejects.csv");
+        ReflectionTestUtils.setField(batchFileProcessor, "rejectFile", rejects.toString());
+
+        batchFileProcessor.processBatch(input.toString(), tempDir.resolve("results.csv").toString());
+
+        // Assert that every rejected record is listed with its line, field and error code, and the batch continued
+        assertEquals(expectedRejects(), Files.readAllLines(rejects));
+        assertTrue(outputStream.toString().contains("Processed 4 records: 1 succeeded, 3 failed"));
+    }
+
+    @Test
+    void testValidateBatch_WritesRejectsWithoutCalculating() throws IOException {
+        Path input = writeRejectedRecords();
+        Path rejects = tempDir.resolve("rejects.csv");
+
+        batchFileProcessor.validateBatch(input.toString(), rejects.toString());
+
+        // Assert that the dry run writes the same rejects as a full run, counts the records and calculates nothing
+        assertEquals(expectedRejects(), Files.readAllLines(rejects));
+        assertTrue(outputStream.toString().contains("Validated 4 records: 1 valid, 3 rejected"));
+        verify(loanCalculatorService, never()).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testValidateBatch_LineByLineToConsole() throws IOException {
+        ReflectionTestUtils.setField(batchFileProcessor, "mappedInput", false);
+        Path input = writeRejectedRecords();
+
+        batchFileProcessor.validateBatch(input.toString(), null);
+
+        // Assert that without a reject file the rejects are written to the console
+        assertTrue(outputStream.toString().contains(String.join("\n", expectedRejects())));
+        assertTrue(outputStream.toString().contains("Validated 4 records: 1 valid, 3 rejected"));
+    }
+
+    @Test
+    void testProcessStream_FlushesWhenNoMoreInputIsAvailable() {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        List<Integer> resultsBeforeRead = new ArrayList<>();
+        BurstInputStream input = new BurstInputStream(BatchFileProcessor.CSV_HEADER + "\n"
+                + ("car,new," + CURRENT_YEAR + ",100000000,1,25000000\n").repeat(2)
+                + "car,new," + CURRENT_YEAR + ",100000000,1,1000\n", 1,
+                () -> resultsBeforeRead.add(outputStream.toString().split("\n", -1).length - 1));
+
+        batchFileProcessor.processStream(input, null);
+
+        // Assert that one CSV result is written per record, numbered by its line in the stream
+        String[] results = outputStream.toString().split("\n");
+        assertEquals(3, results.length);
+        assertEquals("2,OK,2250000.00,8.0", results[0]);
+        assertEquals("3,OK,2250000.00,8.0", results[1]);
+        assertTrue(results[2].startsWith("4,ERROR,") && results[2].contains("Down payment below allowable minimum."));
+        // Assert that the result of every record was flushed before the next record was read
+        assertEquals(List.of(0, 0, 1, 2, 3), resultsBeforeRead);
+    }
+
+    @Test
+    void testProcessStream_FlushesAfterFlushSize() {
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> stubSchedules(invocation.getArgument(0)));
+        ReflectionTestUtils.setField(batchFileProcessor, "streamFlushSize", 2);
+        String records = ("{\"vehicleType\":\"car\",\"vehicleCondition\":\"new\",\"vehicleYear\":" + CURRENT_YEAR
+                + ",\"loanAmount\":100000000,\"loanTenor\":1,\"downPayment\":25000000}\n").repeat(5);
+
+        batchFileProcessor.processStream(new ByteArrayInputStream(records.getBytes(StandardCharsets.UTF_8)), "json-lines");
+
+        // Assert that the JSON Lines records are written back as JSON Lines, in input order
+        String[] results = outputStream.toString().split("\n");
+        assertEquals(5, results.length);
+        assertEquals("{\"record\":5,\"status\":\"OK\",\"rateVersion\":1,\"installments\":[{\"year\":1,\"amount\":2250000.00,\"rate\":8.0}]}", results[4]);
+        // Verify that input available in advance is calculated in batches of the flush size
+        verify(loanCalculatorService, times(3)).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testProcessStream_FlushesAtEndOfBurst() {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(loanCalculatorService.calculateMonthlyInstallments(anyList(), any(RateSnapshot.class))).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<LoanRequest>>getArgument(0).size());
+            return stubSchedules(invocation.getArgument(0));
+        });
+        ReflectionTestUtils.setField(batchFileProcessor, "streamFlushSize", 2);
+        List<Integer> resultsBeforeRead = new ArrayList<>();
+        BurstInputStream input = new BurstInputStream(("car,new," + CURRENT_YEAR + ",100000000,1,25000000\n").repeat(5), 3,
+                () -> resultsBeforeRead.add(outputStream.toString().split("\n", -1).length - 1));
+
+        batchFileProcessor.processStream(input, null);
+
+        // Assert that the results of a burst are flushed before the next burst is read
+        assertEquals(5, outputStream.toString().split("\n").length);
+        assertEquals(List.of(0, 3, 5), resultsBeforeRead);
+        // Assert that pending input within a burst only flushes at the flush size, and that the end of a burst flushes early
+        assertEquals(List.of(2, 1, 2), batchSizes);
+    }
+
+    @Test
+    void testProcessStream_UnsupportedFormat() {
+        batchFileProcessor.processStream(new ByteArrayInputStream(new byte[0]), "binary");
+
+        // Assert that binary records cannot be streamed and nothing is calculated
+        assertTrue(outputStream.toString().contains("Unsupported stream record format: binary"));
+        verify(loanCalculatorService, never()).calculateMonthlyInstallments(anyList(), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testParseCsv_WrongFieldCount() {
+        // Assert that records with a missing or an extra field are rejected as invalid input format
+        assertTrue(isRejected("car,new,2024,100000000,1"));
+        assertTrue(isRejected("car,new,2024,100000000,1,25000000,promo,1"));
+        assertEquals(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100000000, 1, 25000000),
+                batchFileProcessor.parseCsv(" car , new ,2024,100000000,1,25000000"));
+    }
+
+    @Test
+    void testParseCsv_InvalidFields() {
+        InvalidRecordException e = assertThrows(InvalidRecordException.class,
+                () -> batchFileProcessor.parseCsv("car,new,20x4,100000000,1,abc"));
+
+        // Assert that every numeric field that cannot be parsed is named
+        assertEquals(List.of("vehicle_year", "down_payment"), e.fields());
+        assertEquals(List.of(), assertThrows(InvalidRecordException.class,
+                () -> batchFileProcessor.parseCsv("car,new,2024")).fields());
+    }
+
+    @Test
+    void testParseCsv_DealerProgramme() {
+        DealerProgramme dealerProgramme = DealerProgramme.configured("csv-promo");
+
+        // Assert that the optional seventh field is the dealer programme, and that a blank one is the standard programme
+        assertEquals(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100000000, 1, 25000000, dealerProgramme),
+                batchFileProcessor.parseCsv("car,new,2024,100000000,1,25000000, CSV-Promo "));
+        assertEquals(DealerProgramme.STANDARD, batchFileProcessor.parseCsv("car,new,2024,100000000,1,25000000, ").dealerProgramme());
+        assertEquals("other", batchFileProcessor.parseCsv("car,new,2024,100000000,1,25000000,other").dealerProgramme().name());
+        assertTrue(BatchFileProcessor.isCsvHeader(BatchFileProcessor.CSV_HEADER_WITH_PROGRAMME.toUpperCase()));
+    }
+
+    private static List<List<MonthlyInstallmentRatePair>> stubSchedules(List<LoanRequest> loanRequests) {
+        return loanRequests.stream()
+                .map(loanRequest -> List.of(new MonthlyInstallmentRatePair(new BigDecimal("2250000.00"), new BigDecimal(8), 1)))
+                .toList();
+    }
+
+    private Path writeRejectedRecords() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, BatchFileProcessor.CSV_HEADER + "\n"
+                + "car,new," + CURRENT_YEAR + ",100000000,1,25000000\n"
+                + "car,new," + CURRENT_YEAR + ",100000000,7,25000000\n"
+                + "car,new," + CURRENT_YEAR + ",lots,x,25000000\n"
+                + "car,new," + CURRENT_YEAR + "\n");
+        return input;
+    }
+
+    private static List<String> expectedRejects() {
+        String invalidInputFormat = "INVALID_INPUT_FORMAT,\"" + ErrorMessages.withoutPrefix(ErrorMessages.INVALID_INPUT_FORMAT) + "\"";
+        return List.of(RejectWriter.HEADER,
+                "3,loan_tenor,LOAN_TENOR,\"" + ErrorMessages.withoutPrefix(ErrorMessages.INVALID_TENOR) + "\"",
+                "4,loan_amount," + invalidInputFormat,
+                "4,loan_tenor," + invalidInputFormat,
+                "5,," + invalidInputFormat);
+    }
+
+    private boolean isRejected(String record) {
+        try {
+            batchFileProcessor.parseCsv(record);
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Stream delivering at most a given number of lines per read and never reporting further available input, like a
+     * producer writing records to a pipe in bursts. Runs a callback before every read.
+     */
+    private static final class BurstInputStream extends ByteArrayInputStream {
+
+        private final int linesPerRead;
+        private final Runnable beforeRead;
+
+        BurstInputStream(String lines, int linesPerRead, Runnable beforeRead) {
+            super(lines.getBytes(StandardCharsets.UTF_8));
+            this.linesPerRead = linesPerRead;
+            this.beforeRead = beforeRead;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            beforeRead.run();
+            int end = pos;
+            for (int lines = 0; lines < linesPerRead && end < count; lines++) {
+                while (end < count && buf[end++] != '\n') {
+                    // Find the end of the next line
+                }
+            }
+            return super.read(b, off, Math.min(len, Math.max(end - pos, 1)));
+        }
+
+        @Override
+        public synchronized int available() {
+            return 0;
+        }
+    }
+}
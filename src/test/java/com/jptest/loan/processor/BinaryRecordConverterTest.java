@@ -0,0 +1,92 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.record.BinaryRecordReader;
+import com.jptest.loan.record.BinaryRecordType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link BinaryRecordConverter} class.
+ * This class verifies that 6-line input files and CSV batch files are converted to binary loan requests,
+ * and that records which cannot be parsed are reported and skipped.
+ */
+@Tag("processor")
+class BinaryRecordConverterTest {
+
+    private final BinaryRecordConverter binaryRecordConverter = new BinaryRecordConverter();
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream console = System.out;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(console);
+    }
+
+    @Test
+    void convert_CsvBatchFile() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, BatchFileProcessor.CSV_HEADER + "\n"
+                + "car,new,2024,100000000,3,25000000\n"
+                + "car,new,2024,not-a-number,3,25000000\n"
+                + "plane,old,2010,50000000.5,9,1000\n");
+        Path output = tempDir.resolve("loans.lrq");
+
+        binaryRecordConverter.convert(input.toString(), output.toString());
+
+        try (BinaryRecordReader<LoanRequest> reader = BinaryRecordReader.open(BinaryRecordType.LOAN_REQUEST, output)) {
+            // Assert that invalid requests are converted as they are, and only unparseable records are skipped
+            assertEquals(2, reader.size());
+            assertEquals(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100000000, 3, 25000000), reader.next());
+            assertEquals(new LoanRequest(null, VehicleCondition.OLD, 2010, 50000000.5, 9, 1000), reader.next());
+        }
+        assertTrue(outputStream.toString().contains(ErrorMessages.INVALID_INPUT_FORMAT + " Line: 3"));
+        assertTrue(outputStream.toString().contains("Converted 2 records: 1 skipped"));
+    }
+
+    @Test
+    void convert_SixLineInputFile() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Files.writeString(input, "motorcycle\nold\n2020\n50000000\n4\n15000000\n");
+        Path output = tempDir.resolve("loans.lrq");
+
+        binaryRecordConverter.convert(input.toString(), output.toString());
+
+        try (BinaryRecordReader<LoanRequest> reader = BinaryRecordReader.open(BinaryRecordType.LOAN_REQUEST, output)) {
+            assertEquals(new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.OLD, 2020, 50000000, 4, 15000000), reader.get(0));
+        }
+    }
+
+    @Test
+    void convert_MissingInputFile() {
+        String inputPath = tempDir.resolve("missing.csv").toString();
+
+        binaryRecordConverter.convert(inputPath, tempDir.resolve("loans.lrq").toString());
+
+        assertTrue(outputStream.toString().contains(ErrorMessages.COULD_NOT_READ_FILE + inputPath));
+    }
+}
@@ -1,15 +1,17 @@
 package com.jptest.loan.processor;
 
 import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
 import com.jptest.loan.service.LoanCalculatorService;
-import com.jptest.loan.validator.LoanValidator;
+import com.jptest.loan.validator.LoanValidationEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -17,8 +19,11 @@ import java.io.PrintStream;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -35,8 +40,6 @@ public class FileInputProcessorTest {
     @Mock
     private LoanCalculatorService loanCalculatorService;
 
-    private LoanValidator loanValidator;
-
     private FileInputProcessor fileInputProcessor;
 
     private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -45,12 +48,12 @@ public class FileInputProcessorTest {
 
     @BeforeEach
     void setUp() throws IOException {
-        fileInputProcessor = new FileInputProcessor(loanCalculatorService, new LoanValidator());
+        // Fix the clock so that the 2024 'new' vehicle of the input file stays valid
+        Clock clock = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC);
+        fileInputProcessor = new FileInputProcessor(loanCalculatorService, new LoanValidationEngine(clock, new InterestRateTable(
+                new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"))));
         System.setOut(new PrintStream(outputStream));
 
-        // Set minimumDownPaymentRate using reflection to bypass constructor injection
-        ReflectionTestUtils.setField(fileInputProcessor, "minimumDownPaymentRate", new BigDecimal("25"));
-
         // Create a valid input file for testing with loan details
         String content = "car\nnew\n2024\n100000\n5\n35000";
         Files.write(Paths.get(validFilePath), content.getBytes());
@@ -63,7 +66,7 @@ public class FileInputProcessorTest {
 
         // Verify that the loanCalculatorService's calculateMonthlyInstallment method is called exactly once
         verify(loanCalculatorService, times(1))
-                .calculateMonthlyInstallment(anyString(), anyString(), anyInt(), anyDouble(), anyInt(), anyDouble());
+                .calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
 
         // Assert that the output stream is either empty (no errors) or contains a newline character (standard output)
         assertTrue(outputStream.toString().isEmpty() || outputStream.toString().contains("\n"));
@@ -79,7 +82,7 @@ public class FileInputProcessorTest {
         assertTrue(outputStream.toString().contains(ErrorMessages.COULD_NOT_READ_FILE + invalidFilePath));
 
         // Verify that loanCalculatorService is never called, as file processing should halt before service invocation
-        verify(loanCalculatorService, never()).calculateMonthlyInstallment(anyString(), anyString(), anyInt(), anyDouble(), anyInt(), anyDouble());
+        verify(loanCalculatorService, never()).calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
     }
 
     @Test
@@ -94,7 +97,7 @@ public class FileInputProcessorTest {
         Files.deleteIfExists(Paths.get(invalidFormatFilePath)); // Clean up the test file after test execution
 
         // Verify that loanCalculatorService is never called due to format validation failure
-        verify(loanCalculatorService, never()).calculateMonthlyInstallment(anyString(), anyString(), anyInt(), anyDouble(), anyInt(), anyDouble());
+        verify(loanCalculatorService, never()).calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
     }
 
     @Test
@@ -110,19 +113,27 @@ public class FileInputProcessorTest {
         Files.deleteIfExists(Paths.get(invalidDataFilePath)); // Clean up the test file
 
         // Verify that loanCalculatorService is never called due to data validation failure
-        verify(loanCalculatorService, never()).calculateMonthlyInstallment(anyString(), anyString(), anyInt(), anyDouble(), anyInt(), anyDouble());
+        verify(loanCalculatorService, never()).calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
     }
 
     @Test
-    void testGetDownPaymentAmount_Valid() {
-        double downPayment = 25000000;
-
-        // Calculate down payment amount using the method
-        double downPaymentAmount = fileInputProcessor.getDownPaymentAmount(downPayment, new BigDecimal(100_000_000));
-        // Assert that the calculated down payment amount is correctly 25,000,000
-        assertEquals(25_000_000, downPaymentAmount);
-        // Assert that the output stream is empty, indicating no errors or outputs during down payment calculation
-        assertTrue(outputStream.toString().isEmpty());
+    void testProcessInput_ReportsEveryInvalidParameter() throws IOException {
+        String invalidDataFilePath = "invalid_data_input.txt";
+        String content = "invalid_type\nnew\n2024\n100000\n9\n10000"; // Invalid vehicle type, tenor and down payment
+        Files.write(Paths.get(invalidDataFilePath), content.getBytes());
+        fileInputProcessor.processFile(invalidDataFilePath);
+
+        // Assert that the error message of every invalid parameter is printed in a single run
+        String output = outputStream.toString();
+        assertTrue(output.contains(ErrorMessages.INVALID_VEHICLE_TYPE));
+        assertTrue(output.contains(ErrorMessages.INVALID_TENOR));
+        assertTrue(output.contains(ErrorMessages.INVALID_DOWN_PAYMENT_AMOUNT));
+        assertFalse(output.contains(ErrorMessages.INVALID_LOAN_AMOUNT));
+
+        Files.deleteIfExists(Paths.get(invalidDataFilePath)); // Clean up the test file
+
+        // Verify that loanCalculatorService is never called due to data validation failure
+        verify(loanCalculatorService, never()).calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
     }
 
     void tearDown() throws IOException {
@@ -2,6 +2,9 @@ package com.jptest.loan.processor;
 
 import com.jptest.loan.constant.AppConstant;
 import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
 import com.jptest.loan.service.LoanCalculatorService;
 import com.jptest.loan.validator.LoanValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +13,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Scanner;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +35,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 public class ManualInputProcessorTest {
 
-    private BigDecimal minimumDownPaymentRate;
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
 
     @Mock
     private LoanCalculatorService loanCalculatorService;
@@ -43,11 +49,10 @@ public class ManualInputProcessorTest {
 
     @BeforeEach
     void setUp() {
-        manualInputProcessor = new ManualInputProcessor(loanCalculatorService, new LoanValidator());
+        // The current year is fixed, so the vehicle year tests do not depend on the system clock
+        loanValidator = new LoanValidator(Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC));
+        manualInputProcessor = new ManualInputProcessor(loanCalculatorService, loanValidator, interestRateTable);
         System.setOut(new PrintStream(outputStream));
-
-        // Set minimumDownPaymentRate using reflection to simulate configuration
-        ReflectionTestUtils.setField(manualInputProcessor, "minimumDownPaymentRate", new BigDecimal("25"));
     }
 
     @Test
@@ -55,18 +60,18 @@ public class ManualInputProcessorTest {
         outputStream.reset(); // Clear output stream to capture new output
         Scanner scanner = new Scanner("car\n"); // Simulate user input of 'car'
 
-        String vehicleType = manualInputProcessor.getVehicleType(scanner);
+        VehicleType vehicleType = manualInputProcessor.getVehicleType(scanner);
         // Assert that no error message is printed (input is valid)
         assertTrue(outputStream.toString().isEmpty());
         // Assert that the method correctly returns the valid vehicle type 'car'
-        assertEquals("car", vehicleType);
+        assertEquals(VehicleType.CAR, vehicleType);
     }
 
     @Test
     void testGetVehicleType_Invalid() {
         Scanner scanner = new Scanner("plane\n"); // Simulate user input of 'plane' (invalid)
 
-        String vehicleType = manualInputProcessor.getVehicleType(scanner);
+        VehicleType vehicleType = manualInputProcessor.getVehicleType(scanner);
         // Assert that an error message for invalid vehicle type is printed to the output stream
         assertTrue(outputStream.toString().contains(ErrorMessages.INVALID_VEHICLE_TYPE));
         // Assert that the method returns null for invalid input
@@ -77,7 +82,7 @@ public class ManualInputProcessorTest {
     void testGetVehicleYearWithNewVehicle_Valid() {
         Scanner scanner = new Scanner("2024\n"); // Simulate user input of '2024' (valid year)
 
-        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, AppConstant.NEW_VEHICLE);
+        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, VehicleCondition.NEW);
         // Assert that no error message is printed for valid year input
         assertTrue(outputStream.toString().isEmpty());
         // Assert that the method correctly parses and returns the year 2024 as double
@@ -88,7 +93,7 @@ public class ManualInputProcessorTest {
     void testGetVehicleYearWithNewVehicle_NotYear_Invalid() {
         Scanner scanner = new Scanner("43\n"); // Simulate user input of '43' (invalid year format)
 
-        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, AppConstant.NEW_VEHICLE);
+        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, VehicleCondition.NEW);
         // Assert that an error message for invalid year format (4 digits expected) is printed
         assertTrue(outputStream.toString().contains(ErrorMessages.INVALID_YEAR_4_DIGIT));
         // Assert that the method returns -1 for invalid year format
@@ -99,7 +104,7 @@ public class ManualInputProcessorTest {
     void testGetVehicleYearWithNewVehicle_Two_Years_Ago_Invalid() {
         Scanner scanner = new Scanner("2023\n"); // Simulate user input of '2023' (invalid for new vehicle)
 
-        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, AppConstant.NEW_VEHICLE);
+        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, VehicleCondition.NEW);
         // Assert that an error message for invalid vehicle condition with year is printed
         assertTrue(outputStream.toString().contains(ErrorMessages.INVALID_VEHICLE_CONDITION_WITH_YEAR));
         // Assert that the method returns -1 when year is invalid for the given vehicle condition
@@ -110,7 +115,7 @@ public class ManualInputProcessorTest {
     void testGetVehicleYearWithNewVehicle_FutureYear_Invalid() {
         Scanner scanner = new Scanner("2026\n"); // Simulate user input of '2026' (future year - invalid)
 
-        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, AppConstant.NEW_VEHICLE);
+        double vehicleYear = manualInputProcessor.getVehicleYear(scanner, VehicleCondition.NEW);
         // Assert that error message for invalid future year is printed
         assertTrue(outputStream.toString().contains(ErrorMessages.INVALID_YEAR_COMPARE_CURRENT_YEAR));
         // Assert that method returns -1 for future year input
@@ -121,18 +126,18 @@ public class ManualInputProcessorTest {
     void testGetVehicleCondition_Valid() {
         Scanner scanner = new Scanner(AppConstant.NEW_VEHICLE+"\n"); // Simulate valid input 'new'
 
-        String vehicleCondition = manualInputProcessor.getVehicleCondition(scanner);
+        VehicleCondition vehicleCondition = manualInputProcessor.getVehicleCondition(scanner);
         // Assert that no error message is printed for valid vehicle condition
         assertTrue(outputStream.toString().isEmpty());
         // Assert that the method correctly returns the valid vehicle condition 'new'
-        assertEquals(AppConstant.NEW_VEHICLE, vehicleCondition);
+        assertEquals(VehicleCondition.NEW, vehicleCondition);
     }
 
     @Test
     void testGetVehicleCondition_Invalid() {
         Scanner scanner = new Scanner("testCondition\n"); // Simulate invalid condition input
 
-        String vehicleCondition = manualInputProcessor.getVehicleCondition(scanner);
+        VehicleCondition vehicleCondition = manualInputProcessor.getVehicleCondition(scanner);
         // Assert that error message for invalid vehicle condition is printed
         assertTrue(outputStream.toString().contains(ErrorMessages.INVALID_VEHICLE_CONDITION));
         // Assert that the method returns null for invalid vehicle condition
@@ -165,7 +170,7 @@ public class ManualInputProcessorTest {
     void testGetDownPaymentAmount_Valid() {
         Scanner scanner = new Scanner("25000000\n"); // Valid down payment input
 
-        double downPaymentAmount = manualInputProcessor.getDownPaymentAmount(scanner, new BigDecimal(100_000_000));
+        double downPaymentAmount = manualInputProcessor.getDownPaymentAmount(scanner, new BigDecimal(100_000_000), interestRateTable.snapshot().minimumDownPaymentRate());
         // Assert that down payment amount is correctly calculated based on loan amount
         assertEquals(25_000_000, downPaymentAmount);
         // Assert no error message for valid down payment
@@ -176,7 +181,7 @@ public class ManualInputProcessorTest {
     void testGetDownPaymentAmount_Invalid() {
         Scanner scanner = new Scanner("24999999\n"); // Invalid down payment (below minimum rate)
 
-        double downPaymentAmount = manualInputProcessor.getDownPaymentAmount(scanner, new BigDecimal(100_000_000));
+        double downPaymentAmount = manualInputProcessor.getDownPaymentAmount(scanner, new BigDecimal(100_000_000), interestRateTable.snapshot().minimumDownPaymentRate());
         // Assert that down payment amount is -1, indicating invalid input
         assertEquals(-1, downPaymentAmount);
         // Assert error message for invalid down payment (below minimum required) is printed
@@ -0,0 +1,141 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link MappedRecordReader} class.
+ * This class verifies that records parsed from the mapped bytes are identical to the records parsed
+ * line by line with {@link BatchFileProcessor#parseCsv(String)}, across window boundaries.
+ */
+@Tag("processor")
+class MappedRecordReaderTest {
+
+    private static final List<String> RECORDS = List.of(
+            "car,new,2024,100000000,3,25000000",
+            "  Motorcycle , OLD ,2010, 50000000.5 ,6, 12500000.25 ",
+            "plane,used,-12,+0.1,+4,-0",
+            "car,new,2024,1e8,3,2.5E7",
+            "car,new,2024,123456789012345678901234,3,0.12345678901234567",
+            "car,new,2024,9007199254740993.5,3,.5",
+            "car,new,2024,5.,3,25000000",
+            "car,new,2024,100000000,3,25000000, Mapped-Promo ",
+            "car,new,2024,100000000,3,25000000,");
+
+    private final BatchFileProcessor batchFileProcessor = new BatchFileProcessor(null,
+            new LoanValidationEngine(Clock.systemDefaultZone(), new InterestRateTable(
+                    new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"))));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parse_MatchesStringParser() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, String.join("\n", RECORDS));
+
+        // Assert that every window size, including windows smaller than a record, reads the same records
+        for (int windowSize : new int[]{1, 7, 64, MappedRecordReader.DEFAULT_WINDOW_SIZE}) {
+            assertEquals(parseLines(RECORDS), readAll(input, windowSize));
+        }
+    }
+
+    @Test
+    void next_SkipsHeaderAndBlankLines() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, BatchFileProcessor.CSV_HEADER.toUpperCase() + "\r\n\r\n   \r\n" + RECORDS.get(0) + "\r\n\n" + RECORDS.get(1) + "\r\n");
+
+        try (MappedRecordReader reader = new MappedRecordReader(input, 16)) {
+            assertTrue(reader.next());
+            assertEquals(4, reader.lineNumber());
+            assertEquals(batchFileProcessor.parseCsv(RECORDS.get(0)), reader.parse());
+            assertTrue(reader.next());
+            assertEquals(6, reader.lineNumber());
+            assertEquals(batchFileProcessor.parseCsv(RECORDS.get(1).trim()), reader.parse());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void parse_RejectsInvalidRecords() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, "car,new,2024,100000000,1\ncar,new,2024,100000000,1,25000000,promo,1\ncar,new,20x4,100000000,1,25000000\n"
+                + "car,new,2024,,1,25000000\ncar,new,2024,1.2.3,1,25000000\ncar,new,99999999999,100000000,1,25000000\n");
+
+        try (MappedRecordReader reader = new MappedRecordReader(input)) {
+            int rejected = 0;
+            while (reader.next()) {
+                assertThrows(NumberFormatException.class, reader::parse);
+                rejected++;
+            }
+            assertEquals(6, rejected);
+        }
+    }
+
+    @Test
+    void offset_ResumesAtNextRecord() throws IOException {
+        Path input = tempDir.resolve("loans.csv");
+        Files.writeString(input, BatchFileProcessor.CSV_HEADER + "\n" + RECORDS.get(0) + "\n\n" + RECORDS.get(1));
+
+        long offset;
+        long lineNumber;
+        try (MappedRecordReader reader = new MappedRecordReader(input, 16)) {
+            assertTrue(reader.next());
+            offset = reader.offset();
+            lineNumber = reader.lineNumber();
+            assertTrue(reader.next());
+            assertFalse(reader.next());
+            // Assert that the offset after a last line without a line feed is the end of the file
+            assertEquals(Files.size(input), reader.offset());
+        }
+
+        // Assert that a reader opened at the offset continues with the next record and its line number
+        try (MappedRecordReader reader = new MappedRecordReader(input, offset, lineNumber)) {
+            assertTrue(reader.next());
+            assertEquals(4, reader.lineNumber());
+            assertEquals(RECORDS.get(1).trim(), reader.record());
+            assertFalse(reader.next());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new MappedRecordReader(input, Files.size(input) + 1, 0));
+    }
+
+    @Test
+    void next_EmptyFile() throws IOException {
+        Path input = Files.createFile(tempDir.resolve("loans.csv"));
+
+        try (MappedRecordReader reader = new MappedRecordReader(input)) {
+            assertFalse(reader.next());
+        }
+    }
+
+    private List<LoanRequest> parseLines(List<String> records) {
+        return records.stream().map(String::trim).map(batchFileProcessor::parseCsv).toList();
+    }
+
+    private static List<LoanRequest> readAll(Path input, int windowSize) throws IOException {
+        List<LoanRequest> loanRequests = new ArrayList<>();
+        try (MappedRecordReader reader = new MappedRecordReader(input, windowSize)) {
+            while (reader.next()) {
+                loanRequests.add(reader.parse());
+            }
+        }
+        return loanRequests;
+    }
+}
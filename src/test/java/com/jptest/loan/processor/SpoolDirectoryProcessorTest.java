@@ -0,0 +1,169 @@
+package com.jptest.loan.processor;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.service.LoanCalculatorService;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link SpoolDirectoryProcessor} class.
+ * This class contains tests to verify that the files dropped into a spool directory are processed
+ * on worker threads and moved, with their result files, to the done or failed directory.
+ */
+@Tag("processor")
+@ExtendWith(MockitoExtension.class)
+public class SpoolDirectoryProcessorTest {
+
+    private static final String VALID_INPUT = "car\nnew\n2024\n100000000\n1\n25000000";
+
+    @Mock
+    private LoanCalculatorService loanCalculatorService;
+
+    private SpoolDirectoryProcessor spoolDirectoryProcessor;
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    private final PrintStream console = System.out;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        // Fix the clock so that the 2024 'new' vehicle of the input files stays valid
+        Clock clock = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC);
+        FileInputProcessor fileInputProcessor = new FileInputProcessor(loanCalculatorService, new LoanValidationEngine(clock,
+                new InterestRateTable(new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"))));
+        spoolDirectoryProcessor = new SpoolDirectoryProcessor(fileInputProcessor);
+        ReflectionTestUtils.setField(spoolDirectoryProcessor, "maxConcurrentFiles", 2);
+        System.setOut(new PrintStream(outputStream, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(console);
+    }
+
+    @Test
+    void testWatch_MovesProcessedFilesToDoneAndFailed() throws IOException, InterruptedException {
+        when(loanCalculatorService.calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class)))
+                .thenReturn(List.of(new MonthlyInstallmentRatePair(new BigDecimal("6750000.00"), new BigDecimal(8), 1)));
+        Path spool = Files.createDirectory(tempDir.resolve("spool"));
+        Files.writeString(spool.resolve("existing.txt"), VALID_INPUT);
+        Files.writeString(spool.resolve("invalid.txt"), "car\nnew\n2024");
+        Files.writeString(spool.resolve(".partial.txt"), VALID_INPUT);
+
+        Thread watcher = new Thread(() -> spoolDirectoryProcessor.watch(spool.toString()));
+        watcher.start();
+        // Drop a file the way upstream systems do: written elsewhere, then moved into the spool directory
+        Path arriving = Files.writeString(tempDir.resolve("arriving.txt"), VALID_INPUT);
+        awaitFile(spool.resolve("done/existing.txt"));
+        Files.move(arriving, spool.resolve("arriving.txt"), StandardCopyOption.ATOMIC_MOVE);
+        awaitFile(spool.resolve("done/arriving.txt"));
+        awaitFile(spool.resolve("failed/invalid.txt"));
+
+        spoolDirectoryProcessor.stop();
+        watcher.join(10_000);
+
+        // Assert that every file was moved with its result file, and that hidden files were left alone
+        assertFalse(watcher.isAlive());
+        assertTrue(Files.readString(spool.resolve("done/existing.txt" + SpoolDirectoryProcessor.RESULT_SUFFIX)).contains("Monthly installment"));
+        assertTrue(Files.exists(spool.resolve("done/arriving.txt" + SpoolDirectoryProcessor.RESULT_SUFFIX)));
+        assertEquals(ErrorMessages.INVALID_FILE_FORMAT_SIX_LINES + System.lineSeparator(),
+                Files.readString(spool.resolve("failed/invalid.txt" + SpoolDirectoryProcessor.RESULT_SUFFIX)));
+        assertTrue(Files.exists(spool.resolve(".partial.txt")));
+        assertFalse(Files.exists(spool.resolve("existing.txt")));
+        assertTrue(outputStream.toString().contains("Spooled 3 files: 2 done, 1 failed"));
+        verify(loanCalculatorService, times(2)).calculateMonthlyInstallment(any(LoanRequest.class), any(RateSnapshot.class));
+    }
+
+    @Test
+    void testWatch_ConfiguredDirectories() throws IOException, InterruptedException {
+        Path spool = Files.createDirectory(tempDir.resolve("spool"));
+        ReflectionTestUtils.setField(spoolDirectoryProcessor, "failedDir", tempDir.resolve("rejected").toString());
+        Files.writeString(spool.resolve("invalid.txt"), "plane\nnew\n2024\n100000000\n1\n25000000");
+
+        Thread watcher = new Thread(() -> spoolDirectoryProcessor.watch(spool.toString()));
+        watcher.start();
+        awaitFile(tempDir.resolve("rejected/invalid.txt"));
+        spoolDirectoryProcessor.stop();
+        watcher.join(10_000);
+
+        // Assert that the failed file was moved to the configured directory and the default done directory was created
+        assertTrue(Files.exists(tempDir.resolve("rejected/invalid.txt" + SpoolDirectoryProcessor.RESULT_SUFFIX)));
+        assertTrue(Files.isDirectory(spool.resolve("done")));
+    }
+
+    @Test
+    void testWatch_InputFileCannotBeMoved() throws IOException, InterruptedException {
+        Path spool = Files.createDirectory(tempDir.resolve("spool"));
+        // A non-empty directory in the way of the input file makes its move fail after the result was published
+        Files.createDirectories(spool.resolve("failed/invalid.txt/blocked"));
+        Files.writeString(spool.resolve("invalid.txt"), "car\nnew\n2024");
+
+        Thread watcher = new Thread(() -> spoolDirectoryProcessor.watch(spool.toString()));
+        watcher.start();
+        String error = ErrorMessages.COULD_NOT_WRITE_FILE + spool.resolve("failed/invalid.txt");
+        for (int i = 0; i < 200 && !outputStream.toString().contains(error); i++) {
+            Thread.sleep(50);
+        }
+        spoolDirectoryProcessor.stop();
+        watcher.join(10_000);
+
+        // Assert that the published result was removed again and the input file is left for the next run
+        assertTrue(outputStream.toString().contains(error));
+        assertTrue(Files.exists(spool.resolve("invalid.txt")));
+        assertFalse(Files.exists(spool.resolve("failed/invalid.txt" + SpoolDirectoryProcessor.RESULT_SUFFIX)));
+        assertFalse(Files.exists(spool.resolve("failed/.invalid.txt" + SpoolDirectoryProcessor.RESULT_SUFFIX)));
+        assertTrue(outputStream.toString().contains("Spooled 1 files: 0 done, 1 failed"));
+    }
+
+    @Test
+    void testWatch_NotADirectory() {
+        String missingPath = tempDir.resolve("missing").toString();
+
+        spoolDirectoryProcessor.watch(missingPath);
+
+        // Assert that a missing spool directory is reported instead of watched
+        assertTrue(outputStream.toString().contains(ErrorMessages.COULD_NOT_READ_FILE + missingPath));
+    }
+
+    private static void awaitFile(Path path) throws InterruptedException {
+        for (int i = 0; i < 200 && !Files.exists(path); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(path), "Not spooled: " + path);
+    }
+}
@@ -0,0 +1,59 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.dto.VehicleType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link InterestRateLadder} and {@link InterestRateTable}.
+ * This class verifies that the precomputed interest rate of every year follows the
+ * base rate plus alternating increments rule, in printable, fractional and fixed-point form.
+ */
+@Tag("service")
+class InterestRateLadderTest {
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    @Test
+    void ladderFor_Car() {
+        InterestRateLadder ladder = interestRateTable.ladderFor(VehicleType.CAR);
+
+        // Assert the printable rate of every year: base, +0.1, +0.5, +0.1, +0.5, +0.1
+        String[] expectedRates = {"8", "8.1", "8.6", "8.7", "9.2", "9.3"};
+        assertEquals(expectedRates.length, ladder.maxTenor());
+        for (int i = 0; i < expectedRates.length; i++) {
+            assertEquals(new BigDecimal(expectedRates[i]), ladder.rate(i));
+        }
+        // Assert the fractional and fixed-point forms of the third year
+        assertEquals(0, new BigDecimal("0.086").compareTo(ladder.rateFraction(2)));
+        assertEquals(86_000, ladder.scaledRateFraction(2));
+    }
+
+    @Test
+    void ladderFor_Motorcycle() {
+        InterestRateLadder ladder = interestRateTable.ladderFor(VehicleType.MOTORCYCLE);
+
+        assertEquals(new BigDecimal("9"), ladder.rate(0));
+        assertEquals(new BigDecimal("10.3"), ladder.rate(5));
+    }
+
+    @Test
+    void ladderFor_InvalidVehicleType() {
+        assertThrows(IllegalArgumentException.class, () -> interestRateTable.ladderFor(null));
+    }
+
+    @Test
+    void scaledRateFraction_TooManyDecimals() {
+        InterestRateLadder ladder = InterestRateLadder.of(new BigDecimal("8.12345"), BigDecimal.ZERO, BigDecimal.ZERO, 6);
+
+        // Assert that the BigDecimal forms are still available while the fixed-point form is rejected
+        assertEquals(new BigDecimal("8.12345"), ladder.rate(0));
+        assertThrows(IllegalStateException.class, () -> ladder.scaledRateFraction(0));
+    }
+}
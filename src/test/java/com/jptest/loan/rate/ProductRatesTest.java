@@ -0,0 +1,134 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link ProductRates} and their compilation into a {@link RateSnapshot}.
+ * This class verifies that products are loaded from properties, that every product inherits the rates it does not
+ * set from the less specific products, and that a dealer programme only offers the products it configures.
+ */
+@Tag("service")
+class ProductRatesTest {
+
+    private final Properties properties = new Properties();
+
+    @Test
+    void load_ParsesProductNames() {
+        properties.setProperty(ProductRates.PRODUCTS, " car , motorcycle.old, car.any.Load-Promo,");
+        properties.setProperty(ProductRates.PRODUCT_PREFIX + "car" + ProductRates.INTEREST_RATE, "7.5");
+        properties.setProperty(ProductRates.PRODUCT_PREFIX + "car.any.Load-Promo" + ProductRates.MINIMUM_DOWN_PAYMENT, "20");
+
+        List<ProductRates> products = ProductRates.load(properties::getProperty);
+
+        // Assert that names are canonical, unset rates are null and the programme name is case insensitive
+        assertEquals(List.of("car.any", "motorcycle.old", "car.any.load-promo"), products.stream().map(ProductRates::name).toList());
+        assertEquals(new BigDecimal("7.5"), products.get(0).interestRate());
+        assertNull(products.get(1).interestRate());
+        assertEquals(new BigDecimal("20"), products.get(2).minimumDownPaymentRate());
+        assertEquals(DealerProgramme.parse("LOAD-PROMO"), products.get(2).dealerProgramme());
+    }
+
+    @Test
+    void load_RejectsInvalidProducts() {
+        for (String products : List.of("truck", "car.used", "car.new.promo.extra", "car.any.promo!", "car, car.any")) {
+            properties.setProperty(ProductRates.PRODUCTS, products);
+            assertThrows(IllegalStateException.class, () -> ProductRates.load(properties::getProperty), products);
+        }
+        properties.setProperty(ProductRates.PRODUCTS, "car.new");
+        properties.setProperty(ProductRates.PRODUCT_PREFIX + "car.new" + ProductRates.INTEREST_RATE, "seven");
+        assertThrows(NumberFormatException.class, () -> ProductRates.load(properties::getProperty));
+    }
+
+    @Test
+    void snapshot_InheritsRatesFromLessSpecificProducts() {
+        properties.setProperty(ProductRates.PRODUCTS, "car.new, car.any.inherit-promo, motorcycle.old.inherit-promo");
+        properties.setProperty("loan.product.car.new.interest.rate", "7");
+        properties.setProperty("loan.product.car.any.inherit-promo.interest.rate", "5");
+        properties.setProperty("loan.product.car.any.inherit-promo.minimum.downpayment", "20");
+        properties.setProperty("loan.product.motorcycle.old.inherit-promo.increment.first.year", "0.2");
+        RateSnapshot snapshot = snapshot(ProductRates.load(properties::getProperty));
+        DealerProgramme promo = DealerProgramme.parse("inherit-promo");
+
+        // Assert the standard products: the condition overrides the vehicle type rates
+        assertEquals(new BigDecimal("7"), rate(snapshot, VehicleType.CAR, VehicleCondition.NEW, DealerProgramme.STANDARD, 0));
+        assertEquals(new BigDecimal("8"), rate(snapshot, VehicleType.CAR, VehicleCondition.OLD, DealerProgramme.STANDARD, 0));
+        assertEquals(new BigDecimal("8"), rate(snapshot, VehicleType.CAR, null, DealerProgramme.STANDARD, 0));
+
+        // Assert the programme products: the programme overrides the condition, other rates are inherited
+        assertEquals(new BigDecimal("5"), rate(snapshot, VehicleType.CAR, VehicleCondition.NEW, promo, 0));
+        assertEquals(new BigDecimal("5.1"), rate(snapshot, VehicleType.CAR, VehicleCondition.OLD, promo, 1));
+        assertEquals(new BigDecimal("9.2"), rate(snapshot, VehicleType.MOTORCYCLE, VehicleCondition.OLD, promo, 1));
+        assertEquals(200_00, snapshot.minimumDownPaymentMinorUnits(
+                snapshot.product(VehicleType.CAR, VehicleCondition.NEW, promo), 1_000_00));
+        assertEquals(250_00, snapshot.minimumDownPaymentMinorUnits(
+                snapshot.product(VehicleType.MOTORCYCLE, VehicleCondition.OLD, promo), 1_000_00));
+    }
+
+    @Test
+    void snapshot_ProgrammeOnlyOffersConfiguredProducts() {
+        properties.setProperty(ProductRates.PRODUCTS, "motorcycle.old.offer-promo");
+        RateSnapshot snapshot = snapshot(ProductRates.load(properties::getProperty));
+        DealerProgramme promo = DealerProgramme.parse("offer-promo");
+
+        assertEquals(RateSnapshot.NO_PRODUCT, snapshot.product(VehicleType.MOTORCYCLE, VehicleCondition.NEW, promo));
+        assertEquals(RateSnapshot.NO_PRODUCT, snapshot.product(VehicleType.CAR, VehicleCondition.OLD, promo));
+        assertEquals(RateSnapshot.NO_PRODUCT, snapshot.product(VehicleType.CAR, VehicleCondition.OLD, DealerProgramme.parse("unknown-promo")));
+        assertEquals(RateSnapshot.NO_PRODUCT, snapshot.product(null, VehicleCondition.OLD, DealerProgramme.STANDARD));
+
+        // Assert that calculating a product that is not offered is rejected
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 250, promo);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.ladderFor(loanRequest));
+    }
+
+    @Test
+    void snapshot_OwnsItsProgrammes() {
+        properties.setProperty(ProductRates.PRODUCTS, "car.any.first-promo");
+        RateSnapshot first = snapshot(ProductRates.load(properties::getProperty));
+        properties.setProperty(ProductRates.PRODUCTS, "motorcycle.any.second-promo, car.any.first-promo");
+        RateSnapshot second = snapshot(ProductRates.load(properties::getProperty));
+        DealerProgramme firstPromo = DealerProgramme.parse("first-promo");
+        DealerProgramme secondPromo = DealerProgramme.parse("second-promo");
+
+        // Assert that a programme is only offered by the snapshots configuring it, whatever the order of its products
+        assertEquals(RateSnapshot.NO_PRODUCT, first.product(VehicleType.MOTORCYCLE, VehicleCondition.OLD, secondPromo));
+        assertEquals(new BigDecimal("8"), rate(first, VehicleType.CAR, VehicleCondition.OLD, firstPromo, 0));
+        assertEquals(new BigDecimal("9"), rate(second, VehicleType.MOTORCYCLE, VehicleCondition.OLD, secondPromo, 0));
+        assertEquals(new BigDecimal("8"), rate(second, VehicleType.CAR, VehicleCondition.OLD, firstPromo, 0));
+    }
+
+    @Test
+    void snapshot_SharesLaddersOfIdenticalRates() {
+        properties.setProperty(ProductRates.PRODUCTS, "car.old, car.new.share-promo");
+        properties.setProperty("loan.product.car.new.share-promo.minimum.downpayment", "10");
+        RateSnapshot snapshot = snapshot(ProductRates.load(properties::getProperty));
+
+        // Assert that products differing only in their down payment rule share the ladder of the vehicle type
+        InterestRateLadder ladder = snapshot.ladderFor(VehicleType.CAR);
+        assertSame(ladder, snapshot.ladder(snapshot.product(VehicleType.CAR, VehicleCondition.OLD, DealerProgramme.STANDARD)));
+        assertSame(ladder, snapshot.ladder(snapshot.product(VehicleType.CAR, VehicleCondition.NEW, DealerProgramme.parse("share-promo"))));
+    }
+
+    private static RateSnapshot snapshot(List<ProductRates> products) {
+        return new RateSnapshot(RateSnapshot.INITIAL_VERSION, new BigDecimal("8"), new BigDecimal("9"),
+                new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"), products);
+    }
+
+    private static BigDecimal rate(RateSnapshot snapshot, VehicleType vehicleType, VehicleCondition vehicleCondition,
+                                   DealerProgramme dealerProgramme, int year) {
+        return snapshot.ladder(snapshot.product(vehicleType, vehicleCondition, dealerProgramme)).rate(year);
+    }
+}
@@ -0,0 +1,182 @@
+package com.jptest.loan.rate;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.service.BatchCalculationExecutor;
+import com.jptest.loan.service.LoanCalculatorServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RateReloader} and the snapshot publication of {@link InterestRateTable}.
+ * This class verifies that a changed rates file publishes the next snapshot version, that unchanged, invalid or
+ * missing files keep the current snapshot, and that calculations holding a snapshot are not affected by a reload.
+ */
+@Tag("service")
+class RateReloaderTest {
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream console = System.out;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(console);
+    }
+
+    @Test
+    void reload_PublishesChangedRates() throws IOException {
+        Path ratesFile = tempDir.resolve("rates.properties");
+        Files.writeString(ratesFile, RateReloader.CAR_INTEREST_RATE + "=7\n" + RateReloader.MINIMUM_DOWN_PAYMENT + "=30\n");
+
+        assertTrue(new RateReloader(interestRateTable, ratesFile.toString()).reload());
+
+        // Assert that the keys of the file replace the current rates and the other rates are kept
+        RateSnapshot snapshot = interestRateTable.snapshot();
+        assertEquals(RateSnapshot.INITIAL_VERSION + 1, snapshot.version());
+        assertEquals(new BigDecimal("7"), snapshot.baseInterestRate(VehicleType.CAR));
+        assertEquals(new BigDecimal("9"), snapshot.baseInterestRate(VehicleType.MOTORCYCLE));
+        assertEquals(new BigDecimal("7.1"), snapshot.ladderFor(VehicleType.CAR).rate(1));
+        assertEquals(300_00, snapshot.minimumDownPaymentMinorUnits(snapshot.product(VehicleType.CAR, VehicleCondition.NEW, DealerProgramme.STANDARD), 1_000_00));
+    }
+
+    @Test
+    void reload_ReplacesProducts() throws IOException {
+        Path ratesFile = tempDir.resolve("rates.properties");
+        RateReloader rateReloader = new RateReloader(interestRateTable, ratesFile.toString());
+        Files.writeString(ratesFile, ProductRates.PRODUCTS + "=car.any.reload-promo\n"
+                + ProductRates.PRODUCT_PREFIX + "car.any.reload-promo" + ProductRates.INTEREST_RATE + "=6\n");
+
+        // Assert that the listed products are published, and that rereading the same file keeps the version
+        assertTrue(rateReloader.reload());
+        assertFalse(rateReloader.reload());
+        RateSnapshot snapshot = interestRateTable.snapshot();
+        int product = snapshot.product(VehicleType.CAR, VehicleCondition.OLD, DealerProgramme.parse("reload-promo"));
+        assertEquals(new BigDecimal("6"), snapshot.ladder(product).rate(0));
+
+        // Assert that a file without the products key keeps them, and an empty list removes them
+        Files.writeString(ratesFile, RateReloader.MOTORCYCLE_INTEREST_RATE + "=10\n");
+        assertTrue(rateReloader.reload());
+        assertEquals(1, interestRateTable.snapshot().products().size());
+        Files.writeString(ratesFile, ProductRates.PRODUCTS + "=\n");
+        assertTrue(rateReloader.reload());
+        assertEquals(RateSnapshot.NO_PRODUCT,
+                interestRateTable.snapshot().product(VehicleType.CAR, VehicleCondition.OLD, DealerProgramme.parse("reload-promo")));
+    }
+
+    @Test
+    void reload_UnchangedRatesKeepVersion() throws IOException {
+        Path ratesFile = tempDir.resolve("rates.properties");
+        Files.writeString(ratesFile, RateReloader.CAR_INTEREST_RATE + "=8.0\n" + RateReloader.INCREMENT_FIRST_YEAR + "= \n");
+        RateSnapshot current = interestRateTable.snapshot();
+
+        // Assert that a numerically equal rate and a blank key do not publish a new version
+        assertFalse(new RateReloader(interestRateTable, ratesFile.toString()).reload());
+        assertEquals(current, interestRateTable.snapshot());
+    }
+
+    @Test
+    void reload_InvalidRatesKeepSnapshot() throws IOException {
+        Path ratesFile = tempDir.resolve("rates.properties");
+        RateReloader rateReloader = new RateReloader(interestRateTable, ratesFile.toString());
+        RateSnapshot current = interestRateTable.snapshot();
+
+        Files.writeString(ratesFile, RateReloader.MINIMUM_DOWN_PAYMENT + "=-1\n");
+        assertFalse(rateReloader.reload());
+        Files.writeString(ratesFile, RateReloader.CAR_INTEREST_RATE + "=eight\n");
+        assertFalse(rateReloader.reload());
+
+        // Assert that both files are reported and the current snapshot stays in place
+        assertEquals(2, outputStream.toString().split(ErrorMessages.INVALID_RATES_FILE, -1).length - 1);
+        assertEquals(current, interestRateTable.snapshot());
+    }
+
+    @Test
+    void reload_MissingFile() {
+        Path ratesFile = tempDir.resolve("missing.properties");
+
+        assertFalse(new RateReloader(interestRateTable, ratesFile.toString()).reload());
+        assertTrue(outputStream.toString().contains(ErrorMessages.COULD_NOT_READ_FILE + ratesFile.toAbsolutePath()));
+    }
+
+    @Test
+    void reload_DisabledWithoutFile() {
+        RateReloader rateReloader = new RateReloader(interestRateTable, "");
+        rateReloader.start();
+        rateReloader.stop();
+
+        assertFalse(rateReloader.reload());
+        assertEquals(RateSnapshot.INITIAL_VERSION, interestRateTable.snapshot().version());
+    }
+
+    @Test
+    void publish_RejectsStaleSnapshot() {
+        RateSnapshot current = interestRateTable.snapshot();
+        RateSnapshot first = current.next(new BigDecimal("7"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+        RateSnapshot second = current.next(new BigDecimal("6"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+        // Assert that of two snapshots built from the same version, only the first one is published
+        assertTrue(interestRateTable.publish(first));
+        assertFalse(interestRateTable.publish(second));
+        assertFalse(interestRateTable.publish(current));
+        assertEquals(first, interestRateTable.snapshot());
+    }
+
+    @Test
+    void publish_FixedPointRejectsPreciseRates() {
+        interestRateTable.requireFixedPoint();
+        RateSnapshot precise = interestRateTable.snapshot().next(
+                new BigDecimal("8.12345"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+        assertThrows(IllegalStateException.class, () -> interestRateTable.publish(precise));
+        assertEquals(RateSnapshot.INITIAL_VERSION, interestRateTable.snapshot().version());
+    }
+
+    @Test
+    void calculateMonthlyInstallment_KeepsSnapshotAcrossReload() {
+        LoanCalculatorServiceImpl loanCalculatorService = new LoanCalculatorServiceImpl(interestRateTable, new BatchCalculationExecutor(1, 1024));
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 2, 25_000_000);
+        RateSnapshot pinned = interestRateTable.snapshot();
+        interestRateTable.publish(pinned.next(new BigDecimal("7"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25")));
+
+        // Assert that a calculation holding the previous snapshot uses its rates for every year, and records its version
+        List<MonthlyInstallmentRatePair> schedule = loanCalculatorService.calculateMonthlyInstallment(loanRequest, pinned);
+        assertEquals(List.of(new BigDecimal("8"), new BigDecimal("8.1")), schedule.stream().map(MonthlyInstallmentRatePair::rate).toList());
+        assertEquals(RateSnapshot.INITIAL_VERSION, schedule.get(1).rateVersion());
+
+        // Assert that new calculations use the reloaded rates
+        MonthlyInstallmentRatePair reloaded = loanCalculatorService.calculateMonthlyInstallment(loanRequest).get(0);
+        assertEquals(new BigDecimal("7"), reloaded.rate());
+        assertEquals(RateSnapshot.INITIAL_VERSION + 1, reloaded.rateVersion());
+    }
+}
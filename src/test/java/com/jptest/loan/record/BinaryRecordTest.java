@@ -0,0 +1,135 @@
+package com.jptest.loan.record;
+
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.validator.ValidationRule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link BinaryRecordWriter} and {@link BinaryRecordReader}.
+ * This class verifies that loan requests and schedules survive a round trip through the fixed-width layouts,
+ * that records can be read by index, and that files of another type or version are rejected.
+ */
+@Tag("record")
+class BinaryRecordTest {
+
+    private static final List<LoanRequest> LOAN_REQUESTS = List.of(
+            new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000.25),
+            new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.OLD, 2010, 0.29, 6, 0.1),
+            new LoanRequest(null, null, -1, 1_000_000_000, 7, -5),
+            new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 250, DealerProgramme.parse("binary-promo")));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loanRequests_RoundTrip() throws IOException {
+        Path path = tempDir.resolve("loans.lrq");
+        try (BinaryRecordWriter<LoanRequest> writer = new BinaryRecordWriter<>(BinaryRecordType.LOAN_REQUEST,
+                Files.newByteChannel(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE), 40)) {
+            for (LoanRequest loanRequest : LOAN_REQUESTS) {
+                writer.write(loanRequest);
+            }
+            assertEquals(4, writer.count());
+        }
+
+        assertEquals(BinaryRecordType.HEADER_SIZE + 4 * LoanRequestRecordType.RECORD_SIZE, Files.size(path));
+        try (BinaryRecordReader<LoanRequest> reader = BinaryRecordReader.open(BinaryRecordType.LOAN_REQUEST, path)) {
+            assertEquals(4, reader.size());
+            // Assert random access by index, without moving the sequential position
+            assertEquals(LOAN_REQUESTS.get(2), reader.get(2));
+            assertEquals(LOAN_REQUESTS.get(0), reader.get(0));
+            for (LoanRequest loanRequest : LOAN_REQUESTS) {
+                assertEquals(loanRequest, reader.next());
+            }
+            assertNull(reader.next());
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.get(4));
+        }
+    }
+
+    @Test
+    void schedules_RoundTrip() throws IOException {
+        Path path = tempDir.resolve("results.lsc");
+        List<MonthlyInstallmentRatePair> schedule = List.of(
+                new MonthlyInstallmentRatePair(new BigDecimal("2250000.00"), new BigDecimal("8.0"), 5),
+                new MonthlyInstallmentRatePair(new BigDecimal("2298765.43"), new BigDecimal("8.1"), 5));
+        int violations = ValidationRule.LOAN_TENOR.bit();
+        try (BinaryRecordWriter<ScheduleRecord> writer = BinaryRecordWriter.open(BinaryRecordType.SCHEDULE, path)) {
+            writer.write(ScheduleRecord.ok(1, schedule));
+            writer.write(ScheduleRecord.invalid(2, violations));
+            writer.write(ScheduleRecord.failed(3));
+        }
+
+        try (BinaryRecordReader<ScheduleRecord> reader = BinaryRecordReader.open(BinaryRecordType.SCHEDULE, path)) {
+            ScheduleRecord ok = reader.next();
+            assertEquals(1, ok.recordNumber());
+            assertEquals(ScheduleRecord.Status.OK, ok.status());
+            assertEquals(2, ok.monthlyInstallment().size());
+            assertEquals(new BigDecimal("2298765.43"), ok.monthlyInstallment().get(1).amount());
+            assertEquals(0, new BigDecimal("8.1").compareTo(ok.monthlyInstallment().get(1).rate()));
+            assertEquals(5, ok.monthlyInstallment().get(1).rateVersion());
+            assertEquals(ScheduleRecord.invalid(2, violations), reader.next());
+            assertEquals(ScheduleRecord.failed(3), reader.get(2));
+        }
+    }
+
+    @Test
+    void open_RejectsOtherRecordType() throws IOException {
+        Path path = tempDir.resolve("loans.lrq");
+        try (BinaryRecordWriter<LoanRequest> writer = BinaryRecordWriter.open(BinaryRecordType.LOAN_REQUEST, path)) {
+            writer.write(LOAN_REQUESTS.get(0));
+        }
+
+        assertThrows(IOException.class, () -> BinaryRecordReader.open(BinaryRecordType.SCHEDULE, path));
+    }
+
+    @Test
+    void open_RejectsTruncatedFile() throws IOException {
+        Path path = tempDir.resolve("loans.lrq");
+        try (BinaryRecordWriter<LoanRequest> writer = BinaryRecordWriter.open(BinaryRecordType.LOAN_REQUEST, path)) {
+            writer.write(LOAN_REQUESTS.get(0));
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> BinaryRecordReader.open(BinaryRecordType.LOAN_REQUEST, path));
+    }
+
+    @Test
+    void write_RejectsScheduleLongerThanMaxTenor() throws IOException {
+        Path path = tempDir.resolve("results.lsc");
+        MonthlyInstallmentRatePair year = new MonthlyInstallmentRatePair(BigDecimal.ONE, BigDecimal.ONE, 1);
+        try (BinaryRecordWriter<ScheduleRecord> writer = BinaryRecordWriter.open(BinaryRecordType.SCHEDULE, path)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(ScheduleRecord.ok(1, Collections.nCopies(7, year))));
+        }
+    }
+
+    @Test
+    void write_RejectsProgrammeNameLongerThanRecord() throws IOException {
+        Path path = tempDir.resolve("loans.lrq");
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 250,
+                DealerProgramme.parse("x".repeat(LoanRequestRecordType.PROGRAMME_NAME_SIZE + 1)));
+        try (BinaryRecordWriter<LoanRequest> writer = BinaryRecordWriter.open(BinaryRecordType.LOAN_REQUEST, path)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(loanRequest));
+            assertEquals(0, writer.count());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyAmortization;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link AmortizationSpliterator} and {@link LoanCalculatorService#streamMonthlyAmortization(LoanRequest)}.
+ * This class verifies the monthly rows of a known schedule, that every month splits its installment into interest
+ * and principal consistently with the yearly schedule, and that rows are produced on demand.
+ */
+@Tag("service")
+class AmortizationSpliteratorTest {
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    private final BatchCalculationExecutor batchCalculationExecutor = new BatchCalculationExecutor(1, 1024);
+
+    private final LoanCalculatorServiceImpl bigDecimalService = new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+
+    private final FixedPointLoanCalculatorServiceImpl fixedPointService = new FixedPointLoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+
+    @Test
+    void streamMonthlyAmortization_ValidInput() {
+        List<MonthlyAmortization> months = bigDecimalService.streamMonthlyAmortization(
+                new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000)).toList();
+
+        // Assert that the 8% interest of the first year, 6,000,000 on 75,000,000, is spread evenly over its months
+        assertEquals(36, months.size());
+        assertEquals(new MonthlyAmortization(1, new BigDecimal("8"), 225_000_000L, 50_000_000L, 175_000_000L, 7_325_000_000L), months.get(0));
+        assertEquals(new BigDecimal("54000000.00"), months.get(11).remainingBalance());
+        // Assert that the second year charges 8.1% on the principal left, 4,374,000 over 12 months
+        assertEquals(2, months.get(12).year());
+        assertEquals(new BigDecimal("2432250.00"), months.get(12).installment());
+        assertEquals(new BigDecimal("364500.00"), months.get(12).interest());
+        assertEquals(new BigDecimal("8.1"), months.get(12).rate());
+        // Assert that the last installment repays the loan exactly
+        assertEquals(new BigDecimal("2641423.50"), months.get(35).installment());
+        assertEquals(0, months.get(35).remainingBalanceMinorUnits());
+    }
+
+    @Test
+    void streamMonthlyAmortization_ConsistentWithYearlySchedule() {
+        Random random = new Random(7);
+        for (LoanCalculatorService service : List.of(bigDecimalService, fixedPointService)) {
+            for (int sample = 0; sample < 500; sample++) {
+                VehicleType vehicleType = sample % 2 == 0 ? VehicleType.CAR : VehicleType.MOTORCYCLE;
+                int loanTenor = 1 + random.nextInt(6);
+                double loanAmount = (1 + random.nextInt(1_000_000_000)) + random.nextInt(100) / 100.0;
+                double downPayment = Math.floor(loanAmount * (0.25 + 0.75 * random.nextDouble()));
+                LoanRequest loanRequest = new LoanRequest(vehicleType, VehicleCondition.OLD, 2020, loanAmount, loanTenor, downPayment);
+                List<MonthlyInstallmentRatePair> yearlySchedule = service.calculateMonthlyInstallment(loanRequest);
+                List<MonthlyAmortization> months = service.streamMonthlyAmortization(loanRequest).toList();
+
+                // Assert that every month pays the installment and rate of its year, split into interest and principal
+                assertEquals(loanTenor * 12, months.size());
+                long balance = MinorUnits.toMinorUnits(loanAmount) - MinorUnits.toMinorUnits(downPayment);
+                for (MonthlyAmortization month : months) {
+                    MonthlyInstallmentRatePair year = yearlySchedule.get(month.year() - 1);
+                    assertEquals(year.amount().setScale(MinorUnits.SCALE, RoundingMode.HALF_UP), month.installment());
+                    assertEquals(year.rate(), month.rate());
+                    assertEquals(month.installmentMinorUnits(), month.interestMinorUnits() + month.principalMinorUnits());
+                    balance -= month.principalMinorUnits();
+                    assertEquals(balance, month.remainingBalanceMinorUnits());
+                }
+                // Assert that only the rounding residual of the last monthly installment is left unpaid
+                assertTrue(Math.abs(balance) <= 6, loanRequest + " leaves " + balance);
+            }
+        }
+    }
+
+    @Test
+    void streamMonthlyAmortization_ComputesRowsOnDemand() {
+        LoanRequest loanRequest = new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.NEW, 2024, 50_000_000, 6, 12_500_000);
+        Spliterator<MonthlyAmortization> spliterator = fixedPointService.streamMonthlyAmortization(loanRequest).spliterator();
+
+        // Assert that the spliterator knows its size up front and hands out rows one at a time, without splitting
+        assertEquals(72, spliterator.estimateSize());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertTrue(spliterator.tryAdvance(month -> assertEquals(1, month.month())));
+        assertEquals(71, spliterator.estimateSize());
+        assertNull(spliterator.trySplit());
+
+        // Assert that a partial consumer and a rolled-up total see the same rows as the full schedule
+        List<MonthlyAmortization> months = fixedPointService.streamMonthlyAmortization(loanRequest).toList();
+        assertEquals(months.subList(0, 3), fixedPointService.streamMonthlyAmortization(loanRequest).limit(3).collect(Collectors.toList()));
+        assertEquals(months.stream().mapToLong(MonthlyAmortization::interestMinorUnits).sum(),
+                fixedPointService.streamMonthlyAmortization(loanRequest).mapToLong(MonthlyAmortization::interestMinorUnits).sum());
+    }
+
+    @Test
+    void streamMonthlyAmortization_InvalidLoanTenor() {
+        // Assert that the request is validated when the stream is created, not when it is consumed
+        assertThrows(IllegalArgumentException.class, () -> bigDecimalService.streamMonthlyAmortization(
+                new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 7, 25_000_000)));
+    }
+}
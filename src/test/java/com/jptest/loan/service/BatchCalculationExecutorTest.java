@@ -0,0 +1,94 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link BatchCalculationExecutor}.
+ * This class verifies that batches keep their input order whether they are calculated
+ * sequentially or across the calculation pool, and that calculation failures are propagated.
+ */
+@Tag("service")
+class BatchCalculationExecutorTest {
+
+    private final BatchCalculationExecutor batchCalculationExecutor = new BatchCalculationExecutor(4, 16);
+
+    @AfterEach
+    void tearDown() {
+        batchCalculationExecutor.shutdown();
+    }
+
+    @Test
+    void map_ParallelBatchKeepsInputOrder() {
+        List<LoanRequest> loanRequests = loanRequests(10_000);
+
+        List<Integer> results = batchCalculationExecutor.map(loanRequests, LoanRequest::vehicleYear);
+
+        // Assert that every result is at the index of its loan request
+        assertEquals(loanRequests.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    void map_SmallBatchRunsOnCallingThread() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> results = batchCalculationExecutor.map(loanRequests(10), loanRequest -> {
+            threads.add(Thread.currentThread());
+            return loanRequest.vehicleYear();
+        });
+
+        // Assert that a batch below the sequential threshold is not handed to the pool
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), results);
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void map_PropagatesCalculationFailure() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> batchCalculationExecutor.map(loanRequests(1_000), loanRequest -> {
+                    if (loanRequest.vehicleYear() == 500) {
+                        throw new IllegalArgumentException("Invalid loan tenor");
+                    }
+                    return loanRequest.vehicleYear();
+                }));
+
+        assertTrue(exception.getMessage().contains("Invalid loan tenor"));
+    }
+
+    @Test
+    void constructor_DefaultsParallelismToAvailableProcessors() {
+        BatchCalculationExecutor defaultExecutor = new BatchCalculationExecutor(0, 1024);
+        try {
+            assertEquals(Runtime.getRuntime().availableProcessors(), defaultExecutor.getParallelism());
+        } finally {
+            defaultExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Creates loan requests whose vehicle year is their index in the batch.
+     */
+    private static List<LoanRequest> loanRequests(int size) {
+        List<LoanRequest> loanRequests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            loanRequests.add(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, i, 100_000_000, 1, 25_000_000));
+        }
+        return loanRequests;
+    }
+}
@@ -0,0 +1,222 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link CachingLoanCalculatorService}.
+ * This class verifies that schedules are shared by requests with the same rates, tenor and financed amount,
+ * that the cache is bounded in size and time, and that hits, misses and evictions are counted.
+ */
+@Tag("service")
+class CachingLoanCalculatorServiceTest {
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    private final BatchCalculationExecutor batchCalculationExecutor = new BatchCalculationExecutor(1, 1024);
+
+    private final CountingLoanCalculatorService engine = new CountingLoanCalculatorService(
+            new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor));
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void calculateMonthlyInstallment_SameFinancedAmountIsCalculatedOnce() {
+        CachingLoanCalculatorService cache = newCache(100, Duration.ofMinutes(10));
+
+        List<MonthlyInstallmentRatePair> first = cache.calculateMonthlyInstallment(
+                new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000));
+        // Condition, year and the split between loan amount and down payment do not affect the schedule
+        List<MonthlyInstallmentRatePair> second = cache.calculateMonthlyInstallment(
+                new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2010, 90_000_000, 3, 15_000_000));
+
+        assertSame(first, second);
+        assertEquals(engine.delegate.calculateMonthlyInstallment(
+                new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000)), first);
+        assertEquals(1, engine.calls.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void calculateMonthlyInstallment_DifferentKeysAreCalculatedSeparately() {
+        CachingLoanCalculatorService cache = newCache(100, Duration.ofMinutes(10));
+
+        cache.calculateMonthlyInstallment(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000));
+        cache.calculateMonthlyInstallment(new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000));
+        cache.calculateMonthlyInstallment(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 4, 25_000_000));
+        cache.calculateMonthlyInstallment(new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000.01));
+
+        assertEquals(4, engine.calls.get());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void calculateMonthlyInstallment_EvictsLeastRecentlyUsed() {
+        CachingLoanCalculatorService cache = newCache(2, Duration.ofMinutes(10));
+        LoanRequest first = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 1, 25_000_000);
+        LoanRequest second = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 2, 25_000_000);
+        LoanRequest third = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000);
+
+        cache.calculateMonthlyInstallment(first);
+        cache.calculateMonthlyInstallment(second);
+        cache.calculateMonthlyInstallment(first); // The second request becomes the least recently used
+        cache.calculateMonthlyInstallment(third);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        cache.calculateMonthlyInstallment(first);
+        assertEquals(3, engine.calls.get());
+        cache.calculateMonthlyInstallment(second);
+        assertEquals(4, engine.calls.get());
+    }
+
+    @Test
+    void calculateMonthlyInstallment_ExpiresAfterTtl() {
+        CachingLoanCalculatorService cache = newCache(100, Duration.ofMinutes(10));
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000);
+
+        cache.calculateMonthlyInstallment(loanRequest);
+        clock.advance(Duration.ofMinutes(10).minusMillis(1));
+        cache.calculateMonthlyInstallment(loanRequest);
+        assertEquals(1, engine.calls.get());
+
+        clock.advance(Duration.ofMillis(1));
+        cache.calculateMonthlyInstallment(loanRequest);
+        assertEquals(2, engine.calls.get());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void calculateMonthlyInstallment_NewRatesDoNotReuseSchedules() {
+        CachingLoanCalculatorService cache = newCache(100, Duration.ofMinutes(10));
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000);
+        cache.calculateMonthlyInstallment(loanRequest);
+
+        RateSnapshot previous = interestRateTable.snapshot();
+        interestRateTable.publish(previous.next(
+                new BigDecimal("7"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25")));
+        List<MonthlyInstallmentRatePair> repriced = cache.calculateMonthlyInstallment(loanRequest);
+
+        // Assert that the schedule is calculated with the new base rate instead of being served from a previous ladder
+        assertEquals(0, new BigDecimal("7").compareTo(repriced.get(0).rate()));
+        assertEquals(previous.version() + 1, repriced.get(0).rateVersion());
+        assertEquals(0, cache.hitCount());
+
+        // Assert that a calculation pinned to the previous snapshot still finds the schedule of its rates
+        assertEquals(0, new BigDecimal("8").compareTo(cache.calculateMonthlyInstallment(loanRequest, previous).get(0).rate()));
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void calculateMonthlyInstallment_InvalidTenorIsNotCached() {
+        CachingLoanCalculatorService cache = newCache(100, Duration.ofMinutes(10));
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 7, 25_000_000);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.calculateMonthlyInstallment(loanRequest));
+        assertThrows(IllegalArgumentException.class, () -> cache.calculateMonthlyInstallment(
+                new LoanRequest(null, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void calculateMonthlyInstallments_UsesCache() {
+        CachingLoanCalculatorService cache = newCache(100, Duration.ofMinutes(10));
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2024, 100_000_000, 3, 25_000_000);
+
+        List<List<MonthlyInstallmentRatePair>> schedules = cache.calculateMonthlyInstallments(List.of(loanRequest, loanRequest, loanRequest));
+
+        assertEquals(3, schedules.size());
+        assertEquals(1, engine.calls.get());
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    void constructor_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> newCache(0, Duration.ofMinutes(10)));
+    }
+
+    private CachingLoanCalculatorService newCache(int maxSize, Duration ttl) {
+        return new CachingLoanCalculatorService(engine, interestRateTable, batchCalculationExecutor, clock, maxSize, ttl);
+    }
+
+    /**
+     * Engine counting the calculations that reach it.
+     */
+    private static final class CountingLoanCalculatorService implements LoanCalculatorService {
+        private final LoanCalculatorService delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoanCalculatorService(LoanCalculatorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest) {
+            calls.incrementAndGet();
+            return delegate.calculateMonthlyInstallment(loanRequest);
+        }
+
+        @Override
+        public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+            calls.incrementAndGet();
+            return delegate.calculateMonthlyInstallment(loanRequest, rateSnapshot);
+        }
+
+        @Override
+        public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests) {
+            return loanRequests.stream().map(this::calculateMonthlyInstallment).toList();
+        }
+
+        @Override
+        public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot) {
+            return loanRequests.stream().map(loanRequest -> calculateMonthlyInstallment(loanRequest, rateSnapshot)).toList();
+        }
+    }
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
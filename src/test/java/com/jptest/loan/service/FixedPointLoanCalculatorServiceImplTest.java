@@ -0,0 +1,195 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.QuoteGrid;
+import com.jptest.loan.dto.QuoteGridRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link FixedPointLoanCalculatorServiceImpl}.
+ * This class verifies that the fixed-point engine displays exactly the same schedule
+ * as the BigDecimal engine {@link LoanCalculatorServiceImpl} for every vehicle type and tenor, and that the quote
+ * grids of both engines match their single calculations.
+ */
+@Tag("service")
+class FixedPointLoanCalculatorServiceImplTest {
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    private final BatchCalculationExecutor batchCalculationExecutor = new BatchCalculationExecutor(1, 1024);
+
+    private final FixedPointLoanCalculatorServiceImpl fixedPointService = new FixedPointLoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+
+    private final LoanCalculatorServiceImpl bigDecimalService = new LoanCalculatorServiceImpl(interestRateTable, batchCalculationExecutor);
+
+    @Test
+    void calculateMonthlyInstallmentMinorUnits_ValidInput() {
+        long[] monthlyInstallments = new long[3];
+
+        int years = fixedPointService.calculateMonthlyInstallmentMinorUnits(VehicleType.CAR, 100_000_000, 3, 25_000_000, monthlyInstallments);
+
+        // Assert that the schedule matches the known installments of the BigDecimal engine test, in minor units
+        assertEquals(3, years);
+        assertArrayEquals(new long[]{225_000_000L, 243_225_000L, 264_142_350L}, monthlyInstallments);
+    }
+
+    @Test
+    void calculateMonthlyInstallment_MatchesBigDecimalEngine() {
+        Random random = new Random(42);
+        for (String vehicleType : List.of("car", "motorcycle")) {
+            for (int loanTenor = 1; loanTenor <= 6; loanTenor++) {
+                for (int sample = 0; sample < 600; sample++) {
+                    // Whole loan amounts, amounts in quarters and amounts with cents, and down payments from 25% up
+                    // to the full amount
+                    double loanAmount = switch (sample % 3) {
+                        case 0 -> 1 + random.nextInt(1_000_000_000);
+                        case 1 -> (1 + random.nextInt(100_000_000)) + random.nextInt(4) / 4.0;
+                        default -> (1 + random.nextInt(100_000_000)) + random.nextInt(100) / 100.0;
+                    };
+                    double downPayment = Math.floor(loanAmount * (0.25 + 0.75 * random.nextDouble()) * 4) / 4;
+
+                    assertSameDisplayedSchedule(vehicleType, loanAmount, loanTenor, downPayment);
+                }
+            }
+        }
+    }
+
+    @Test
+    void calculateMonthlyInstallment_SixYearSchedule() {
+        long[] monthlyInstallments = new long[6];
+
+        fixedPointService.calculateMonthlyInstallmentMinorUnits(VehicleType.CAR, 100_000_000, 6, 25_700_000, monthlyInstallments);
+
+        // Assert that the finance price is carried unrounded, like the BigDecimal engine does
+        assertArrayEquals(new long[]{111_450_000L, 120_477_450L, 130_838_511L, 142_221_461L, 155_305_836L, 169_749_278L},
+                monthlyInstallments);
+    }
+
+    @Test
+    void calculateMonthlyInstallment_MatchesBigDecimalEngineBeyondFixedPointRange() {
+        // Rates with four decimal places grow the scale of the unrounded amounts by six digits every year
+        InterestRateTable preciseRates = new InterestRateTable(
+                new BigDecimal("8.1234"), new BigDecimal("9.4321"), new BigDecimal("0.0001"), new BigDecimal("0.5"), new BigDecimal("25"));
+        FixedPointLoanCalculatorServiceImpl preciseFixedPointService = new FixedPointLoanCalculatorServiceImpl(preciseRates, batchCalculationExecutor);
+        LoanCalculatorServiceImpl preciseBigDecimalService = new LoanCalculatorServiceImpl(preciseRates, batchCalculationExecutor);
+
+        for (double loanAmount : new double[]{100_000_000, 123_456_789.1, FixedPointLoanCalculatorServiceImpl.MAX_EXACT_AMOUNT * 2}) {
+            List<MonthlyInstallmentRatePair> expected = preciseBigDecimalService.calculateMonthlyInstallment(
+                    "motorcycle", "new", 2024, loanAmount, 6, 30_000_000);
+            List<MonthlyInstallmentRatePair> actual = preciseFixedPointService.calculateMonthlyInstallment(
+                    "motorcycle", "new", 2024, loanAmount, 6, 30_000_000);
+
+            // Assert that schedules outside the 128-bit fixed-point range are displayed like the BigDecimal engine's
+            assertEquals(displayed(expected), actual, String.valueOf(loanAmount));
+        }
+    }
+
+    @Test
+    void calculateMonthlyInstallment_InvalidVehicleType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> fixedPointService.calculateMonthlyInstallment("truck", "new", 2024, 100_000_000, 3, 25_000_000));
+    }
+
+    @Test
+    void constructor_RejectsRateWithTooManyDecimals() {
+        InterestRateTable preciseRates = new InterestRateTable(
+                new BigDecimal("8.12345"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+        assertThrows(IllegalStateException.class, () -> new FixedPointLoanCalculatorServiceImpl(preciseRates, batchCalculationExecutor));
+    }
+
+    @Test
+    void calculateQuoteGrid_MatchesSingleCalculations() {
+        QuoteGridRequest quoteGridRequest = new QuoteGridRequest(VehicleType.MOTORCYCLE, 123_456_789.12, 30_000_000.5,
+                100_000_000, 7_000_000.25, List.of(6, 1, 3));
+        LoanCalculatorService cellByCell = new LoanCalculatorService() {
+            @Override
+            public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest) {
+                return bigDecimalService.calculateMonthlyInstallment(loanRequest);
+            }
+
+            @Override
+            public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+                return bigDecimalService.calculateMonthlyInstallment(loanRequest, rateSnapshot);
+            }
+
+            @Override
+            public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests) {
+                return bigDecimalService.calculateMonthlyInstallments(loanRequests);
+            }
+
+            @Override
+            public List<List<MonthlyInstallmentRatePair>> calculateMonthlyInstallments(List<LoanRequest> loanRequests, RateSnapshot rateSnapshot) {
+                return bigDecimalService.calculateMonthlyInstallments(loanRequests, rateSnapshot);
+            }
+        };
+
+        for (LoanCalculatorService service : List.of(bigDecimalService, fixedPointService, cellByCell)) {
+            QuoteGrid quoteGrid = service.calculateQuoteGrid(quoteGridRequest);
+
+            // Assert that the down payments are stepped in minor units, up to the last whole step
+            assertEquals(3, quoteGrid.tenorCount());
+            assertEquals(10, quoteGrid.downPaymentCount());
+            assertEquals(new BigDecimal("93000002.75"), quoteGrid.downPayment(9));
+            for (int t = 0; t < quoteGrid.tenorCount(); t++) {
+                for (int d = 0; d < quoteGrid.downPaymentCount(); d++) {
+                    List<MonthlyInstallmentRatePair> expected = bigDecimalService.calculateMonthlyInstallment(new LoanRequest(VehicleType.MOTORCYCLE,
+                            VehicleCondition.NEW, 2024, 123_456_789.12, quoteGrid.tenor(t), quoteGrid.downPayment(d).doubleValue()));
+
+                    // Assert that every cell of every engine displays the schedule of a single calculation
+                    assertEquals(displayed(expected), quoteGrid.schedule(t, d));
+                }
+            }
+        }
+    }
+
+    @Test
+    void calculateQuoteGrid_InvalidRequest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> fixedPointService.calculateQuoteGrid(new QuoteGridRequest(VehicleType.CAR, 100_000_000, 25_000_000, 50_000_000, 1_000_000, List.of(7))));
+        assertThrows(IllegalArgumentException.class,
+                () -> bigDecimalService.calculateQuoteGrid(new QuoteGridRequest(null, 100_000_000, 25_000_000, 50_000_000, 1_000_000, List.of(1))));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuoteGridRequest(VehicleType.CAR, 100_000_000, 25_000_000, 50_000_000, 0, List.of(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuoteGridRequest(VehicleType.CAR, 100_000_000, 50_000_000, 25_000_000, 1_000_000, List.of(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuoteGridRequest(VehicleType.CAR, 100_000_000, 25_000_000, 50_000_000, 1, List.of(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuoteGridRequest(VehicleType.CAR, 100_000_000, 25_000_000, 50_000_000, 1_000_000, List.of(1, 1)));
+    }
+
+    private void assertSameDisplayedSchedule(String vehicleType, double loanAmount, int loanTenor, double downPayment) {
+        List<MonthlyInstallmentRatePair> expected = bigDecimalService.calculateMonthlyInstallment(
+                vehicleType, "new", 2024, loanAmount, loanTenor, downPayment);
+        List<MonthlyInstallmentRatePair> actual = fixedPointService.calculateMonthlyInstallment(
+                vehicleType, "new", 2024, loanAmount, loanTenor, downPayment);
+
+        // Assert that both engines agree on every displayed installment and rate
+        assertEquals(displayed(expected), actual, vehicleType + " " + loanAmount + " " + loanTenor + " " + downPayment);
+    }
+
+    /**
+     * Rounds every installment of a schedule to minor units, as it is displayed.
+     */
+    private static List<MonthlyInstallmentRatePair> displayed(List<MonthlyInstallmentRatePair> schedule) {
+        return schedule.stream().map(monthlyPair -> new MonthlyInstallmentRatePair(
+                monthlyPair.amount().setScale(MinorUnits.SCALE, RoundingMode.HALF_UP), monthlyPair.rate(), monthlyPair.rateVersion())).toList();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jptest.loan.service;
+
+import com.jptest.loan.dto.InstallmentSolution;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.MonthlyInstallmentRatePair;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.RateSnapshot;
+import com.jptest.loan.validator.LoanValidationEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link InstallmentSolver}.
+ * This class verifies that solved loans are valid, keep their installments at or below the target,
+ * and are the largest such loans to the minor unit.
+ */
+@Tag("service")
+class InstallmentSolverTest {
+
+    private final InterestRateTable interestRateTable = new InterestRateTable(
+            new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"));
+
+    private final LoanCalculatorServiceImpl loanCalculatorService = new LoanCalculatorServiceImpl(interestRateTable,
+            new BatchCalculationExecutor(1, 1024));
+
+    private final LoanValidationEngine loanValidationEngine = new LoanValidationEngine(Clock.systemDefaultZone(), interestRateTable);
+
+    private final InstallmentSolver installmentSolver = new InstallmentSolver(loanCalculatorService, loanValidationEngine);
+
+    @Test
+    void solveMaximumLoan_FirstYear() {
+        InstallmentSolution solution = installmentSolver.solveMaximumLoan(VehicleType.CAR, 3, 2_250_000, InstallmentSolver.Target.FIRST_YEAR);
+
+        // Assert that the financed amount goes past 75,000,000, whose installment is exactly the target, up to the
+        // last minor unit rounding to the same installment, and is financed at the minimum down payment
+        assertEquals(new BigDecimal("2250000.00"), displayed(solution.monthlyInstallment().get(0)));
+        assertEquals(new BigDecimal("75000000.16"), solution.financedAmount());
+        assertEquals(new BigDecimal("100000000.22"), solution.loanAmount());
+        assertValidAndMaximal(VehicleType.CAR, 3, solution, 2_250_000, 1);
+    }
+
+    @Test
+    void solveMaximumLoan_EveryYear() {
+        InstallmentSolution solution = installmentSolver.solveMaximumLoan(VehicleType.MOTORCYCLE, 6, 1_234_567.89, InstallmentSolver.Target.EVERY_YEAR);
+
+        // Assert that the last, most expensive year is the one kept at or below the target
+        assertValidAndMaximal(VehicleType.MOTORCYCLE, 6, solution, 1_234_567.89, 6);
+        assertTrue(solution.monthlyInstallment().get(0).amount().compareTo(new BigDecimal("1234567.89")) < 0);
+    }
+
+    @Test
+    void solveMaximumLoan_LimitedByMaximumLoanAmount() {
+        InstallmentSolution solution = installmentSolver.solveMaximumLoan(VehicleType.CAR, 1, 1_000_000_000, InstallmentSolver.Target.EVERY_YEAR);
+
+        // Assert that a target above any installment is capped at the loan amount limit and the minimum down payment
+        assertEquals(new BigDecimal("1000000000.00"), solution.loanAmount());
+        assertEquals(new BigDecimal("250000000.00"), solution.downPayment());
+    }
+
+    @Test
+    void solveMinimumDownPayment() {
+        InstallmentSolution solution = installmentSolver.solveMinimumDownPayment(VehicleType.CAR, 2, 150_000_000.5, 3_000_000,
+                InstallmentSolver.Target.EVERY_YEAR);
+
+        // Assert that the down payment is raised above the minimum until every installment fits
+        assertEquals(new BigDecimal("150000000.50"), solution.loanAmount());
+        assertTrue(solution.downPayment().compareTo(new BigDecimal("37500000.13")) > 0);
+        assertValidAndMaximal(VehicleType.CAR, 2, solution, 3_000_000, 2);
+
+        // Assert that an affordable loan keeps the minimum down payment, rounded up to the minor unit
+        assertEquals(new BigDecimal("37500000.13"), installmentSolver.solveMinimumDownPayment(VehicleType.CAR, 2, 150_000_000.5,
+                100_000_000, InstallmentSolver.Target.EVERY_YEAR).downPayment());
+    }
+
+    @Test
+    void solveMaximumLoan_InstallmentNotMonotone() {
+        InstallmentSolution monotone = installmentSolver.solveMaximumLoan(VehicleType.CAR, 3, 2_250_000, InstallmentSolver.Target.FIRST_YEAR);
+        BigDecimal dip = monotone.financedAmount().add(new BigDecimal("0.02"));
+        // An engine whose installment drops back to the target two minor units past the monotone answer
+        LoanCalculatorServiceImpl notMonotone = new LoanCalculatorServiceImpl(interestRateTable, new BatchCalculationExecutor(1, 1024)) {
+            @Override
+            public List<MonthlyInstallmentRatePair> calculateMonthlyInstallment(LoanRequest loanRequest, RateSnapshot rateSnapshot) {
+                if (BigDecimal.valueOf(loanRequest.loanAmount()).compareTo(dip) == 0) {
+                    return super.calculateMonthlyInstallment(new LoanRequest(loanRequest.vehicleType(), loanRequest.vehicleCondition(),
+                            loanRequest.vehicleYear(), monotone.financedAmount().doubleValue(), loanRequest.loanTenor(), 0), rateSnapshot);
+                }
+                return super.calculateMonthlyInstallment(loanRequest, rateSnapshot);
+            }
+        };
+
+        InstallmentSolution solution = new InstallmentSolver(notMonotone, loanValidationEngine)
+                .solveMaximumLoan(VehicleType.CAR, 3, 2_250_000, InstallmentSolver.Target.FIRST_YEAR);
+        // Assert that the linear check past the bisection result finds the larger fitting amount
+        assertEquals(dip, solution.financedAmount());
+    }
+
+    @Test
+    void solve_InvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> installmentSolver.solveMaximumLoan(VehicleType.CAR, 7, 2_250_000, InstallmentSolver.Target.FIRST_YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> installmentSolver.solveMaximumLoan(null, 3, 2_250_000, InstallmentSolver.Target.FIRST_YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> installmentSolver.solveMaximumLoan(VehicleType.CAR, 3, 0, InstallmentSolver.Target.FIRST_YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> installmentSolver.solveMinimumDownPayment(VehicleType.CAR, 3, 1_000_000_001, 2_250_000, InstallmentSolver.Target.FIRST_YEAR));
+    }
+
+    /**
+     * Asserts that a solved loan is valid, fits the target in its first {@code years} years, and that financing
+     * one more minor unit does not fit.
+     */
+    private void assertValidAndMaximal(VehicleType vehicleType, int loanTenor, InstallmentSolution solution,
+                                       double targetInstallment, int years) {
+        LoanRequest loanRequest = new LoanRequest(vehicleType, VehicleCondition.OLD, 2020, solution.loanAmount().doubleValue(),
+                loanTenor, solution.downPayment().doubleValue());
+        assertEquals(0, loanValidationEngine.validate(loanRequest));
+        assertEquals(loanCalculatorService.calculateMonthlyInstallment(loanRequest).stream().map(InstallmentSolverTest::displayed).toList(),
+                solution.monthlyInstallment().stream().map(InstallmentSolverTest::displayed).toList());
+
+        BigDecimal target = BigDecimal.valueOf(targetInstallment);
+        assertTrue(fits(solution.monthlyInstallment(), target, years));
+        List<MonthlyInstallmentRatePair> larger = loanCalculatorService.calculateMonthlyInstallment(new LoanRequest(vehicleType,
+                VehicleCondition.OLD, 2020, solution.financedAmount().add(new BigDecimal("0.01")).doubleValue(), loanTenor, 0));
+        assertFalse(fits(larger, target, years));
+    }
+
+    private static boolean fits(List<MonthlyInstallmentRatePair> schedule, BigDecimal target, int years) {
+        for (int i = 0; i < years; i++) {
+            if (displayed(schedule.get(i)).compareTo(target) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the installment of a year as it is displayed, rounded HALF_UP to minor units.
+     */
+    private static BigDecimal displayed(MonthlyInstallmentRatePair monthlyPair) {
+        return monthlyPair.amount().setScale(MinorUnits.SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jptest.loan.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link Int128}.
+ * This class verifies the 128-bit operations of the fixed-point engine against {@link BigInteger}.
+ */
+@Tag("service")
+class Int128Test {
+
+    private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+
+    @Test
+    void operations_MatchBigInteger() {
+        Random random = new Random(42);
+        for (int sample = 0; sample < 10_000; sample++) {
+            // Values up to 2^120, with the top bit of the low half set in about half of the samples
+            long high = random.nextLong() >>> 8;
+            long low = random.nextLong();
+            BigInteger value = toBigInteger(high, low);
+            long factor = 1 + random.nextInt(1 << 7);
+            long divisor = 1 + (random.nextLong() >>> 32);
+
+            // Assert that every operation returns the halves of the exact result
+            assertEquals(value.multiply(BigInteger.valueOf(factor)),
+                    toBigInteger(Int128.multiplyHigh(high, low, factor), Int128.multiplyLow(high, low, factor)));
+            assertEquals(value.divide(BigInteger.valueOf(divisor)),
+                    toBigInteger(Int128.divideHigh(high, low, divisor), Int128.divideLow(high, low, divisor)));
+            assertEquals(value.mod(BigInteger.valueOf(divisor)).longValueExact(), Int128.remainder(high, low, divisor));
+            long subtrahendLow = random.nextLong();
+            assertEquals(value.subtract(toBigInteger(0, subtrahendLow)),
+                    toBigInteger(Int128.subtractHigh(high, low, 0, subtrahendLow), Int128.subtractLow(high, low, 0, subtrahendLow)));
+        }
+    }
+
+    @Test
+    void multiplyHigh_Overflow() {
+        // Assert that a product beyond 127 bits is reported rather than wrapped
+        assertThrows(ArithmeticException.class, () -> Int128.multiplyHigh(Long.MAX_VALUE / 2, 0, 3));
+    }
+
+    private static BigInteger toBigInteger(long high, long low) {
+        return BigInteger.valueOf(high).multiply(TWO_TO_64).add(new BigInteger(Long.toUnsignedString(low)));
+    }
+}
@@ -52,9 +52,9 @@ class LoanCalculatorServiceImplTest {
 
         // Define the expected monthly installments for each year of the loan term
         List<MonthlyInstallmentRatePair> expectedList = List.of(
-                new MonthlyInstallmentRatePair(new BigDecimal("2250000.00"), new BigDecimal(8)),
-                new MonthlyInstallmentRatePair(new BigDecimal("2432250.00"), new BigDecimal("8.1")),
-                new MonthlyInstallmentRatePair(new BigDecimal("2641423.50"), new BigDecimal("8.6")));
+                new MonthlyInstallmentRatePair(new BigDecimal("2250000.00"), new BigDecimal(8), 1),
+                new MonthlyInstallmentRatePair(new BigDecimal("2432250.00"), new BigDecimal("8.1"), 1),
+                new MonthlyInstallmentRatePair(new BigDecimal("2641423.50"), new BigDecimal("8.6"), 1));
 
         // Assert that the size of the calculated installments list matches the expected list size
         assertEquals(expectedList.size(), monthlyInstallment.size());
@@ -72,4 +72,18 @@ class LoanCalculatorServiceImplTest {
             );
         }
     }
+
+    @Test
+    void calculateMonthlyInstallment_SixYearSchedule() {
+        // Displayed installments, i.e. rounded HALF_UP to two decimal places
+        List<BigDecimal> expectedInstallments = List.of(new BigDecimal("1114500.00"), new BigDecimal("1204774.50"),
+                new BigDecimal("1308385.11"), new BigDecimal("1422214.61"), new BigDecimal("1553058.36"), new BigDecimal("1697492.78"));
+
+        List<MonthlyInstallmentRatePair> monthlyInstallment = loanCalculatorService.calculateMonthlyInstallment("car", "new", 2024, 100_000_000, 6, 25_700_000);
+
+        // Assert that the finance price of every year is carried unrounded; rounded to minor units every year,
+        // the last two installments would be displayed as 1553058.35 and 1697492.79
+        assertEquals(expectedInstallments, monthlyInstallment.stream()
+                .map(monthlyPair -> monthlyPair.amount().setScale(2, RoundingMode.HALF_UP)).toList());
+    }
 }
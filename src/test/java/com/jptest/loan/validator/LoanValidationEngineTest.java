@@ -0,0 +1,166 @@
+package com.jptest.loan.validator;
+
+import com.jptest.loan.constant.ErrorMessages;
+import com.jptest.loan.dto.DealerProgramme;
+import com.jptest.loan.dto.LoanRequest;
+import com.jptest.loan.dto.VehicleCondition;
+import com.jptest.loan.dto.VehicleType;
+import com.jptest.loan.rate.InterestRateTable;
+import com.jptest.loan.rate.ProductRates;
+import com.jptest.loan.rate.RateSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link LoanValidationEngine}.
+ * This test class verifies that every rule of a loan request is checked in one pass,
+ * that every violation is reported in the violation mask, and that the current year
+ * is resolved from the injected {@link Clock}.
+ */
+@Tag("validation")
+class LoanValidationEngineTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final LoanValidationEngine loanValidationEngine = new LoanValidationEngine(CLOCK, rates("25"));
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest)} with a valid loan request.
+     * This test verifies that the violation mask is empty when every rule passes.
+     */
+    @Test
+    void validate_Valid() {
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.NEW, 2025, 100_000_000, 3, 25_000_000);
+
+        assertEquals(0, loanValidationEngine.validate(loanRequest));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest)} with an old vehicle of any past year.
+     * This test verifies that the year is only checked against the condition of a new vehicle.
+     */
+    @Test
+    void validate_Valid_OldVehicle() {
+        LoanRequest loanRequest = new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.OLD, 2010, 100_000_000, 6, 25_000_000);
+
+        assertEquals(0, loanValidationEngine.validate(loanRequest));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest)} with several invalid parameters.
+     * This test verifies that every violated rule is reported, in declaration order, instead of only the first one.
+     */
+    @Test
+    void validate_Invalid_ReportsEveryViolation() {
+        LoanRequest loanRequest = new LoanRequest(null, VehicleCondition.NEW, 2023, 100_000_000, 7, 1_000);
+
+        int violations = loanValidationEngine.validate(loanRequest);
+
+        assertEquals(List.of(ValidationRule.VEHICLE_TYPE, ValidationRule.YEAR_FOR_CONDITION,
+                ValidationRule.LOAN_TENOR, ValidationRule.DOWN_PAYMENT), ValidationRule.violated(violations));
+        assertEquals(List.of(ErrorMessages.INVALID_VEHICLE_TYPE, ErrorMessages.INVALID_VEHICLE_CONDITION_WITH_YEAR,
+                ErrorMessages.INVALID_TENOR, ErrorMessages.INVALID_DOWN_PAYMENT_AMOUNT), ValidationRule.errorMessages(violations));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest)} with a future, five-digit year and an invalid loan amount.
+     * This test verifies that dependent rules are skipped when the parameter they depend on is invalid.
+     */
+    @Test
+    void validate_Invalid_SkipsDependentRules() {
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, null, 20250, Double.NaN, 1, 0);
+
+        assertEquals(List.of(ValidationRule.VEHICLE_CONDITION, ValidationRule.YEAR_FOUR_DIGIT,
+                ValidationRule.YEAR_NOT_IN_FUTURE, ValidationRule.LOAN_AMOUNT),
+                ValidationRule.violated(loanValidationEngine.validate(loanRequest)));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest)} with a fractional minimum down payment rate.
+     * This test verifies that the compiled rate accepts a down payment exactly at the minimum and rejects one cent below it.
+     */
+    @Test
+    void validate_DownPayment_FractionalRate() {
+        LoanValidationEngine engine = new LoanValidationEngine(CLOCK, rates("12.5"));
+
+        assertEquals(0, engine.validate(new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 125)));
+        assertEquals(ValidationRule.DOWN_PAYMENT.bit(),
+                engine.validate(new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 124.99)));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest, RateSnapshot)} across a rate reload.
+     * This test verifies that a request is checked against the snapshot it is given, not the one published since.
+     */
+    @Test
+    void validate_DownPayment_GivenSnapshot() {
+        InterestRateTable interestRateTable = rates("25");
+        LoanValidationEngine engine = new LoanValidationEngine(CLOCK, interestRateTable);
+        RateSnapshot pinned = engine.rates();
+        interestRateTable.publish(pinned.next(new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"),
+                new BigDecimal("0.5"), new BigDecimal("30")));
+        LoanRequest loanRequest = new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 250);
+
+        assertEquals(0, engine.validate(loanRequest, pinned));
+        assertEquals(ValidationRule.DOWN_PAYMENT.bit(), engine.validate(loanRequest));
+        assertEquals(300_00, engine.minimumDownPaymentMinorUnits(VehicleType.CAR, VehicleCondition.OLD, DealerProgramme.STANDARD, 1_000_00));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#validate(LoanRequest)} with configured products and a dealer programme.
+     * This test verifies that the minimum down payment rule of the request's product applies, and that a programme
+     * is rejected for the vehicle types and conditions it does not offer.
+     */
+    @Test
+    void validate_DealerProgramme() {
+        DealerProgramme promo = DealerProgramme.configured("validation-promo");
+        LoanValidationEngine engine = new LoanValidationEngine(CLOCK, new InterestRateTable(new BigDecimal("8"),
+                new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"), new BigDecimal("25"), List.of(
+                new ProductRates(VehicleType.CAR, VehicleCondition.OLD, promo, null, null, null, new BigDecimal("10")))));
+
+        assertEquals(0, engine.validate(new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 100, promo)));
+        assertEquals(ValidationRule.DOWN_PAYMENT.bit(),
+                engine.validate(new LoanRequest(VehicleType.CAR, VehicleCondition.OLD, 2020, 1_000, 1, 100)));
+        assertEquals(ValidationRule.DEALER_PROGRAMME.bit(),
+                engine.validate(new LoanRequest(VehicleType.MOTORCYCLE, VehicleCondition.OLD, 2020, 1_000, 1, 250, promo)));
+        assertEquals(ValidationRule.DEALER_PROGRAMME.bit(), engine.validate(new LoanRequest(VehicleType.CAR,
+                VehicleCondition.OLD, 2020, 1_000, 1, 250, DealerProgramme.parse("unknown-promo"))));
+        assertEquals(100_00, engine.minimumDownPaymentMinorUnits(VehicleType.CAR, VehicleCondition.OLD, promo, 1_000_00));
+    }
+
+    /**
+     * Tests {@link LoanValidationEngine#currentYear()} in the zone of the injected clock.
+     * This test verifies that the same instant resolves to the year of the clock time zone.
+     */
+    @Test
+    void currentYear_UsesClockZone() {
+        Instant newYearUtc = Instant.parse("2025-01-01T02:00:00Z");
+
+        assertEquals(2025, new LoanValidationEngine(Clock.fixed(newYearUtc, ZoneOffset.UTC), rates("10")).currentYear());
+        assertEquals(2024, new LoanValidationEngine(Clock.fixed(newYearUtc, ZoneId.of("America/New_York")), rates("10")).currentYear());
+    }
+
+    /**
+     * Tests the rates of {@link LoanValidationEngine} with a negative minimum down payment rate.
+     * This test verifies that an invalid configuration is rejected when the rules are compiled.
+     */
+    @Test
+    void constructor_Invalid_NegativeRate() {
+        assertThrows(IllegalStateException.class, () -> rates("-1"));
+    }
+
+    private static InterestRateTable rates(String minimumDownPaymentRate) {
+        return new InterestRateTable(new BigDecimal("8"), new BigDecimal("9"), new BigDecimal("0.1"), new BigDecimal("0.5"),
+                new BigDecimal(minimumDownPaymentRate));
+    }
+}
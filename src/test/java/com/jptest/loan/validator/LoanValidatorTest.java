@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -22,7 +26,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @Tag("validation")
 @ExtendWith(MockitoExtension.class)
 class LoanValidatorTest {
-    private final LoanValidator loanValidator = new LoanValidator();
+    private final LoanValidator loanValidator =
+            new LoanValidator(Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC));
 
     /**
      * Tests {@link LoanValidator#isValidYearFourDigit(int)} for valid input.
@@ -188,4 +193,13 @@ class LoanValidatorTest {
     void isValidLoanTenor_Invalid_TooLong() {
         assertFalse(loanValidator.isValidLoanTenor(7));
     }
+
+    /**
+     * Tests {@link LoanValidator#isValidVehicleType(String)} with mixed case input.
+     * This test verifies that vehicle types are matched case insensitively.
+     */
+    @Test
+    void isValidVehicleType_Valid_MixedCase() {
+        assertTrue(loanValidator.isValidVehicleType("MotorCycle"));
+    }
 }